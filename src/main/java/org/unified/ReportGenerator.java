@@ -1,15 +1,23 @@
 package org.unified;
 
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.engine.JasperReport;
+import org.unified.common.enums.ErrorCode;
 import org.unified.common.enums.FileExportFormat;
 import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
 import org.unified.formats.UnifiedFormat;
 import org.unified.utils.ReportExporter;
 import org.unified.utils.ReportValidators;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Central class responsible for generating reports from structured data and Jasper templates.
@@ -25,6 +33,9 @@ import java.util.Map;
  * <ul>
  *     <li>{@link UnifiedFormat} object - a normalized wrapper over parsed tabular input (e.g., XLSX, CSV)</li>
  * </ul>
+ * Formats that provide a {@link UnifiedFormat#openCursor() cursor} (e.g., a JDBC result set) are streamed
+ * into the report without materializing their rows. Column statistics collected while the input was parsed are
+ * passed to the template as the {@value org.unified.formats.ColumnStatistics#REPORT_PARAMETER} parameter.
  * Other input types like {@code InputStream} or {@code byte[]} are not yet supported for dynamic format inference.
  *
  * <h2>Usage Example</h2>
@@ -76,6 +87,34 @@ public class ReportGenerator {
             InputStream jasperReportTemplateStream,
             Map<String, Object> additionalReportParameters,
             FileExportFormat exportFormat
+    ) {
+        return generateReport(file, jasperReportTemplateStream, additionalReportParameters, exportFormat, CancellationToken.NONE);
+    }
+
+    /**
+     * Generates a Jasper report like {@link #generateReport(Object, InputStream, Map, FileExportFormat)},
+     * stopping as soon as the cancellation token is cancelled or its deadline passes.
+     * <p>
+     * The token is checked between the validation, compilation, fill and export steps, and aborts a
+     * running fill or export. Parsing honours the token only if it was also passed to the input format
+     * through {@code ParseOptions.getCancellationToken()}.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance (e.g., XLSXFormat)
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report (e.g., metadata, dynamic values)
+     * @param exportFormat               Desired file export format (PDF, XLSX, HTML, XML)
+     * @param cancellationToken          Token cancelling the request
+     * @return A byte array representing the generated report file
+     * @throws ReportException  if the input is invalid, template fails to load, or export fails; with
+     *                          {@link ErrorCode#REPORT_CANCELLED} or {@link ErrorCode#REPORT_DEADLINE_EXCEEDED} once cancelled
+     * @throws RuntimeException if an unexpected error occurs during generation
+     */
+    public static byte[] generateReport(
+            Object file,
+            InputStream jasperReportTemplateStream,
+            Map<String, Object> additionalReportParameters,
+            FileExportFormat exportFormat,
+            CancellationToken cancellationToken
     ) {
         long startTime = System.nanoTime();
 
@@ -83,13 +122,12 @@ public class ReportGenerator {
             UnifiedFormat inputFile = ReportValidators.validateInputFile(file);
 
             JasperReport reportTemplate = ReportValidators.validateJasperReport(jasperReportTemplateStream);
+            cancellationToken.throwIfCancelled();
+            JasperPrint jasperPrint = ReportExporter.fill(inputFile, reportTemplate, additionalReportParameters, cancellationToken);
 
-            byte[] output = ReportExporter.export(
-                    inputFile.getDataRows(),
-                    reportTemplate,
-                    additionalReportParameters,
-                    exportFormat
-            );
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ReportExporter.exportTo(jasperPrint, exportFormat, outputStream, cancellationToken);
+            byte[] output = outputStream.toByteArray();
 
             long endTime = System.nanoTime();
             long durationMillis = (endTime - startTime) / 1_000_000;
@@ -104,4 +142,77 @@ public class ReportGenerator {
             throw new RuntimeException("Report generation failed", e);
         }
     }
+
+    /**
+     * Generates the same report in several formats, filling the template only once.
+     * <p>
+     * The filled report is exported to every requested format concurrently, one thread per format.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance (e.g., XLSXFormat)
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report (e.g., metadata, dynamic values)
+     * @param exportFormats              Desired file export formats (PDF, XLSX, HTML, XML)
+     * @return The generated report file per requested format
+     * @throws ReportException  if the input is invalid, template fails to load, or any export fails
+     * @throws RuntimeException if an unexpected error occurs during generation
+     */
+    public static Map<FileExportFormat, byte[]> generateReports(
+            Object file,
+            InputStream jasperReportTemplateStream,
+            Map<String, Object> additionalReportParameters,
+            Set<FileExportFormat> exportFormats
+    ) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, exportFormats.size()));
+        try {
+            return generateReports(file, jasperReportTemplateStream, additionalReportParameters, exportFormats, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Generates the same report in several formats, filling the template only once and running
+     * the exports on the given executor.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance (e.g., XLSXFormat)
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report (e.g., metadata, dynamic values)
+     * @param exportFormats              Desired file export formats (PDF, XLSX, HTML, XML)
+     * @param executor                   Executor the per-format exports run on
+     * @return The generated report file per requested format
+     * @throws ReportException  if the input is invalid, template fails to load, or any export fails
+     * @throws RuntimeException if an unexpected error occurs during generation
+     */
+    public static Map<FileExportFormat, byte[]> generateReports(
+            Object file,
+            InputStream jasperReportTemplateStream,
+            Map<String, Object> additionalReportParameters,
+            Set<FileExportFormat> exportFormats,
+            Executor executor
+    ) {
+        long startTime = System.nanoTime();
+
+        try {
+            UnifiedFormat inputFile = ReportValidators.validateInputFile(file);
+
+            JasperReport reportTemplate = ReportValidators.validateJasperReport(jasperReportTemplateStream);
+
+            if (!ReportExporter.SUPPORTED_FORMATS.containsAll(exportFormats)) {
+                throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+            }
+
+            JasperPrint jasperPrint = ReportExporter.fill(inputFile, reportTemplate, additionalReportParameters, CancellationToken.NONE);
+            Map<FileExportFormat, byte[]> output = ReportExporter.exportAll(jasperPrint, exportFormats, executor);
+
+            long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+            log.info("✅ Reports generated successfully in {} ms (Formats: {})", durationMillis, exportFormats);
+            return output;
+
+        } catch (ReportException rex) {
+            throw rex;
+        } catch (Exception e) {
+            log.error("❌ Unexpected error during report generation", e);
+            throw new RuntimeException("Report generation failed", e);
+        }
+    }
 }
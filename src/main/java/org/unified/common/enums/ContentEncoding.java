@@ -0,0 +1,33 @@
+package org.unified.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum representing the encodings an exported report can be compressed with.
+ * The token is the value of the HTTP {@code Content-Encoding} header for the encoding.
+ */
+@Getter
+@AllArgsConstructor
+public enum ContentEncoding {
+
+    /**
+     * The report bytes are written as produced.
+     */
+    IDENTITY("identity"),
+
+    /**
+     * The report is compressed in the GZIP file format (RFC 1952).
+     */
+    GZIP("gzip"),
+
+    /**
+     * The report is compressed in the zlib format (RFC 1950), as HTTP's {@code deflate} encoding requires.
+     */
+    DEFLATE("deflate");
+
+    /**
+     * The HTTP {@code Content-Encoding} token of this encoding.
+     */
+    private final String token;
+}
@@ -49,6 +49,16 @@ public enum ErrorCode {
      */
     CSV_HEADER_DUPLICATE("CSV_006", "CSV header contains duplicate columns", HttpStatus.BAD_REQUEST),
 
+    /**
+     * Error when a ZIP input does not contain the requested CSV entry.
+     */
+    CSV_ARCHIVE_ENTRY_NOT_FOUND("CSV_007", "CSV entry not found in ZIP archive", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when a lenient parse finds more malformed rows than its error budget allows.
+     */
+    CSV_ERROR_BUDGET_EXCEEDED("CSV_008", "CSV input has more malformed rows than the error budget allows", HttpStatus.UNPROCESSABLE_ENTITY),
+
     // ================= XLSX ERRORS =================
 
     /**
@@ -76,6 +86,29 @@ public enum ErrorCode {
      */
     XLSX_INVALID_HEADER_TYPE("XLSX_005", "Invalid Header Found.", HttpStatus.NOT_ACCEPTABLE),
 
+    // ================= XML ERRORS =================
+
+    /**
+     * Error when the XML input is malformed or cannot be read.
+     */
+    XML_PARSE_ERROR("XML_001", "Failed to parse XML file", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when the XML input contains no record elements to derive columns from.
+     */
+    XML_RECORD_MISSING("XML_002", "XML file does not contain any record elements", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when a record after the sample that columns are derived from contains an attribute or element that is
+     * not one of the columns.
+     */
+    XML_UNKNOWN_FIELD("XML_003", "XML record contains a field outside the column set", HttpStatus.NOT_ACCEPTABLE),
+
+    /**
+     * Error when an element or attribute repeats within a single record.
+     */
+    XML_REPEATED_FIELD("XML_004", "XML record contains a repeated field", HttpStatus.NOT_ACCEPTABLE),
+
     // ================= JSON ERRORS =================
 
     /**
@@ -100,6 +133,106 @@ public enum ErrorCode {
      */
     BYTE_DECODE_ERROR("BYTE_002", "Failed to decode byte stream", HttpStatus.BAD_REQUEST),
 
+    // ================= UPLOAD ERRORS =================
+
+    /**
+     * Error when an upload is larger than the configured limit.
+     */
+    UPLOAD_TOO_LARGE("UPL_001", "Upload exceeds the maximum allowed size", HttpStatus.PAYLOAD_TOO_LARGE),
+
+    /**
+     * Error when a multipart request body is not well formed.
+     */
+    UPLOAD_MALFORMED("UPL_002", "Malformed multipart upload", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when a multipart upload contains no file part to parse.
+     */
+    UPLOAD_FILE_MISSING("UPL_003", "No file part found in upload", HttpStatus.BAD_REQUEST),
+
+    // ================= JDBC ERRORS =================
+
+    /**
+     * Error when reading rows or metadata from a JDBC result set fails.
+     */
+    JDBC_READ_ERROR("JDBC_001", "Failed to read from JDBC result set", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    /**
+     * Error when a JDBC result set has two columns with the same label.
+     */
+    JDBC_DUPLICATE_COLUMN("JDBC_002", "JDBC result set contains duplicate column labels", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when the rows of a forward-only JDBC result set are requested after they were streamed.
+     */
+    JDBC_ALREADY_CONSUMED("JDBC_003", "JDBC result set has already been consumed", HttpStatus.CONFLICT),
+
+    // ================= ROW STORE ERRORS =================
+
+    /**
+     * Error when a row value has a type the binary row store cannot encode.
+     */
+    ROW_STORE_UNSUPPORTED_TYPE("STORE_001", "Unsupported value type for row store", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Error when reading or writing the row store spill file fails.
+     */
+    ROW_STORE_IO_ERROR("STORE_002", "Failed to read or write row store spill file", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    /**
+     * Error when encoded row data cannot be decoded.
+     */
+    ROW_STORE_CORRUPTED("STORE_003", "Row store data is corrupted", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    // ================= PIPELINE ERRORS =================
+
+    /**
+     * Error when a pipeline stage references a column that does not exist in its input.
+     */
+    PIPELINE_COLUMN_MISSING("PIPE_001", "Pipeline stage references an unknown column", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Error when a pipeline stage (sort, aggregation, join) fails while processing rows.
+     */
+    PIPELINE_STAGE_FAILED("PIPE_002", "Pipeline stage failed to process rows", HttpStatus.INTERNAL_SERVER_ERROR),
+
+    // ================= VALIDATION ERRORS =================
+
+    /**
+     * Error when parsed rows violate their validation schema.
+     */
+    VALIDATION_FAILED("VAL_001", "Input data does not match the validation schema", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Error when a validation schema declares a column that the input does not have.
+     */
+    VALIDATION_COLUMN_MISSING("VAL_002", "Validation schema references an unknown column", HttpStatus.BAD_REQUEST),
+
+    /**
+     * Violation of a required column whose value is null or blank.
+     */
+    VALIDATION_REQUIRED("VAL_003", "Required value is missing", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Violation of a value that cannot be read as the column's declared type.
+     */
+    VALIDATION_TYPE_MISMATCH("VAL_004", "Value does not match the declared type", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Violation of a number outside the column's declared range.
+     */
+    VALIDATION_OUT_OF_RANGE("VAL_005", "Value is outside the allowed range", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Violation of a value that does not match the column's pattern.
+     */
+    VALIDATION_PATTERN_MISMATCH("VAL_006", "Value does not match the required pattern", HttpStatus.UNPROCESSABLE_ENTITY),
+
+    /**
+     * Violation of a value that is not one of the column's allowed values.
+     */
+    VALIDATION_VALUE_NOT_ALLOWED("VAL_007", "Value is not one of the allowed values", HttpStatus.UNPROCESSABLE_ENTITY),
+
     // ================= GENERIC ERRORS =================
 
     /**
@@ -147,7 +280,37 @@ public enum ErrorCode {
     /**
      * Error when an unsupported report export format is specified.
      */
-    REPORT_FORMAT_UNSUPPORTED("REP_007", "Unsupported export format", HttpStatus.NOT_ACCEPTABLE);
+    REPORT_FORMAT_UNSUPPORTED("REP_007", "Unsupported export format", HttpStatus.NOT_ACCEPTABLE),
+
+    /**
+     * Error when report generation is cancelled before it completes (e.g., every waiting caller has left).
+     */
+    REPORT_CANCELLED("REP_008", "Report generation was cancelled", HttpStatus.SERVICE_UNAVAILABLE),
+
+    /**
+     * Error when report generation does not finish before its deadline.
+     */
+    REPORT_DEADLINE_EXCEEDED("REP_009", "Report generation exceeded its deadline", HttpStatus.GATEWAY_TIMEOUT),
+
+    /**
+     * Error when a report job cannot reserve its estimated memory within the admission wait time.
+     */
+    REPORT_ADMISSION_REJECTED("REP_010", "Not enough memory available to admit the report job", HttpStatus.TOO_MANY_REQUESTS),
+
+    /**
+     * Error when a request names a template that is not registered.
+     */
+    REPORT_TEMPLATE_NOT_FOUND("REP_011", "Report template not found", HttpStatus.NOT_FOUND),
+
+    /**
+     * Error when the service is already running its maximum number of concurrent reports.
+     */
+    REPORT_CAPACITY_EXCEEDED("REP_012", "Too many concurrent report requests", HttpStatus.SERVICE_UNAVAILABLE),
+
+    /**
+     * Error when a request sets a report parameter the template does not declare as text, or reserves for the engine.
+     */
+    REPORT_PARAMETER_INVALID("REP_013", "Report parameter cannot be set by the request", HttpStatus.BAD_REQUEST);
 
     /**
      * A unique string code identifying the error.
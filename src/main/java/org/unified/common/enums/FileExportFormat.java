@@ -1,38 +1,53 @@
 package org.unified.common.enums;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
 /**
  * Enum representing supported export formats for reports.
  * These formats determine the type of output generated by the reporting engine.
  */
+@Getter
+@AllArgsConstructor
 public enum FileExportFormat {
 
     /**
      * Export the report as a PDF document.
      */
-    PDF,
+    PDF("pdf", "application/pdf"),
 
     /**
      * Export the report as an HTML page.
      */
-    HTML,
+    HTML("html", "text/html"),
 
     /**
      * Export the report as an Excel spreadsheet (.xlsx).
      */
-    XLSX,
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
 
     /**
      * Export the report as an XML file.
      */
-    XML,
+    XML("xml", "application/xml"),
 
     /**
      * Export the report as a Word document (.docx).
      */
-    DOCX,
+    DOCX("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
 
     /**
      * Export the report as a CSV (Comma-Separated Values) file.
      */
-    CSV
+    CSV("csv", "text/csv");
+
+    /**
+     * The file name extension (without the dot) used for files of this format.
+     */
+    private final String extension;
+
+    /**
+     * The media type sent as the HTTP {@code Content-Type} of files in this format.
+     */
+    private final String mediaType;
 }
@@ -0,0 +1,274 @@
+package org.unified.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.ReportGenerator;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Admits report jobs against a global memory budget instead of a fixed number of threads.
+ * <p>
+ * Each job reserves its estimated footprint (see {@link JobFootprint}) from a fair, weighted semaphore
+ * before it runs and returns it when done. Many small jobs therefore run side by side while a large one
+ * takes most of the budget, and jobs are admitted in arrival order so large jobs are not starved.
+ * <ul>
+ *     <li><b>Queueing</b> - a job that does not fit waits for up to the configured wait time, then is
+ *     rejected with {@link ErrorCode#REPORT_ADMISSION_REJECTED}. A wait time of zero rejects immediately.</li>
+ *     <li><b>Oversized jobs</b> - a job estimated above the whole budget reserves the whole budget,
+ *     i.e. it waits until it can run alone.</li>
+ *     <li><b>Metrics</b> - the getters expose the current reservations, the queue and lifetime counters.</li>
+ * </ul>
+ * The budget is accounted in KiB.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * AdmissionController admission = AdmissionController.forHeapFraction(0.6, Duration.ofSeconds(30));
+ *
+ * // Called concurrently by request threads; memory is reserved before the upload is parsed
+ * byte[] pdf = admission.generateReport(uploadSize, () -> new XLSXFormat(uploadStream, "Upload"),
+ *         templateStream, params, FileExportFormat.PDF);
+ * }</pre>
+ */
+@Slf4j
+public class AdmissionController {
+
+    private static final long UNIT_BYTES = 1024;
+
+    private final Semaphore budget;
+    private final int budgetUnits;
+    private final Duration maxWait;
+
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong peakReservedUnits = new AtomicLong();
+
+    /**
+     * Creates a controller with a fixed memory budget.
+     *
+     * @param budgetBytes the memory that admitted jobs may reserve in total
+     * @param maxWait     how long a job may wait for memory before it is rejected
+     */
+    public AdmissionController(long budgetBytes, Duration maxWait) {
+        if (budgetBytes < UNIT_BYTES) {
+            throw new IllegalArgumentException("Memory budget must be at least " + UNIT_BYTES + " bytes");
+        }
+        this.budgetUnits = (int) Math.min(Integer.MAX_VALUE, budgetBytes / UNIT_BYTES);
+        this.budget = new Semaphore(budgetUnits, true);
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Creates a controller whose budget is a fraction of the JVM's maximum heap.
+     *
+     * @param fraction the share of {@link Runtime#maxMemory()} given to report jobs, in {@code (0, 1]}
+     * @param maxWait  how long a job may wait for memory before it is rejected
+     * @return a new controller
+     */
+    public static AdmissionController forHeapFraction(double fraction, Duration maxWait) {
+        if (fraction <= 0 || fraction > 1) {
+            throw new IllegalArgumentException("Heap fraction must be in (0, 1]: " + fraction);
+        }
+        return new AdmissionController((long) (Runtime.getRuntime().maxMemory() * fraction), maxWait);
+    }
+
+    /**
+     * Reserves memory for a job, waiting up to the configured wait time.
+     *
+     * @param bytes the estimated footprint of the job
+     * @return the permit to close once the job has finished
+     * @throws ReportException with {@link ErrorCode#REPORT_ADMISSION_REJECTED} if the memory is not available in time,
+     *                         or {@link ErrorCode#REPORT_CANCELLED} if the calling thread is interrupted while waiting
+     */
+    public Permit acquire(long bytes) {
+        int units = toUnits(bytes);
+        try {
+            if (!budget.tryAcquire(units, maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedCount.incrementAndGet();
+                log.warn("⚠️ Report job rejected: {} KiB requested, {} KiB available, {} jobs queued",
+                        units, budget.availablePermits(), budget.getQueueLength());
+                throw new ReportException(ErrorCode.REPORT_ADMISSION_REJECTED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        }
+
+        activeJobs.incrementAndGet();
+        admittedCount.incrementAndGet();
+        peakReservedUnits.accumulateAndGet(budgetUnits - budget.availablePermits(), Math::max);
+        log.debug("Report job admitted with {} KiB ({} KiB reserved)", units, budgetUnits - budget.availablePermits());
+        return new Permit(units);
+    }
+
+    /**
+     * Runs a job once its memory has been reserved, releasing the reservation when it completes or fails.
+     *
+     * @param bytes the estimated footprint of the job
+     * @param job   the job to run on the calling thread
+     * @param <T>   the job's result type
+     * @return the job's result
+     * @throws ReportException as {@link #acquire(long)}, or whatever the job threw
+     */
+    public <T> T execute(long bytes, Supplier<T> job) {
+        try (Permit ignored = acquire(bytes)) {
+            return job.get();
+        }
+    }
+
+    /**
+     * Parses the input and generates a report through {@link ReportGenerator} once the job's memory has been
+     * reserved.
+     * <p>
+     * Admission happens before the parse, estimated from the raw input size by
+     * {@link JobFootprint#estimate(long, FileExportFormat)}, so concurrent uploads cannot all be parsed onto the heap
+     * at once. The parser runs on the calling thread while the reservation is held.
+     *
+     * @param inputBytes                 Size of the raw input in bytes (e.g. the upload's content length)
+     * @param parser                     Parses the input, e.g. {@code () -> new XLSXFormat(uploadStream, "Upload")}
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format
+     * @return A byte array representing the generated report file
+     * @throws ReportException as {@link #acquire(long)} or {@link ReportGenerator#generateReport}, or whatever
+     *                         the parser throws
+     */
+    public byte[] generateReport(long inputBytes, Supplier<? extends UnifiedFormat> parser,
+                                 InputStream jasperReportTemplateStream, Map<String, Object> additionalReportParameters,
+                                 FileExportFormat exportFormat) {
+        long footprint = JobFootprint.estimate(inputBytes, exportFormat);
+        return execute(footprint, () ->
+                ReportGenerator.generateReport(parser.get(), jasperReportTemplateStream, additionalReportParameters, exportFormat));
+    }
+
+    /**
+     * Generates a report through {@link ReportGenerator} once the job's estimated memory has been reserved.
+     * <p>
+     * The input is already parsed when it is admitted, so the parse itself is not covered by the reservation;
+     * prefer {@link #generateReport(long, Supplier, InputStream, Map, FileExportFormat)} for uploads.
+     *
+     * @param file                       A parsed {@link UnifiedFormat} instance; not a streaming format, since
+     *                                   its rows are counted
+     * @param inputBytes                 Size of the raw input still held by the caller, or {@code 0}
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format
+     * @return A byte array representing the generated report file
+     * @throws ReportException as {@link #acquire(long)} or {@link ReportGenerator#generateReport}
+     */
+    public byte[] generateReport(UnifiedFormat file, long inputBytes, InputStream jasperReportTemplateStream,
+                                 Map<String, Object> additionalReportParameters, FileExportFormat exportFormat) {
+        long footprint = JobFootprint.of(file, inputBytes, exportFormat);
+        return execute(footprint, () ->
+                ReportGenerator.generateReport(file, jasperReportTemplateStream, additionalReportParameters, exportFormat));
+    }
+
+    /**
+     * @return the total memory budget in bytes
+     */
+    public long getBudgetBytes() {
+        return budgetUnits * UNIT_BYTES;
+    }
+
+    /**
+     * @return the memory currently reserved by running jobs, in bytes
+     */
+    public long getReservedBytes() {
+        return (budgetUnits - (long) budget.availablePermits()) * UNIT_BYTES;
+    }
+
+    /**
+     * @return the memory still available to new jobs, in bytes
+     */
+    public long getAvailableBytes() {
+        return budget.availablePermits() * UNIT_BYTES;
+    }
+
+    /**
+     * @return the highest reservation observed so far, in bytes
+     */
+    public long getPeakReservedBytes() {
+        return peakReservedUnits.get() * UNIT_BYTES;
+    }
+
+    /**
+     * @return the number of jobs currently holding a reservation
+     */
+    public int getActiveJobs() {
+        return activeJobs.get();
+    }
+
+    /**
+     * @return an estimate of the number of jobs waiting for memory
+     */
+    public int getQueuedJobs() {
+        return budget.getQueueLength();
+    }
+
+    /**
+     * @return the number of jobs admitted so far
+     */
+    public long getAdmittedCount() {
+        return admittedCount.get();
+    }
+
+    /**
+     * @return the number of jobs rejected so far
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    // Utility Functions
+
+    private int toUnits(long bytes) {
+        long units = Math.max(1, (bytes + UNIT_BYTES - 1) / UNIT_BYTES);
+        if (units > budgetUnits) {
+            log.warn("⚠️ Report job estimated at {} KiB exceeds the {} KiB budget; it will run alone", units, budgetUnits);
+            return budgetUnits;
+        }
+        return (int) units;
+    }
+
+    /**
+     * A memory reservation held by one admitted job. Closing it more than once has no further effect.
+     */
+    public final class Permit implements AutoCloseable {
+        private final int units;
+        private boolean released;
+
+        private Permit(int units) {
+            this.units = units;
+        }
+
+        /**
+         * @return the reserved memory in bytes
+         */
+        public long getReservedBytes() {
+            return units * UNIT_BYTES;
+        }
+
+        /**
+         * Returns the reservation to the budget.
+         */
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                activeJobs.decrementAndGet();
+                budget.release(units);
+            }
+        }
+    }
+}
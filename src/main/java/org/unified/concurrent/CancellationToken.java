@@ -0,0 +1,190 @@
+package org.unified.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooperative cancellation signal for a single report request, optionally with a deadline.
+ * <p>
+ * Long-running stages poll {@link #throwIfCancelled()} (a volatile read) at natural boundaries such as
+ * every parsed row, and register {@link #onCancel(Runnable) callbacks} to abort blocking work such as a
+ * Jasper fill. Once cancelled, the token stays cancelled and reports why:
+ * <ul>
+ *     <li>{@link ErrorCode#REPORT_CANCELLED} after {@link #cancel()}</li>
+ *     <li>{@link ErrorCode#REPORT_DEADLINE_EXCEEDED} once the deadline passes; a shared timer thread
+ *     fires the callbacks at the deadline, so polling stages do not need to read the clock</li>
+ * </ul>
+ * Closing a token releases its deadline timer without cancelling it.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (CancellationToken token = CancellationToken.withTimeout(Duration.ofSeconds(30))) {
+ *     UnifiedFormat file = new CSVFormat(stream, "Sales", ParseOptions.builder().cancellationToken(token).build());
+ *     byte[] pdf = ReportGenerator.generateReport(file, templateStream, params, FileExportFormat.PDF, token);
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class CancellationToken implements AutoCloseable {
+
+    /**
+     * A token that is never cancelled. Stages skip all cancellation bookkeeping for it.
+     */
+    public static final CancellationToken NONE = new CancellationToken(false);
+
+    private static final ScheduledThreadPoolExecutor DEADLINES = createTimer();
+
+    private final boolean cancellable;
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private volatile ErrorCode reason;
+    private ScheduledFuture<?> deadline;
+
+    private CancellationToken(boolean cancellable) {
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * Creates a token that is cancelled only by {@link #cancel()}.
+     *
+     * @return a new token
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(true);
+    }
+
+    /**
+     * Creates a token that cancels itself once the timeout has elapsed.
+     *
+     * @param timeout the time allowed from now
+     * @return a new token
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        CancellationToken token = new CancellationToken(true);
+        token.deadline = DEADLINES.schedule(() -> token.fire(ErrorCode.REPORT_DEADLINE_EXCEEDED),
+                Math.max(0, timeout.toNanos()), TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    /**
+     * Cancels the token and runs the registered callbacks. Has no effect if it is already cancelled
+     * or if this is {@link #NONE}.
+     */
+    public void cancel() {
+        fire(ErrorCode.REPORT_CANCELLED);
+    }
+
+    /**
+     * @return {@code true} once the token has been cancelled or its deadline has passed
+     */
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    /**
+     * @return {@code false} only for {@link #NONE}, which can never be cancelled
+     */
+    public boolean isCancellable() {
+        return cancellable;
+    }
+
+    /**
+     * Fails fast if the token has been cancelled.
+     *
+     * @throws ReportException with {@link ErrorCode#REPORT_CANCELLED} or {@link ErrorCode#REPORT_DEADLINE_EXCEEDED}
+     */
+    public void throwIfCancelled() {
+        ErrorCode current = reason;
+        if (current != null) {
+            throw new ReportException(current);
+        }
+    }
+
+    /**
+     * Registers a callback that runs when the token is cancelled, immediately if it already is.
+     * <p>
+     * Callbacks run on the cancelling thread while the token's lock is held; once the returned
+     * registration has been closed, the callback is guaranteed not to be running and never runs again.
+     *
+     * @param callback the action aborting the caller's work
+     * @return the registration to close once the work is done
+     */
+    public Registration onCancel(Runnable callback) {
+        if (!cancellable) {
+            return () -> {
+            };
+        }
+        synchronized (this) {
+            if (reason == null) {
+                callbacks.add(callback);
+                return () -> {
+                    synchronized (this) {
+                        callbacks.remove(callback);
+                    }
+                };
+            }
+            callback.run();
+            return () -> {
+            };
+        }
+    }
+
+    /**
+     * Releases the deadline timer, if any. The token keeps its current state.
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> timer = deadline;
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    // Utility Functions
+
+    private synchronized void fire(ErrorCode cause) {
+        if (!cancellable || reason != null) {
+            return;
+        }
+        reason = cause;
+        log.info("⚠️ Report request cancelled: {}", cause.getMessage());
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Cancellation callback failed: {}", e.toString());
+            }
+        }
+        callbacks.clear();
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "unified-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Handle for a registered cancellation callback.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+
+        /**
+         * Unregisters the callback.
+         */
+        @Override
+        void close();
+    }
+}
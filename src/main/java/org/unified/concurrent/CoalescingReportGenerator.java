@@ -0,0 +1,93 @@
+package org.unified.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.ReportGenerator;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Front for {@link ReportGenerator} that runs identical concurrent requests only once.
+ * <p>
+ * Requests are keyed by their {@link ReportFingerprint} (input rows, template, parameters and format).
+ * While a report is being generated, identical requests wait for it and receive the same bytes; see
+ * {@link SingleFlight} for the error and cancellation semantics. The returned array is shared between
+ * all coalesced callers and must not be modified.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CoalescingReportGenerator generator = new CoalescingReportGenerator();
+ *
+ * // Called concurrently by many request threads
+ * byte[] pdf = generator.generateReport(file, templateBytes, params, FileExportFormat.PDF);
+ * }</pre>
+ */
+@Slf4j
+public class CoalescingReportGenerator {
+
+    private final SingleFlight<String, byte[]> flights;
+
+    /**
+     * Creates a generator that runs reports on an unbounded pool of daemon threads.
+     */
+    public CoalescingReportGenerator() {
+        this(new SingleFlight<>());
+    }
+
+    /**
+     * Creates a generator on top of an existing single-flight group.
+     *
+     * @param flights the group used to coalesce requests
+     */
+    public CoalescingReportGenerator(SingleFlight<String, byte[]> flights) {
+        this.flights = flights;
+    }
+
+    /**
+     * Generates a report, sharing the result with identical requests that are in flight.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param template                   The Jasper template (.jasper or .jrxml) bytes
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format
+     * @return the generated report; shared with coalesced callers
+     * @throws ReportException as {@link ReportGenerator#generateReport}, or {@link ErrorCode#REPORT_CANCELLED}
+     *                         if the calling thread is interrupted while waiting
+     */
+    public byte[] generateReport(UnifiedFormat file, byte[] template, Map<String, Object> additionalReportParameters,
+                                 FileExportFormat exportFormat) {
+        String fingerprint = ReportFingerprint.of(file, template, additionalReportParameters, exportFormat);
+        return flights.execute(fingerprint, () -> {
+            log.info("Generating report for fingerprint {}", fingerprint);
+            return ReportGenerator.generateReport(file, new ByteArrayInputStream(template), additionalReportParameters, exportFormat);
+        });
+    }
+
+    /**
+     * Generates a report, reading the template stream fully to fingerprint it.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param templateStream             Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format
+     * @return the generated report; shared with coalesced callers
+     * @throws ReportException if the template cannot be read, or as {@link #generateReport(UnifiedFormat, byte[], Map, FileExportFormat)}
+     */
+    public byte[] generateReport(UnifiedFormat file, InputStream templateStream, Map<String, Object> additionalReportParameters,
+                                 FileExportFormat exportFormat) {
+        if (templateStream == null) {
+            throw new ReportException(ErrorCode.REPORT_TEMPLATE_NULL);
+        }
+        try {
+            return generateReport(file, templateStream.readAllBytes(), additionalReportParameters, exportFormat);
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.REPORT_TEMPLATE_LOAD_FAILED, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.unified.concurrent;
+
+import org.unified.common.enums.FileExportFormat;
+import org.unified.formats.UnifiedFormat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the peak heap a report job needs, for use with {@link AdmissionController}.
+ * <p>
+ * The estimate is deliberately coarse and errs on the high side. It adds up:
+ * <ul>
+ *     <li>a fixed per-job overhead for the compiled template, filler and exporter state</li>
+ *     <li>the raw input, held once while it is parsed</li>
+ *     <li>the parsed rows, per cell</li>
+ *     <li>the filled {@code JasperPrint}, per cell</li>
+ *     <li>the exporter's buffers, per cell, weighted by the export format</li>
+ * </ul>
+ */
+public final class JobFootprint {
+
+    /**
+     * Template, filler and exporter state independent of the data size.
+     */
+    static final long BASE_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * A parsed cell: map entry plus a short boxed value or string.
+     */
+    static final long PARSED_CELL_BYTES = 96;
+
+    /**
+     * A filled text element in the {@code JasperPrint}.
+     */
+    static final long PRINT_CELL_BYTES = 160;
+
+    /**
+     * Raw input bytes per cell assumed before parsing. Delimited text takes a few bytes per short cell and
+     * compressed sheet XML even fewer, so a low value keeps the estimate on the high side.
+     */
+    static final long INPUT_BYTES_PER_CELL = 4;
+
+    private JobFootprint() {
+    }
+
+    /**
+     * Estimates the footprint of a job from its input statistics.
+     *
+     * @param inputBytes size of the raw input in bytes, or {@code 0} if unknown or already parsed
+     * @param rows       number of data rows
+     * @param columns    number of columns per row
+     * @param format     the export format
+     * @return the estimated peak heap in bytes
+     */
+    public static long estimate(long inputBytes, long rows, int columns, FileExportFormat format) {
+        long cells = Math.max(0, rows) * Math.max(1, columns);
+        long perCell = PARSED_CELL_BYTES + PRINT_CELL_BYTES + exportCellBytes(format);
+        return saturatedAdd(BASE_BYTES + Math.max(0, inputBytes), saturatedMultiply(cells, perCell));
+    }
+
+    /**
+     * Estimates the footprint of a job before its input is parsed, from the size of the raw input alone.
+     * <p>
+     * Use this to admit a job ahead of the parse, which is its largest allocation when rows are kept on the heap.
+     *
+     * @param inputBytes size of the raw input in bytes (e.g. the upload's content length)
+     * @param format     the export format
+     * @return the estimated peak heap in bytes
+     */
+    public static long estimate(long inputBytes, FileExportFormat format) {
+        long cells = Math.max(0, inputBytes) / INPUT_BYTES_PER_CELL;
+        return estimate(inputBytes, cells, 1, format);
+    }
+
+    /**
+     * Estimates the footprint of a job over already parsed input.
+     * <p>
+     * The row count is taken from {@link UnifiedFormat#getDataRows()}, so this should not be used for
+     * streaming formats whose rows are only read once (e.g., a JDBC result set); use
+     * {@link #estimate(long, long, int, FileExportFormat)} with the expected row count instead.
+     *
+     * @param file       the parsed input
+     * @param inputBytes size of the raw input in bytes, or {@code 0} if it is no longer held
+     * @param format     the export format
+     * @return the estimated peak heap in bytes
+     */
+    public static long of(UnifiedFormat file, long inputBytes, FileExportFormat format) {
+        List<Map<String, Object>> rows = file.getDataRows();
+        List<String> columnOrder = file.getColumnOrder();
+        int columns = columnOrder != null ? columnOrder.size() : rows.isEmpty() ? 1 : rows.get(0).size();
+        return estimate(inputBytes, rows.size(), columns, format);
+    }
+
+    // Utility Functions
+
+    /**
+     * Exporter memory per cell. PDF and HTML stream their output, while XLSX keeps sheet XML and
+     * styles in memory and XML is the most verbose encoding.
+     */
+    private static long exportCellBytes(FileExportFormat format) {
+        return switch (format) {
+            case PDF -> 48;
+            case HTML -> 64;
+            case XLSX -> 192;
+            case XML -> 256;
+            default -> 128;
+        };
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        return high != 0 || a * b < 0 ? Long.MAX_VALUE : a * b;
+    }
+}
@@ -0,0 +1,94 @@
+package org.unified.concurrent;
+
+import org.unified.common.enums.FileExportFormat;
+import org.unified.formats.UnifiedFormat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Computes a content fingerprint identifying a report request.
+ * <p>
+ * Two requests with the same fingerprint produce the same report: the digest covers the export format,
+ * the template bytes, the parameters (by name, type and string value) and the input rows (by column,
+ * type and string value). It is a SHA-256 over an unambiguous, length-prefixed encoding of those parts.
+ */
+public final class ReportFingerprint {
+
+    private static final byte NULL = 0;
+    private static final byte VALUE = 1;
+
+    private final MessageDigest digest;
+
+    private ReportFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a report request.
+     *
+     * @param file       the input data
+     * @param template   the template bytes (.jasper or .jrxml)
+     * @param parameters the report parameters; may be {@code null}
+     * @param format     the export format
+     * @return the lowercase hex fingerprint
+     */
+    public static String of(UnifiedFormat file, byte[] template, Map<String, Object> parameters, FileExportFormat format) {
+        ReportFingerprint fingerprint = new ReportFingerprint();
+        fingerprint.putString(format.name());
+        fingerprint.putBytes(template);
+
+        Map<String, Object> sortedParameters = parameters == null ? Map.of() : new TreeMap<>(parameters);
+        fingerprint.putInt(sortedParameters.size());
+        sortedParameters.forEach((name, value) -> {
+            fingerprint.putString(name);
+            fingerprint.putValue(value);
+        });
+
+        List<Map<String, Object>> rows = file.getDataRows();
+        List<String> columns = file.getColumnOrder() != null
+                ? file.getColumnOrder()
+                : rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+        fingerprint.putInt(columns.size());
+        columns.forEach(fingerprint::putString);
+        fingerprint.putInt(rows.size());
+        for (Map<String, Object> row : rows) {
+            for (String column : columns) {
+                fingerprint.putValue(row.get(column));
+            }
+        }
+        return HexFormat.of().formatHex(fingerprint.digest.digest());
+    }
+
+    // Utility Functions
+
+    private void putValue(Object value) {
+        if (value == null) {
+            digest.update(NULL);
+            return;
+        }
+        digest.update(VALUE);
+        putString(value.getClass().getName());
+        putString(String.valueOf(value));
+    }
+
+    private void putString(String value) {
+        putBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void putBytes(byte[] bytes) {
+        putInt(bytes.length);
+        digest.update(bytes);
+    }
+
+    private void putInt(int value) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+}
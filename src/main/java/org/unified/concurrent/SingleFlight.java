@@ -0,0 +1,191 @@
+package org.unified.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations that share a key into a single in-flight execution.
+ * <p>
+ * The first caller for a key starts the computation on the executor; callers arriving while it runs
+ * wait for the same result instead of starting their own. Once the computation finishes, its entry is
+ * removed, so later callers compute afresh - this is request coalescing, not a cache.
+ * <ul>
+ *     <li><b>Errors</b> - a failed computation fails every waiter with the same exception.</li>
+ *     <li><b>Cancellation</b> - a waiter leaves by cancelling its future or by being interrupted while
+ *     blocked in {@link #execute}. When the last waiter leaves, the computation is cancelled and its
+ *     thread interrupted; a caller arriving afterwards starts a new computation.</li>
+ * </ul>
+ *
+ * @param <K> the key type; must implement {@code equals}/{@code hashCode}
+ * @param <V> the result type; shared by all waiters, so it should be treated as immutable
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ConcurrentMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    /**
+     * Creates a single-flight group that runs computations on an unbounded pool of daemon threads.
+     */
+    public SingleFlight() {
+        this(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "unified-flight-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a single-flight group that runs computations on the given executor.
+     *
+     * @param executor the executor computations run on; cancelling a computation interrupts its task
+     */
+    public SingleFlight(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the result for the key, joining an in-flight computation or starting a new one, and blocks until it is available.
+     *
+     * @param key  identifies identical computations
+     * @param work computes the result if no computation for the key is in flight
+     * @return the shared result
+     * @throws ReportException with {@link ErrorCode#REPORT_CANCELLED} if the calling thread is interrupted while waiting,
+     *                         or whatever the computation threw
+     */
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> result = submit(key, work);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } catch (CancellationException e) {
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Returns a future for the key's result, joining an in-flight computation or starting a new one.
+     * <p>
+     * Each caller gets its own future. Cancelling it removes only this caller; the computation is
+     * cancelled once no callers remain.
+     *
+     * @param key  identifies identical computations
+     * @param work computes the result if no computation for the key is in flight
+     * @return this caller's view of the shared result
+     */
+    public CompletableFuture<V> submit(K key, Supplier<V> work) {
+        while (true) {
+            Flight flight = inFlight.computeIfAbsent(key, Flight::new);
+            synchronized (flight) {
+                if (flight.abandoned) {
+                    // Lost a race with the last waiter leaving; the entry is being removed
+                    continue;
+                }
+                flight.waiters++;
+                if (flight.task == null) {
+                    flight.start(work);
+                } else {
+                    log.debug("Joined in-flight computation for {} ({} waiters)", key, flight.waiters);
+                }
+            }
+            return flight.newWaiter();
+        }
+    }
+
+    /**
+     * @return the number of computations currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Utility Functions
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof ReportException || cause instanceof FormatException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof CancellationException e) {
+            return new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        }
+        if (cause instanceof RuntimeException e) {
+            return e;
+        }
+        return new ReportException(ErrorCode.UNKNOWN_ERROR, cause instanceof Exception e ? e : new RuntimeException(cause));
+    }
+
+    /**
+     * One in-flight computation and the number of callers waiting for it. Guarded by its own monitor.
+     */
+    private final class Flight {
+        private final K key;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private Future<?> task;
+        private int waiters;
+        private boolean abandoned;
+
+        private Flight(K key) {
+            this.key = key;
+        }
+
+        private void start(Supplier<V> work) {
+            task = executor.submit(() -> {
+                // The entry is removed before waiters are completed, so they never observe it still in flight
+                try {
+                    V value = work.get();
+                    inFlight.remove(key, this);
+                    result.complete(value);
+                } catch (Throwable t) {
+                    inFlight.remove(key, this);
+                    result.completeExceptionally(t);
+                }
+            });
+        }
+
+        private CompletableFuture<V> newWaiter() {
+            CompletableFuture<V> waiter = new CompletableFuture<>() {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    boolean cancelled = super.cancel(mayInterruptIfRunning);
+                    if (cancelled) {
+                        leave();
+                    }
+                    return cancelled;
+                }
+            };
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    waiter.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                } else {
+                    waiter.complete(value);
+                }
+            });
+            return waiter;
+        }
+
+        private synchronized void leave() {
+            waiters--;
+            if (waiters == 0 && !result.isDone()) {
+                log.info("⚠️ All waiters left; cancelling computation for {}", key);
+                abandoned = true;
+                inFlight.remove(key, this);
+                task.cancel(true);
+                result.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.unified.formats;
+
+import java.util.*;
+
+/**
+ * A parsed row held as an array of values in column order, the form CSV, Excel and XML rows take on the heap.
+ * <p>
+ * All rows of a parse share one {@link Layout}, the column names and their positions, so a row costs one array
+ * instead of a hash table. Readers that resolved a column's position once, such as the fill's data source, read the
+ * value with {@link #valueAt(int)} without a lookup by name.
+ * <p>
+ * The row is still an ordinary mutable map that equals any other map with the same entries. Values of the layout's
+ * columns are replaced and removed in place; other keys are kept in a small map on the side.
+ */
+public final class ArrayRow extends AbstractMap<String, Object> {
+
+    /**
+     * Marks a layout column that was removed from this row.
+     */
+    private static final Object ABSENT = new Object();
+
+    private final Layout layout;
+    private final Object[] values;
+    private int present;
+    private Map<String, Object> extra;
+
+    /**
+     * Creates a row over the given values, which are used without copying.
+     *
+     * @param layout the columns of the values
+     * @param values one value per column, in column order
+     * @throws IllegalArgumentException if the number of values does not match the layout
+     */
+    public ArrayRow(Layout layout, Object[] values) {
+        if (values.length != layout.columns.size()) {
+            throw new IllegalArgumentException("Expected " + layout.columns.size() + " values, got " + values.length);
+        }
+        this.layout = layout;
+        this.values = values;
+        this.present = values.length;
+    }
+
+    /**
+     * @return the columns shared by the rows of one parse
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the value of a column by its position in the layout.
+     *
+     * @param position the zero-based position in {@code getLayout().getColumns()}
+     * @return the value, or {@code null} if it is null or was removed
+     */
+    public Object valueAt(int position) {
+        Object value = values[position];
+        return value == ABSENT ? null : value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer position = layout.positions.get(key);
+        if (position != null) {
+            return valueAt(position);
+        }
+        return extra != null ? extra.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer position = layout.positions.get(key);
+        if (position != null) {
+            return values[position] != ABSENT;
+        }
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Integer position = layout.positions.get(key);
+        if (position == null) {
+            if (extra == null) {
+                extra = new LinkedHashMap<>();
+            }
+            return extra.put(key, value);
+        }
+        Object previous = values[position];
+        values[position] = value;
+        if (previous == ABSENT) {
+            present++;
+            return null;
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Integer position = layout.positions.get(key);
+        if (position == null) {
+            return extra != null ? extra.remove(key) : null;
+        }
+        return removeAt(position);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        present = 0;
+        extra = null;
+    }
+
+    @Override
+    public int size() {
+        return present + (extra != null ? extra.size() : 0);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ArrayRow.this.size();
+            }
+        };
+    }
+
+    // Utility Functions
+
+    private Object removeAt(int position) {
+        Object previous = values[position];
+        if (previous == ABSENT) {
+            return null;
+        }
+        values[position] = ABSENT;
+        present--;
+        return previous;
+    }
+
+    /**
+     * Iterates the present layout columns in order, then the other keys in insertion order.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Entry<String, Object>> extraEntries;
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (extraEntries == null) {
+                extraEntries = extra != null ? extra.entrySet().iterator() : Collections.emptyIterator();
+            }
+            return extraEntries.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next >= values.length) {
+                last = -1;
+                return extraEntries.next();
+            }
+            int position = next;
+            last = position;
+            next = advance(position + 1);
+            return new ValueEntry(position);
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                removeAt(last);
+                last = -1;
+            } else if (extraEntries != null) {
+                extraEntries.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int advance(int position) {
+            while (position < values.length && values[position] == ABSENT) {
+                position++;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * An entry that reads and writes the row's array.
+     */
+    private final class ValueEntry implements Entry<String, Object> {
+        private final int position;
+
+        private ValueEntry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return layout.columns.get(position);
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(position);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = values[position];
+            values[position] = value;
+            if (previous == ABSENT) {
+                present++;
+                return null;
+            }
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && Objects.equals(getKey(), entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * The column names of a parse and their positions, shared by all of its rows.
+     */
+    public static final class Layout {
+        private final List<String> columns;
+        private final Map<String, Integer> positions;
+
+        /**
+         * @param columns the column names, in order
+         * @throws IllegalArgumentException if a name repeats
+         */
+        public Layout(List<String> columns) {
+            this.columns = List.copyOf(columns);
+            this.positions = new HashMap<>(columns.size() * 2);
+            for (int i = 0; i < this.columns.size(); i++) {
+                if (positions.putIfAbsent(this.columns.get(i), i) != null) {
+                    throw new IllegalArgumentException("Duplicate column: " + this.columns.get(i));
+                }
+            }
+        }
+
+        /**
+         * @return the column names, in order
+         */
+        public List<String> getColumns() {
+            return columns;
+        }
+    }
+}
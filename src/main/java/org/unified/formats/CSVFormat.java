@@ -5,11 +5,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.input.BOMInputStream;
 import org.unified.common.enums.ErrorCode;
 import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.validation.RowValidator;
+import org.unified.validation.ValidationResult;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 /**
@@ -19,13 +29,19 @@ import java.util.*;
  * while enforcing header uniqueness and row-column alignment.
  * <p>
  * UTF-8 encoding is enforced with BOM stripping to handle multi-platform CSV files.
+ * GZIP-compressed and zipped CSV inputs are decompressed transparently; see {@code ParseOptions.getArchiveEntry()}.
  */
 @Slf4j
 public class CSVFormat implements UnifiedFormat {
 
-    private final List<Map<String, Object>> dataRows = new ArrayList<>();
     private final List<String> columnOrder = new ArrayList<>();
+    private final List<Map<String, Object>> dataRows;
     private final String sourceName;
+    private final CancellationToken cancellationToken;
+    private final ParseOptions options;
+    private final List<RowError> rowErrors = new ArrayList<>();
+    private Map<String, ColumnStatistics> columnStatistics = Map.of();
+    private ValidationResult validationResult = ValidationResult.NOT_VALIDATED;
 
     /**
      * Constructs a new CSVFormat parser instance from an {@link InputStream}.
@@ -34,10 +50,54 @@ public class CSVFormat implements UnifiedFormat {
      * @param sourceName the name of the CSV source, used in logs; defaults to "CSV" if null
      */
     public CSVFormat(InputStream csvStream, String sourceName) {
-        this.sourceName = sourceName != null ? sourceName : "CSV";
+        this(csvStream, sourceName, ParseOptions.defaults());
+    }
+
+    /**
+     * Constructs a new CSVFormat parser instance from an {@link InputStream}.
+     *
+     * @param csvStream  the input stream containing the CSV content
+     * @param sourceName the name of the CSV source, used in logs; defaults to "CSV" if null
+     * @param options    parse options controlling how rows are stored; defaults are used if null
+     */
+    public CSVFormat(InputStream csvStream, String sourceName, ParseOptions options) {
+        this(sourceName, options);
         parse(csvStream);
     }
 
+    /**
+     * Constructs a new CSVFormat parser instance from a file.
+     * <p>
+     * The file is read through a {@link FileChannel} into a direct buffer, so the raw bytes are never
+     * copied onto the heap.
+     *
+     * @param csvPath    the path of the CSV file
+     * @param sourceName the name of the CSV source, used in logs; defaults to "CSV" if null
+     */
+    public CSVFormat(Path csvPath, String sourceName) {
+        this(csvPath, sourceName, ParseOptions.defaults());
+    }
+
+    /**
+     * Constructs a new CSVFormat parser instance from a file.
+     *
+     * @param csvPath    the path of the CSV file
+     * @param sourceName the name of the CSV source, used in logs; defaults to "CSV" if null
+     * @param options    parse options controlling how rows are stored; defaults are used if null
+     */
+    public CSVFormat(Path csvPath, String sourceName, ParseOptions options) {
+        this(sourceName, options);
+        parse(csvPath);
+    }
+
+    private CSVFormat(String sourceName, ParseOptions options) {
+        this.sourceName = sourceName != null ? sourceName : "CSV";
+        ParseOptions effective = options != null ? options : ParseOptions.defaults();
+        this.dataRows = effective.createRowList(columnOrder);
+        this.cancellationToken = effective.getCancellationToken();
+        this.options = effective;
+    }
+
     /**
      * Returns the list of parsed data rows from the CSV file.
      * Each row is represented as a {@link Map} with header names as keys.
@@ -70,19 +130,90 @@ public class CSVFormat implements UnifiedFormat {
     }
 
     /**
-     * Parses the CSV input stream, extracting headers and row data.
-     * Validates the headers and each row during parsing.
+     * Returns the statistics of each column, collected while parsing if
+     * {@code ParseOptions.isCollectStatistics()} was set.
+     *
+     * @return statistics by column name, or an empty map
+     */
+    @Override
+    public Map<String, ColumnStatistics> getColumnStatistics() {
+        return columnStatistics;
+    }
+
+    /**
+     * Returns the violations found while parsing if {@code ParseOptions.getValidationSchema()} was set.
+     *
+     * @return the validation result, or {@link ValidationResult#NOT_VALIDATED}
+     */
+    @Override
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    /**
+     * Returns the malformed rows skipped while parsing within {@code ParseOptions.getMaxRowErrors()}.
+     *
+     * @return the quarantined rows with their line numbers, in input order
+     */
+    @Override
+    public List<RowError> getRowErrors() {
+        return Collections.unmodifiableList(rowErrors);
+    }
+
+    /**
+     * Parses the CSV input stream, stripping a UTF-8 byte order mark if present.
+     * GZIP and ZIP inputs are detected from their magic bytes and decompressed as they are read.
      *
      * @param inputStream the input stream to parse
      * @throws FormatException if parsing fails due to IO issues or malformed structure
      */
     private void parse(InputStream inputStream) {
         log.info("Starting Parsing CSV ---> UnifiedFormat");
-        try (
-                BOMInputStream bomInputStream = BOMInputStream.builder().setInputStream(inputStream).get();
-                InputStreamReader reader = new InputStreamReader(bomInputStream, StandardCharsets.UTF_8);
-                CSVReader csvReader = new CSVReader(reader)
-        ) {
+        try (BOMInputStream bomInputStream = BOMInputStream.builder()
+                .setInputStream(CompressedInput.decompress(inputStream, options.getArchiveEntry()))
+                .get()) {
+            parse(new InputStreamReader(bomInputStream, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.CSV_IO_ERROR, e);
+        }
+    }
+
+    /**
+     * Parses a CSV file through a {@link ChannelReader}, or as a stream if the file is compressed.
+     *
+     * @param path the CSV file
+     * @throws FormatException if the file cannot be read or its structure is malformed
+     */
+    private void parse(Path path) {
+        log.info("Starting Parsing CSV file {} ---> UnifiedFormat", path.getFileName());
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            ByteBuffer magic = ByteBuffer.allocate(CompressedInput.MAGIC_LENGTH);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Read until the magic bytes are complete or the file ends
+            }
+            channel.position(0);
+            if (CompressedInput.isCompressed(Arrays.copyOf(magic.array(), magic.position()))) {
+                parse(Channels.newInputStream(channel));
+            } else {
+                parse(new ChannelReader(channel));
+            }
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new FormatException(ErrorCode.CSV_IO_ERROR, e);
+        }
+    }
+
+    /**
+     * Parses the CSV text, extracting headers and row data.
+     * Validates the headers and each row during parsing. The reader is closed when done.
+     *
+     * @param reader the decoded CSV text
+     * @throws FormatException if parsing fails due to IO issues or malformed structure
+     */
+    private void parse(Reader reader) {
+        try (CSVReader csvReader = new CSVReader(reader)) {
             String[] headerLine = csvReader.readNext();
 
             extractHeadersFromCSV(headerLine);
@@ -93,6 +224,9 @@ public class CSVFormat implements UnifiedFormat {
         } catch (FormatException e) {
             log.error("❌ Format error while parsing CSV", e);
             throw e;
+        } catch (ReportException e) {
+            log.warn("⚠️ CSV parsing of '{}' stopped: {}", sourceName, e.getErrorCode().getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("❌ Unexpected error while parsing CSV", e);
             throw new FormatException(ErrorCode.CSV_PARSE_ERROR, e);
@@ -101,6 +235,16 @@ public class CSVFormat implements UnifiedFormat {
 
     // Utility Functions
 
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Failed to close CSV file", e);
+            }
+        }
+    }
+
     /**
      * Extracts and validates the header line from the CSV.
      * Ensures headers are not empty or duplicated.
@@ -134,21 +278,43 @@ public class CSVFormat implements UnifiedFormat {
      */
     private void processRowsFromCSV(CSVReader reader) {
         try {
-            int lineNumber = 2;
+            long lineNumber = reader.getLinesRead() + 1;
+            ColumnProfiler profiler = options.createProfiler(columnOrder);
+            RowValidator validator = options.createValidator(columnOrder);
+            ArrayRow.Layout layout = new ArrayRow.Layout(columnOrder);
             String[] row;
-            while ((row = reader.readNext()) != null) {
-                if (!validateCSVRow(row, lineNumber))
+            while (!options.isRowLimitReached(dataRows.size()) && (row = reader.readNext()) != null) {
+                long line = lineNumber;
+                lineNumber = reader.getLinesRead() + 1;
+                cancellationToken.throwIfCancelled();
+                if (!validateCSVRow(row, line))
                     continue;
 
-                Map<String, Object> rowMap = new LinkedHashMap<>();
+                Object[] values = new Object[columnOrder.size()];
                 for (int i = 0; i < columnOrder.size(); i++) {
-                    rowMap.put(columnOrder.get(i), row[i].trim());
+                    String value = row[i].trim();
+                    values[i] = value;
+                    if (profiler != null) {
+                        profiler.accept(i, value);
+                    }
+                    if (validator != null) {
+                        validator.check(line, i, value);
+                    }
                 }
 
-                dataRows.add(rowMap);
-                lineNumber++;
+                dataRows.add(new ArrayRow(layout, values));
             }
-        } catch (FormatException e) {
+            if (profiler != null) {
+                columnStatistics = profiler.finish();
+            }
+            if (validator != null) {
+                validationResult = validator.finish(dataRows.size());
+            }
+            if (!rowErrors.isEmpty()) {
+                log.warn("⚠️ Skipped {} malformed rows of CSV source '{}', first at line {}",
+                        rowErrors.size(), sourceName, rowErrors.get(0).line());
+            }
+        } catch (FormatException | ReportException e) {
             throw e;
         } catch (Exception e) {
             log.error("❌ Error processing CSV rows", e);
@@ -159,19 +325,25 @@ public class CSVFormat implements UnifiedFormat {
     /**
      * Validates a CSV row:
      * - Skips if empty or blank.
-     * - Throws if column count doesn't match the header size.
+     * - Quarantines if column count doesn't match the header size and the error budget allows.
+     * - Throws if column count doesn't match the header size otherwise.
      *
      * @param row        the row values
-     * @param lineNumber the current line number (used in logs)
-     * @return {@code true} if the row is valid, {@code false} if empty and should be skipped
-     * @throws FormatException for column count mismatches
+     * @param lineNumber the line the row starts on (used in logs and row errors)
+     * @return {@code true} if the row is valid, {@code false} if empty or quarantined and should be skipped
+     * @throws FormatException for column count mismatches, or when the error budget is exhausted
      */
-    private boolean validateCSVRow(String[] row, int lineNumber) {
+    private boolean validateCSVRow(String[] row, long lineNumber) {
         if (row.length == 0 || Arrays.stream(row).allMatch(String::isBlank)) {
             log.warn("⚠️ Skipping empty row at line {}", lineNumber);
             return false;
         }
 
+        if (row.length != columnOrder.size() && options.getMaxRowErrors() > 0) {
+            quarantine(row, lineNumber, ErrorCode.CSV_ROW_COLUMN_MISMATCH);
+            return false;
+        }
+
         if (row.length != columnOrder.size()) {
             String msg = String.format("CSV row at line %d has %d columns, expected %d", lineNumber, row.length, columnOrder.size());
             log.error("❌ Row-column mismatch: {}", msg);
@@ -180,4 +352,18 @@ public class CSVFormat implements UnifiedFormat {
 
         return true;
     }
+
+    /**
+     * Records a malformed row in the quarantine, without the cost of an exception per row.
+     *
+     * @throws FormatException with {@link ErrorCode#CSV_ERROR_BUDGET_EXCEEDED} once the budget is exhausted
+     */
+    private void quarantine(String[] row, long lineNumber, ErrorCode error) {
+        if (rowErrors.size() >= options.getMaxRowErrors()) {
+            log.error("❌ Malformed row at line {} exceeds the error budget of {} rows", lineNumber, options.getMaxRowErrors());
+            throw new FormatException(ErrorCode.CSV_ERROR_BUDGET_EXCEEDED);
+        }
+        log.debug("Quarantined row at line {}: {}", lineNumber, error.getMessage());
+        rowErrors.add(new RowError(lineNumber, error, List.of(row)));
+    }
 }
@@ -0,0 +1,99 @@
+package org.unified.formats;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads UTF-8 text from a {@link FileChannel} through a direct byte buffer.
+ * <p>
+ * File bytes are read into off-heap memory and decoded straight into a char buffer, so no heap copy of the
+ * raw bytes is made and memory use stays at one buffer whatever the file size. A leading byte order mark
+ * is skipped; malformed input is replaced as {@link java.io.InputStreamReader} would.
+ */
+final class ChannelReader extends Reader {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final FileChannel channel;
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean endOfInput;
+    private boolean flushed;
+    private boolean started;
+
+    ChannelReader(FileChannel channel) {
+        this.channel = channel;
+        bytes.flip();
+        chars.flip();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        int count = Math.min(length, chars.remaining());
+        chars.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Utility Functions
+
+    /**
+     * Decodes the next chunk of chars, reading from the channel as needed.
+     *
+     * @return {@code false} once the input is exhausted
+     */
+    private boolean fill() throws IOException {
+        chars.clear();
+        try {
+            while (chars.position() == 0 && !flushed) {
+                CoderResult result = decoder.decode(bytes, chars, endOfInput);
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (endOfInput) {
+                    decoder.flush(chars);
+                    flushed = true;
+                } else {
+                    bytes.compact();
+                    endOfInput = channel.read(bytes) < 0;
+                    bytes.flip();
+                }
+            }
+        } finally {
+            chars.flip();
+        }
+        if (!started && chars.hasRemaining()) {
+            started = true;
+            if (chars.get(chars.position()) == BYTE_ORDER_MARK) {
+                chars.get();
+                return chars.hasRemaining() || fill();
+            }
+        }
+        return chars.hasRemaining();
+    }
+}
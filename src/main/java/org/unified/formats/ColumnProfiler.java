@@ -0,0 +1,174 @@
+package org.unified.formats;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects {@link ColumnStatistics} from the values of each column as a format parses them.
+ * <p>
+ * Every accumulator is a primitive array indexed by column, and distinct values are counted by a
+ * {@link HyperLogLog} per column, so a value costs a hash, a few comparisons and, for text that still looks
+ * numeric, one number parse. Once a column has shown text that is not a number, its values are no longer parsed.
+ */
+final class ColumnProfiler {
+
+    private static final int NUMBER = 1;
+    private static final int DATE = 1 << 1;
+    private static final int TEXT = 1 << 2;
+    private static final int OTHER = 1 << 3;
+
+    private final List<String> columns;
+    private final long[] counts;
+    private final long[] nullCounts;
+    private final int[] kinds;
+    private final double[] numberMin;
+    private final double[] numberMax;
+    private final long[] dateMin;
+    private final long[] dateMax;
+    private final String[] textMin;
+    private final String[] textMax;
+    private final HyperLogLog[] distinct;
+
+    /**
+     * @param columns the column order the value indexes refer to
+     */
+    ColumnProfiler(List<String> columns) {
+        int size = columns.size();
+        this.columns = List.copyOf(columns);
+        this.counts = new long[size];
+        this.nullCounts = new long[size];
+        this.kinds = new int[size];
+        this.numberMin = new double[size];
+        this.numberMax = new double[size];
+        this.dateMin = new long[size];
+        this.dateMax = new long[size];
+        this.textMin = new String[size];
+        this.textMax = new String[size];
+        this.distinct = new HyperLogLog[size];
+        for (int i = 0; i < size; i++) {
+            distinct[i] = new HyperLogLog();
+        }
+    }
+
+    /**
+     * Adds one value of a column.
+     *
+     * @param column the column index
+     * @param value  the parsed value; {@code null} and blank text count as null
+     */
+    void accept(int column, Object value) {
+        if (value == null || value instanceof String text && text.isBlank()) {
+            nullCounts[column]++;
+            return;
+        }
+        counts[column]++;
+        if (value instanceof String text) {
+            distinct[column].add(HyperLogLog.hash(text));
+            acceptText(column, text);
+        } else if (value instanceof Number number) {
+            double d = number.doubleValue();
+            distinct[column].add(HyperLogLog.hash(Double.doubleToLongBits(d)));
+            acceptNumber(column, d);
+        } else if (value instanceof Date date) {
+            long time = date.getTime();
+            distinct[column].add(HyperLogLog.hash(time));
+            acceptDate(column, time);
+        } else {
+            distinct[column].add(HyperLogLog.hash(value.hashCode()));
+            kinds[column] |= OTHER;
+        }
+    }
+
+    /**
+     * @return the statistics of every column, in column order
+     */
+    Map<String, ColumnStatistics> finish() {
+        Map<String, ColumnStatistics> statistics = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            statistics.put(columns.get(i), new ColumnStatistics(columns.get(i), counts[i], nullCounts[i],
+                    distinct[i].estimate(), min(i), max(i)));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    // Utility Functions
+
+    private void acceptText(int column, String text) {
+        if (textMin[column] == null || text.compareTo(textMin[column]) < 0) {
+            textMin[column] = text;
+        }
+        if (textMax[column] == null || text.compareTo(textMax[column]) > 0) {
+            textMax[column] = text;
+        }
+        if ((kinds[column] & TEXT) == 0) {
+            double number = parseNumber(text);
+            if (Double.isNaN(number)) {
+                kinds[column] |= TEXT;
+            } else {
+                acceptNumber(column, number);
+            }
+        }
+    }
+
+    private void acceptNumber(int column, double number) {
+        if ((kinds[column] & NUMBER) == 0) {
+            kinds[column] |= NUMBER;
+            numberMin[column] = number;
+            numberMax[column] = number;
+        } else {
+            numberMin[column] = Math.min(numberMin[column], number);
+            numberMax[column] = Math.max(numberMax[column], number);
+        }
+    }
+
+    private void acceptDate(int column, long time) {
+        if ((kinds[column] & DATE) == 0) {
+            kinds[column] |= DATE;
+            dateMin[column] = time;
+            dateMax[column] = time;
+        } else {
+            dateMin[column] = Math.min(dateMin[column], time);
+            dateMax[column] = Math.max(dateMax[column], time);
+        }
+    }
+
+    private Object min(int column) {
+        return switch (kinds[column]) {
+            case NUMBER -> numberMin[column];
+            case DATE -> new Date(dateMin[column]);
+            default -> (kinds[column] & TEXT) != 0 ? textMin[column] : null;
+        };
+    }
+
+    private Object max(int column) {
+        return switch (kinds[column]) {
+            case NUMBER -> numberMax[column];
+            case DATE -> new Date(dateMax[column]);
+            default -> (kinds[column] & TEXT) != 0 ? textMax[column] : null;
+        };
+    }
+
+    /**
+     * Parses decimal text as a number, rejecting the suffixes and words {@link Double#parseDouble(String)} also
+     * accepts, without throwing for text that plainly is not a number.
+     *
+     * @return the number, or {@code NaN} if the text is not a decimal number
+     */
+    private static double parseNumber(String text) {
+        String trimmed = text.strip();
+        char first = trimmed.charAt(0);
+        char last = trimmed.charAt(trimmed.length() - 1);
+        boolean leadsLikeNumber = Character.isDigit(first) || first == '-' || first == '+' || first == '.';
+        if (!leadsLikeNumber || !(Character.isDigit(last) || last == '.')) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.unified.formats;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of one column, collected while the input was parsed.
+ * <p>
+ * Formats collect them when {@code ParseOptions.isCollectStatistics()} is set, and expose them through
+ * {@link UnifiedFormat#getColumnStatistics()}. The report exporter passes them to the fill as the
+ * {@value #REPORT_PARAMETER} parameter, a map from column name to its statistics:
+ * <pre>{@code
+ * <parameter name="COLUMN_STATISTICS" class="java.util.Map"/>
+ * ...
+ * <textFieldExpression><![CDATA[((org.unified.formats.ColumnStatistics) $P{COLUMN_STATISTICS}.get("Amount")).getMax()]]></textFieldExpression>
+ * }</pre>
+ * <p>
+ * {@code getMin()} and {@code getMax()} follow the values of the column: {@link Double}s when every value is a
+ * number or numeric text, {@link java.util.Date}s when every value is a date, and otherwise the text values
+ * compared lexicographically. They are {@code null} when the column has no values or mixes numbers, dates or
+ * booleans without text.
+ */
+@Getter
+public class ColumnStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name of the report parameter the statistics of all columns are passed in, when the template does not
+     * define a value for it itself.
+     */
+    public static final String REPORT_PARAMETER = "COLUMN_STATISTICS";
+
+    /**
+     * Name of the column.
+     */
+    private final String column;
+
+    /**
+     * Number of non-null values.
+     */
+    private final long count;
+
+    /**
+     * Number of null or blank values.
+     */
+    private final long nullCount;
+
+    /**
+     * Estimated number of distinct non-null values, accurate to about 2%.
+     */
+    private final long distinctEstimate;
+
+    /**
+     * Smallest value, or {@code null} if the column has no comparable values.
+     */
+    private final Object min;
+
+    /**
+     * Largest value, or {@code null} if the column has no comparable values.
+     */
+    private final Object max;
+
+    /**
+     * Creates the statistics of a column, e.g. when they are restored from a cache file.
+     *
+     * @param column           name of the column
+     * @param count            number of non-null values
+     * @param nullCount        number of null or blank values
+     * @param distinctEstimate estimated number of distinct non-null values; capped at {@code count}
+     * @param min              smallest value, or {@code null}
+     * @param max              largest value, or {@code null}
+     */
+    public ColumnStatistics(String column, long count, long nullCount, long distinctEstimate, Object min, Object max) {
+        this.column = column;
+        this.count = count;
+        this.nullCount = nullCount;
+        // The estimate can overshoot by its error; the count of values is an exact upper bound
+        this.distinctEstimate = Math.min(distinctEstimate, count);
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of rows, null or not
+     */
+    public long getRowCount() {
+        return count + nullCount;
+    }
+
+    @Override
+    public String toString() {
+        return column + "[rows=" + getRowCount() + ", nulls=" + nullCount + ", distinct≈" + distinctEstimate
+                + ", min=" + min + ", max=" + max + "]";
+    }
+}
@@ -0,0 +1,99 @@
+package org.unified.formats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Detects GZIP and ZIP inputs from their magic bytes and decompresses them as a stream.
+ * <p>
+ * Decompression runs on a {@link ReadAheadInputStream} thread, so inflating the next buffer overlaps with
+ * tokenizing the current one and nothing is written to disk.
+ */
+@Slf4j
+final class CompressedInput {
+
+    static final int MAGIC_LENGTH = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedInput() {
+    }
+
+    /**
+     * Returns the decompressed content of a GZIP or ZIP input, or the input itself if it is not compressed.
+     *
+     * @param input        the raw input
+     * @param archiveEntry the ZIP entry to read; {@code null} selects the first {@code .csv} entry
+     * @return the content to parse
+     * @throws IOException     if the input cannot be read
+     * @throws FormatException if a ZIP input has no matching entry
+     */
+    static InputStream decompress(InputStream input, String archiveEntry) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+        buffered.mark(MAGIC_LENGTH);
+        byte[] magic = buffered.readNBytes(MAGIC_LENGTH);
+        buffered.reset();
+
+        if (isGzip(magic)) {
+            log.info("Reading GZIP-compressed input");
+            return new ReadAheadInputStream(new GZIPInputStream(buffered, BUFFER_SIZE));
+        }
+        if (isZip(magic)) {
+            ZipInputStream zip = new ZipInputStream(buffered);
+            ZipEntry entry = selectEntry(zip, archiveEntry);
+            log.info("Reading ZIP entry '{}'", entry.getName());
+            return new ReadAheadInputStream(zip);
+        }
+        return buffered;
+    }
+
+    /**
+     * @param magic the first bytes of an input
+     * @return {@code true} if the input is GZIP or ZIP compressed
+     */
+    static boolean isCompressed(byte[] magic) {
+        return isGzip(magic) || isZip(magic);
+    }
+
+    // Utility Functions
+
+    private static boolean isGzip(byte[] magic) {
+        return magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B;
+    }
+
+    private static boolean isZip(byte[] magic) {
+        return magic.length >= 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+    }
+
+    /**
+     * Positions the stream at the requested entry, matched by its full name or its file name.
+     */
+    private static ZipEntry selectEntry(ZipInputStream zip, String archiveEntry) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory() && matches(entry.getName(), archiveEntry)) {
+                return entry;
+            }
+        }
+        zip.close();
+        String msg = archiveEntry != null ? "No entry named '" + archiveEntry + "'" : "No .csv entry";
+        log.error("❌ {} in ZIP input", msg);
+        throw new FormatException(ErrorCode.CSV_ARCHIVE_ENTRY_NOT_FOUND, new IllegalArgumentException(msg));
+    }
+
+    private static boolean matches(String name, String archiveEntry) {
+        if (archiveEntry == null) {
+            return name.toLowerCase(Locale.ROOT).endsWith(".csv") && !name.startsWith("__MACOSX/");
+        }
+        return name.equals(archiveEntry) || name.substring(name.lastIndexOf('/') + 1).equals(archiveEntry);
+    }
+}
@@ -0,0 +1,79 @@
+package org.unified.formats;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct values added to it.
+ * <p>
+ * The sketch keeps {@value #REGISTERS} one-byte registers regardless of how many values are added, and estimates
+ * with a standard error of about 1.6%. Small cardinalities, where most registers are still empty, are estimated
+ * by linear counting, which is close to exact.
+ */
+final class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * @param hash a well-mixed 64-bit hash of the value, see {@link #hash(String)} and {@link #hash(long)}
+     */
+    void add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // The sentinel bit bounds the rank when the remaining bits are all zero
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * @return the estimated number of distinct values added
+     */
+    long estimate() {
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && empty > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Hashes text with 64-bit FNV-1a over its characters, finished with {@link #hash(long)} to spread short inputs.
+     *
+     * @param value the text
+     * @return the hash
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return hash(h);
+    }
+
+    /**
+     * Mixes the bits of a value with the MurmurHash3 64-bit finalizer.
+     *
+     * @param value the value, e.g. the bits of a number or a date's epoch millis
+     * @return the hash
+     */
+    static long hash(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
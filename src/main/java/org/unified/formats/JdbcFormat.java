@@ -0,0 +1,285 @@
+package org.unified.formats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.store.SpillableRowStore;
+
+import java.io.Closeable;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * A {@link UnifiedFormat} that streams rows straight out of a JDBC {@link ResultSet}.
+ * <p>
+ * Column names come from {@link ResultSetMetaData#getColumnLabel(int)} and values are read with
+ * {@link ResultSet#getObject(int)}, so the driver's native Java types (numbers, dates, timestamps)
+ * reach the report instead of strings. The fetch size controls how many rows the driver pulls per
+ * round trip.
+ * <p>
+ * Rows are never collected on the heap:
+ * <ul>
+ *     <li>{@link #openCursor()} reads the result set forward, one row at a time. This is the path
+ *     {@link org.unified.ReportGenerator} uses, so a report is filled while rows arrive from the database.</li>
+ *     <li>{@link #getDataRows()}, needed by list-based consumers such as the pipeline stages, drains the
+ *     remaining rows once into a {@link SpillableRowStore} (off-heap, spilling to disk) and serves them from there.</li>
+ * </ul>
+ * A forward-only result set can be read only once: after a cursor has been opened, {@link #getDataRows()}
+ * fails with {@link ErrorCode#JDBC_ALREADY_CONSUMED}.
+ * <p>
+ * Closing the format closes the result set and, for formats created by {@link #query}, the statement.
+ * The connection stays open.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (JdbcFormat orders = JdbcFormat.query(connection, "SELECT * FROM orders WHERE year = ?", "Orders", 5_000, 2024)) {
+ *     byte[] pdf = ReportGenerator.generateReport(orders, templateStream, params, FileExportFormat.PDF);
+ * }
+ * }</pre>
+ * Note that some drivers (e.g., PostgreSQL) only honour the fetch size when auto-commit is disabled.
+ */
+@Slf4j
+public class JdbcFormat implements UnifiedFormat, Closeable {
+
+    /**
+     * Fetch size used when none is given.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private final ResultSet resultSet;
+    private final Statement ownedStatement;
+    private final List<String> columnOrder;
+    private final String sourceName;
+    private final long offHeapLimitBytes;
+
+    private boolean cursorOpened;
+    private SpillableRowStore bufferedRows;
+
+    /**
+     * Creates a format over an already executed result set using the {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @param resultSet  the result set to stream; owned by this format from now on
+     * @param sourceName the logical name of the source; defaults to "JDBC" if null
+     */
+    public JdbcFormat(ResultSet resultSet, String sourceName) {
+        this(resultSet, sourceName, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Creates a format over an already executed result set.
+     *
+     * @param resultSet  the result set to stream; owned by this format from now on
+     * @param sourceName the logical name of the source; defaults to "JDBC" if null
+     * @param fetchSize  the number of rows the driver should fetch per round trip
+     * @throws FormatException if the metadata cannot be read or contains duplicate column labels
+     */
+    public JdbcFormat(ResultSet resultSet, String sourceName, int fetchSize) {
+        this(resultSet, null, sourceName, fetchSize, SpillableRowStore.DEFAULT_OFF_HEAP_LIMIT);
+    }
+
+    private JdbcFormat(ResultSet resultSet, Statement ownedStatement, String sourceName, int fetchSize, long offHeapLimitBytes) {
+        this.resultSet = resultSet;
+        this.ownedStatement = ownedStatement;
+        this.sourceName = sourceName != null ? sourceName : "JDBC";
+        this.offHeapLimitBytes = offHeapLimitBytes;
+        try {
+            if (fetchSize > 0) {
+                resultSet.setFetchSize(fetchSize);
+            }
+            this.columnOrder = Collections.unmodifiableList(extractColumns(resultSet.getMetaData()));
+        } catch (SQLException e) {
+            log.error("❌ Failed to read result set metadata for '{}'", this.sourceName, e);
+            closeQuietly();
+            throw new FormatException(ErrorCode.JDBC_READ_ERROR, e);
+        } catch (FormatException e) {
+            closeQuietly();
+            throw e;
+        }
+        log.info("✅ JDBC source '{}' opened with columns {}", this.sourceName, columnOrder);
+    }
+
+    /**
+     * Executes a query as a forward-only, read-only statement and streams its result.
+     *
+     * @param connection the connection to query; not closed by the format
+     * @param sql        the SQL query, optionally with {@code ?} placeholders
+     * @param sourceName the logical name of the source; defaults to "JDBC" if null
+     * @param fetchSize  the number of rows the driver should fetch per round trip
+     * @param parameters values bound to the placeholders, in order
+     * @return the streaming format; must be closed by the caller
+     * @throws FormatException if the query fails
+     */
+    public static JdbcFormat query(Connection connection, String sql, String sourceName, int fetchSize, Object... parameters) {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return new JdbcFormat(statement.executeQuery(), statement, sourceName, fetchSize,
+                    SpillableRowStore.DEFAULT_OFF_HEAP_LIMIT);
+        } catch (SQLException e) {
+            log.error("❌ Failed to execute query for '{}'", sourceName, e);
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new FormatException(ErrorCode.JDBC_READ_ERROR, e);
+        }
+    }
+
+    /**
+     * Returns all rows, buffering the not yet streamed part of the result set into a {@link SpillableRowStore}
+     * on the first call.
+     *
+     * @return the rows; decoded into fresh maps on access
+     * @throws FormatException with {@link ErrorCode#JDBC_ALREADY_CONSUMED} if a cursor was opened before
+     */
+    @Override
+    public synchronized List<Map<String, Object>> getDataRows() {
+        if (bufferedRows != null) {
+            return bufferedRows;
+        }
+        if (cursorOpened) {
+            throw new FormatException(ErrorCode.JDBC_ALREADY_CONSUMED);
+        }
+        cursorOpened = true;
+        SpillableRowStore store = new SpillableRowStore(columnOrder, offHeapLimitBytes);
+        try (RowCursor cursor = new ResultSetCursor()) {
+            Object[] values = new Object[columnOrder.size()];
+            while (cursor.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = cursor.getValue(i);
+                }
+                store.append(values);
+            }
+        } catch (RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        log.info("✅ Buffered {} rows from JDBC source '{}'", store.size(), sourceName);
+        bufferedRows = store;
+        return store;
+    }
+
+    /**
+     * Opens a cursor over the result set. Once the rows have been buffered by {@link #getDataRows()},
+     * every call returns a new cursor over the buffer instead.
+     *
+     * @return a cursor positioned before the first row
+     * @throws FormatException with {@link ErrorCode#JDBC_ALREADY_CONSUMED} if the result set was already streamed
+     */
+    @Override
+    public synchronized RowCursor openCursor() {
+        if (bufferedRows != null) {
+            return bufferedRows.openCursor();
+        }
+        if (cursorOpened) {
+            throw new FormatException(ErrorCode.JDBC_ALREADY_CONSUMED);
+        }
+        cursorOpened = true;
+        return new ResultSetCursor();
+    }
+
+    /**
+     * Returns the column labels reported by the result set metadata, in select order.
+     *
+     * @return list of column labels
+     */
+    @Override
+    public List<String> getColumnOrder() {
+        return columnOrder;
+    }
+
+    /**
+     * Returns the logical name of the JDBC source.
+     *
+     * @return the source name
+     */
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * Closes the result set, the statement if it was created by {@link #query}, and any buffered rows.
+     */
+    @Override
+    public synchronized void close() {
+        closeQuietly();
+        if (bufferedRows != null) {
+            bufferedRows.close();
+        }
+    }
+
+    // Utility Functions
+
+    private static List<String> extractColumns(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        Set<String> seen = new HashSet<>();
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnLabel(i);
+            if (!seen.add(label)) {
+                log.error("❌ Duplicate column label '{}' in result set", label);
+                throw new FormatException(ErrorCode.JDBC_DUPLICATE_COLUMN,
+                        new IllegalArgumentException("Duplicate column label: " + label));
+            }
+            columns.add(label);
+        }
+        return columns;
+    }
+
+    private void closeQuietly() {
+        try {
+            resultSet.close();
+            if (ownedStatement != null) {
+                ownedStatement.close();
+            }
+        } catch (SQLException e) {
+            log.warn("⚠️ Failed to close JDBC resources for '{}': {}", sourceName, e.toString());
+        }
+    }
+
+    /**
+     * Forward-only cursor reading values directly from the result set's current row.
+     */
+    private final class ResultSetCursor implements RowCursor {
+        private boolean exhausted;
+
+        @Override
+        public boolean next() {
+            if (exhausted) {
+                return false;
+            }
+            try {
+                if (resultSet.next()) {
+                    return true;
+                }
+            } catch (SQLException e) {
+                log.error("❌ Failed to read next row from JDBC source '{}'", sourceName, e);
+                throw new FormatException(ErrorCode.JDBC_READ_ERROR, e);
+            }
+            exhausted = true;
+            return false;
+        }
+
+        @Override
+        public Object getValue(int columnIndex) {
+            try {
+                return resultSet.getObject(columnIndex + 1);
+            } catch (SQLException e) {
+                throw new FormatException(ErrorCode.JDBC_READ_ERROR, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            exhausted = true;
+        }
+    }
+}
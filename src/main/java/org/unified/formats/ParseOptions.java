@@ -0,0 +1,155 @@
+package org.unified.formats;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.unified.concurrent.CancellationToken;
+import org.unified.store.SpillableRowStore;
+import org.unified.validation.RowValidator;
+import org.unified.validation.ValidationSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional settings that control how a {@link UnifiedFormat} implementation parses its input.
+ * <p>
+ * Instances are immutable and created through the builder:
+ * <pre>{@code
+ * ParseOptions options = ParseOptions.builder()
+ *         .rowStorage(ParseOptions.RowStorage.OFF_HEAP)
+ *         .offHeapLimitBytes(512L * 1024 * 1024)
+ *         .build();
+ *
+ * UnifiedFormat format = new CSVFormat(stream, "Transactions", options);
+ * }</pre>
+ */
+@Getter
+@Builder
+public class ParseOptions {
+
+    /**
+     * Where parsed rows are kept.
+     */
+    public enum RowStorage {
+        /**
+         * Rows are kept as {@link ArrayRow}s in an on-heap list (default). The fill reads fields by position.
+         */
+        HEAP,
+
+        /**
+         * Rows are encoded into a {@link SpillableRowStore}, off-heap and spilling to disk when needed.
+         */
+        OFF_HEAP
+    }
+
+    /**
+     * Where parsed rows are kept; defaults to {@link RowStorage#HEAP}.
+     */
+    @Builder.Default
+    private final RowStorage rowStorage = RowStorage.HEAP;
+
+    /**
+     * Direct memory used by an {@link RowStorage#OFF_HEAP} store before it spills to a temp file.
+     */
+    @Builder.Default
+    private final long offHeapLimitBytes = SpillableRowStore.DEFAULT_OFF_HEAP_LIMIT;
+
+    /**
+     * Checked once per parsed row; parsing stops with the token's error once it is cancelled.
+     */
+    @Builder.Default
+    private final CancellationToken cancellationToken = CancellationToken.NONE;
+
+    /**
+     * Maximum number of data rows to parse; {@code 0} (the default) parses the whole input.
+     * <p>
+     * Parsing stops reading the input once the limit is reached, which keeps previews of large files cheap.
+     */
+    @Builder.Default
+    private final int maxRows = 0;
+
+    /**
+     * Name of the entry read when a CSV input is a ZIP archive; {@code null} (the default) reads the first
+     * entry whose name ends in {@code .csv}.
+     */
+    @Builder.Default
+    private final String archiveEntry = null;
+
+    /**
+     * Whether per-column {@link ColumnStatistics} are collected while rows are parsed; off by default.
+     * <p>
+     * The statistics are gathered in the same pass as the rows, so reports and callers can use them without
+     * reading the rows again. See {@link UnifiedFormat#getColumnStatistics()}.
+     */
+    @Builder.Default
+    private final boolean collectStatistics = false;
+
+    /**
+     * Error budget of a lenient parse: the number of malformed rows skipped into {@link UnifiedFormat#getRowErrors()}
+     * before parsing fails; {@code 0} (the default) fails on the first malformed row.
+     * <p>
+     * A lenient parse finishes in one pass despite a few bad rows, and reports them with their line numbers.
+     */
+    @Builder.Default
+    private final int maxRowErrors = 0;
+
+    /**
+     * Schema every parsed row is checked against; {@code null} (the default) skips validation.
+     * <p>
+     * Violations are collected while rows are parsed, up to the schema's limit, instead of stopping the parse.
+     * See {@link UnifiedFormat#getValidationResult()}.
+     */
+    @Builder.Default
+    private final ValidationSchema validationSchema = null;
+
+    /**
+     * Returns the default options: rows are kept on the heap.
+     *
+     * @return default parse options
+     */
+    public static ParseOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @param parsedRows the number of data rows parsed so far
+     * @return {@code true} once {@link #getMaxRows()} rows have been parsed
+     */
+    boolean isRowLimitReached(int parsedRows) {
+        return maxRows > 0 && parsedRows >= maxRows;
+    }
+
+    /**
+     * Creates the list parsed rows are collected into, according to {@link #getRowStorage()}.
+     *
+     * @param columnOrder the (possibly still empty) column order that will be filled from the header
+     * @return a new, empty row list
+     */
+    List<Map<String, Object>> createRowList(List<String> columnOrder) {
+        return rowStorage == RowStorage.OFF_HEAP
+                ? new SpillableRowStore(columnOrder, offHeapLimitBytes)
+                : new ArrayList<>();
+    }
+
+    /**
+     * Creates the profiler parsed values are passed to, according to {@link #isCollectStatistics()}.
+     *
+     * @param columnOrder the column order read from the header
+     * @return a new profiler, or {@code null} if statistics are not collected
+     */
+    ColumnProfiler createProfiler(List<String> columnOrder) {
+        return collectStatistics ? new ColumnProfiler(columnOrder) : null;
+    }
+
+    /**
+     * Compiles the {@link #getValidationSchema() validation schema} for the parsed columns.
+     *
+     * @param columnOrder the column order read from the header
+     * @return a new validator, or {@code null} if rows are not validated
+     * @throws org.unified.common.exceptions.FormatException if the schema names a column the input does not have
+     */
+    RowValidator createValidator(List<String> columnOrder) {
+        return validationSchema != null ? validationSchema.compile(columnOrder).newValidator() : null;
+    }
+}
@@ -0,0 +1,151 @@
+package org.unified.formats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An input stream that reads its source ahead on a background thread, so that producing the bytes (for example,
+ * inflating a compressed upload) overlaps with consuming them.
+ * <p>
+ * The reader thread fills one of two buffers while the caller drains the other. The thread owns the source and
+ * closes it when it finishes or when this stream is closed. Failures of the source are rethrown to the caller in
+ * order, after the bytes read before them; runtime exceptions (such as a {@code FormatException}) are rethrown as is.
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(2);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(2);
+    private final Thread reader;
+    private Chunk current;
+    private int position;
+    private boolean closed;
+
+    /**
+     * A filled buffer handed to the caller, or the end of the source.
+     *
+     * @param buffer  the bytes; {@code null} at the end of the source
+     * @param length  the number of bytes in the buffer
+     * @param failure the failure that ended the source, if any
+     */
+    private record Chunk(byte[] buffer, int length, Exception failure) {
+    }
+
+    ReadAheadInputStream(InputStream source) {
+        free.add(new byte[BUFFER_SIZE]);
+        free.add(new byte[BUFFER_SIZE]);
+        reader = new Thread(() -> readAhead(source), "unified-read-ahead-" + THREAD_COUNTER.incrementAndGet());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current.buffer()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length() - position);
+        System.arraycopy(current.buffer(), position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current != null && current.buffer() != null ? current.length() - position : 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        reader.interrupt();
+    }
+
+    // Utility Functions
+
+    /**
+     * Makes bytes available in {@link #current}, waiting for the reader thread if the buffer is drained.
+     *
+     * @return {@code false} at the end of the source
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || (current.buffer() != null && position == current.length())) {
+            if (current != null) {
+                free.add(current.buffer());
+            }
+            try {
+                current = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for input");
+            }
+            position = 0;
+        }
+        if (current.failure() instanceof RuntimeException e) {
+            throw e;
+        }
+        if (current.failure() != null) {
+            throw new IOException(current.failure().getMessage(), current.failure());
+        }
+        return current.buffer() != null;
+    }
+
+    /**
+     * Reader thread: fills free buffers from the source until it ends, fails or this stream is closed.
+     */
+    private void readAhead(InputStream source) {
+        try {
+            while (true) {
+                byte[] buffer = free.take();
+                int length = 0;
+                int count = 0;
+                Exception failure = null;
+                try {
+                    while (length < buffer.length && (count = source.read(buffer, length, buffer.length - length)) >= 0) {
+                        length += count;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure = e;
+                }
+                if (length > 0) {
+                    filled.put(new Chunk(buffer, length, null));
+                }
+                if (failure != null || count < 0) {
+                    filled.put(new Chunk(null, 0, failure));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed by the caller
+        } finally {
+            try {
+                source.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.unified.formats;
+
+/**
+ * A forward-only, positional view over the rows of a tabular data source.
+ * <p>
+ * Unlike {@link UnifiedFormat#getDataRows()}, a cursor does not require the rows to be materialized
+ * as maps: values are read by column index from the current row. Implementations may reuse
+ * internal buffers between rows, so values must be read before advancing.
+ */
+public interface RowCursor extends AutoCloseable {
+
+    /**
+     * Advances to the next row.
+     *
+     * @return {@code true} if a row is available, {@code false} once the source is exhausted
+     */
+    boolean next();
+
+    /**
+     * Returns the value of the given column in the current row.
+     *
+     * @param columnIndex zero-based index into the source's column order
+     * @return the column value, possibly {@code null}
+     */
+    Object getValue(int columnIndex);
+
+    /**
+     * Releases any resources held by this cursor. Further calls to {@link #next()} return {@code false}.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,24 @@
+package org.unified.formats;
+
+import org.unified.common.enums.ErrorCode;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A malformed input row that a lenient parse skipped instead of failing on.
+ * <p>
+ * Rows are quarantined while {@code ParseOptions.getMaxRowErrors()} allows, and reported through
+ * {@link UnifiedFormat#getRowErrors()}. Recording one costs no exception or stack trace.
+ *
+ * @param line   the 1-based line of the input the row starts on
+ * @param error  why the row was rejected
+ * @param values the raw values of the row, for the error report
+ */
+public record RowError(long line, ErrorCode error, List<String> values) implements Serializable {
+
+    @Override
+    public String toString() {
+        return "line " + line + ": " + error.getCode() + " " + error.getMessage() + " " + values;
+    }
+}
@@ -1,6 +1,8 @@
 package org.unified.formats;
 
 import org.unified.common.exceptions.FormatException;
+import org.unified.validation.ValidationResult;
+import org.unified.validation.ValidationSchema;
 
 import java.util.List;
 import java.util.Map;
@@ -31,11 +33,36 @@ public interface UnifiedFormat {
      * Implementations may check for required fields, data types, or
      * domain-specific rules. If validation fails, a {@link FormatException}
      * or a custom exception should be thrown.
+     * <p>
+     * The default implementation throws if the rows were validated against a schema while parsing and
+     * violated it; see {@link #getValidationResult()}.
      *
      * @throws FormatException if validation fails due to missing or invalid data.
      */
     default void validateFields() {
-        // Default: no-op. Implementations can override as needed.
+        getValidationResult().throwIfInvalid();
+    }
+
+    /**
+     * Returns the violations found while the rows were parsed against a {@link ValidationSchema}, e.g. one given
+     * in {@code ParseOptions.getValidationSchema()}.
+     *
+     * @return the validation result; {@link ValidationResult#NOT_VALIDATED} if no schema was applied
+     */
+    default ValidationResult getValidationResult() {
+        return ValidationResult.NOT_VALIDATED;
+    }
+
+    /**
+     * Returns the malformed rows skipped by a lenient parse, in input order.
+     * <p>
+     * Formats fail on the first malformed row unless {@code ParseOptions.getMaxRowErrors()} gives them an error
+     * budget; within the budget, rejected rows are reported here instead of aborting the parse.
+     *
+     * @return the quarantined rows; empty if none were skipped
+     */
+    default List<RowError> getRowErrors() {
+        return List.of();
     }
 
     /**
@@ -65,4 +92,31 @@ public interface UnifiedFormat {
     default String getSourceName() {
         return "unnamed";
     }
+
+    /**
+     * Opens a cursor that streams the rows without materializing them, if the implementation supports it.
+     * <p>
+     * Streaming sources (e.g., a JDBC result set) return a cursor whose {@link RowCursor#getValue(int)}
+     * indexes follow {@link #getColumnOrder()}. Consumers such as the report exporter then fill directly
+     * from the cursor instead of calling {@link #getDataRows()}.
+     *
+     * @return a new cursor positioned before the first row, or {@code null} if rows should be read
+     * through {@link #getDataRows()}.
+     */
+    default RowCursor openCursor() {
+        return null;
+    }
+
+    /**
+     * Returns the statistics of each column, if they were collected while the input was parsed.
+     * <p>
+     * Formats that profile their input (e.g., CSV or Excel parsed with {@code ParseOptions.isCollectStatistics()})
+     * return the min, max, null count and distinct estimate of every column without another pass over
+     * {@link #getDataRows()}.
+     *
+     * @return the statistics by column name, in column order; empty if none were collected
+     */
+    default Map<String, ColumnStatistics> getColumnStatistics() {
+        return Map.of();
+    }
 }
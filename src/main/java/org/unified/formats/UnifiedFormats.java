@@ -0,0 +1,65 @@
+package org.unified.formats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Creates the {@link UnifiedFormat} for a file on disk, chosen by its extension. Compressed CSV files
+ * ({@code .csv.gz} and {@code .zip}) are parsed as CSV.
+ * <p>
+ * Parsing from a file instead of a stream avoids an in-memory copy of the upload: XLSX packages are opened
+ * read-only with random access to their zip entries, and CSV text is decoded from a direct buffer.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * UnifiedFormat file = UnifiedFormats.fromPath(uploadedFile, "Upload", ParseOptions.defaults());
+ * }</pre>
+ */
+@Slf4j
+public final class UnifiedFormats {
+
+    private UnifiedFormats() {
+    }
+
+    /**
+     * Parses a CSV or XLSX file with default options.
+     *
+     * @param path       the file to parse
+     * @param sourceName the logical name of the source, used in logs; defaults to the file name if null
+     * @return the parsed file
+     * @throws FormatException if the extension is not supported or parsing fails
+     */
+    public static UnifiedFormat fromPath(Path path, String sourceName) {
+        return fromPath(path, sourceName, ParseOptions.defaults());
+    }
+
+    /**
+     * Parses a CSV (optionally GZIP or ZIP compressed) or XLSX file.
+     *
+     * @param path       the file to parse
+     * @param sourceName the logical name of the source, used in logs; defaults to the file name if null
+     * @param options    parse options; defaults are used if null
+     * @return the parsed file
+     * @throws FormatException if the extension is not supported or parsing fails
+     */
+    public static UnifiedFormat fromPath(Path path, String sourceName, ParseOptions options) {
+        String fileName = path.getFileName() != null ? path.getFileName().toString() : "";
+        String name = sourceName != null ? sourceName : fileName;
+        String baseName = fileName.toLowerCase(Locale.ROOT).replaceFirst("\\.gz$", "");
+        String extension = baseName.substring(baseName.lastIndexOf('.') + 1);
+
+        return switch (extension) {
+            case "csv", "zip" -> new CSVFormat(path, name, options);
+            case "xlsx" -> new XLSXFormat(path, name, options);
+            default -> {
+                log.error("❌ Unsupported input file: {}", fileName);
+                throw new FormatException(ErrorCode.BYTE_UNSUPPORTED_FORMAT,
+                        new IllegalArgumentException("Unsupported file extension: " + fileName));
+            }
+        };
+    }
+}
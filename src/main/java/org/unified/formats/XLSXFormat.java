@@ -1,26 +1,44 @@
 package org.unified.formats;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.unified.common.enums.ErrorCode;
 import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.validation.RowValidator;
+import org.unified.validation.ValidationResult;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 /**
  * A parser class that implements {@link UnifiedFormat} for reading Excel (XLSX) files.
  * <p>
  * This class uses Apache POI to extract data from the first sheet of an XLSX file.
- * It validates headers and processes each row into a list of maps.
+ * It validates headers and processes each row into a list of maps. With a row limit set in
+ * {@code ParseOptions.getMaxRows()}, the sheet is streamed and reading stops after the limit.
  */
 @Slf4j
 public class XLSXFormat implements UnifiedFormat {
 
-    private final List<Map<String, Object>> dataRows = new ArrayList<>();
     private final List<String> columnOrder = new ArrayList<>();
+    private final List<Map<String, Object>> dataRows;
     private final String sourceName;
+    private final CancellationToken cancellationToken;
+    private final ParseOptions options;
+    private ColumnProfiler profiler;
+    private RowValidator validator;
+    private ArrayRow.Layout layout;
+    private Map<String, ColumnStatistics> columnStatistics = Map.of();
+    private ValidationResult validationResult = ValidationResult.NOT_VALIDATED;
 
     /**
      * Constructs an {@code XLSXFormat} parser from an {@link InputStream}.
@@ -29,10 +47,54 @@ public class XLSXFormat implements UnifiedFormat {
      * @param sourceName optional logical name for the file (used in logs); defaults to "XLSX" if null
      */
     public XLSXFormat(InputStream xlsxStream, String sourceName) {
-        this.sourceName = sourceName != null ? sourceName : "XLSX";
+        this(xlsxStream, sourceName, ParseOptions.defaults());
+    }
+
+    /**
+     * Constructs an {@code XLSXFormat} parser from an {@link InputStream}.
+     *
+     * @param xlsxStream the input stream of the XLSX file
+     * @param sourceName optional logical name for the file (used in logs); defaults to "XLSX" if null
+     * @param options    parse options controlling how rows are stored and how many are read; defaults are used if null
+     */
+    public XLSXFormat(InputStream xlsxStream, String sourceName, ParseOptions options) {
+        this(sourceName, options);
         parse(xlsxStream);
     }
 
+    /**
+     * Constructs an {@code XLSXFormat} parser from a file.
+     * <p>
+     * The file is opened read-only with random access to its zip entries, so POI does not buffer the
+     * whole upload in memory as it does for a stream.
+     *
+     * @param xlsxPath   the path of the XLSX file
+     * @param sourceName optional logical name for the file (used in logs); defaults to "XLSX" if null
+     */
+    public XLSXFormat(Path xlsxPath, String sourceName) {
+        this(xlsxPath, sourceName, ParseOptions.defaults());
+    }
+
+    /**
+     * Constructs an {@code XLSXFormat} parser from a file.
+     *
+     * @param xlsxPath   the path of the XLSX file
+     * @param sourceName optional logical name for the file (used in logs); defaults to "XLSX" if null
+     * @param options    parse options controlling how rows are stored and how many are read; defaults are used if null
+     */
+    public XLSXFormat(Path xlsxPath, String sourceName, ParseOptions options) {
+        this(sourceName, options);
+        parse(xlsxPath);
+    }
+
+    private XLSXFormat(String sourceName, ParseOptions options) {
+        this.sourceName = sourceName != null ? sourceName : "XLSX";
+        ParseOptions effective = options != null ? options : ParseOptions.defaults();
+        this.dataRows = effective.createRowList(columnOrder);
+        this.cancellationToken = effective.getCancellationToken();
+        this.options = effective;
+    }
+
     /**
      * Returns the list of parsed data rows from the XLSX sheet.
      * Each row is represented as a {@link Map} with headers as keys.
@@ -64,25 +126,126 @@ public class XLSXFormat implements UnifiedFormat {
         return sourceName;
     }
 
+    /**
+     * Returns the statistics of each column, collected while parsing if
+     * {@code ParseOptions.isCollectStatistics()} was set.
+     *
+     * @return statistics by column name, or an empty map
+     */
+    @Override
+    public Map<String, ColumnStatistics> getColumnStatistics() {
+        return columnStatistics;
+    }
+
+    /**
+     * Returns the violations found while parsing if {@code ParseOptions.getValidationSchema()} was set.
+     *
+     * @return the validation result, or {@link ValidationResult#NOT_VALIDATED}
+     */
+    @Override
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
     /**
      * Parses the XLSX input stream using Apache POI.
      * Extracts headers and rows, and populates internal data structures.
+     * <p>
+     * With a row limit, the stream is copied to a temp file first, since a zip cannot be read
+     * selectively from a stream, and only the first rows are read from it.
      *
      * @param inputStream the input stream of the XLSX file
      * @throws FormatException if parsing fails due to invalid structure or I/O error
      */
     private void parse(InputStream inputStream) {
+        if (options.getMaxRows() > 0) {
+            Path spool = null;
+            try {
+                spool = Files.createTempFile("unified-xlsx-", ".xlsx");
+                Files.copy(inputStream, spool, StandardCopyOption.REPLACE_EXISTING);
+                parse(spool);
+            } catch (IOException e) {
+                log.error("❌ Failed to spool XLSX input", e);
+                throw new FormatException(ErrorCode.XLSX_PARSE_ERROR, e);
+            } finally {
+                deleteQuietly(spool);
+            }
+            return;
+        }
         log.info("Starting Parsing XLSX ---> UnifiedFormat");
-        try (Workbook workbook = new XSSFWorkbook(inputStream)) {
-            Sheet sheet = workbook.getSheetAt(0); // or by name
-            Iterator<Row> rowIterator = sheet.iterator();
+        guarded(() -> {
+            try (Workbook workbook = new XSSFWorkbook(inputStream)) {
+                readWorkbook(workbook);
+            }
+        });
+    }
 
-            extractHeadersFromExcel(rowIterator);
-            processRowsFromExcel(rowIterator);
+    /**
+     * Parses an XLSX file opened read-only through {@link OPCPackage#open(java.io.File, PackageAccess)}.
+     * <p>
+     * Without a row limit, the first sheet is loaded into a POI workbook. With a limit, it is streamed
+     * through {@link XLSXSheetReader} and closed as soon as enough rows have been read.
+     *
+     * @param path the XLSX file
+     * @throws FormatException if parsing fails due to invalid structure or I/O error
+     */
+    private void parse(Path path) {
+        boolean firstRowsOnly = options.getMaxRows() > 0;
+        if (firstRowsOnly) {
+            log.info("Starting Parsing first {} XLSX rows ---> UnifiedFormat", options.getMaxRows());
+        } else {
+            log.info("Starting Parsing XLSX file {} ---> UnifiedFormat", path.getFileName());
+        }
+        guarded(() -> {
+            OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ);
+            try {
+                if (firstRowsOnly) {
+                    XLSXSheetReader.read(pkg, this::acceptSheetRow);
+                    if (columnOrder.isEmpty()) {
+                        log.error("❌ Missing headers: sheet is empty");
+                        throw new FormatException(ErrorCode.XLSX_MISSING_HEADERS, new Exception("Missing headers: the sheet is empty"));
+                    }
+                    finishProfiling();
+                    log.info("✅ Parsed {} rows from XLSX source '{}'", dataRows.size(), sourceName);
+                } else {
+                    readWorkbook(new XSSFWorkbook(pkg));
+                }
+            } finally {
+                // Read-only packages are released without saving
+                pkg.revert();
+            }
+        });
+    }
+
+    /**
+     * Reads the headers and rows of the first sheet of a loaded workbook.
+     *
+     * @param workbook the workbook
+     */
+    private void readWorkbook(Workbook workbook) {
+        Sheet sheet = workbook.getSheetAt(0); // or by name
+        Iterator<Row> rowIterator = sheet.iterator();
+
+        extractHeadersFromExcel(rowIterator);
+        processRowsFromExcel(rowIterator);
+        finishProfiling();
+    }
 
+    /**
+     * Runs a parse step, logging and translating its failures.
+     *
+     * @param step the parse step
+     * @throws FormatException for format errors, or {@link ErrorCode#XLSX_PARSE_ERROR} for any unexpected failure
+     */
+    private void guarded(ParseStep step) {
+        try {
+            step.run();
         } catch (FormatException e) {
             log.error("❌ Format error while parsing XLSX file", e);
             throw e;
+        } catch (ReportException e) {
+            log.warn("⚠️ XLSX parsing of '{}' stopped: {}", sourceName, e.getErrorCode().getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("❌ Unexpected error while parsing XLSX file", e);
             throw new FormatException(ErrorCode.XLSX_PARSE_ERROR, e);
@@ -91,6 +254,66 @@ public class XLSXFormat implements UnifiedFormat {
 
     // Utility Functions
 
+    /**
+     * Handles one streamed sheet row: the first row supplies the headers, later rows become data rows.
+     *
+     * @param cells the row's cells by column index
+     * @return {@code true} while more rows are wanted
+     */
+    private boolean acceptSheetRow(List<XLSXSheetReader.SheetCell> cells) {
+        cancellationToken.throwIfCancelled();
+        if (columnOrder.isEmpty()) {
+            for (int i = 0; i < cells.size(); i++) {
+                XLSXSheetReader.SheetCell cell = cells.get(i);
+                CellType type = cell == null ? null : cell.type();
+                validateExcelHeaders(type, type == CellType.STRING ? (String) cell.value() : null, i);
+                columnOrder.add(((String) cell.value()).trim());
+            }
+            log.info("Extracted headers: {}", columnOrder);
+            profiler = options.createProfiler(columnOrder);
+            validator = options.createValidator(columnOrder);
+            layout = new ArrayRow.Layout(columnOrder);
+            return columnOrder.isEmpty() || !options.isRowLimitReached(dataRows.size());
+        }
+
+        Object[] values = new Object[columnOrder.size()];
+        for (int i = 0; i < columnOrder.size(); i++) {
+            XLSXSheetReader.SheetCell cell = i < cells.size() ? cells.get(i) : null;
+            Object value = cell == null ? null : cell.value();
+            values[i] = value;
+            if (profiler != null) {
+                profiler.accept(i, value);
+            }
+            if (validator != null) {
+                validator.check(dataRows.size() + 1L, i, value);
+            }
+        }
+        dataRows.add(new ArrayRow(layout, values));
+        return !options.isRowLimitReached(dataRows.size());
+    }
+
+    private void finishProfiling() {
+        if (profiler != null) {
+            columnStatistics = profiler.finish();
+            profiler = null;
+        }
+        if (validator != null) {
+            validationResult = validator.finish(dataRows.size());
+            validator = null;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete XLSX spool file {}: {}", path, e.getMessage());
+        }
+    }
+
     /**
      * Extracts the value from an Excel cell based on its type.
      *
@@ -127,11 +350,15 @@ public class XLSXFormat implements UnifiedFormat {
 
         for (int i = 0; i < headerRow.getLastCellNum(); i++) {
             Cell cell = headerRow.getCell(i);
-            validateExcelHeaders(cell, i);
+            CellType type = cell == null ? null : cell.getCellType();
+            validateExcelHeaders(type, type == CellType.STRING ? cell.getStringCellValue() : null, i);
             columnOrder.add(cell.getStringCellValue().trim());
         }
 
         log.info("Extracted headers: {}", columnOrder);
+        profiler = options.createProfiler(columnOrder);
+        validator = options.createValidator(columnOrder);
+        layout = new ArrayRow.Layout(columnOrder);
     }
 
     /**
@@ -144,14 +371,23 @@ public class XLSXFormat implements UnifiedFormat {
     private void processRowsFromExcel(Iterator<Row> rowIterator) {
         int rowIndex = 1;
         while (rowIterator.hasNext()) {
+            cancellationToken.throwIfCancelled();
             Row row = rowIterator.next();
-            Map<String, Object> rowMap = new LinkedHashMap<>();
+            Object[] values = new Object[columnOrder.size()];
 
             for (int i = 0; i < columnOrder.size(); i++) {
                 Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-                rowMap.put(columnOrder.get(i), getCellValue(cell));
+                Object value = getCellValue(cell);
+                values[i] = value;
+                if (profiler != null) {
+                    profiler.accept(i, value);
+                }
+                if (validator != null) {
+                    validator.check(dataRows.size() + 1L, i, value);
+                }
             }
 
+            ArrayRow rowMap = new ArrayRow(layout, values);
             dataRows.add(rowMap);
             log.debug("Processed row {}: {}", rowIndex++, rowMap);
         }
@@ -165,19 +401,20 @@ public class XLSXFormat implements UnifiedFormat {
      *     <li>Must be unique</li>
      * </ul>
      *
-     * @param header the header cell to validate
-     * @param index  the column index (used for logging)
+     * @param type  the type of the header cell, or {@code null} if the cell is missing
+     * @param text  the header text if the cell is a text cell
+     * @param index the column index (used for logging)
      * @throws FormatException if any condition fails
      */
-    private void validateExcelHeaders(Cell header, int index) {
-        if (header == null || header.getCellType() != CellType.STRING) {
+    private void validateExcelHeaders(CellType type, String text, int index) {
+        if (type != CellType.STRING) {
             String msg = "Header at column " + index + " must be text. Found: " +
-                    (header == null ? "null" : header.getCellType());
+                    (type == null ? "null" : type);
             log.error("❌ {}", msg);
             throw new FormatException(ErrorCode.XLSX_INVALID_HEADER_TYPE, new Exception(msg));
         }
 
-        String headerString = header.getStringCellValue().trim();
+        String headerString = text.trim();
         if (headerString.isBlank()) {
             String msg = "Header at column index " + index + " is blank";
             log.error("❌ {}", msg);
@@ -190,4 +427,12 @@ public class XLSXFormat implements UnifiedFormat {
             throw new FormatException(ErrorCode.XLSX_DUPLICATE_HEADER, new IllegalArgumentException(msg));
         }
     }
+
+    /**
+     * A parse step that may fail with any exception.
+     */
+    @FunctionalInterface
+    private interface ParseStep {
+        void run() throws Exception;
+    }
 }
@@ -0,0 +1,225 @@
+package org.unified.formats;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams the rows of the first sheet of an XLSX package with StAX, without building POI's in-memory workbook.
+ * <p>
+ * Only the parts that are read are inflated, and reading stops as soon as the handler asks for it, so the
+ * cost of reading the first rows does not depend on the size of the sheet. Cell values match
+ * {@link XLSXFormat#getCellValue}: text, booleans, numbers as {@link Double}, date-formatted numbers as
+ * {@link java.util.Date}, formulas as their formula text and blank or error cells as {@code null}.
+ * Cells of shared formulas other than the anchor cell carry no formula text and yield their cached value.
+ */
+final class XLSXSheetReader {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private XLSXSheetReader() {
+    }
+
+    /**
+     * Receives the rows of the sheet in order.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * Handles one row present in the sheet.
+         *
+         * @param cells the row's cells by column index; missing cells are {@code null}
+         * @return {@code true} to continue with the next row, {@code false} to stop reading
+         */
+        boolean row(List<SheetCell> cells);
+    }
+
+    /**
+     * A cell read from the sheet.
+     *
+     * @param type  the cell type as POI's usermodel would report it
+     * @param value the cell value, see {@link XLSXSheetReader}
+     */
+    record SheetCell(CellType type, Object value) {
+    }
+
+    /**
+     * Reads the first sheet of the package, passing each row to the handler until it returns {@code false}.
+     *
+     * @param pkg     the opened XLSX package
+     * @param handler receives the rows
+     * @throws Exception if the package is not a readable XLSX file
+     */
+    static void read(OPCPackage pkg, RowHandler handler) throws Exception {
+        XSSFReader xssfReader = new XSSFReader(pkg);
+        SharedStrings sharedStrings = xssfReader.getSharedStringsTable();
+        StylesTable styles = xssfReader.getStylesTable();
+        boolean date1904 = isDate1904(xssfReader);
+
+        Iterator<InputStream> sheets = xssfReader.getSheetsData();
+        if (!sheets.hasNext()) {
+            return;
+        }
+        try (InputStream sheet = sheets.next()) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(sheet);
+            try {
+                new SheetParser(reader, sharedStrings, styles, date1904).parse(handler);
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    // Utility Functions
+
+    private static boolean isDate1904(XSSFReader xssfReader) throws Exception {
+        try (InputStream workbook = xssfReader.getWorkbookData()) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(workbook);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if ("workbookPr".equals(name)) {
+                            String value = reader.getAttributeValue(null, "date1904");
+                            return "1".equals(value) || "true".equalsIgnoreCase(value);
+                        }
+                        if ("sheets".equals(name)) {
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Walks the {@code sheetData} of one worksheet.
+     */
+    private static final class SheetParser {
+        private final XMLStreamReader reader;
+        private final SharedStrings sharedStrings;
+        private final StylesTable styles;
+        private final boolean date1904;
+
+        private SheetParser(XMLStreamReader reader, SharedStrings sharedStrings, StylesTable styles, boolean date1904) {
+            this.reader = reader;
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.date1904 = date1904;
+        }
+
+        private void parse(RowHandler handler) throws XMLStreamException {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "row".equals(reader.getLocalName())) {
+                    if (!handler.row(readRow())) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private List<SheetCell> readRow() throws XMLStreamException {
+            List<SheetCell> cells = new ArrayList<>();
+            int nextColumn = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(reader.getLocalName())) {
+                    String ref = reader.getAttributeValue(null, "r");
+                    int column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                    while (cells.size() <= column) {
+                        cells.add(null);
+                    }
+                    cells.set(column, readCell());
+                    nextColumn = column + 1;
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(reader.getLocalName())) {
+                    break;
+                }
+            }
+            return cells;
+        }
+
+        private SheetCell readCell() throws XMLStreamException {
+            String type = reader.getAttributeValue(null, "t");
+            String style = reader.getAttributeValue(null, "s");
+            String value = null;
+            String formula = null;
+            StringBuilder inline = null;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "v" -> value = reader.getElementText();
+                        case "f" -> formula = reader.getElementText();
+                        case "t" -> {
+                            if (inline == null) {
+                                inline = new StringBuilder();
+                            }
+                            inline.append(reader.getElementText());
+                        }
+                        default -> {
+                            // Rich text runs and phonetic hints carry no value of their own
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(reader.getLocalName())) {
+                    break;
+                }
+            }
+
+            if (formula != null && !formula.isEmpty()) {
+                return new SheetCell(CellType.FORMULA, formula);
+            }
+            if ("inlineStr".equals(type)) {
+                return new SheetCell(CellType.STRING, inline != null ? inline.toString() : "");
+            }
+            if (value == null || value.isEmpty()) {
+                return new SheetCell(CellType.BLANK, null);
+            }
+            return switch (type == null ? "n" : type) {
+                case "s" -> new SheetCell(CellType.STRING, sharedStrings.getItemAt(Integer.parseInt(value)).getString());
+                case "str" -> new SheetCell(CellType.STRING, value);
+                case "b" -> new SheetCell(CellType.BOOLEAN, "1".equals(value) || "true".equalsIgnoreCase(value));
+                case "e" -> new SheetCell(CellType.ERROR, null);
+                default -> numeric(Double.parseDouble(value), style);
+            };
+        }
+
+        private SheetCell numeric(double number, String style) {
+            if (style != null && styles != null) {
+                XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+                if (cellStyle != null
+                        && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString())
+                        && DateUtil.isValidExcelDate(number)) {
+                    return new SheetCell(CellType.NUMERIC, DateUtil.getJavaDate(number, date1904));
+                }
+            }
+            return new SheetCell(CellType.NUMERIC, number);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package org.unified.formats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * A parser class that implements {@link UnifiedFormat} for XML record files, using StAX.
+ * <p>
+ * The document is read as a stream of events; no DOM is built. Every element whose local name matches
+ * the configured record element becomes one row:
+ * <ul>
+ *     <li>Attributes of the record element map to columns of the same name.</li>
+ *     <li>Child elements map to columns named by their path below the record, e.g. {@code name} or
+ *     {@code address.city}; their text content is the value.</li>
+ *     <li>Attributes of child elements map to {@code <path>@<attribute>}, e.g. {@code amount@currency}.</li>
+ * </ul>
+ * Values are kept as strings, like {@link CSVFormat}. Fields absent from a record are {@code null}.
+ * <p>
+ * Columns are either given explicitly, in which case fields outside them are ignored, or derived from the
+ * first {@value #COLUMN_SAMPLE_RECORDS} records, in the order fields first appear, so optional elements missing
+ * from the first record are still picked up. In derive mode a record after the sample with a field outside the
+ * column set is rejected. Since XML record files tend to be large, rows are kept in an
+ * off-heap {@link ParseOptions.RowStorage#OFF_HEAP store} unless the options say otherwise, so heap
+ * usage stays constant regardless of file size.
+ * <p>
+ * DTDs and external entities are disabled.
+ */
+@Slf4j
+public class XMLFormat implements UnifiedFormat {
+
+    /**
+     * Number of leading records whose fields make up the derived column set.
+     */
+    static final int COLUMN_SAMPLE_RECORDS = 1000;
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final List<String> columnOrder = new ArrayList<>();
+    private final Set<String> columnSet = new HashSet<>();
+    private final List<Map<String, Object>> dataRows;
+    private final String sourceName;
+    private final CancellationToken cancellationToken;
+    private final ParseOptions options;
+    private final String recordElement;
+    private final boolean columnsFixed;
+    // Created once the columns are known, by the first row
+    private ArrayRow.Layout layout;
+
+    /**
+     * Constructs a new XMLFormat parser instance from an {@link InputStream}, deriving columns from the first record.
+     *
+     * @param xmlStream     the input stream containing the XML document
+     * @param sourceName    the name of the XML source, used in logs; defaults to "XML" if null
+     * @param recordElement the local name of the repeating element that represents one row
+     */
+    public XMLFormat(InputStream xmlStream, String sourceName, String recordElement) {
+        this(xmlStream, sourceName, recordElement, null, null);
+    }
+
+    /**
+     * Constructs a new XMLFormat parser instance from an {@link InputStream}.
+     *
+     * @param xmlStream     the input stream containing the XML document
+     * @param sourceName    the name of the XML source, used in logs; defaults to "XML" if null
+     * @param recordElement the local name of the repeating element that represents one row
+     * @param columns       the columns to extract, in order, repeated names once; {@code null} to derive them from the
+     *                      leading records
+     * @param options       parse options controlling how rows are stored; off-heap storage is used if null
+     */
+    public XMLFormat(InputStream xmlStream, String sourceName, String recordElement, List<String> columns, ParseOptions options) {
+        this.sourceName = sourceName != null ? sourceName : "XML";
+        this.recordElement = Objects.requireNonNull(recordElement, "recordElement");
+        this.columnsFixed = columns != null;
+        if (columns != null) {
+            for (String column : columns) {
+                if (columnSet.add(column)) {
+                    columnOrder.add(column);
+                }
+            }
+        }
+        ParseOptions effective = options != null
+                ? options
+                : ParseOptions.builder().rowStorage(ParseOptions.RowStorage.OFF_HEAP).build();
+        this.dataRows = effective.createRowList(columnOrder);
+        this.cancellationToken = effective.getCancellationToken();
+        this.options = effective;
+        parse(xmlStream);
+    }
+
+    /**
+     * Returns the list of parsed data rows, one per record element.
+     *
+     * @return list of row data as maps
+     */
+    @Override
+    public List<Map<String, Object>> getDataRows() {
+        return dataRows;
+    }
+
+    /**
+     * Returns the ordered list of columns, either as given or as found in the leading records.
+     *
+     * @return list of column names
+     */
+    @Override
+    public List<String> getColumnOrder() {
+        return columnOrder;
+    }
+
+    /**
+     * Returns the logical name of the XML source file.
+     *
+     * @return the source name
+     */
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * Streams the XML document, turning each record element into a row.
+     *
+     * @param inputStream the input stream to parse
+     * @throws FormatException if the document is malformed or a record does not match the columns
+     */
+    private void parse(InputStream inputStream) {
+        log.info("Starting Parsing XML ---> UnifiedFormat (record element: {})", recordElement);
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            int recordNumber = 0;
+            // Derive mode holds back the sampled records until their fields make up the column set
+            List<Map<String, Object>> sample = columnsFixed ? null : new ArrayList<>();
+            while (!options.isRowLimitReached(dataRows.size() + (sample != null ? sample.size() : 0)) && reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && recordElement.equals(reader.getLocalName())) {
+                    cancellationToken.throwIfCancelled();
+                    recordNumber++;
+                    Map<String, Object> record = readRecord(reader, recordNumber);
+                    if (sample == null) {
+                        dataRows.add(toRow(record, recordNumber));
+                        continue;
+                    }
+                    sample.add(record);
+                    if (sample.size() == COLUMN_SAMPLE_RECORDS) {
+                        deriveColumns(sample);
+                        sample = null;
+                    }
+                }
+            }
+            if (sample != null && !sample.isEmpty()) {
+                deriveColumns(sample);
+            }
+            if (recordNumber == 0 && !columnsFixed) {
+                log.error("❌ No <{}> elements found in XML source '{}'", recordElement, sourceName);
+                throw new FormatException(ErrorCode.XML_RECORD_MISSING);
+            }
+            log.info("✅ Parsed {} records from XML source '{}'", recordNumber, sourceName);
+
+        } catch (XMLStreamException e) {
+            log.error("❌ Malformed XML in source '{}'", sourceName, e);
+            throw new FormatException(ErrorCode.XML_PARSE_ERROR, e);
+        } catch (FormatException e) {
+            log.error("❌ Format error while parsing XML", e);
+            throw e;
+        } catch (ReportException e) {
+            log.warn("⚠️ XML parsing of '{}' stopped: {}", sourceName, e.getErrorCode().getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("❌ Unexpected error while parsing XML", e);
+            throw new FormatException(ErrorCode.XML_PARSE_ERROR, e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+
+    // Utility Functions
+
+    /**
+     * Reads one record, starting at its start element and ending at the matching end element.
+     *
+     * @param reader       the reader positioned on the record's start element
+     * @param recordNumber the 1-based record number (used in logs)
+     * @return the record's fields in document order
+     */
+    private Map<String, Object> readRecord(XMLStreamReader reader, int recordNumber) throws XMLStreamException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putAttributes(reader, "", fields, recordNumber);
+
+        Deque<String> paths = new ArrayDeque<>();
+        Deque<StringBuilder> texts = new ArrayDeque<>();
+        Deque<Boolean> hasChildren = new ArrayDeque<>();
+
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    if (!hasChildren.isEmpty()) {
+                        hasChildren.pop();
+                        hasChildren.push(true);
+                    }
+                    String path = paths.isEmpty() ? reader.getLocalName() : paths.peek() + "." + reader.getLocalName();
+                    paths.push(path);
+                    texts.push(new StringBuilder());
+                    hasChildren.push(false);
+                    putAttributes(reader, path + "@", fields, recordNumber);
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (!texts.isEmpty()) {
+                        texts.peek().append(reader.getText());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (paths.isEmpty()) {
+                        return fields;
+                    }
+                    String path = paths.pop();
+                    String text = texts.pop().toString().trim();
+                    if (!hasChildren.pop()) {
+                        put(fields, path, text, recordNumber);
+                    }
+                }
+                default -> {
+                    // Comments, processing instructions and whitespace between elements carry no data
+                }
+            }
+        }
+    }
+
+    private void putAttributes(XMLStreamReader reader, String prefix, Map<String, Object> fields, int recordNumber) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            put(fields, prefix + reader.getAttributeLocalName(i), reader.getAttributeValue(i), recordNumber);
+        }
+    }
+
+    private void put(Map<String, Object> fields, String column, String value, int recordNumber) {
+        if (fields.putIfAbsent(column, value) != null) {
+            log.error("❌ Field '{}' repeats within record {}", column, recordNumber);
+            throw new FormatException(ErrorCode.XML_REPEATED_FIELD,
+                    new IllegalArgumentException("Field '" + column + "' repeats within record " + recordNumber));
+        }
+    }
+
+    /**
+     * Sets the columns to the union of the sampled records' fields and adds the sampled records as rows.
+     */
+    private void deriveColumns(List<Map<String, Object>> sample) {
+        for (Map<String, Object> record : sample) {
+            for (String field : record.keySet()) {
+                if (columnSet.add(field)) {
+                    columnOrder.add(field);
+                }
+            }
+        }
+        log.info("Extracted columns from the first {} records: {}", sample.size(), columnOrder);
+        for (int i = 0; i < sample.size(); i++) {
+            dataRows.add(toRow(sample.get(i), i + 1));
+        }
+    }
+
+    /**
+     * Lays a record out in column order. Fields outside explicitly given columns are dropped; in derive mode they
+     * are rejected.
+     */
+    private Map<String, Object> toRow(Map<String, Object> record, int recordNumber) {
+        if (!columnsFixed) {
+            for (String field : record.keySet()) {
+                if (!columnSet.contains(field)) {
+                    String msg = String.format("XML record %d contains field '%s', which the first %d records do not have; "
+                            + "pass the columns explicitly to ignore extra fields", recordNumber, field, COLUMN_SAMPLE_RECORDS);
+                    log.error("❌ Unknown field: {}", msg);
+                    throw new FormatException(ErrorCode.XML_UNKNOWN_FIELD, new IllegalArgumentException(msg));
+                }
+            }
+        }
+        if (layout == null) {
+            layout = new ArrayRow.Layout(columnOrder);
+        }
+        Object[] values = new Object[columnOrder.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = record.get(columnOrder.get(i));
+        }
+        return new ArrayRow(layout, values);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
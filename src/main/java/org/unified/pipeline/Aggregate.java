@@ -0,0 +1,92 @@
+package org.unified.pipeline;
+
+/**
+ * A single aggregate computed per group by the {@link Aggregator}.
+ *
+ * @param function the aggregate function
+ * @param column   the measured column; {@code null} for a row count
+ * @param alias    the output column name
+ */
+public record Aggregate(Function function, String column, String alias) {
+
+    /**
+     * Supported aggregate functions. Values are converted to numbers (numeric strings included);
+     * values that are null or not numeric are ignored by every function except a row count.
+     */
+    public enum Function {
+        SUM, COUNT, AVG, MIN, MAX
+    }
+
+    /**
+     * Counts the rows of each group, output as {@code COUNT}.
+     *
+     * @return the aggregate
+     */
+    public static Aggregate count() {
+        return new Aggregate(Function.COUNT, null, "COUNT");
+    }
+
+    /**
+     * Counts the non-null values of a column, output as {@code COUNT_<column>}.
+     *
+     * @param column the measured column
+     * @return the aggregate
+     */
+    public static Aggregate count(String column) {
+        return of(Function.COUNT, column);
+    }
+
+    /**
+     * Sums a column, output as {@code SUM_<column>}.
+     *
+     * @param column the measured column
+     * @return the aggregate
+     */
+    public static Aggregate sum(String column) {
+        return of(Function.SUM, column);
+    }
+
+    /**
+     * Averages a column, output as {@code AVG_<column>}.
+     *
+     * @param column the measured column
+     * @return the aggregate
+     */
+    public static Aggregate avg(String column) {
+        return of(Function.AVG, column);
+    }
+
+    /**
+     * Takes the minimum of a column, output as {@code MIN_<column>}.
+     *
+     * @param column the measured column
+     * @return the aggregate
+     */
+    public static Aggregate min(String column) {
+        return of(Function.MIN, column);
+    }
+
+    /**
+     * Takes the maximum of a column, output as {@code MAX_<column>}.
+     *
+     * @param column the measured column
+     * @return the aggregate
+     */
+    public static Aggregate max(String column) {
+        return of(Function.MAX, column);
+    }
+
+    /**
+     * Returns a copy of this aggregate with a different output column name.
+     *
+     * @param alias the output column name
+     * @return the renamed aggregate
+     */
+    public Aggregate as(String alias) {
+        return new Aggregate(function, column, alias);
+    }
+
+    private static Aggregate of(Function function, String column) {
+        return new Aggregate(function, column, function + "_" + column);
+    }
+}
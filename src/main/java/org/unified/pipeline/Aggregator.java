@@ -0,0 +1,337 @@
+package org.unified.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pipeline stage that pre-aggregates detail rows into one row per group before the report is filled.
+ * <p>
+ * Summary reports (sum/count/avg by a few keys) otherwise make Jasper iterate every detail row during the
+ * fill. This stage computes the summaries up front so the fill only sees one row per group:
+ * <ul>
+ *     <li>Rows are read once and handed out in chunks to {@code parallelism} workers.</li>
+ *     <li>Each worker groups its chunks in a private hash table with primitive {@code double}/{@code long}
+ *     accumulators, so no locking or boxing happens per row.</li>
+ *     <li>The per-worker tables are merged and the groups are emitted ordered by their key columns.</li>
+ * </ul>
+ * The output is a {@link DerivedFormat} with the group-by columns followed by one column per {@link Aggregate}.
+ * {@code COUNT} values are {@link Long}; all other aggregates are {@link Double}, or {@code null} when a group
+ * has no numeric values ({@code SUM} yields {@code 0.0} instead).
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * Aggregator aggregator = new Aggregator(
+ *         List.of("Region", "Product"),
+ *         List.of(Aggregate.sum("Amount"), Aggregate.avg("Amount"), Aggregate.count()));
+ *
+ * UnifiedFormat summary = aggregator.aggregate(new CSVFormat(stream, "Sales"));
+ * byte[] pdf = ReportGenerator.generateReport(summary, template, params, FileExportFormat.PDF);
+ * }</pre>
+ */
+@Slf4j
+public class Aggregator {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final List<Object[]> END_OF_INPUT = List.of();
+
+    private final List<String> groupBy;
+    private final List<Aggregate> aggregates;
+    private final int parallelism;
+
+    /**
+     * Creates an aggregator using one worker per available processor.
+     *
+     * @param groupBy    the columns to group by; may be empty for a single grand-total row
+     * @param aggregates the aggregates to compute per group
+     */
+    public Aggregator(List<String> groupBy, List<Aggregate> aggregates) {
+        this(groupBy, aggregates, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param groupBy     the columns to group by; may be empty for a single grand-total row
+     * @param aggregates  the aggregates to compute per group
+     * @param parallelism the number of worker threads
+     */
+    public Aggregator(List<String> groupBy, List<Aggregate> aggregates, int parallelism) {
+        this.groupBy = List.copyOf(groupBy);
+        this.aggregates = List.copyOf(aggregates);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Aggregates all rows of the given format.
+     *
+     * @param source the detail rows
+     * @return one row per group, ordered by the group-by columns
+     * @throws ReportException if a referenced column is missing or aggregation fails
+     */
+    public DerivedFormat aggregate(UnifiedFormat source) {
+        long startTime = System.nanoTime();
+        List<String> columns = Columns.of(source);
+        int[] groupIndexes = Columns.indexesOf(columns, groupBy);
+        int[] measureIndexes = new int[aggregates.size()];
+        for (int a = 0; a < measureIndexes.length; a++) {
+            String column = aggregates.get(a).column();
+            measureIndexes[a] = column == null ? -1 : Columns.indexesOf(columns, List.of(column))[0];
+        }
+
+        BlockingQueue<List<Object[]>> chunks = new ArrayBlockingQueue<>(parallelism * 2);
+        ExecutorService workers = StageWorkers.newPool("aggregate", parallelism);
+
+        try {
+            List<Future<GroupTable>> partitions = new ArrayList<>();
+            for (int w = 0; w < parallelism; w++) {
+                partitions.add(workers.submit(() -> {
+                    GroupTable table = new GroupTable();
+                    List<Object[]> chunk;
+                    while ((chunk = chunks.take()) != END_OF_INPUT) {
+                        for (Object[] row : chunk) {
+                            table.accumulate(row, groupIndexes, measureIndexes);
+                        }
+                    }
+                    return table;
+                }));
+            }
+
+            long rowCount = 0;
+            List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Map<String, Object> row : source.getDataRows()) {
+                chunk.add(Columns.values(row, columns));
+                rowCount++;
+                if (chunk.size() == CHUNK_SIZE) {
+                    putChunk(chunks, chunk, partitions);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                putChunk(chunks, chunk, partitions);
+            }
+            for (int w = 0; w < parallelism; w++) {
+                putChunk(chunks, END_OF_INPUT, partitions);
+            }
+
+            GroupTable merged = partitions.get(0).get();
+            for (int w = 1; w < partitions.size(); w++) {
+                merged.mergeFrom(partitions.get(w).get());
+            }
+
+            List<Map<String, Object>> output = merged.toRows();
+            log.info("✅ Aggregated {} rows into {} groups by {} in {} ms",
+                    rowCount, output.size(), groupBy, (System.nanoTime() - startTime) / 1_000_000);
+            return new DerivedFormat(output, outputColumns(), source.getSourceName());
+
+        } catch (ExecutionException e) {
+            throw StageWorkers.failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } catch (ReportException | FormatException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Utility Functions
+
+    private List<String> outputColumns() {
+        List<String> output = new ArrayList<>(groupBy);
+        aggregates.forEach(aggregate -> output.add(aggregate.alias()));
+        return output;
+    }
+
+    /**
+     * Hands a chunk to the workers, failing fast if a worker died instead of blocking on a full queue.
+     */
+    private static void putChunk(BlockingQueue<List<Object[]>> chunks, List<Object[]> chunk,
+                                 List<Future<GroupTable>> partitions) throws Exception {
+        while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            for (Future<GroupTable> partition : partitions) {
+                if (partition.isDone()) {
+                    partition.get();
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a value into a double, returning NaN for nulls and non-numeric values.
+     */
+    private static double toDouble(Object value) {
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        if (value instanceof String s && !s.isBlank()) {
+            try {
+                return Double.parseDouble(s.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Group key with a precomputed hash over the group-by values.
+     */
+    private record GroupKey(Object[] values, int hash) {
+        static GroupKey of(Object[] row, int[] groupIndexes) {
+            Object[] values = new Object[groupIndexes.length];
+            for (int i = 0; i < groupIndexes.length; i++) {
+                values[i] = row[groupIndexes[i]];
+            }
+            return new GroupKey(values, Arrays.hashCode(values));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof GroupKey key && hash == key.hash && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Hash table of groups with column-oriented primitive accumulators indexed by group id.
+     */
+    private final class GroupTable {
+        private final Map<GroupKey, Integer> groupIds = new HashMap<>();
+        private final List<GroupKey> keys = new ArrayList<>();
+        private final double[][] accumulators = new double[aggregates.size()][];
+        private final long[][] counts = new long[aggregates.size()][];
+        private int capacity;
+
+        private int groupId(GroupKey key) {
+            Integer id = groupIds.get(key);
+            if (id != null) {
+                return id;
+            }
+            int newId = keys.size();
+            groupIds.put(key, newId);
+            keys.add(key);
+            if (newId == capacity) {
+                grow();
+            }
+            for (int a = 0; a < aggregates.size(); a++) {
+                accumulators[a][newId] = switch (aggregates.get(a).function()) {
+                    case MIN -> Double.POSITIVE_INFINITY;
+                    case MAX -> Double.NEGATIVE_INFINITY;
+                    default -> 0;
+                };
+            }
+            return newId;
+        }
+
+        private void grow() {
+            capacity = Math.max(64, capacity * 2);
+            for (int a = 0; a < aggregates.size(); a++) {
+                accumulators[a] = accumulators[a] == null ? new double[capacity] : Arrays.copyOf(accumulators[a], capacity);
+                counts[a] = counts[a] == null ? new long[capacity] : Arrays.copyOf(counts[a], capacity);
+            }
+        }
+
+        private void accumulate(Object[] row, int[] groupIndexes, int[] measureIndexes) {
+            int id = groupId(GroupKey.of(row, groupIndexes));
+            for (int a = 0; a < measureIndexes.length; a++) {
+                Aggregate.Function function = aggregates.get(a).function();
+                if (measureIndexes[a] < 0) {
+                    counts[a][id]++;
+                    continue;
+                }
+                Object value = row[measureIndexes[a]];
+                if (function == Aggregate.Function.COUNT) {
+                    if (value != null) {
+                        counts[a][id]++;
+                    }
+                    continue;
+                }
+                double number = toDouble(value);
+                if (Double.isNaN(number)) {
+                    continue;
+                }
+                counts[a][id]++;
+                double[] acc = accumulators[a];
+                switch (function) {
+                    case MIN -> acc[id] = Math.min(acc[id], number);
+                    case MAX -> acc[id] = Math.max(acc[id], number);
+                    default -> acc[id] += number;
+                }
+            }
+        }
+
+        private void mergeFrom(GroupTable other) {
+            for (int otherId = 0; otherId < other.keys.size(); otherId++) {
+                int id = groupId(other.keys.get(otherId));
+                for (int a = 0; a < aggregates.size(); a++) {
+                    double value = other.accumulators[a][otherId];
+                    double[] acc = accumulators[a];
+                    switch (aggregates.get(a).function()) {
+                        case MIN -> acc[id] = Math.min(acc[id], value);
+                        case MAX -> acc[id] = Math.max(acc[id], value);
+                        default -> acc[id] += value;
+                    }
+                    counts[a][id] += other.counts[a][otherId];
+                }
+            }
+        }
+
+        private List<Map<String, Object>> toRows() {
+            List<SortKey> order = groupBy.stream().map(SortKey::ascending).toList();
+            Integer[] ids = new Integer[keys.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i;
+            }
+            Arrays.sort(ids, (x, y) -> compareGroups(order, keys.get(x).values(), keys.get(y).values()));
+
+            List<Map<String, Object>> rows = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                Object[] groupValues = keys.get(id).values();
+                for (int g = 0; g < groupBy.size(); g++) {
+                    row.put(groupBy.get(g), groupValues[g]);
+                }
+                for (int a = 0; a < aggregates.size(); a++) {
+                    row.put(aggregates.get(a).alias(), result(a, id));
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        private Object result(int a, int id) {
+            long count = counts[a][id];
+            double acc = accumulators[a][id];
+            return switch (aggregates.get(a).function()) {
+                case COUNT -> count;
+                case SUM -> acc;
+                case AVG -> count == 0 ? null : acc / count;
+                case MIN, MAX -> count == 0 ? null : acc;
+            };
+        }
+
+        @SuppressWarnings("rawtypes")
+        private int compareGroups(List<SortKey> order, Object[] a, Object[] b) {
+            for (int g = 0; g < order.size(); g++) {
+                SortKey key = order.get(g);
+                int result = SortKey.compareComponents((Comparable) key.keyOf(a[g]), (Comparable) key.keyOf(b[g]));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.unified.pipeline;
+
+import org.unified.common.enums.FileExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Receives the reports produced by a {@link ReportBurster}, one call per burst key.
+ * <p>
+ * Reports are delivered in completion order from a single thread, so implementations
+ * do not need to be thread-safe.
+ */
+@FunctionalInterface
+public interface BurstSink {
+
+    /**
+     * Accepts the report generated for one key.
+     *
+     * @param key    the burst key value, as a string
+     * @param format the format the report was exported to
+     * @param report the exported report content
+     * @throws IOException if the report cannot be written
+     */
+    void accept(String key, FileExportFormat format, byte[] report) throws IOException;
+
+    /**
+     * Creates a sink that writes every report as an entry of the given ZIP stream.
+     * <p>
+     * Entries are named {@code <key>.<extension>}, with characters outside {@code [A-Za-z0-9._-]}
+     * replaced by {@code _} and a numeric suffix added when two keys map to the same name.
+     * The ZIP stream is neither finished nor closed by the sink.
+     *
+     * @param zip the ZIP stream the reports are written to
+     * @return the sink
+     */
+    static BurstSink zip(ZipOutputStream zip) {
+        Set<String> usedNames = new HashSet<>();
+        return (key, format, report) -> {
+            String baseName = key.isEmpty() ? "_" : key.replaceAll("[^A-Za-z0-9._-]", "_");
+            String name = baseName + "." + format.getExtension();
+            for (int suffix = 2; !usedNames.add(name); suffix++) {
+                name = baseName + "_" + suffix + "." + format.getExtension();
+            }
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(report);
+            zip.closeEntry();
+        };
+    }
+
+    /**
+     * Creates a sink that opens one output stream per key, writes the report into it and closes it.
+     *
+     * @param streams opens the output stream for a key and format
+     * @return the sink
+     */
+    static BurstSink perKey(StreamFactory streams) {
+        return (key, format, report) -> {
+            try (OutputStream out = streams.open(key, format)) {
+                out.write(report);
+            }
+        };
+    }
+
+    /**
+     * Opens the output stream a single burst report is written to.
+     */
+    @FunctionalInterface
+    interface StreamFactory {
+
+        /**
+         * Opens the stream for one key.
+         *
+         * @param key    the burst key value, as a string
+         * @param format the format of the report
+         * @return a new output stream; closed after the report is written
+         * @throws IOException if the stream cannot be opened
+         */
+        OutputStream open(String key, FileExportFormat format) throws IOException;
+    }
+}
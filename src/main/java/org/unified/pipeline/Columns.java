@@ -0,0 +1,68 @@
+package org.unified.pipeline;
+
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column lookup helpers shared by the pipeline stages.
+ */
+final class Columns {
+
+    private Columns() {
+    }
+
+    /**
+     * Returns the column order of a format, falling back to the key order of its first row.
+     *
+     * @param format the format to inspect
+     * @return the column names; empty if the format has neither a column order nor rows
+     */
+    static List<String> of(UnifiedFormat format) {
+        List<String> columns = format.getColumnOrder();
+        if (columns != null) {
+            return columns;
+        }
+        List<Map<String, Object>> rows = format.getDataRows();
+        return rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+    }
+
+    /**
+     * Resolves column names to their indexes in the given column order.
+     *
+     * @param columns the column order
+     * @param names   the columns to resolve
+     * @return the index of each requested column
+     * @throws ReportException if a column does not exist
+     */
+    static int[] indexesOf(List<String> columns, List<String> names) {
+        int[] indexes = new int[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            indexes[i] = columns.indexOf(names.get(i));
+            if (indexes[i] < 0) {
+                throw new ReportException(ErrorCode.PIPELINE_COLUMN_MISSING,
+                        new IllegalArgumentException("Unknown column '" + names.get(i) + "', available: " + columns));
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Copies a row map into a value array in column order.
+     *
+     * @param row     the row
+     * @param columns the column order
+     * @return the row values
+     */
+    static Object[] values(Map<String, Object> row, List<String> columns) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(columns.get(i));
+        }
+        return values;
+    }
+}
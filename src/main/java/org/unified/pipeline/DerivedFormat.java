@@ -0,0 +1,65 @@
+package org.unified.pipeline;
+
+import org.unified.formats.UnifiedFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link UnifiedFormat} produced by a pipeline stage (sort, aggregation, join, ...) from one or more
+ * upstream formats.
+ * <p>
+ * The rows may be held on the heap or in a {@link org.unified.store.SpillableRowStore}; closing the format
+ * releases the underlying storage when it is closeable.
+ */
+public class DerivedFormat implements UnifiedFormat, Closeable {
+
+    private final List<Map<String, Object>> dataRows;
+    private final List<String> columnOrder;
+    private final String sourceName;
+
+    /**
+     * Creates a derived format over already computed rows.
+     *
+     * @param dataRows    the rows produced by the stage
+     * @param columnOrder the column order of the rows
+     * @param sourceName  logical name, usually derived from the upstream source name
+     */
+    public DerivedFormat(List<Map<String, Object>> dataRows, List<String> columnOrder, String sourceName) {
+        this.dataRows = dataRows;
+        this.columnOrder = columnOrder;
+        this.sourceName = sourceName;
+    }
+
+    @Override
+    public List<Map<String, Object>> getDataRows() {
+        return dataRows;
+    }
+
+    @Override
+    public List<String> getColumnOrder() {
+        return columnOrder;
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * Releases the row storage if it holds off-heap memory or spill files.
+     */
+    @Override
+    public void close() {
+        if (dataRows instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
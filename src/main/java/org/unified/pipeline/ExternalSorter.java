@@ -0,0 +1,283 @@
+package org.unified.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperReport;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+import org.unified.formats.UnifiedFormat;
+import org.unified.store.SpillableRowStore;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pipeline stage that sorts a {@link UnifiedFormat} by one or more typed keys using an external merge sort.
+ * <p>
+ * Templates that use groups need their data ordered by the group keys. Rather than relying on Jasper's
+ * in-fill sorting, which holds every record in memory, this stage sorts ahead of the fill:
+ * <ol>
+ *     <li><b>Run generation</b> - rows are read in batches of {@code runSize}; each batch is sorted on a
+ *     worker thread and spilled to disk as a sorted run. Up to {@code parallelism} runs are sorted concurrently.</li>
+ *     <li><b>Merge</b> - runs are k-way merged through a priority queue, in several passes if there are more
+ *     runs than the merge fan-in, into a {@link SpillableRowStore}.</li>
+ * </ol>
+ * The sort is stable: rows with equal keys keep their input order. Inputs that fit in a single run are
+ * sorted in memory without touching disk.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * JasperReport template = ReportValidators.validateJasperReport(templateStream);
+ *
+ * try (DerivedFormat sorted = ExternalSorter.forTemplate(template).sort(format)) {
+ *     byte[] pdf = ReportExporter.export(sorted.getDataRows(), template, params, FileExportFormat.PDF);
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class ExternalSorter {
+
+    /**
+     * Default number of rows sorted in memory per run.
+     */
+    public static final int DEFAULT_RUN_SIZE = 100_000;
+
+    /**
+     * Maximum number of runs merged in a single pass.
+     */
+    static final int MERGE_FAN_IN = 64;
+
+
+    private final List<SortKey> keys;
+    private final int runSize;
+    private final int parallelism;
+    private final long offHeapLimitBytes;
+
+    /**
+     * Creates a sorter with default run size, one worker per available processor and the default
+     * off-heap limit for the sorted output.
+     *
+     * @param keys the sort keys, most significant first
+     */
+    public ExternalSorter(List<SortKey> keys) {
+        this(keys, DEFAULT_RUN_SIZE, Runtime.getRuntime().availableProcessors(), SpillableRowStore.DEFAULT_OFF_HEAP_LIMIT);
+    }
+
+    /**
+     * Creates a fully configured sorter.
+     *
+     * @param keys              the sort keys, most significant first
+     * @param runSize           number of rows sorted in memory per run
+     * @param parallelism       number of runs sorted concurrently
+     * @param offHeapLimitBytes direct memory used by the sorted output before it spills to disk
+     */
+    public ExternalSorter(List<SortKey> keys, int runSize, int parallelism, long offHeapLimitBytes) {
+        if (keys == null || keys.isEmpty()) {
+            throw new ReportException(ErrorCode.PIPELINE_COLUMN_MISSING, new IllegalArgumentException("No sort keys given"));
+        }
+        this.keys = List.copyOf(keys);
+        this.runSize = Math.max(1, runSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.offHeapLimitBytes = offHeapLimitBytes;
+    }
+
+    /**
+     * Creates a sorter whose keys are derived from the template, see {@link SortKey#fromTemplate(JasperReport)}.
+     *
+     * @param report the compiled template
+     * @return a sorter ordering rows as the template's groups require
+     * @throws ReportException if the template neither sorts nor groups by fields
+     */
+    public static ExternalSorter forTemplate(JasperReport report) {
+        return new ExternalSorter(SortKey.fromTemplate(report));
+    }
+
+    /**
+     * Sorts all rows of the given format.
+     *
+     * @param source the format to sort
+     * @return a format holding the sorted rows; close it to release spill files
+     * @throws ReportException if a key column is missing or sorting fails
+     */
+    public DerivedFormat sort(UnifiedFormat source) {
+        long startTime = System.nanoTime();
+        List<String> columns = Columns.of(source);
+        int[] keyIndexes = Columns.indexesOf(columns, keys.stream().map(SortKey::column).toList());
+
+        ExecutorService workers = StageWorkers.newPool("sort", parallelism);
+        List<SpillableRowStore> runs = new ArrayList<>();
+        Deque<Future<SpillableRowStore>> pending = new ArrayDeque<>();
+
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            long rowCount = 0;
+            for (Map<String, Object> row : source.getDataRows()) {
+                batch.add(Columns.values(row, columns));
+                rowCount++;
+                if (batch.size() == runSize) {
+                    if (pending.size() >= parallelism) {
+                        runs.add(pending.removeFirst().get());
+                    }
+                    List<Object[]> full = batch;
+                    pending.addLast(workers.submit(() -> writeRun(full, columns, keyIndexes)));
+                    batch = new ArrayList<>();
+                }
+            }
+
+            SpillableRowStore output;
+            if (pending.isEmpty() && runs.isEmpty()) {
+                output = new SpillableRowStore(columns, offHeapLimitBytes);
+                for (SortEntry entry : sortBatch(batch, keyIndexes)) {
+                    output.append(entry.values());
+                }
+            } else {
+                if (!batch.isEmpty()) {
+                    List<Object[]> last = batch;
+                    pending.addLast(workers.submit(() -> writeRun(last, columns, keyIndexes)));
+                }
+                while (!pending.isEmpty()) {
+                    runs.add(pending.removeFirst().get());
+                }
+                output = mergeAll(runs, columns, keyIndexes);
+            }
+
+            log.info("✅ Sorted {} rows by {} using {} run(s) in {} ms",
+                    rowCount, keys, Math.max(1, runs.size()), (System.nanoTime() - startTime) / 1_000_000);
+            return new DerivedFormat(output, columns, source.getSourceName());
+
+        } catch (ExecutionException e) {
+            throw StageWorkers.failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } catch (ReportException | FormatException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } finally {
+            workers.shutdownNow();
+            runs.forEach(SpillableRowStore::close);
+        }
+    }
+
+    // Utility Functions
+
+    /**
+     * Sorts a batch and spills it to disk as a sorted run.
+     */
+    private SpillableRowStore writeRun(List<Object[]> batch, List<String> columns, int[] keyIndexes) {
+        SpillableRowStore run = new SpillableRowStore(columns, 0);
+        for (SortEntry entry : sortBatch(batch, keyIndexes)) {
+            run.append(entry.values());
+        }
+        return run;
+    }
+
+    private SortEntry[] sortBatch(List<Object[]> batch, int[] keyIndexes) {
+        SortEntry[] entries = new SortEntry[batch.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Object[] values = batch.get(i);
+            entries[i] = new SortEntry(keyOf(values, keyIndexes), values);
+        }
+        Arrays.sort(entries, (a, b) -> compareKeys(a.key(), b.key()));
+        return entries;
+    }
+
+    /**
+     * Merges runs in passes of at most {@link #MERGE_FAN_IN} until a single sorted output remains.
+     */
+    private SpillableRowStore mergeAll(List<SpillableRowStore> runs, List<String> columns, int[] keyIndexes) {
+        List<SpillableRowStore> level = runs;
+        while (level.size() > MERGE_FAN_IN) {
+            List<SpillableRowStore> next = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += MERGE_FAN_IN) {
+                List<SpillableRowStore> group = level.subList(from, Math.min(level.size(), from + MERGE_FAN_IN));
+                next.add(merge(group, new SpillableRowStore(columns, 0), keyIndexes));
+            }
+            if (level != runs) {
+                level.forEach(SpillableRowStore::close);
+            }
+            level = next;
+        }
+        SpillableRowStore output = merge(level, new SpillableRowStore(columns, offHeapLimitBytes), keyIndexes);
+        if (level != runs) {
+            level.forEach(SpillableRowStore::close);
+        }
+        return output;
+    }
+
+    private SpillableRowStore merge(List<SpillableRowStore> inputs, SpillableRowStore output, int[] keyIndexes) {
+        PriorityQueue<RunHead> heap = new PriorityQueue<>(inputs.size(), (a, b) -> {
+            int result = compareKeys(a.key, b.key);
+            return result != 0 ? result : Integer.compare(a.order, b.order);
+        });
+        for (int i = 0; i < inputs.size(); i++) {
+            RunHead head = new RunHead(inputs.get(i).openCursor(), i, output.getColumnOrder().size(), keyIndexes);
+            if (head.advance()) {
+                heap.add(head);
+            }
+        }
+        while (!heap.isEmpty()) {
+            RunHead head = heap.poll();
+            output.append(head.values);
+            if (head.advance()) {
+                heap.add(head);
+            }
+        }
+        return output;
+    }
+
+    private Comparable<?>[] keyOf(Object[] values, int[] keyIndexes) {
+        Comparable<?>[] key = new Comparable<?>[keyIndexes.length];
+        for (int k = 0; k < keyIndexes.length; k++) {
+            key[k] = keys.get(k).keyOf(values[keyIndexes[k]]);
+        }
+        return key;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private int compareKeys(Comparable<?>[] a, Comparable<?>[] b) {
+        for (int k = 0; k < a.length; k++) {
+            int result = SortKey.compareComponents((Comparable) a[k], (Comparable) b[k]);
+            if (result != 0) {
+                return keys.get(k).descending() ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+
+    private record SortEntry(Comparable<?>[] key, Object[] values) {
+    }
+
+    /**
+     * The current row of one run during a merge.
+     */
+    private final class RunHead {
+        private final RowCursor cursor;
+        private final int order;
+        private final int[] keyIndexes;
+        private final Object[] values;
+        private Comparable<?>[] key;
+
+        private RunHead(RowCursor cursor, int order, int columnCount, int[] keyIndexes) {
+            this.cursor = cursor;
+            this.order = order;
+            this.keyIndexes = keyIndexes;
+            this.values = new Object[columnCount];
+        }
+
+        private boolean advance() {
+            if (!cursor.next()) {
+                cursor.close();
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = cursor.getValue(i);
+            }
+            key = keyOf(values, keyIndexes);
+            return true;
+        }
+    }
+}
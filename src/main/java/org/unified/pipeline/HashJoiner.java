@@ -0,0 +1,551 @@
+package org.unified.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+import org.unified.formats.UnifiedFormat;
+import org.unified.store.SpillableRowStore;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Pipeline stage that joins two {@link UnifiedFormat}s on one or more key columns before the report is filled.
+ * <p>
+ * Reports often combine a large upload (e.g. transactions) with a small reference sheet (e.g. a product master).
+ * This stage replaces nested loops over both inputs with a hash join:
+ * <ol>
+ *     <li><b>Build</b> - the rows of the smaller input are loaded into a hash table keyed by the join columns.</li>
+ *     <li><b>Probe</b> - the larger input is streamed once; each row looks up its matches in the table.</li>
+ * </ol>
+ * If the build side has more than {@code maxBuildRows} rows, both inputs are first split by key hash into spilled
+ * {@link SpillableRowStore} partitions, and each pair of partitions is then joined in memory (a grace hash join), so
+ * only one partition's build rows are held at a time. The number of partitions is the build size divided by
+ * {@code maxBuildRows}, rounded up to a power of two (at most {@value #MAX_PARTITIONS}). A build partition that is
+ * still too large, for example because of key skew, is split again with a different hash, up to
+ * {@value #MAX_PARTITION_LEVELS} levels deep; rows sharing one key cannot be split and are joined in memory.
+ * <p>
+ * Inputs that provide a {@link UnifiedFormat#openCursor() cursor}, such as a JDBC result set, are read once through
+ * it and never materialized with {@link UnifiedFormat#getDataRows()}. Their size is not known up front, so the
+ * other input is preferred as the build side; a streamed build side that exceeds {@code maxBuildRows} is spooled to
+ * disk once to count it before it is partitioned.
+ * <p>
+ * Keys compare by value across input types: numbers and numeric text are equal when their values are, so a CSV
+ * {@code "1001"} matches an Excel {@code 1001.0}, and text is compared with surrounding whitespace removed.
+ * Zero-padded text such as a ZIP code {@code "02134"} or a SKU {@code "007"} stays text and only matches the same
+ * text. Null and blank keys never match.
+ * <p>
+ * The output has the columns of the left input followed by the non-key columns of the right input; a right column
+ * whose name is already taken is prefixed with the right source name, e.g. {@code Products.Name}. Rows come out in
+ * the order of the probe side, per partition when the join spilled; {@link JoinType#LEFT} rows without a match that
+ * were on the build side follow the matched rows.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * HashJoiner joiner = new HashJoiner(List.of("ProductId"), HashJoiner.JoinType.LEFT);
+ *
+ * try (DerivedFormat joined = joiner.join(new CSVFormat(transactions, "Sales"), new XLSXFormat(master, "Products"))) {
+ *     byte[] pdf = ReportGenerator.generateReport(joined, template, params, FileExportFormat.PDF);
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class HashJoiner {
+
+    /**
+     * Which rows a join keeps.
+     */
+    public enum JoinType {
+        /**
+         * Only rows of the left input that have a match; one output row per matching pair.
+         */
+        INNER,
+
+        /**
+         * Every row of the left input; right columns are {@code null} for rows without a match.
+         */
+        LEFT
+    }
+
+    /**
+     * Default number of build-side rows joined in memory before the inputs are partitioned to disk.
+     */
+    public static final int DEFAULT_MAX_BUILD_ROWS = 1_000_000;
+
+    /**
+     * Maximum number of partitions one level of a spilling join splits each input into.
+     */
+    static final int MAX_PARTITIONS = 256;
+
+    /**
+     * Maximum number of times an oversized partition is split again.
+     */
+    static final int MAX_PARTITION_LEVELS = 3;
+
+    private final List<String> leftKeys;
+    private final List<String> rightKeys;
+    private final JoinType type;
+    private final int maxBuildRows;
+    private final long offHeapLimitBytes;
+
+    /**
+     * Creates a joiner on key columns that have the same names in both inputs, with the default limits.
+     *
+     * @param keys the key columns
+     * @param type the join type
+     */
+    public HashJoiner(List<String> keys, JoinType type) {
+        this(keys, keys, type, DEFAULT_MAX_BUILD_ROWS, SpillableRowStore.DEFAULT_OFF_HEAP_LIMIT);
+    }
+
+    /**
+     * Creates a fully configured joiner.
+     *
+     * @param leftKeys          the key columns of the left input
+     * @param rightKeys         the key columns of the right input, matched to {@code leftKeys} by position
+     * @param type              the join type
+     * @param maxBuildRows      build-side rows joined in memory; larger inputs are partitioned to disk first
+     * @param offHeapLimitBytes direct memory used by the joined output before it spills to disk
+     */
+    public HashJoiner(List<String> leftKeys, List<String> rightKeys, JoinType type, int maxBuildRows, long offHeapLimitBytes) {
+        if (leftKeys == null || leftKeys.isEmpty() || rightKeys == null || leftKeys.size() != rightKeys.size()) {
+            throw new ReportException(ErrorCode.PIPELINE_COLUMN_MISSING,
+                    new IllegalArgumentException("Join needs the same number of key columns on both sides: " + leftKeys + " / " + rightKeys));
+        }
+        this.leftKeys = List.copyOf(leftKeys);
+        this.rightKeys = List.copyOf(rightKeys);
+        this.type = Objects.requireNonNull(type, "type");
+        this.maxBuildRows = Math.max(1, maxBuildRows);
+        this.offHeapLimitBytes = offHeapLimitBytes;
+    }
+
+    /**
+     * Joins two inputs.
+     *
+     * @param left  the left input; every row is kept by a {@link JoinType#LEFT} join
+     * @param right the right input
+     * @return the joined rows; close the format to release spill files
+     * @throws ReportException if a key column is missing or the join fails
+     */
+    public DerivedFormat join(UnifiedFormat left, UnifiedFormat right) {
+        long startTime = System.nanoTime();
+        Side leftSide = new Side(left, leftKeys);
+        Side rightSide = null;
+        SpillableRowStore output = null;
+        try {
+            rightSide = new Side(right, rightKeys);
+            List<String> outputColumns = outputColumns(leftSide, rightSide, right.getSourceName());
+
+            // Sides read through a cursor have no known size and are built only if both are
+            boolean buildLeft = leftSide.size >= 0 && (rightSide.size < 0 || leftSide.size < rightSide.size);
+            Side build = buildLeft ? leftSide : rightSide;
+            Side probe = buildLeft ? rightSide : leftSide;
+            output = new SpillableRowStore(outputColumns, offHeapLimitBytes);
+            Joiner joiner = new Joiner(build, probe, buildLeft, rightSide, output);
+            int partitions = join(build, probe, joiner);
+
+            log.info("✅ Joined {} and {} rows {} on {} into {} rows in {} ms{}", leftSide.rowsRead,
+                    rightSide.rowsRead, type, leftKeys, output.size(), (System.nanoTime() - startTime) / 1_000_000,
+                    partitions > 1 ? " (" + partitions + " spilled partitions)" : "");
+            return new DerivedFormat(output, outputColumns, left.getSourceName());
+
+        } catch (ReportException | FormatException e) {
+            closeOnFailure(output);
+            throw e;
+        } catch (Exception e) {
+            closeOnFailure(output);
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } finally {
+            leftSide.close();
+            if (rightSide != null) {
+                rightSide.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of partitions one level of a spilling join uses for the given build rows: enough for each
+     * to hold about {@code maxBuildRows} rows, as a power of two between 2 and {@value #MAX_PARTITIONS}.
+     *
+     * @param buildRows the number of build rows to split
+     * @return the partition count
+     */
+    int partitionCount(long buildRows) {
+        long needed = Math.max(2, (buildRows + maxBuildRows - 1) / maxBuildRows);
+        return needed >= MAX_PARTITIONS ? MAX_PARTITIONS : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    // Utility Functions
+
+    /**
+     * Joins in memory if the build side fits, and partitioned otherwise.
+     *
+     * @return the number of partitions joined, {@code 1} for an in-memory join
+     */
+    private int join(Side build, Side probe, Joiner joiner) {
+        if (build.size >= 0) {
+            if (build.size <= maxBuildRows) {
+                List<Object[]> buildRows = new ArrayList<>((int) build.size);
+                build.rows.forEachRemaining(buildRows::add);
+                joiner.join(buildRows, probe.rows);
+                return 1;
+            }
+            return joinPartitioned(build.rows, build.size, probe.rows, joiner, 0);
+        }
+
+        List<Object[]> buildRows = new ArrayList<>();
+        while (buildRows.size() < maxBuildRows && build.rows.hasNext()) {
+            buildRows.add(build.rows.next());
+        }
+        if (!build.rows.hasNext()) {
+            joiner.join(buildRows, probe.rows);
+            return 1;
+        }
+        // A streamed build side is spooled once to learn how many partitions it needs
+        try (SpillableRowStore spool = new SpillableRowStore(build.columns, 0)) {
+            buildRows.forEach(spool::append);
+            buildRows.clear();
+            build.rows.forEachRemaining(spool::append);
+            return joinPartitioned(cursorValues(spool), spool.size(), probe.rows, joiner, 0);
+        }
+    }
+
+    /**
+     * Splits both inputs by key hash into spilled partitions and joins them pair by pair. A build partition that is
+     * still larger than {@code maxBuildRows} is split again with the next level's hash, unless it holds every row of
+     * its parent (a single key, which no hash separates) or the level limit is reached.
+     *
+     * @return the number of partitions joined
+     */
+    private int joinPartitioned(Iterator<Object[]> buildRows, long buildCount, Iterator<Object[]> probeRows,
+                                Joiner joiner, int level) {
+        int count = partitionCount(buildCount);
+        List<SpillableRowStore> buildPartitions = partition(buildRows, joiner.build, count, level);
+        List<SpillableRowStore> probePartitions = null;
+        int joined = 0;
+        try {
+            probePartitions = partition(probeRows, joiner.probe, count, level);
+            for (int p = 0; p < count; p++) {
+                SpillableRowStore buildPartition = buildPartitions.get(p);
+                int size = buildPartition.size();
+                if (size > maxBuildRows && size < buildCount && level + 1 < MAX_PARTITION_LEVELS) {
+                    joined += joinPartitioned(cursorValues(buildPartition), size, cursorValues(probePartitions.get(p)),
+                            joiner, level + 1);
+                } else {
+                    if (size > maxBuildRows) {
+                        log.warn("⚠️ Joining a partition of {} build rows in memory, above the limit of {}: its keys do not split further",
+                                size, maxBuildRows);
+                    }
+                    List<Object[]> rows = new ArrayList<>(size);
+                    cursorValues(buildPartition).forEachRemaining(rows::add);
+                    joiner.join(rows, cursorValues(probePartitions.get(p)));
+                    joined++;
+                }
+                buildPartition.close();
+                probePartitions.get(p).close();
+            }
+            return joined;
+        } finally {
+            buildPartitions.forEach(SpillableRowStore::close);
+            if (probePartitions != null) {
+                probePartitions.forEach(SpillableRowStore::close);
+            }
+        }
+    }
+
+    private static List<SpillableRowStore> partition(Iterator<Object[]> rows, Side side, int count, int level) {
+        List<SpillableRowStore> partitions = new ArrayList<>(count);
+        try {
+            for (int p = 0; p < count; p++) {
+                partitions.add(new SpillableRowStore(side.columns, 0));
+            }
+            int shift = Integer.SIZE - Integer.numberOfTrailingZeros(count);
+            while (rows.hasNext()) {
+                Object[] values = rows.next();
+                Object key = side.keyOf(values);
+                // Null keys never match; any partition keeps them for the unmatched rows of a left join
+                int partition = key == null ? 0 : hash(key, level) >>> shift;
+                partitions.get(partition).append(values);
+            }
+            return partitions;
+        } catch (RuntimeException e) {
+            partitions.forEach(SpillableRowStore::close);
+            throw e;
+        }
+    }
+
+    /**
+     * Mixes a key's hash code with a per-level seed, so a partition is split differently at every level.
+     */
+    private static int hash(Object key, int level) {
+        int h = key.hashCode() + level * 0x61C88647;
+        h = (h ^ (h >>> 16)) * 0x85EBCA6B;
+        h = (h ^ (h >>> 13)) * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static void closeOnFailure(SpillableRowStore output) {
+        if (output != null) {
+            output.close();
+        }
+    }
+
+    private static List<String> outputColumns(Side left, Side right, String rightSourceName) {
+        List<String> output = new ArrayList<>(left.columns);
+        for (int index : right.payloadIndexes) {
+            String column = right.columns.get(index);
+            output.add(output.contains(column) ? rightSourceName + "." + column : column);
+        }
+        return output;
+    }
+
+    private static Iterator<Object[]> cursorValues(SpillableRowStore store) {
+        return cursorValues(store.openCursor(), store.getColumnOrder().size());
+    }
+
+    /**
+     * Reads a cursor as value arrays, closing it once it is exhausted.
+     */
+    private static Iterator<Object[]> cursorValues(RowCursor cursor, int width) {
+        return new Iterator<>() {
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    hasNext = cursor.next();
+                    if (!hasNext) {
+                        cursor.close();
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                Object[] values = new Object[width];
+                for (int i = 0; i < width; i++) {
+                    values[i] = cursor.getValue(i);
+                }
+                return values;
+            }
+        };
+    }
+
+    /**
+     * Normalizes a key value so that equal values of different input types compare equal.
+     *
+     * @return the normalized value, or {@code null} for keys that never match
+     */
+    static Object normalizeKey(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String text) {
+            String stripped = text.strip();
+            if (stripped.isEmpty()) {
+                return null;
+            }
+            char first = stripped.charAt(0);
+            if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.') {
+                return stripped;
+            }
+            if (isPlainInteger(stripped) || isZeroPadded(stripped)) {
+                return stripped;
+            }
+            try {
+                return canonical(new BigDecimal(stripped));
+            } catch (NumberFormatException e) {
+                return stripped;
+            }
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return String.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return Double.isFinite(d) ? canonical(BigDecimal.valueOf(d)) : value;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return canonical(decimal);
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.toString();
+        }
+        return value;
+    }
+
+    private static String canonical(BigDecimal decimal) {
+        return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * @return {@code true} for a number with a leading zero before another digit, e.g. {@code 007} or {@code -02},
+     * which is kept as text because the padding is part of a code
+     */
+    private static boolean isZeroPadded(String text) {
+        int start = text.charAt(0) == '-' || text.charAt(0) == '+' ? 1 : 0;
+        return text.length() > start + 1 && text.charAt(start) == '0' && Character.isDigit(text.charAt(start + 1));
+    }
+
+    /**
+     * @return {@code true} for text that already is the canonical form of an integer, e.g. {@code -42}
+     */
+    private static boolean isPlainInteger(String text) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        if (start == text.length() || text.length() - start > 18 || (text.charAt(start) == '0' && text.length() > start + 1)) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return !text.equals("-0");
+    }
+
+    /**
+     * One input of the join with its resolved key and payload columns, read once as value arrays.
+     */
+    private static final class Side {
+        private final List<String> columns;
+        private final int[] keyIndexes;
+        private final int[] payloadIndexes;
+        private final RowCursor cursor;
+        private final Iterator<Object[]> rows;
+        private final long size;
+        private long rowsRead;
+
+        Side(UnifiedFormat format, List<String> keys) {
+            this.columns = Columns.of(format);
+            this.keyIndexes = Columns.indexesOf(columns, keys);
+            Set<Integer> keySet = new HashSet<>();
+            Arrays.stream(keyIndexes).forEach(keySet::add);
+            this.payloadIndexes = IntStream.range(0, columns.size()).filter(i -> !keySet.contains(i)).toArray();
+
+            this.cursor = format.openCursor();
+            Iterator<Object[]> values;
+            if (cursor != null) {
+                values = cursorValues(cursor, columns.size());
+                this.size = -1;
+            } else {
+                List<Map<String, Object>> dataRows = format.getDataRows();
+                values = dataRows.stream().map(row -> Columns.values(row, columns)).iterator();
+                this.size = dataRows.size();
+            }
+            this.rows = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return values.hasNext();
+                }
+
+                @Override
+                public Object[] next() {
+                    Object[] next = values.next();
+                    rowsRead++;
+                    return next;
+                }
+            };
+        }
+
+        void close() {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        /**
+         * @return the normalized key of a row, or {@code null} if any key column is null or blank
+         */
+        Object keyOf(Object[] values) {
+            if (keyIndexes.length == 1) {
+                return normalizeKey(values[keyIndexes[0]]);
+            }
+            Object[] key = new Object[keyIndexes.length];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = normalizeKey(values[keyIndexes[i]]);
+                if (key[i] == null) {
+                    return null;
+                }
+            }
+            return Arrays.asList(key);
+        }
+    }
+
+    /**
+     * Joins build rows held in memory with a stream of probe rows and appends the results to the output.
+     */
+    private final class Joiner {
+        private final Side build;
+        private final Side probe;
+        private final boolean buildLeft;
+        private final int leftWidth;
+        private final int[] rightPayload;
+        private final SpillableRowStore output;
+
+        Joiner(Side build, Side probe, boolean buildLeft, Side right, SpillableRowStore output) {
+            this.build = build;
+            this.probe = probe;
+            this.buildLeft = buildLeft;
+            this.leftWidth = (buildLeft ? build : probe).columns.size();
+            this.rightPayload = right.payloadIndexes;
+            this.output = output;
+        }
+
+        void join(List<Object[]> buildRows, Iterator<Object[]> probeRows) {
+            // Chained table: the head of each key in the map, the rest linked through next[] in build order
+            Map<Object, Integer> heads = new HashMap<>(Math.max(16, buildRows.size() * 4 / 3 + 1));
+            int[] next = new int[buildRows.size()];
+            for (int i = buildRows.size() - 1; i >= 0; i--) {
+                Object key = build.keyOf(buildRows.get(i));
+                if (key != null) {
+                    Integer head = heads.put(key, i);
+                    next[i] = head == null ? -1 : head;
+                }
+            }
+
+            BitSet matched = type == JoinType.LEFT && buildLeft ? new BitSet(buildRows.size()) : null;
+            while (probeRows.hasNext()) {
+                Object[] probeValues = probeRows.next();
+                Object key = probe.keyOf(probeValues);
+                Integer head = key == null ? null : heads.get(key);
+                if (head == null) {
+                    if (type == JoinType.LEFT && !buildLeft) {
+                        output.append(combine(probeValues, null));
+                    }
+                    continue;
+                }
+                for (int i = head; i >= 0; i = next[i]) {
+                    if (matched != null) {
+                        matched.set(i);
+                    }
+                    output.append(buildLeft ? combine(buildRows.get(i), probeValues) : combine(probeValues, buildRows.get(i)));
+                }
+            }
+
+            if (matched != null) {
+                for (int i = matched.nextClearBit(0); i < buildRows.size(); i = matched.nextClearBit(i + 1)) {
+                    output.append(combine(buildRows.get(i), null));
+                }
+            }
+        }
+
+        private Object[] combine(Object[] left, Object[] right) {
+            Object[] values = Arrays.copyOf(left, leftWidth + rightPayload.length);
+            if (right != null) {
+                for (int i = 0; i < rightPayload.length; i++) {
+                    values[leftWidth + i] = right[rightPayload[i]];
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.unified.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperReport;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+import org.unified.utils.ReportExporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Terminal pipeline stage that splits one dataset by a key column and generates one report per key.
+ * <p>
+ * Typical use is one statement per account out of a single upload:
+ * <ol>
+ *     <li><b>Partition</b> - rows are grouped by the string value of the key column in a single pass,
+ *     keeping the order in which keys first appear.</li>
+ *     <li><b>Generate</b> - every partition is filled and exported against the same compiled template on
+ *     {@code parallelism} worker threads. At most twice that many reports are in flight at once.</li>
+ *     <li><b>Deliver</b> - finished reports are handed to a {@link BurstSink} in completion order from the
+ *     calling thread, so a ZIP stream or file sink is never written concurrently.</li>
+ * </ol>
+ * If a key parameter name is configured, each fill receives its key value under that parameter in
+ * addition to the shared parameters.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ReportBurster burster = new ReportBurster("AccountId", FileExportFormat.PDF);
+ *
+ * try (OutputStream out = Files.newOutputStream(Path.of("statements.zip"))) {
+ *     burster.burstToZip(new CSVFormat(stream, "Transactions"), template, params, out);
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class ReportBurster {
+
+    private final String keyColumn;
+    private final FileExportFormat format;
+    private final int parallelism;
+    private final String keyParameter;
+
+    /**
+     * Creates a burster using one worker per available processor and no key parameter.
+     *
+     * @param keyColumn the column whose values split the dataset
+     * @param format    the format every report is exported to
+     */
+    public ReportBurster(String keyColumn, FileExportFormat format) {
+        this(keyColumn, format, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * Creates a fully configured burster.
+     *
+     * @param keyColumn    the column whose values split the dataset
+     * @param format       the format every report is exported to
+     * @param parallelism  the number of reports filled and exported concurrently
+     * @param keyParameter the report parameter that receives the key value; {@code null} for none
+     */
+    public ReportBurster(String keyColumn, FileExportFormat format, int parallelism, String keyParameter) {
+        if (!ReportExporter.SUPPORTED_FORMATS.contains(format)) {
+            throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+        }
+        this.keyColumn = keyColumn;
+        this.format = format;
+        this.parallelism = Math.max(1, parallelism);
+        this.keyParameter = keyParameter;
+    }
+
+    /**
+     * Bursts the source into one ZIP entry per key.
+     * <p>
+     * The ZIP is finished but the given stream is not closed.
+     *
+     * @param source     the rows to split
+     * @param template   the compiled template shared by every report
+     * @param parameters the parameters passed to every fill
+     * @param out        the stream the ZIP archive is written to
+     * @return the number of reports written
+     * @throws ReportException if the key column is missing, a fill or export fails, or the ZIP cannot be written
+     */
+    public int burstToZip(UnifiedFormat source, JasperReport template, Map<String, Object> parameters, OutputStream out) {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        int reports = burst(source, template, parameters, BurstSink.zip(zip));
+        try {
+            zip.finish();
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
+        }
+        return reports;
+    }
+
+    /**
+     * Bursts the source into one report per key, delivering each report to the sink as soon as it completes.
+     *
+     * @param source     the rows to split
+     * @param template   the compiled template shared by every report
+     * @param parameters the parameters passed to every fill
+     * @param sink       receives each finished report
+     * @return the number of reports written
+     * @throws ReportException if the key column is missing, a fill or export fails, or the sink fails
+     */
+    public int burst(UnifiedFormat source, JasperReport template, Map<String, Object> parameters, BurstSink sink) {
+        long startTime = System.nanoTime();
+        Columns.indexesOf(Columns.of(source), List.of(keyColumn));
+        Map<String, Object> sharedParameters = parameters == null ? Map.of() : parameters;
+
+        Map<String, List<Map<String, Object>>> partitions = new LinkedHashMap<>();
+        for (Map<String, Object> row : source.getDataRows()) {
+            String key = String.valueOf(row.get(keyColumn));
+            partitions.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+        }
+        if (partitions.isEmpty()) {
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+
+        ExecutorService workers = StageWorkers.newPool("burst", parallelism);
+        CompletionService<BurstReport> completed = new ExecutorCompletionService<>(workers);
+        int maxInFlight = parallelism * 2;
+        int inFlight = 0;
+        int written = 0;
+
+        try {
+            Iterator<Map.Entry<String, List<Map<String, Object>>>> pending = partitions.entrySet().iterator();
+            while (pending.hasNext()) {
+                Map.Entry<String, List<Map<String, Object>>> partition = pending.next();
+                // Drop the partition from the map so its rows can be collected once its report is done
+                pending.remove();
+                completed.submit(() -> generate(partition.getKey(), partition.getValue(), template, sharedParameters));
+                if (++inFlight == maxInFlight) {
+                    deliver(completed.take().get(), sink);
+                    inFlight--;
+                    written++;
+                }
+            }
+            for (; inFlight > 0; inFlight--) {
+                deliver(completed.take().get(), sink);
+                written++;
+            }
+
+            log.info("✅ Burst {} rows by '{}' into {} {} reports in {} ms",
+                    source.getDataRows().size(), keyColumn, written, format, (System.nanoTime() - startTime) / 1_000_000);
+            return written;
+
+        } catch (ExecutionException e) {
+            throw StageWorkers.failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } catch (ReportException | FormatException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.PIPELINE_STAGE_FAILED, e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Utility Functions
+
+    private BurstReport generate(String key, List<Map<String, Object>> rows, JasperReport template,
+                                 Map<String, Object> sharedParameters) {
+        Map<String, Object> parameters = new HashMap<>(sharedParameters);
+        if (keyParameter != null) {
+            parameters.put(keyParameter, key);
+        }
+        return new BurstReport(key, ReportExporter.export(rows, template, parameters, format));
+    }
+
+    private void deliver(BurstReport report, BurstSink sink) {
+        try {
+            sink.accept(report.key(), format, report.content());
+        } catch (IOException e) {
+            log.error("❌ Failed to write burst report for key '{}'", report.key(), e);
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
+        }
+    }
+
+    /**
+     * A finished report waiting to be delivered.
+     */
+    private record BurstReport(String key, byte[] content) {
+    }
+}
@@ -0,0 +1,303 @@
+package org.unified.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.type.SortFieldTypeEnum;
+import net.sf.jasperreports.engine.type.SortOrderEnum;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single key of a multi-key sort.
+ *
+ * @param column     the column to sort by
+ * @param descending {@code true} to sort in descending order
+ * @param type       how column values are interpreted when compared
+ */
+@Slf4j
+public record SortKey(String column, boolean descending, KeyType type) {
+
+    private static final Pattern FIELD_EXPRESSION = Pattern.compile("^\\s*\\$F\\{([^}]+)}\\s*$");
+
+    /**
+     * How the values of a key column are compared.
+     */
+    public enum KeyType {
+        /**
+         * Values are typed individually: numbers (including numeric strings) compare numerically,
+         * dates chronologically and everything else as text. Nulls sort first.
+         * <p>
+         * Numbers compare by their exact value, so long IDs beyond the precision of a {@code double} stay
+         * apart. Different values that are numerically equal, such as {@code "007"} and {@code "7"}, are
+         * ordered by their text, so each group value stays contiguous.
+         */
+        AUTO,
+
+        /**
+         * Values compare by their string representation.
+         */
+        STRING,
+
+        /**
+         * Values compare numerically, exactly and with ties ordered by text like {@link #AUTO}; values that
+         * are not numbers sort like nulls.
+         */
+        NUMBER
+    }
+
+    /**
+     * Creates an ascending key with {@link KeyType#AUTO} typing.
+     *
+     * @param column the column to sort by
+     * @return the sort key
+     */
+    public static SortKey ascending(String column) {
+        return new SortKey(column, false, KeyType.AUTO);
+    }
+
+    /**
+     * Creates a descending key with {@link KeyType#AUTO} typing.
+     *
+     * @param column the column to sort by
+     * @return the sort key
+     */
+    public static SortKey descending(String column) {
+        return new SortKey(column, true, KeyType.AUTO);
+    }
+
+    /**
+     * Derives sort keys from a compiled template.
+     * <p>
+     * The main dataset's field sort fields are used if present. Otherwise the keys are taken from group
+     * expressions of the simple form {@code $F{column}}, outermost group first, which is the order the
+     * data must arrive in for groups to break correctly.
+     * <p>
+     * Note that JasperReports always re-sorts in memory when a template declares sort fields, so templates
+     * meant to be fed pre-sorted data should rely on groups only.
+     *
+     * @param report the compiled template
+     * @return the derived keys; empty if the template neither sorts nor groups by fields
+     */
+    public static List<SortKey> fromTemplate(JasperReport report) {
+        JRDataset dataset = report.getMainDataset();
+        Map<String, Class<?>> fieldClasses = new HashMap<>();
+        if (dataset.getFields() != null) {
+            for (JRField field : dataset.getFields()) {
+                fieldClasses.put(field.getName(), field.getValueClass());
+            }
+        }
+
+        List<SortKey> keys = new ArrayList<>();
+        JRSortField[] sortFields = dataset.getSortFields();
+        if (sortFields != null && sortFields.length > 0) {
+            log.warn("⚠️ Template '{}' declares sort fields; Jasper will sort again during fill", report.getName());
+            for (JRSortField sortField : sortFields) {
+                if (sortField.getType() == SortFieldTypeEnum.FIELD) {
+                    keys.add(new SortKey(sortField.getName(),
+                            sortField.getOrderValue() == SortOrderEnum.DESCENDING,
+                            typeFor(fieldClasses.get(sortField.getName()))));
+                }
+            }
+            return keys;
+        }
+
+        JRGroup[] groups = dataset.getGroups();
+        if (groups != null) {
+            for (JRGroup group : groups) {
+                JRExpression expression = group.getExpression();
+                Matcher matcher = expression == null ? null : FIELD_EXPRESSION.matcher(expression.getText());
+                if (matcher != null && matcher.matches()) {
+                    String column = matcher.group(1);
+                    keys.add(new SortKey(column, false, typeFor(fieldClasses.get(column))));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static KeyType typeFor(Class<?> fieldClass) {
+        if (fieldClass == null) {
+            return KeyType.AUTO;
+        }
+        if (Number.class.isAssignableFrom(fieldClass)) {
+            return KeyType.NUMBER;
+        }
+        return fieldClass == String.class ? KeyType.STRING : KeyType.AUTO;
+    }
+
+    /**
+     * Converts a raw column value into a comparable, type-ranked key component.
+     *
+     * @param value the raw value
+     * @return the key component; {@code null} for missing values
+     */
+    Comparable<?> keyOf(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (type) {
+            case STRING -> value.toString();
+            case NUMBER -> toNumber(value);
+            case AUTO -> autoKey(value);
+        };
+    }
+
+    private static Comparable<?> autoKey(Object value) {
+        if (value instanceof Number || value instanceof String s && looksNumeric(s)) {
+            NumberKey number = toNumber(value);
+            if (number != null) {
+                return number;
+            }
+        }
+        if (value instanceof Date date) {
+            return new DateKey(date.getTime());
+        }
+        if (value instanceof Temporal && value instanceof Comparable<?> comparable) {
+            return comparable;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return value.toString();
+    }
+
+    private static boolean looksNumeric(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        char first = s.charAt(0);
+        return Character.isDigit(first) || first == '-' || first == '+' || first == '.';
+    }
+
+    private static NumberKey toNumber(Object value) {
+        String text = value.toString();
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new NumberKey(((Number) value).longValue(), null, text);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (!Double.isFinite(d)) {
+                return null;
+            }
+            // Integral doubles within long range take the exact long path; the cast is exact for them
+            return d == Math.rint(d) && Math.abs(d) < 0x1p63
+                    ? new NumberKey((long) d, null, text)
+                    : new NumberKey(0, new BigDecimal(d), text);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return new NumberKey(0, decimal, text);
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.bitLength() < Long.SIZE
+                    ? new NumberKey(integer.longValue(), null, text)
+                    : new NumberKey(0, new BigDecimal(integer), text);
+        }
+        String trimmed = text.trim();
+        if (isPlainLong(trimmed)) {
+            return new NumberKey(Long.parseLong(trimmed), null, text);
+        }
+        try {
+            return new NumberKey(0, new BigDecimal(trimmed), text);
+        } catch (NumberFormatException e) {
+            return value instanceof Number n && Double.isFinite(n.doubleValue())
+                    ? new NumberKey(0, new BigDecimal(n.doubleValue()), text)
+                    : null;
+        }
+    }
+
+    /**
+     * @return {@code true} for an optionally signed run of at most 18 digits, which always fits a long
+     */
+    private static boolean isPlainLong(String s) {
+        int start = s.startsWith("-") || s.startsWith("+") ? 1 : 0;
+        if (s.length() == start || s.length() - start > 18) {
+            return false;
+        }
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An exact numeric key: a long, or a {@link BigDecimal} when the value has a fraction or exceeds the long
+     * range. Numerically equal keys are ordered by the original text, so distinct values never compare equal.
+     */
+    private record NumberKey(long longValue, BigDecimal decimal, String text) implements Comparable<NumberKey> {
+        @Override
+        public int compareTo(NumberKey other) {
+            int result = decimal == null && other.decimal == null
+                    ? Long.compare(longValue, other.longValue)
+                    : toDecimal().compareTo(other.toDecimal());
+            return result != 0 ? result : text.compareTo(other.text);
+        }
+
+        private BigDecimal toDecimal() {
+            return decimal != null ? decimal : BigDecimal.valueOf(longValue);
+        }
+    }
+
+    /**
+     * Wraps epoch milliseconds so dates rank separately from plain numbers.
+     */
+    private record DateKey(long epochMillis) implements Comparable<DateKey> {
+        @Override
+        public int compareTo(DateKey other) {
+            return Long.compare(epochMillis, other.epochMillis);
+        }
+    }
+
+    /**
+     * Compares key components of possibly different kinds: nulls first, then numbers, dates, temporals,
+     * booleans and finally strings.
+     *
+     * @param a the first component
+     * @param b the second component
+     * @return the comparison result
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareComponents(Comparable a, Comparable b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (rankA == 3 && a.getClass() != b.getClass()) {
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        }
+        return a.compareTo(b);
+    }
+
+    private static int rank(Object component) {
+        if (component instanceof NumberKey) {
+            return 1;
+        }
+        if (component instanceof DateKey) {
+            return 2;
+        }
+        if (component instanceof Temporal) {
+            return 3;
+        }
+        if (component instanceof Boolean) {
+            return 4;
+        }
+        return 5;
+    }
+}
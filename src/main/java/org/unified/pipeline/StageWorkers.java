@@ -0,0 +1,50 @@
+package org.unified.pipeline;
+
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pool and failure handling shared by the parallel pipeline stages.
+ */
+final class StageWorkers {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private StageWorkers() {
+    }
+
+    /**
+     * Creates a fixed pool of daemon worker threads for a single stage run.
+     *
+     * @param stage       the stage name used in thread names (e.g. "sort")
+     * @param parallelism the number of threads
+     * @return the executor; callers must shut it down
+     */
+    static ExecutorService newPool(String stage, int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "unified-" + stage + "-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Converts the failure of a worker task into the exception rethrown by the stage.
+     * Structured exceptions pass through unchanged; anything else becomes {@link ErrorCode#PIPELINE_STAGE_FAILED}.
+     *
+     * @param cause the failure reported by the worker's future
+     * @return the exception to throw
+     */
+    static RuntimeException failure(Throwable cause) {
+        if (cause instanceof ReportException || cause instanceof FormatException) {
+            return (RuntimeException) cause;
+        }
+        return new ReportException(ErrorCode.PIPELINE_STAGE_FAILED,
+                cause instanceof Exception e ? e : new RuntimeException(cause));
+    }
+}
@@ -0,0 +1,79 @@
+package org.unified.preview;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.unified.formats.ParseOptions;
+
+/**
+ * Limits applied when rendering a report preview.
+ * <p>
+ * Instances are immutable and created through the builder:
+ * <pre>{@code
+ * PreviewOptions options = PreviewOptions.builder()
+ *         .maxRows(200)
+ *         .maxPages(2)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+public class PreviewOptions {
+
+    /**
+     * Maximum number of data rows read and filled; defaults to 100.
+     */
+    private final int maxRows;
+
+    /**
+     * Maximum number of pages filled and exported; defaults to 1.
+     */
+    private final int maxPages;
+
+    /**
+     * Zoom applied when rendering pages to PNG; defaults to 1 (72 DPI).
+     */
+    private final float zoom;
+
+    /**
+     * @throws IllegalArgumentException if {@code maxRows} or {@code maxPages} is less than 1
+     */
+    @Builder
+    private PreviewOptions(int maxRows, int maxPages, float zoom) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("A preview needs at least one row: " + maxRows);
+        }
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("A preview needs at least one page: " + maxPages);
+        }
+        this.maxRows = maxRows;
+        this.maxPages = maxPages;
+        this.zoom = zoom;
+    }
+
+    /**
+     * Builder pre-set with the default limits.
+     */
+    public static class PreviewOptionsBuilder {
+        private int maxRows = 100;
+        private int maxPages = 1;
+        private float zoom = 1f;
+    }
+
+    /**
+     * Returns the default options: the first page of at most 100 rows.
+     *
+     * @return default preview options
+     */
+    public static PreviewOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Returns parse options that stop reading the input after {@code getMaxRows()} rows, for
+     * constructing the previewed {@link org.unified.formats.UnifiedFormat}.
+     *
+     * @return parse options for the preview input
+     */
+    public ParseOptions toParseOptions() {
+        return ParseOptions.builder().maxRows(maxRows).build();
+    }
+}
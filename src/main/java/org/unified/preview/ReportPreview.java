@@ -0,0 +1,175 @@
+package org.unified.preview;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.export.HtmlExporter;
+import net.sf.jasperreports.engine.export.JRGraphics2DExporter;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleGraphics2DExporterOutput;
+import net.sf.jasperreports.export.SimpleGraphics2DReportConfiguration;
+import net.sf.jasperreports.export.SimpleHtmlExporterOutput;
+import net.sf.jasperreports.export.SimpleHtmlReportConfiguration;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.UnifiedFormat;
+import org.unified.utils.ReportExporter;
+import org.unified.utils.ReportValidators;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Renders a quick preview of a report: the first rows of the input, filled into the first page(s) only.
+ * <p>
+ * The preview stays cheap regardless of the input size:
+ * <ul>
+ *     <li>The input should be parsed with {@link PreviewOptions#toParseOptions()}, so parsing stops after
+ *     {@code PreviewOptions.getMaxRows()} rows.</li>
+ *     <li>The fill is bounded by Jasper's {@link JRParameter#REPORT_MAX_COUNT} and stops reading records once
+ *     the last of the {@code PreviewOptions.getMaxPages()} pages is complete.</li>
+ *     <li>Only the first pages are exported, as HTML or as one PNG image per page.</li>
+ * </ul>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PreviewOptions options = PreviewOptions.defaults();
+ * UnifiedFormat file = new CSVFormat(uploadStream, "Upload", options.toParseOptions());
+ *
+ * byte[] html = ReportPreview.html(file, templateStream, params, options);
+ * }</pre>
+ */
+@Slf4j
+public final class ReportPreview {
+
+    private ReportPreview() {
+    }
+
+    /**
+     * Renders the preview pages as a single HTML document.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param options                    the preview limits
+     * @return the HTML of the first pages
+     * @throws ReportException if the input or template is invalid, or the fill or export fails
+     */
+    public static byte[] html(Object file, InputStream jasperReportTemplateStream,
+                              Map<String, Object> additionalReportParameters, PreviewOptions options) {
+        long startTime = System.nanoTime();
+        JasperPrint jasperPrint = fill(file, jasperReportTemplateStream, additionalReportParameters, options);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            SimpleHtmlReportConfiguration configuration = new SimpleHtmlReportConfiguration();
+            configuration.setStartPageIndex(0);
+            configuration.setEndPageIndex(lastPageIndex(jasperPrint, options));
+
+            HtmlExporter exporter = new HtmlExporter();
+            exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+            exporter.setExporterOutput(new SimpleHtmlExporterOutput(outputStream));
+            exporter.setConfiguration(configuration);
+            exporter.exportReport();
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
+        }
+
+        log.info("✅ HTML preview rendered in {} ms", (System.nanoTime() - startTime) / 1_000_000);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Renders each preview page as a PNG image.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param options                    the preview limits, including the rendering zoom
+     * @return one PNG per page, in page order
+     * @throws ReportException if the input or template is invalid, or the fill or rendering fails
+     */
+    public static List<byte[]> png(Object file, InputStream jasperReportTemplateStream,
+                                   Map<String, Object> additionalReportParameters, PreviewOptions options) {
+        long startTime = System.nanoTime();
+        JasperPrint jasperPrint = fill(file, jasperReportTemplateStream, additionalReportParameters, options);
+
+        List<byte[]> pages = new ArrayList<>();
+        try {
+            for (int pageIndex = 0; pageIndex <= lastPageIndex(jasperPrint, options); pageIndex++) {
+                BufferedImage image = renderPage(jasperPrint, pageIndex, options.getZoom());
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", outputStream);
+                pages.add(outputStream.toByteArray());
+            }
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
+        }
+
+        log.info("✅ PNG preview of {} page(s) rendered in {} ms", pages.size(), (System.nanoTime() - startTime) / 1_000_000);
+        return pages;
+    }
+
+    /**
+     * Fills the preview, reading at most {@code PreviewOptions.getMaxRows()} records and stopping once
+     * {@code PreviewOptions.getMaxPages()} pages are complete. The result may hold one page more than requested.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param options                    the preview limits
+     * @return the filled preview
+     * @throws ReportException if the input or template is invalid, or the fill fails
+     */
+    public static JasperPrint fill(Object file, InputStream jasperReportTemplateStream,
+                                   Map<String, Object> additionalReportParameters, PreviewOptions options) {
+        UnifiedFormat inputFile = ReportValidators.validateInputFile(file);
+        JasperReport reportTemplate = ReportValidators.validateJasperReport(jasperReportTemplateStream);
+
+        Map<String, Object> parameters = new HashMap<>(additionalReportParameters);
+        parameters.put(JRParameter.REPORT_MAX_COUNT, options.getMaxRows());
+
+        return ReportExporter.fill(inputFile, reportTemplate, parameters, CancellationToken.NONE, options.getMaxPages());
+    }
+
+    // Utility Functions
+
+    private static int lastPageIndex(JasperPrint jasperPrint, PreviewOptions options) {
+        int pages = jasperPrint.getPages().size();
+        if (pages == 0) {
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+        return Math.min(pages, options.getMaxPages()) - 1;
+    }
+
+    /**
+     * Draws one page into an RGB image, as {@code JasperPrintManager.printPageToImage} does, but typed as the
+     * {@link BufferedImage} that {@link ImageIO} writes.
+     */
+    private static BufferedImage renderPage(JasperPrint jasperPrint, int pageIndex, float zoom) throws JRException {
+        PrintPageFormat pageFormat = jasperPrint.getPageFormat(pageIndex);
+        BufferedImage image = new BufferedImage((int) (pageFormat.getPageWidth() * zoom + 0.5),
+                (int) (pageFormat.getPageHeight() * zoom + 0.5), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            SimpleGraphics2DExporterOutput output = new SimpleGraphics2DExporterOutput();
+            output.setGraphics2D(graphics);
+            SimpleGraphics2DReportConfiguration configuration = new SimpleGraphics2DReportConfiguration();
+            configuration.setPageIndex(pageIndex);
+            configuration.setZoomRatio(zoom);
+
+            JRGraphics2DExporter exporter = new JRGraphics2DExporter();
+            exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+            exporter.setExporterOutput(output);
+            exporter.setConfiguration(configuration);
+            exporter.exportReport();
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,468 @@
+package org.unified.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.RowError;
+import org.unified.formats.UnifiedFormat;
+import org.unified.templates.TemplateRegistry;
+import org.unified.utils.OutputCompression;
+import org.unified.utils.ReportExporter;
+import org.unified.web.StreamingUpload;
+import org.unified.web.UploadOptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A standalone report service on the JDK's built-in {@link HttpServer}, without a servlet container.
+ *
+ * <h2>Endpoints</h2>
+ * <ul>
+ *     <li>{@code GET /health} - {@code 200 OK} while the server runs.</li>
+ *     <li>{@code GET /templates} - the registered template names as a JSON array.</li>
+ *     <li>{@code POST /reports/{template}?format=pdf&name=report&param.Title=Sales} - fills the template from the
+ *     CSV or XLSX file of a {@code multipart/form-data} body and streams the report back. Query parameters named
+ *     {@code param.<name>} set the report parameter {@code <name>}, which the template must declare as text; other
+ *     names, including the parameters reserved by JasperReports, are rejected with
+ *     {@link ErrorCode#REPORT_PARAMETER_INVALID}. The upload is parsed while it arrives
+ *     (see {@link StreamingUpload}), and text formats are compressed when the client accepts it. Malformed rows
+ *     skipped within {@code ServerConfig.getMaxRowErrors()} are counted in the {@code X-Row-Errors} header, and
+ *     the lines of the first of them are listed in {@code X-Row-Error-Lines}.</li>
+ * </ul>
+ * Errors are answered with the HTTP status of their {@link ErrorCode} and a JSON body with the code and message.
+ *
+ * <h2>Concurrency</h2>
+ * Each request runs on its own virtual thread when the JVM supports them (Java 21+), and on a platform thread
+ * otherwise. At most {@code ServerConfig.getMaxConcurrentReports()} reports are generated at once; further
+ * requests wait up to {@code ServerConfig.getQueueTimeout()} and are then rejected with
+ * {@link ErrorCode#REPORT_CAPACITY_EXCEEDED}. Each report must finish within
+ * {@code ServerConfig.getRequestTimeout()}, or it is cancelled with {@link ErrorCode#REPORT_DEADLINE_EXCEEDED}.
+ * The deadline is checked per parsed row and between stages. After an error the JDK server still reads the rest of
+ * the upload before answering.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * java -cp unified-reporter.jar org.unified.server.ReportServer 8080 /opt/reports/templates
+ *
+ * curl -F file=@sales.csv "http://localhost:8080/reports/sales?format=pdf" -o sales.pdf
+ * }</pre>
+ */
+@Slf4j
+public final class ReportServer implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final int MAX_REPORTED_ROW_ERRORS = 20;
+    private static final Duration UPLOAD_ABORT_GRACE = Duration.ofSeconds(1);
+    private static final String PARAMETER_PREFIX = "param.";
+
+    private final ServerConfig config;
+    private final TemplateRegistry templates;
+    private final Semaphore slots;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService watchdog;
+    private final HttpServer server;
+
+    private ReportServer(ServerConfig config, TemplateRegistry templates) throws IOException {
+        this.config = config;
+        this.templates = templates;
+        this.slots = new Semaphore(config.getMaxConcurrentReports(), true);
+        this.executor = newRequestExecutor();
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "unified-http-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(config.getPort()), 0);
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> handle(exchange, this::health));
+        server.createContext("/templates", exchange -> handle(exchange, this::listTemplates));
+        server.createContext("/reports/", exchange -> handle(exchange, this::report));
+    }
+
+    /**
+     * Starts a server with the given templates. See {@link #start(ServerConfig, TemplateRegistry)} for what the
+     * request timeout covers.
+     *
+     * @param config    the server settings
+     * @param templates the compiled templates by the name used in request paths
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static ReportServer start(ServerConfig config, Map<String, JasperReport> templates) throws IOException {
+        return start(config, TemplateRegistry.of(templates));
+    }
+
+    /**
+     * Starts a server that looks templates up in a registry on every request, so reloaded templates are served
+     * without a restart. The registry is not closed with the server.
+     * <p>
+     * The request timeout ({@code ServerConfig.getRequestTimeout()}) covers reading the upload, parsing, filling and
+     * exporting. How long a client may take to send its request headers is bounded only by the JDK server's
+     * {@code sun.net.httpserver.maxReqTime} system property (in seconds), which the JDK reads once, before the first
+     * server starts; {@link #main(String[])} sets it from the request timeout, embedding applications set it at launch.
+     *
+     * @param config    the server settings
+     * @param templates the template registry
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static ReportServer start(ServerConfig config, TemplateRegistry templates) throws IOException {
+        ReportServer reportServer = new ReportServer(config, templates);
+        reportServer.server.start();
+        log.info("✅ Report server listening on port {} with {} template(s), at most {} concurrent report(s)",
+                reportServer.getPort(), reportServer.templates.size(), config.getMaxConcurrentReports());
+        return reportServer;
+    }
+
+    /**
+     * Starts a server from the command line: {@code ReportServer [port] [templateDirectory]}.
+     * Every {@code .jrxml} and {@code .jasper} file in the directory is registered under its base name and
+     * recompiled when it changes; see {@link TemplateRegistry#watch(Path)}.
+     *
+     * @param args optional port (default 8080) and template directory (default {@code templates})
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path templateDirectory = Path.of(args.length > 1 ? args[1] : "templates");
+        ServerConfig config = ServerConfig.builder().port(port).build();
+
+        // Read once by the JDK server: bounds how long a client may take to send its request headers
+        if (System.getProperty("sun.net.httpserver.maxReqTime") == null) {
+            System.setProperty("sun.net.httpserver.maxReqTime", String.valueOf(config.getRequestTimeout().toSeconds()));
+        }
+        TemplateRegistry templates = TemplateRegistry.watch(templateDirectory);
+        ReportServer reportServer = start(config, templates);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reportServer.close();
+            templates.close();
+        }, "unified-http-shutdown"));
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, gives running exchanges a second to finish and releases the threads.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+        log.info("Report server on port {} stopped", getPort());
+    }
+
+    // Utility Functions
+
+    private void health(HttpExchange exchange) throws IOException {
+        if (!allowMethod(exchange, "GET")) {
+            return;
+        }
+        send(exchange, 200, "text/plain; charset=utf-8", "OK".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void listTemplates(HttpExchange exchange) throws IOException {
+        if (!allowMethod(exchange, "GET")) {
+            return;
+        }
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        templates.names().forEach(name -> json.add("\"" + escape(name) + "\""));
+        send(exchange, 200, "application/json", json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void report(HttpExchange exchange) throws IOException {
+        if (!allowMethod(exchange, "POST")) {
+            return;
+        }
+        String templateName = exchange.getRequestURI().getPath().substring("/reports/".length());
+        JasperReport template = templates.get(templateName);
+        Map<String, String> query = query(exchange);
+        FileExportFormat format = format(query.getOrDefault("format", "pdf"));
+        String fileName = query.getOrDefault("name", templateName);
+        Map<String, Object> parameters = parameters(query, template);
+
+        acquireSlot();
+        try (CancellationToken token = CancellationToken.withTimeout(config.getRequestTimeout())) {
+            UploadOptions uploadOptions = UploadOptions.builder()
+                    .maxBytes(config.getMaxUploadBytes())
+                    .parseOptions(ParseOptions.builder()
+                            .cancellationToken(token)
+                            .maxRowErrors(config.getMaxRowErrors())
+                            .build())
+                    .build();
+            UnifiedFormat input;
+            try (UploadWatchdog ignored = new UploadWatchdog(token)) {
+                input = StreamingUpload.parse(exchange.getRequestBody(),
+                        exchange.getRequestHeaders().getFirst("Content-Type"), contentLength(exchange), uploadOptions);
+            } catch (FormatException e) {
+                // A read aborted by the watchdog surfaces as a malformed upload; report the deadline instead
+                if (token.isCancelled()) {
+                    token.throwIfCancelled();
+                }
+                throw e;
+            }
+            JasperPrint jasperPrint = ReportExporter.fill(input, template, parameters, token);
+
+            OutputCompression compression = OutputCompression.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            ContentEncoding encoding = compression.encodingFor(format);
+            exchange.getResponseHeaders().set("Content-Type", format.getMediaType());
+            exchange.getResponseHeaders().set("Content-Disposition",
+                    "attachment; filename=\"" + fileName.replace("\"", "") + "." + format.getExtension() + "\"");
+            if (encoding != ContentEncoding.IDENTITY) {
+                exchange.getResponseHeaders().set("Content-Encoding", encoding.getToken());
+                exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            }
+            reportRowErrors(exchange, input.getRowErrors());
+
+            // From here on the status is sent; a failure can only abort the response
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                ReportExporter.exportTo(jasperPrint, format, body, compression, token);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Tells the client which rows a lenient parse skipped: their count, and the lines of the first ones.
+     */
+    private static void reportRowErrors(HttpExchange exchange, List<RowError> rowErrors) {
+        if (rowErrors.isEmpty()) {
+            return;
+        }
+        StringJoiner lines = new StringJoiner(",");
+        rowErrors.stream().limit(MAX_REPORTED_ROW_ERRORS).forEach(error -> lines.add(String.valueOf(error.line())));
+        exchange.getResponseHeaders().set("X-Row-Errors", String.valueOf(rowErrors.size()));
+        exchange.getResponseHeaders().set("X-Row-Error-Lines", lines.toString());
+    }
+
+    private void acquireSlot() {
+        try {
+            if (!slots.tryAcquire(config.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("⚠️ Rejecting report request: {} report(s) already running", config.getMaxConcurrentReports());
+                throw new ReportException(ErrorCode.REPORT_CAPACITY_EXCEEDED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        }
+    }
+
+    /**
+     * Interrupts a handler thread that is still reading its upload {@link #UPLOAD_ABORT_GRACE} after the request
+     * deadline. The JDK server reads request bodies from an interruptible channel, so the interrupt closes the
+     * connection of a client that stopped sending; a client that is still sending gets the deadline error from the
+     * parser's next token check within the grace period.
+     */
+    private final class UploadWatchdog implements AutoCloseable {
+        private final Thread reader = Thread.currentThread();
+        private final CancellationToken.Registration registration;
+        private boolean reading = true;
+
+        private UploadWatchdog(CancellationToken token) {
+            registration = token.onCancel(() ->
+                    watchdog.schedule(this::abort, UPLOAD_ABORT_GRACE.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        private synchronized void abort() {
+            if (reading) {
+                log.warn("⚠️ Closing a stalled upload: no progress since the request deadline");
+                reader.interrupt();
+            }
+        }
+
+        @Override
+        public void close() {
+            registration.close();
+            synchronized (this) {
+                reading = false;
+            }
+            // The connection is already closed if the interrupt came; do not let it leak into the next request
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Runs an endpoint, answering failures raised before the response started with their error status.
+     */
+    private void handle(HttpExchange exchange, Endpoint endpoint) {
+        long startTime = System.nanoTime();
+        try (exchange) {
+            try {
+                endpoint.handle(exchange);
+            } catch (ReportException e) {
+                sendError(exchange, e.getErrorCode());
+            } catch (FormatException e) {
+                sendError(exchange, e.getErrorCode());
+            } catch (RuntimeException e) {
+                log.error("❌ Unexpected error handling {}", exchange.getRequestURI(), e);
+                sendError(exchange, ErrorCode.UNKNOWN_ERROR);
+            }
+            log.info("{} {} -> {} in {} ms", exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getResponseCode(), (System.nanoTime() - startTime) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("⚠️ Connection failed while handling {}: {}", exchange.getRequestURI(), e.getMessage());
+        }
+    }
+
+    private void sendError(HttpExchange exchange, ErrorCode errorCode) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            log.error("❌ {} after the response started; aborting {}", errorCode.getCode(), exchange.getRequestURI());
+            return;
+        }
+        byte[] json = String.format("{\"code\":\"%s\",\"message\":\"%s\"}", errorCode.getCode(), escape(errorCode.getMessage()))
+                .getBytes(StandardCharsets.UTF_8);
+        int status = errorCode.getHttpStatus().value();
+        if (status == 204 || status == 304) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        send(exchange, status, "application/json", json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Answers {@code 405} unless the request uses the given method.
+     *
+     * @return {@code true} if the endpoint should handle the request
+     */
+    private static boolean allowMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equalsIgnoreCase(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", method);
+        send(exchange, 405, "text/plain; charset=utf-8", "Method Not Allowed".getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+
+    private static FileExportFormat format(String value) {
+        try {
+            FileExportFormat format = FileExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+            if (ReportExporter.SUPPORTED_FORMATS.contains(format)) {
+                return format;
+            }
+        } catch (IllegalArgumentException ignored) {
+        }
+        throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+    }
+
+    private static long contentLength(HttpExchange exchange) {
+        String value = exchange.getRequestHeaders().getFirst("Content-Length");
+        try {
+            return value != null ? Long.parseLong(value.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Query parameters named {@code param.<name>} are passed to the report as the string parameter {@code <name>}.
+     *
+     * @throws ReportException with {@link ErrorCode#REPORT_PARAMETER_INVALID} if the template does not declare the
+     *                         parameter, reserves it for the engine (e.g. {@code REPORT_MAX_COUNT}) or declares it
+     *                         with a type a string cannot be assigned to
+     */
+    private static Map<String, Object> parameters(Map<String, String> query, JasperReport template) {
+        Map<String, JRParameter> declared = new HashMap<>();
+        for (JRParameter parameter : template.getParameters()) {
+            declared.put(parameter.getName(), parameter);
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        query.forEach((key, value) -> {
+            if (!key.startsWith(PARAMETER_PREFIX)) {
+                return;
+            }
+            String name = key.substring(PARAMETER_PREFIX.length());
+            JRParameter parameter = declared.get(name);
+            if (parameter == null || parameter.isSystemDefined()
+                    || !parameter.getValueClass().isAssignableFrom(String.class)) {
+                throw new ReportException(ErrorCode.REPORT_PARAMETER_INVALID,
+                        new IllegalArgumentException("Parameter cannot be set by the request: " + name));
+            }
+            parameters.put(name, value);
+        });
+        return parameters;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int equals = pair.indexOf('=');
+                String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+                String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+                query.put(key, value);
+            }
+        }
+        return query;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Uses a virtual thread per request when the JVM provides them, looked up reflectively so the library
+     * still runs on Java 17.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Serving requests on virtual threads");
+            return virtual;
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads unavailable on Java {}; serving requests on platform threads",
+                    Runtime.version().feature());
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "unified-http-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * One endpoint of the server.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
@@ -0,0 +1,70 @@
+package org.unified.server;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link ReportServer}.
+ * <p>
+ * Instances are immutable and created through the builder:
+ * <pre>{@code
+ * ServerConfig config = ServerConfig.builder()
+ *         .port(9090)
+ *         .maxConcurrentReports(16)
+ *         .requestTimeout(Duration.ofSeconds(30))
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class ServerConfig {
+
+    /**
+     * Port the server listens on; defaults to 8080. {@code 0} picks a free port.
+     */
+    @Builder.Default
+    private final int port = 8080;
+
+    /**
+     * Maximum number of reports generated at the same time; defaults to twice the number of processors.
+     * Further requests wait up to {@link #getQueueTimeout()} for a slot.
+     */
+    @Builder.Default
+    private final int maxConcurrentReports = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * How long a request waits for a free slot before it is rejected; defaults to 5 seconds.
+     */
+    @Builder.Default
+    private final Duration queueTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Deadline for parsing, filling and exporting one report; defaults to 60 seconds.
+     */
+    @Builder.Default
+    private final Duration requestTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Maximum size of an uploaded request body in bytes; defaults to 512 MiB.
+     */
+    @Builder.Default
+    private final long maxUploadBytes = 512L * 1024 * 1024;
+
+    /**
+     * Malformed rows an upload may contain before it is rejected; defaults to {@code 0}, rejecting the first.
+     * Skipped rows are reported in the {@code X-Row-Errors} response headers.
+     */
+    @Builder.Default
+    private final int maxRowErrors = 0;
+
+    /**
+     * Returns the default settings: port 8080 and limits sized for the machine.
+     *
+     * @return default server settings
+     */
+    public static ServerConfig defaults() {
+        return builder().build();
+    }
+}
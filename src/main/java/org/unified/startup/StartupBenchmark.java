@@ -0,0 +1,120 @@
+package org.unified.startup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time-to-first-report of fresh JVMs with and without an AppCDS archive.
+ * <p>
+ * Each trial starts a new JVM running one {@link WarmUp} cycle and reads the JVM uptime at which the cycle's
+ * reports were exported. Trials alternate between the baseline (the JDK's default class-data sharing only) and
+ * the application archive, and the median of each is reported together with the median wall-clock time of the
+ * whole process.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * mvn -Pappcds verify
+ *
+ * // or by hand, after recording the archive with WarmUp
+ * java -cp unifiedreporter.jar org.unified.startup.StartupBenchmark unifiedreporter.jar unifiedreporter.jsa 5
+ * }</pre>
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark: {@code StartupBenchmark <classpath> <archive> [trials]}, 5 trials by default.
+     *
+     * @param args the classpath the archive was recorded with, the archive file and the number of trials
+     * @throws IOException          if a JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for a JVM
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <classpath> <archive> [trials]");
+            System.exit(2);
+        }
+        String classpath = args[0];
+        Path archive = Path.of(args[1]);
+        int trials = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalArgumentException("CDS archive not found: " + archive);
+        }
+
+        List<Trial> baseline = new ArrayList<>();
+        List<Trial> shared = new ArrayList<>();
+        for (int i = 0; i < trials; i++) {
+            baseline.add(trial(classpath, null));
+            shared.add(trial(classpath, archive));
+        }
+
+        long baselineFirst = median(baseline.stream().mapToLong(Trial::firstReportMillis).toArray());
+        long sharedFirst = median(shared.stream().mapToLong(Trial::firstReportMillis).toArray());
+        long baselineWall = median(baseline.stream().mapToLong(Trial::wallMillis).toArray());
+        long sharedWall = median(shared.stream().mapToLong(Trial::wallMillis).toArray());
+        log.info("✅ Time to first report over {} trial(s): default CDS {} ms, AppCDS {} ms ({}% faster)",
+                trials, baselineFirst, sharedFirst, percentFaster(baselineFirst, sharedFirst));
+        log.info("✅ Process wall time over {} trial(s): default CDS {} ms, AppCDS {} ms ({}% faster)",
+                trials, baselineWall, sharedWall, percentFaster(baselineWall, sharedWall));
+    }
+
+    // Utility Functions
+
+    private static Trial trial(String classpath, Path archive) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(WarmUp.class.getName());
+        command.add("1");
+
+        long startTime = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long firstReport = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(WarmUp.FIRST_REPORT_MARKER)) {
+                    firstReport = Long.parseLong(line.substring(WarmUp.FIRST_REPORT_MARKER.length()).trim());
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        long wall = (System.nanoTime() - startTime) / 1_000_000;
+        if (exitCode != 0 || firstReport < 0) {
+            throw new IllegalStateException("Warm-up JVM failed with exit code " + exitCode + ": " + command);
+        }
+        log.info("{}: first report after {} ms, process finished after {} ms",
+                archive != null ? "AppCDS" : "default CDS", firstReport, wall);
+        return new Trial(firstReport, wall);
+    }
+
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static long percentFaster(long baseline, long candidate) {
+        return baseline > 0 ? Math.round(100.0 * (baseline - candidate) / baseline) : 0;
+    }
+
+    private record Trial(long firstReportMillis, long wallMillis) {
+    }
+}
@@ -0,0 +1,194 @@
+package org.unified.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.UnifiedFormat;
+import org.unified.formats.XLSXFormat;
+import org.unified.utils.ExportMetadata;
+import org.unified.utils.OutputCompression;
+import org.unified.utils.ReportExporter;
+import org.unified.utils.ReportValidators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs representative parse, compile, fill and export cycles on synthetic data, so the classes used by a
+ * real report are loaded and the hot paths are compiled before the first request arrives.
+ * <p>
+ * Each cycle:
+ * <ol>
+ *     <li>parses a synthetic CSV (plain and gzip-compressed) and a synthetic XLSX (workbook and streaming readers),</li>
+ *     <li>compiles a bundled template with groups, variables and typed expressions,</li>
+ *     <li>fills it from both inputs and exports the result to every {@link FileExportFormat} the exporter supports,
+ *     compressing text formats as the server would.</li>
+ * </ol>
+ * Formats the exporter does not support are skipped.
+ * <p>
+ * The same entry point is used to record an AppCDS archive: the {@code appcds} Maven profile runs it with
+ * {@code -XX:ArchiveClassesAtExit}, and starting the service with {@code -XX:SharedArchiveFile} then maps the
+ * loaded classes instead of parsing and verifying them again. {@link StartupBenchmark} measures the gain.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * // In-process, before the service starts accepting traffic
+ * WarmUp.run(3);
+ *
+ * // Recording a class-data-sharing archive
+ * java -XX:ArchiveClassesAtExit=unifiedreporter.jsa -cp unifiedreporter.jar org.unified.startup.WarmUp 3
+ * }</pre>
+ */
+@Slf4j
+public final class WarmUp {
+
+    /**
+     * Printed to standard output by {@link #main(String[])} after the first cycle, followed by the JVM uptime in
+     * milliseconds; {@link StartupBenchmark} reads it from the launched process.
+     */
+    static final String FIRST_REPORT_MARKER = "first-report-ms=";
+
+    private static final String TEMPLATE = "/org/unified/startup/warmup.jrxml";
+    private static final int ROWS = 200;
+    private static final String[] REGIONS = {"North", "East", "South", "West"};
+
+    private WarmUp() {
+    }
+
+    /**
+     * Runs the warm-up cycles: {@code WarmUp [iterations]}, 3 by default.
+     *
+     * @param args optional number of cycles
+     */
+    public static void main(String[] args) {
+        run(args.length > 0 ? Integer.parseInt(args[0]) : 3, uptime -> System.out.println(FIRST_REPORT_MARKER + uptime));
+    }
+
+    /**
+     * Runs the given number of warm-up cycles. The JVM uptime at the end of the first cycle is logged.
+     *
+     * @param iterations the number of cycles; at least one
+     * @return the encoded size of every format exported in the last cycle
+     * @throws ReportException if a cycle fails
+     */
+    public static Map<FileExportFormat, Long> run(int iterations) {
+        return run(iterations, uptime -> {
+        });
+    }
+
+    // Utility Functions
+
+    private static Map<FileExportFormat, Long> run(int iterations, LongConsumer firstReport) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("At least one warm-up iteration is required: " + iterations);
+        }
+        long startTime = System.nanoTime();
+        Map<FileExportFormat, Long> exported = Map.of();
+        for (int i = 0; i < iterations; i++) {
+            exported = cycle();
+            if (i == 0) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                log.info("First warm-up report completed {} ms after JVM start", uptime);
+                firstReport.accept(uptime);
+            }
+        }
+        log.info("✅ Warm-up of {} cycle(s) finished in {} ms: {}", iterations,
+                (System.nanoTime() - startTime) / 1_000_000, exported.keySet());
+        return exported;
+    }
+
+    private static Map<FileExportFormat, Long> cycle() {
+        byte[] csv = syntheticCsv();
+        byte[] xlsx = syntheticXlsx();
+
+        List<UnifiedFormat> inputs = List.of(
+                new CSVFormat(new ByteArrayInputStream(csv), "WarmUp"),
+                new CSVFormat(new ByteArrayInputStream(gzip(csv)), "WarmUp.gz"),
+                new XLSXFormat(new ByteArrayInputStream(xlsx), "WarmUp"),
+                new XLSXFormat(new ByteArrayInputStream(xlsx), "WarmUp", ParseOptions.builder().maxRows(ROWS).build()));
+
+        JasperReport template;
+        try (InputStream in = WarmUp.class.getResourceAsStream(TEMPLATE)) {
+            template = ReportValidators.validateJasperReport(in);
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        }
+
+        Map<FileExportFormat, Long> exported = new EnumMap<>(FileExportFormat.class);
+        for (UnifiedFormat input : inputs) {
+            JasperPrint jasperPrint = ReportExporter.fill(input, template, Map.of("ReportTitle", "Warm-up"), CancellationToken.NONE);
+            for (FileExportFormat format : FileExportFormat.values()) {
+                if (ReportExporter.SUPPORTED_FORMATS.contains(format)) {
+                    ExportMetadata metadata = ReportExporter.exportTo(jasperPrint, format, OutputStream.nullOutputStream(),
+                            OutputCompression.gzip(), CancellationToken.NONE);
+                    exported.put(format, metadata.encodedBytes());
+                }
+            }
+        }
+        return exported;
+    }
+
+    private static byte[] syntheticCsv() {
+        StringBuilder csv = new StringBuilder("Region,Name,Amount,When\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(REGIONS[i * REGIONS.length / ROWS]).append(",Customer ").append(i).append(',')
+                    .append(i * 12.5).append(",2024-01-").append(String.format("%02d", i % 28 + 1)).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] syntheticXlsx() {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("WarmUp");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            Row header = sheet.createRow(0);
+            String[] columns = {"Region", "Name", "Amount", "When"};
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+            }
+            Calendar calendar = new GregorianCalendar(2024, Calendar.JANUARY, 1);
+            for (int i = 0; i < ROWS; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(REGIONS[i * REGIONS.length / ROWS]);
+                row.createCell(1).setCellValue("Customer " + i);
+                row.createCell(2).setCellValue(i * 12.5);
+                row.createCell(3).setCellValue(calendar.getTime());
+                row.getCell(3).setCellStyle(dateStyle);
+                calendar.add(Calendar.DAY_OF_MONTH, 1);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        }
+        return out.toByteArray();
+    }
+}
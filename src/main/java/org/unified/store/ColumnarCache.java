@@ -0,0 +1,325 @@
+package org.unified.store;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.UnifiedFormat;
+import org.unified.validation.FieldRule;
+import org.unified.validation.ValidationSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A local, size-bounded cache of parsed inputs stored as columnar binary files.
+ * <p>
+ * Parsing an XLSX upload means inflating its zip entries and walking the sheet XML, which dominates
+ * report time when the same upload is rendered with several templates. This cache keys every parse by
+ * the SHA-256 hash of the input bytes, the name of the parser and the {@link ParseOptions} that change what
+ * a parse produces (row limit, archive entry, statistics, error budget and validation schema):
+ * <ul>
+ *     <li><b>Miss</b> - the input is parsed with the supplied parser and the rows are written to
+ *     {@code <key>.ucol} in the cache directory (schema, dictionary-encoded strings, null bitmaps;
+ *     see {@link ColumnarFile}) together with its column statistics, skipped rows and validation result.
+ *     The freshly parsed format is returned.</li>
+ *     <li><b>Hit</b> - the file is memory-mapped and rows are decoded on access; the input is never parsed.</li>
+ * </ul>
+ * Streamed inputs are hashed while they are spooled to a temporary file in the cache directory, and parsed from
+ * that file, so the upload is never held on the heap.
+ * When the total size of the cache files exceeds {@code maxBytes}, the least recently used files are
+ * deleted. The cache is an optimization only: unreadable or corrupted files are discarded and the
+ * input is parsed again, and failures to write a cache file are logged and ignored.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * ColumnarCache cache = new ColumnarCache(Path.of("/var/cache/unified"), 2L * 1024 * 1024 * 1024);
+ *
+ * UnifiedFormat file = cache.load(uploadStream, "Invoices", "xlsx", ParseOptions.defaults(), XLSXFormat::new);
+ * byte[] pdf = ReportGenerator.generateReport(file, templateStream, params, FileExportFormat.PDF);
+ * }</pre>
+ */
+@Slf4j
+public class ColumnarCache {
+
+    static final String FILE_SUFFIX = ".ucol";
+
+    /**
+     * Parses an input file into a format on a cache miss, e.g. {@code XLSXFormat::new}.
+     */
+    @FunctionalInterface
+    public interface Parser {
+
+        /**
+         * Parses the input.
+         *
+         * @param input      the input file
+         * @param sourceName the logical source name
+         * @param options    the parse options
+         * @return the parsed format
+         */
+        UnifiedFormat parse(Path input, String sourceName, ParseOptions options);
+    }
+
+    @Getter
+    private final Path directory;
+    @Getter
+    private final long maxBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache in the given directory, creating the directory if needed.
+     *
+     * @param directory the directory holding the cache files
+     * @param maxBytes  the total size of cache files kept before the least recently used are evicted
+     * @throws FormatException with {@link ErrorCode#ROW_STORE_IO_ERROR} if the directory cannot be created
+     */
+    public ColumnarCache(Path directory, long maxBytes) {
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_IO_ERROR, e);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the rows of the given input, served from the cache when the same content was parsed before with
+     * the same parser and options.
+     * <p>
+     * The input stream is read fully but not closed. It is spooled to a temporary file while it is hashed; on a
+     * miss the parser reads that file, which is deleted afterwards.
+     *
+     * @param input      the raw input (e.g. an uploaded XLSX file)
+     * @param sourceName the logical source name reported by the returned format
+     * @param parserName names the parser in the cache key (e.g. {@code "xlsx"}); parsers that can produce
+     *                   different rows from the same bytes need different names
+     * @param options    the parse options; defaults are used if null
+     * @param parser     parses the input on a cache miss (e.g. {@code XLSXFormat::new})
+     * @return the parsed or cached format
+     * @throws FormatException if the input cannot be read, or whatever the parser throws on a miss
+     */
+    public UnifiedFormat load(InputStream input, String sourceName, String parserName, ParseOptions options, Parser parser) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile(directory, "input-", ".tmp");
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(spool)) {
+                new DigestInputStream(input, digest).transferTo(out);
+            }
+            return load(spool, HexFormat.of().formatHex(digest.digest()), sourceName, parserName, options, parser);
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.IO_EXCEPTION, e);
+        } finally {
+            if (spool != null) {
+                deleteQuietly(spool);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows of the given file like {@link #load(InputStream, String, String, ParseOptions, Parser)},
+     * hashing and parsing the file in place.
+     *
+     * @param input      the input file
+     * @param sourceName the logical source name reported by the returned format
+     * @param parserName names the parser in the cache key (e.g. {@code "xlsx"})
+     * @param options    the parse options; defaults are used if null
+     * @param parser     parses the input on a cache miss (e.g. {@code XLSXFormat::new})
+     * @return the parsed or cached format
+     * @throws FormatException if the file cannot be read, or whatever the parser throws on a miss
+     */
+    public UnifiedFormat load(Path input, String sourceName, String parserName, ParseOptions options, Parser parser) {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(input), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.IO_EXCEPTION, e);
+        }
+        return load(input, HexFormat.of().formatHex(digest.digest()), sourceName, parserName, options, parser);
+    }
+
+    /**
+     * @return the number of loads served from a cache file
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of loads that had to parse the input
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the total size in bytes of the cache files currently on disk
+     */
+    public long getSizeBytes() {
+        return cacheFiles().stream().mapToLong(CacheFile::size).sum();
+    }
+
+    /**
+     * Computes the content hash of some input bytes.
+     *
+     * @param content the input bytes
+     * @return the lowercase hex SHA-256 of the content
+     */
+    public static String hash(byte[] content) {
+        return HexFormat.of().formatHex(sha256().digest(content));
+    }
+
+    /**
+     * Computes the cache key of a parse: the content hash combined with the parser name and every option that
+     * changes the parsed rows or their metadata. Storage, memory and cancellation options do not.
+     *
+     * @return the lowercase hex SHA-256 of the combined key
+     */
+    static String key(String contentHash, String parserName, ParseOptions options) {
+        ParseOptions effective = options != null ? options : ParseOptions.defaults();
+        StringBuilder key = new StringBuilder(contentHash)
+                .append('|').append(parserName)
+                .append("|maxRows=").append(effective.getMaxRows())
+                .append("|archiveEntry=").append(effective.getArchiveEntry())
+                .append("|statistics=").append(effective.isCollectStatistics())
+                .append("|maxRowErrors=").append(effective.getMaxRowErrors());
+        ValidationSchema schema = effective.getValidationSchema();
+        if (schema != null) {
+            key.append("|maxViolations=").append(schema.getMaxViolations());
+            for (FieldRule rule : schema.getFields()) {
+                key.append("|rule=").append(rule.getColumn())
+                        .append(',').append(rule.getType())
+                        .append(',').append(rule.isRequired())
+                        .append(',').append(rule.getMin())
+                        .append(',').append(rule.getMax())
+                        .append(',').append(rule.getPattern())
+                        .append(',').append(rule.getAllowedValues() == null ? null : new TreeSet<>(rule.getAllowedValues()));
+            }
+        }
+        return hash(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Utility Functions
+
+    private UnifiedFormat load(Path input, String contentHash, String sourceName, String parserName,
+                               ParseOptions options, Parser parser) {
+        Path file = directory.resolve(key(contentHash, parserName, options) + FILE_SUFFIX);
+
+        if (Files.exists(file)) {
+            try {
+                UnifiedFormat cached = ColumnarFile.open(file, sourceName);
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                hits.incrementAndGet();
+                log.info("✅ Columnar cache hit for '{}' ({} rows)", sourceName, cached.getDataRows().size());
+                return cached;
+            } catch (IOException | RuntimeException e) {
+                log.warn("⚠️ Discarding unreadable cache file {}: {}", file, e.toString());
+                deleteQuietly(file);
+            }
+        }
+
+        misses.incrementAndGet();
+        UnifiedFormat parsed = parser.parse(input, sourceName, options);
+        store(parsed, file);
+        return parsed;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void store(UnifiedFormat parsed, Path file) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "write-", ".tmp");
+            Files.delete(temp);
+            long size = ColumnarFile.write(parsed, temp);
+            if (size > maxBytes) {
+                log.warn("⚠️ Not caching '{}': {} bytes exceeds the cache limit of {} bytes",
+                        parsed.getSourceName(), size, maxBytes);
+                deleteQuietly(temp);
+                return;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("✅ Cached '{}' as {} ({} bytes)", parsed.getSourceName(), file.getFileName(), size);
+            evict(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Failed to write cache file for '{}': {}", parsed.getSourceName(), e.toString());
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used cache files until the cache fits into {@code maxBytes}.
+     * The file that was just written is never evicted.
+     */
+    private synchronized void evict(Path justWritten) {
+        List<CacheFile> files = cacheFiles();
+        long total = files.stream().mapToLong(CacheFile::size).sum();
+        files.sort(Comparator.comparing(CacheFile::lastUsed));
+
+        for (CacheFile candidate : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (candidate.path().equals(justWritten)) {
+                continue;
+            }
+            if (deleteQuietly(candidate.path())) {
+                total -= candidate.size();
+                log.info("Evicted cache file {} ({} bytes)", candidate.path().getFileName(), candidate.size());
+            }
+        }
+    }
+
+    private List<CacheFile> cacheFiles() {
+        List<CacheFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (!path.getFileName().toString().endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+                try {
+                    files.add(new CacheFile(path, Files.size(path), Files.getLastModifiedTime(path)));
+                } catch (NoSuchFileException ignored) {
+                    // Evicted concurrently
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to delete cache file {}: {}", path, e.toString());
+            return false;
+        }
+    }
+
+    private record CacheFile(Path path, long size, FileTime lastUsed) {
+    }
+}
@@ -0,0 +1,704 @@
+package org.unified.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.ColumnStatistics;
+import org.unified.formats.RowCursor;
+import org.unified.formats.RowError;
+import org.unified.formats.UnifiedFormat;
+import org.unified.validation.ValidationResult;
+import org.unified.validation.Violation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reader and writer for the columnar binary file used by {@link ColumnarCache}.
+ * <p>
+ * Layout (all integers big-endian):
+ * <pre>
+ * [column block]*                     one block per column, in column order
+ * footer:  version:int rowCount:int sourceName:str columnCount:int
+ *          (name:str type:byte offset:long length:long)*
+ *          statistics rowErrors validation
+ * statistics: count:int (column:str count:long nullCount:long distinctEstimate:long min:value max:value)*
+ * rowErrors:  count:int (line:long error:str valueCount:int value*)*
+ * validation: validated:boolean [rowCount:long violationCount:long count:int (row:long column:str value error:str)*]
+ * trailer: footerOffset:long magic:int
+ * </pre>
+ * Strings ({@code str}) are an int byte length followed by UTF-8 bytes, error codes are stored by name, and
+ * {@code value}s are {@link RowCodec} values. Cache files may sit in a shared directory, so neither the footer
+ * nor the column blocks use Java serialization: values of types without a {@link RowCodec} tag cannot be cached,
+ * and a file containing a serialized value is rejected as corrupted.
+ * Every column block starts with a null bitmap of {@code ceil(rowCount / 8)} bytes followed by
+ * a type-specific payload:
+ * <ul>
+ *     <li>{@code DOUBLE}, {@code LONG}, {@code INT}, {@code BOOLEAN} - fixed-width values, one per row</li>
+ *     <li>{@code STRING} - {@code rowCount + 1} int offsets followed by the UTF-8 bytes</li>
+ *     <li>{@code DICTIONARY} - the distinct strings (count, offsets, bytes) followed by one code per row,
+ *     1, 2 or 4 bytes wide depending on the dictionary size</li>
+ *     <li>{@code ENCODED} - columns with mixed or other types; {@code rowCount + 1} int offsets followed
+ *     by {@link RowCodec} values</li>
+ * </ul>
+ * Fixed-width layouts give every cell a computable position, so rows are served straight from the
+ * memory-mapped blocks without an index.
+ */
+@Slf4j
+final class ColumnarFile {
+
+    static final int MAGIC = 0x55434F4C; // "UCOL"
+    static final int VERSION = 3;
+    static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final byte DOUBLE = 1;
+    private static final byte LONG = 2;
+    private static final byte INT = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STRING = 5;
+    private static final byte DICTIONARY = 6;
+    private static final byte ENCODED = 7;
+
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ColumnarFile() {
+    }
+
+    /**
+     * Writes all rows of a format to a new columnar file.
+     * <p>
+     * The rows are read once. Each value is spooled to a temporary file of its column, next to the target, while
+     * the column's type, null bitmap and distinct strings are collected; the column blocks are then streamed from
+     * the spool files into the target. Neither the rows nor a whole column block are held in memory.
+     *
+     * @param format the parsed format
+     * @param target the file to create
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be written or a column exceeds 2 GB
+     */
+    static long write(UnifiedFormat format, Path target) throws IOException {
+        List<Map<String, Object>> rows = format.getDataRows();
+        List<String> columns = format.getColumnOrder() != null
+                ? format.getColumnOrder()
+                : rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+        Path directory = target.toAbsolutePath().getParent();
+
+        List<ColumnSpool> spools = new ArrayList<>(columns.size());
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+
+            for (int c = 0; c < columns.size(); c++) {
+                spools.add(new ColumnSpool(directory));
+            }
+            int rowCount = 0;
+            try (RowCursor cursor = cursorOf(rows, columns)) {
+                while (cursor.next()) {
+                    for (int c = 0; c < spools.size(); c++) {
+                        spools.get(c).add(rowCount, cursor.getValue(c));
+                    }
+                    rowCount++;
+                }
+            }
+
+            byte[] types = new byte[columns.size()];
+            long[] offsets = new long[columns.size()];
+            long[] lengths = new long[columns.size()];
+            for (int c = 0; c < columns.size(); c++) {
+                ColumnSpool spool = spools.get(c);
+                types[c] = spool.type(rowCount);
+                offsets[c] = channel.position();
+                spool.writeBlock(out, types[c], rowCount);
+                out.flush();
+                lengths[c] = channel.position() - offsets[c];
+                if (lengths[c] > Integer.MAX_VALUE) {
+                    throw new IOException("Column exceeds the 2 GB block limit");
+                }
+                spool.close();
+            }
+
+            long footerOffset = channel.position();
+            out.writeInt(VERSION);
+            out.writeInt(rowCount);
+            writeString(out, format.getSourceName());
+            out.writeInt(columns.size());
+            for (int c = 0; c < columns.size(); c++) {
+                writeString(out, columns.get(c));
+                out.writeByte(types[c]);
+                out.writeLong(offsets[c]);
+                out.writeLong(lengths[c]);
+            }
+            writeMetadata(out, format);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+            return channel.position();
+        } finally {
+            spools.forEach(ColumnSpool::close);
+        }
+    }
+
+    /**
+     * Opens a columnar file and maps its column blocks into memory.
+     * <p>
+     * The file channel is closed before returning; the mappings stay valid until they are garbage collected.
+     *
+     * @param file       the file to open
+     * @param sourceName the source name reported by the returned format; {@code null} to use the stored one
+     * @return a read-only format serving rows from the mapped file
+     * @throws IOException     if the file cannot be read
+     * @throws FormatException with {@link ErrorCode#ROW_STORE_CORRUPTED} if the file is not a valid columnar file
+     */
+    static UnifiedFormat open(Path file, String sourceName) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER_SIZE) {
+                throw corrupted("File too short");
+            }
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < 0 || footerOffset > size - TRAILER_SIZE) {
+                throw corrupted("Bad trailer");
+            }
+
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, size - TRAILER_SIZE - footerOffset);
+            if (footer.getInt() != VERSION) {
+                throw corrupted("Unsupported version");
+            }
+            int rowCount = footer.getInt();
+            String storedName = readString(footer);
+            int columnCount = footer.getInt();
+
+            List<String> columns = new ArrayList<>(columnCount);
+            ColumnReader[] readers = new ColumnReader[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                columns.add(readString(footer));
+                byte type = footer.get();
+                long offset = footer.getLong();
+                long length = footer.getLong();
+                if (offset < 0 || length < 0 || offset + length > footerOffset || length > Integer.MAX_VALUE) {
+                    throw corrupted("Bad column block for '" + columns.get(c) + "'");
+                }
+                readers[c] = reader(type, channel.map(FileChannel.MapMode.READ_ONLY, offset, length), rowCount);
+            }
+            Metadata metadata = readMetadata(footer, new RowCodec.Decoder(false));
+            return new MappedFormat(columns, readers, rowCount, sourceName != null ? sourceName : storedName, metadata);
+        } catch (java.nio.BufferUnderflowException e) {
+            throw corrupted("Truncated footer");
+        } catch (IllegalArgumentException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_CORRUPTED, e);
+        }
+    }
+
+    // Utility Functions
+
+    /**
+     * Writes the parse metadata of a format field by field.
+     */
+    private static void writeMetadata(DataOutputStream footer, UnifiedFormat format) throws IOException {
+        RowCodec.Encoder encoder = new RowCodec.Encoder(false);
+
+        Map<String, ColumnStatistics> statistics = format.getColumnStatistics();
+        footer.writeInt(statistics.size());
+        for (Map.Entry<String, ColumnStatistics> entry : statistics.entrySet()) {
+            ColumnStatistics column = entry.getValue();
+            writeString(footer, entry.getKey());
+            footer.writeLong(column.getCount());
+            footer.writeLong(column.getNullCount());
+            footer.writeLong(column.getDistinctEstimate());
+            writeValue(footer, encoder, column.getMin());
+            writeValue(footer, encoder, column.getMax());
+        }
+
+        List<RowError> rowErrors = format.getRowErrors();
+        footer.writeInt(rowErrors.size());
+        for (RowError rowError : rowErrors) {
+            footer.writeLong(rowError.line());
+            writeString(footer, rowError.error().name());
+            footer.writeInt(rowError.values().size());
+            for (String value : rowError.values()) {
+                writeValue(footer, encoder, value);
+            }
+        }
+
+        ValidationResult validation = format.getValidationResult();
+        footer.writeBoolean(validation != ValidationResult.NOT_VALIDATED);
+        if (validation != ValidationResult.NOT_VALIDATED) {
+            footer.writeLong(validation.getRowCount());
+            footer.writeLong(validation.getViolationCount());
+            footer.writeInt(validation.getViolations().size());
+            for (Violation violation : validation.getViolations()) {
+                footer.writeLong(violation.row());
+                writeString(footer, violation.column());
+                writeValue(footer, encoder, violation.value());
+                writeString(footer, violation.error().name());
+            }
+        }
+    }
+
+    /**
+     * Reads the parse metadata written by {@link #writeMetadata(DataOutputStream, UnifiedFormat)}.
+     *
+     * @throws IllegalArgumentException if an error code is unknown
+     */
+    private static Metadata readMetadata(ByteBuffer footer, RowCodec.Decoder decoder) {
+        int statisticsCount = footer.getInt();
+        Map<String, ColumnStatistics> statistics = new LinkedHashMap<>();
+        for (int i = 0; i < statisticsCount; i++) {
+            String column = readString(footer);
+            statistics.put(column, new ColumnStatistics(column, footer.getLong(), footer.getLong(), footer.getLong(),
+                    decoder.read(footer), decoder.read(footer)));
+        }
+
+        int rowErrorCount = footer.getInt();
+        List<RowError> rowErrors = new ArrayList<>(rowErrorCount);
+        for (int i = 0; i < rowErrorCount; i++) {
+            long line = footer.getLong();
+            ErrorCode error = ErrorCode.valueOf(readString(footer));
+            int valueCount = footer.getInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int v = 0; v < valueCount; v++) {
+                values.add((String) decoder.read(footer));
+            }
+            rowErrors.add(new RowError(line, error, Collections.unmodifiableList(values)));
+        }
+
+        ValidationResult validation = ValidationResult.NOT_VALIDATED;
+        if (footer.get() != 0) {
+            long rowCount = footer.getLong();
+            long violationCount = footer.getLong();
+            int keptCount = footer.getInt();
+            List<Violation> violations = new ArrayList<>(keptCount);
+            for (int i = 0; i < keptCount; i++) {
+                violations.add(new Violation(footer.getLong(), readString(footer), decoder.read(footer),
+                        ErrorCode.valueOf(readString(footer))));
+            }
+            validation = new ValidationResult(rowCount, violationCount, violations);
+        }
+        return new Metadata(Collections.unmodifiableMap(statistics), Collections.unmodifiableList(rowErrors),
+                validation);
+    }
+
+    private static void writeValue(DataOutputStream out, RowCodec.Encoder encoder, Object value) throws IOException {
+        encoder.reset();
+        encoder.write(value);
+        ByteBuffer encoded = encoder.encoded();
+        out.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+    }
+
+    /**
+     * Reads a row store through its cursor, without building a map per row, and other row lists through their
+     * iterator.
+     */
+    private static RowCursor cursorOf(List<Map<String, Object>> rows, List<String> columns) {
+        if (rows instanceof SpillableRowStore store && store.getColumnOrder().equals(columns)) {
+            return store.openCursor();
+        }
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        return new RowCursor() {
+            private Map<String, Object> row;
+
+            @Override
+            public boolean next() {
+                row = iterator.hasNext() ? iterator.next() : null;
+                return row != null;
+            }
+
+            @Override
+            public Object getValue(int columnIndex) {
+                return row.get(columns.get(columnIndex));
+            }
+
+            @Override
+            public void close() {
+                row = null;
+            }
+        };
+    }
+
+    /**
+     * Writes {@code values.size() + 1} int offsets followed by the concatenated values.
+     */
+    private static void writeVariable(DataOutputStream out, List<byte[]> values) throws IOException {
+        long offset = 0;
+        out.writeInt(0);
+        for (byte[] value : values) {
+            offset += value.length;
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Column exceeds the 2 GB block limit");
+            }
+            out.writeInt((int) offset);
+        }
+        for (byte[] value : values) {
+            out.write(value);
+        }
+    }
+
+    private static int codeWidth(int dictionarySize) {
+        return dictionarySize <= 256 ? 1 : dictionarySize <= 65536 ? 2 : 4;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static FormatException corrupted(String reason) {
+        return new FormatException(ErrorCode.ROW_STORE_CORRUPTED, new IllegalStateException(reason));
+    }
+
+    private static ColumnReader reader(byte type, ByteBuffer block, int rowCount) {
+        int dataStart = (rowCount + 7) >>> 3;
+        ColumnReader values = switch (type) {
+            case DOUBLE -> row -> block.getDouble(dataStart + row * Double.BYTES);
+            case LONG -> row -> block.getLong(dataStart + row * Long.BYTES);
+            case INT -> row -> block.getInt(dataStart + row * Integer.BYTES);
+            case BOOLEAN -> row -> block.get(dataStart + row) != 0;
+            case STRING -> row -> readString(block, dataStart, row, dataStart + (rowCount + 1) * Integer.BYTES);
+            case DICTIONARY -> dictionaryReader(block, dataStart);
+            case ENCODED -> {
+                int valuesStart = dataStart + (rowCount + 1) * Integer.BYTES;
+                yield row -> {
+                    int start = block.getInt(dataStart + row * Integer.BYTES);
+                    int end = block.getInt(dataStart + (row + 1) * Integer.BYTES);
+                    return new RowCodec.Decoder(false).read(block.slice(valuesStart + start, end - start));
+                };
+            }
+            default -> throw corrupted("Unknown column type " + type);
+        };
+        return row -> (block.get(row >>> 3) & (1 << (row & 7))) != 0 ? null : values.get(row);
+    }
+
+    private static ColumnReader dictionaryReader(ByteBuffer block, int dataStart) {
+        int dictionarySize = block.getInt(dataStart);
+        int offsetsStart = dataStart + Integer.BYTES;
+        int bytesStart = offsetsStart + (dictionarySize + 1) * Integer.BYTES;
+        String[] dictionary = new String[dictionarySize];
+        for (int d = 0; d < dictionarySize; d++) {
+            dictionary[d] = readString(block, offsetsStart, d, bytesStart);
+        }
+        int codesStart = bytesStart + block.getInt(offsetsStart + dictionarySize * Integer.BYTES);
+        return switch (codeWidth(dictionarySize)) {
+            case 1 -> row -> dictionary[Byte.toUnsignedInt(block.get(codesStart + row))];
+            case 2 -> row -> dictionary[Short.toUnsignedInt(block.getShort(codesStart + row * 2))];
+            default -> row -> dictionary[block.getInt(codesStart + row * 4)];
+        };
+    }
+
+    private static String readString(ByteBuffer block, int offsetsStart, int index, int bytesStart) {
+        int start = block.getInt(offsetsStart + index * Integer.BYTES);
+        int end = block.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        block.get(bytesStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The values of one column, spooled to a temporary file as {@link RowCodec} values while the rows are read,
+     * together with what is needed to choose and write the column's block: the value type, the null bitmap and
+     * the distinct strings, in order of appearance.
+     */
+    private static final class ColumnSpool implements AutoCloseable {
+        private final Path file;
+        private final DataOutputStream out;
+        private final RowCodec.Encoder encoder = new RowCodec.Encoder(false);
+        private final RowCodec.Decoder decoder = new RowCodec.Decoder(false);
+        private Class<?> type;
+        private boolean mixed;
+        private byte[] nulls = new byte[64];
+        // Dropped once the column has too many distinct strings
+        private Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        private ColumnSpool(Path directory) throws IOException {
+            file = Files.createTempFile(directory, "column-", ".tmp");
+            try {
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+        }
+
+        void add(int row, Object value) throws IOException {
+            if (row >>> 3 >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, nulls.length * 2);
+            }
+            if (value == null) {
+                nulls[row >>> 3] |= (byte) (1 << (row & 7));
+            } else if (type == null) {
+                type = value.getClass();
+            } else if (type != value.getClass()) {
+                mixed = true;
+            }
+            if (value instanceof String text && dictionary != null) {
+                dictionary.putIfAbsent(text, dictionary.size());
+                if (dictionary.size() > MAX_DICTIONARY_SIZE) {
+                    dictionary = null;
+                }
+            }
+            encoder.reset();
+            encoder.write(value);
+            ByteBuffer encoded = encoder.encoded();
+            out.writeInt(encoded.remaining());
+            out.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+        }
+
+        /**
+         * A string column is dictionary-encoded when it has at most one distinct value per four rows.
+         */
+        byte type(int rowCount) {
+            if (mixed) return ENCODED;
+            if (type == Double.class) return DOUBLE;
+            if (type == Long.class) return LONG;
+            if (type == Integer.class) return INT;
+            if (type == Boolean.class) return BOOLEAN;
+            if (type == String.class) {
+                return dictionary != null && dictionary.size() <= Math.max(1, rowCount / 4) ? DICTIONARY : STRING;
+            }
+            // All-null columns and other types
+            return ENCODED;
+        }
+
+        void writeBlock(DataOutputStream block, byte blockType, int rowCount) throws IOException {
+            out.close();
+            block.write(nulls, 0, (rowCount + 7) >>> 3);
+            if (blockType == STRING) {
+                writeVariable(block, rowCount, encoded -> decode(encoded) instanceof String text
+                        ? text.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+                return;
+            }
+            if (blockType == ENCODED) {
+                writeVariable(block, rowCount, encoded -> encoded);
+                return;
+            }
+            if (blockType == DICTIONARY) {
+                List<byte[]> values = new ArrayList<>(dictionary.size());
+                dictionary.keySet().forEach(value -> values.add(value.getBytes(StandardCharsets.UTF_8)));
+                block.writeInt(values.size());
+                ColumnarFile.writeVariable(block, values);
+            }
+            int width = codeWidth(dictionary == null ? 0 : dictionary.size());
+            try (DataInputStream in = read()) {
+                for (int r = 0; r < rowCount; r++) {
+                    Object value = decode(next(in));
+                    switch (blockType) {
+                        case DOUBLE -> block.writeDouble(value instanceof Double d ? d : 0);
+                        case LONG -> block.writeLong(value instanceof Long l ? l : 0);
+                        case INT -> block.writeInt(value instanceof Integer i ? i : 0);
+                        case BOOLEAN -> block.writeByte(Boolean.TRUE.equals(value) ? 1 : 0);
+                        default -> {
+                            int code = value == null ? 0 : dictionary.get(value);
+                            switch (width) {
+                                case 1 -> block.writeByte(code);
+                                case 2 -> block.writeShort(code);
+                                default -> block.writeInt(code);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes {@code rowCount + 1} int offsets followed by the concatenated payloads, reading the spool twice.
+         */
+        private void writeVariable(DataOutputStream block, int rowCount, UnaryOperator<byte[]> payload)
+                throws IOException {
+            long offset = 0;
+            block.writeInt(0);
+            try (DataInputStream in = read()) {
+                for (int r = 0; r < rowCount; r++) {
+                    offset += payload.apply(next(in)).length;
+                    if (offset > Integer.MAX_VALUE) {
+                        throw new IOException("Column exceeds the 2 GB block limit");
+                    }
+                    block.writeInt((int) offset);
+                }
+            }
+            try (DataInputStream in = read()) {
+                for (int r = 0; r < rowCount; r++) {
+                    block.write(payload.apply(next(in)));
+                }
+            }
+        }
+
+        private DataInputStream read() throws IOException {
+            return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        }
+
+        private static byte[] next(DataInputStream in) throws IOException {
+            byte[] encoded = new byte[in.readInt()];
+            in.readFully(encoded);
+            return encoded;
+        }
+
+        private Object decode(byte[] encoded) {
+            return decoder.read(ByteBuffer.wrap(encoded));
+        }
+
+        /**
+         * Deletes the spool file.
+         */
+        @Override
+        public void close() {
+            try {
+                out.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("⚠️ Failed to delete column spool {}: {}", file, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Reads the value of one column for a row; implementations only use absolute buffer reads and are thread-safe.
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object get(int row);
+    }
+
+    /**
+     * The parse metadata stored in the footer.
+     */
+    private record Metadata(Map<String, ColumnStatistics> statistics, List<RowError> rowErrors,
+                            ValidationResult validation) {
+    }
+
+    /**
+     * A read-only {@link UnifiedFormat} whose rows are decoded from memory-mapped column blocks on access.
+     * Its cursor reads single cells from the blocks without building a map per row.
+     */
+    private static final class MappedFormat implements UnifiedFormat {
+        private final List<String> columns;
+        private final String sourceName;
+        private final List<Map<String, Object>> rows;
+        private final ColumnReader[] readers;
+        private final int rowCount;
+        private final Metadata metadata;
+
+        private MappedFormat(List<String> columns, ColumnReader[] readers, int rowCount, String sourceName,
+                             Metadata metadata) {
+            this.columns = Collections.unmodifiableList(columns);
+            this.sourceName = sourceName;
+            this.rows = new MappedRows(columns, readers, rowCount);
+            this.readers = readers;
+            this.rowCount = rowCount;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public RowCursor openCursor() {
+            return new MappedCursor(readers, rowCount);
+        }
+
+        @Override
+        public List<Map<String, Object>> getDataRows() {
+            return rows;
+        }
+
+        @Override
+        public List<String> getColumnOrder() {
+            return columns;
+        }
+
+        @Override
+        public String getSourceName() {
+            return sourceName;
+        }
+
+        @Override
+        public Map<String, ColumnStatistics> getColumnStatistics() {
+            return metadata.statistics();
+        }
+
+        @Override
+        public List<RowError> getRowErrors() {
+            return metadata.rowErrors();
+        }
+
+        @Override
+        public ValidationResult getValidationResult() {
+            return metadata.validation();
+        }
+    }
+
+    private static final class MappedCursor implements RowCursor {
+        private final ColumnReader[] readers;
+        private final int rowCount;
+        private int row = -1;
+
+        private MappedCursor(ColumnReader[] readers, int rowCount) {
+            this.readers = readers;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean next() {
+            if (row + 1 >= rowCount) {
+                row = rowCount;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        @Override
+        public Object getValue(int columnIndex) {
+            return readers[columnIndex].get(row);
+        }
+
+        @Override
+        public void close() {
+            row = rowCount;
+        }
+    }
+
+    private static final class MappedRows extends AbstractList<Map<String, Object>> implements RandomAccess {
+        private final List<String> columns;
+        private final ColumnReader[] readers;
+        private final int rowCount;
+
+        private MappedRows(List<String> columns, ColumnReader[] readers, int rowCount) {
+            this.columns = columns;
+            this.readers = readers;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public Map<String, Object> get(int index) {
+            Objects.checkIndex(index, rowCount);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int c = 0; c < readers.length; c++) {
+                row.put(columns.get(c), readers[c].get(index));
+            }
+            return row;
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.unified.store;
+
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * Compact binary encoding of individual cell values used by the row store.
+ * <p>
+ * Every value is written as a one-byte type tag followed by a type-specific payload.
+ * Lengths and integral values use a variable-length (LEB128) layout so that short strings
+ * and small numbers take only a few bytes. The exact Java type of each value is preserved,
+ * which matters for Jasper field classes. Unknown {@link Serializable} types fall back to
+ * Java serialization, unless the encoder and decoder were created without it: the row store's
+ * spill files are private to the process, but the columnar cache files may sit in a shared
+ * directory and must never be deserialized.
+ */
+final class RowCodec {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte TRUE = 8;
+    private static final byte FALSE = 9;
+    private static final byte DATE = 10;
+    private static final byte SQL_DATE = 11;
+    private static final byte SQL_TIMESTAMP = 12;
+    private static final byte SQL_TIME = 13;
+    private static final byte BIG_DECIMAL = 14;
+    private static final byte BIG_INTEGER = 15;
+    private static final byte LOCAL_DATE = 16;
+    private static final byte LOCAL_DATE_TIME = 17;
+    private static final byte SERIALIZED = 18;
+
+    private RowCodec() {
+    }
+
+    /**
+     * Growable heap buffer used to encode a single row before it is copied into the store.
+     */
+    static final class Encoder {
+        private final boolean serializable;
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        Encoder() {
+            this(true);
+        }
+
+        /**
+         * @param serializable whether values of other types fall back to Java serialization
+         */
+        Encoder(boolean serializable) {
+            this.serializable = serializable;
+        }
+
+        void reset() {
+            buffer.clear();
+        }
+
+        ByteBuffer encoded() {
+            return buffer.duplicate().flip();
+        }
+
+        int length() {
+            return buffer.position();
+        }
+
+        void write(Object value) {
+            if (value == null) {
+                putByte(NULL);
+            } else if (value instanceof String s) {
+                putByte(STRING);
+                putBytes(s.getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof Integer i) {
+                putByte(INTEGER);
+                putVarLong(zigZag(i));
+            } else if (value instanceof Long l) {
+                putByte(LONG);
+                putVarLong(zigZag(l));
+            } else if (value instanceof Double d) {
+                putByte(DOUBLE);
+                ensure(8).putDouble(d);
+            } else if (value instanceof Float f) {
+                putByte(FLOAT);
+                ensure(4).putFloat(f);
+            } else if (value instanceof Short s) {
+                putByte(SHORT);
+                putVarLong(zigZag(s));
+            } else if (value instanceof Byte b) {
+                putByte(BYTE);
+                putByte(b);
+            } else if (value instanceof Boolean b) {
+                putByte(b ? TRUE : FALSE);
+            } else if (value instanceof java.sql.Timestamp ts) {
+                putByte(SQL_TIMESTAMP);
+                putVarLong(zigZag(ts.getTime()));
+                putVarLong(ts.getNanos());
+            } else if (value instanceof java.sql.Date d) {
+                putByte(SQL_DATE);
+                putVarLong(zigZag(d.getTime()));
+            } else if (value instanceof java.sql.Time t) {
+                putByte(SQL_TIME);
+                putVarLong(zigZag(t.getTime()));
+            } else if (value.getClass() == Date.class) {
+                putByte(DATE);
+                putVarLong(zigZag(((Date) value).getTime()));
+            } else if (value instanceof BigDecimal bd) {
+                putByte(BIG_DECIMAL);
+                putBytes(bd.toString().getBytes(StandardCharsets.US_ASCII));
+            } else if (value instanceof BigInteger bi) {
+                putByte(BIG_INTEGER);
+                putBytes(bi.toByteArray());
+            } else if (value instanceof LocalDate ld) {
+                putByte(LOCAL_DATE);
+                putVarLong(zigZag(ld.toEpochDay()));
+            } else if (value instanceof LocalDateTime ldt) {
+                putByte(LOCAL_DATE_TIME);
+                putVarLong(zigZag(ldt.toEpochSecond(ZoneOffset.UTC)));
+                putVarLong(ldt.getNano());
+            } else if (serializable && value instanceof Serializable) {
+                putByte(SERIALIZED);
+                putBytes(serialize(value));
+            } else {
+                throw new FormatException(ErrorCode.ROW_STORE_UNSUPPORTED_TYPE,
+                        new IllegalArgumentException("Cannot store value of type " + value.getClass().getName()));
+            }
+        }
+
+        private void putByte(byte b) {
+            ensure(1).put(b);
+        }
+
+        private void putBytes(byte[] bytes) {
+            putVarLong(bytes.length);
+            ensure(bytes.length).put(bytes);
+        }
+
+        private void putVarLong(long v) {
+            ByteBuffer out = ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                out.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.put((byte) v);
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Reads values written by {@link Encoder#write(Object)}, reusing a scratch array for string payloads.
+     */
+    static final class Decoder {
+        private final boolean serializable;
+        private byte[] scratch = new byte[64];
+
+        Decoder() {
+            this(true);
+        }
+
+        /**
+         * @param serializable whether Java-serialized values are accepted; if not, they are reported as corruption
+         */
+        Decoder(boolean serializable) {
+            this.serializable = serializable;
+        }
+
+        /**
+         * Decodes the value at the buffer's current position.
+         *
+         * @param in the buffer positioned at a type tag; advanced past the value
+         * @return the decoded value
+         */
+        Object read(ByteBuffer in) {
+            byte tag = in.get();
+            return switch (tag) {
+                case NULL -> null;
+                case STRING -> readString(in, StandardCharsets.UTF_8);
+                case INTEGER -> (int) unZigZag(readVarLong(in));
+                case LONG -> unZigZag(readVarLong(in));
+                case DOUBLE -> in.getDouble();
+                case FLOAT -> in.getFloat();
+                case SHORT -> (short) unZigZag(readVarLong(in));
+                case BYTE -> in.get();
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case DATE -> new Date(unZigZag(readVarLong(in)));
+                case SQL_DATE -> new java.sql.Date(unZigZag(readVarLong(in)));
+                case SQL_TIME -> new java.sql.Time(unZigZag(readVarLong(in)));
+                case SQL_TIMESTAMP -> {
+                    java.sql.Timestamp ts = new java.sql.Timestamp(unZigZag(readVarLong(in)));
+                    ts.setNanos((int) readVarLong(in));
+                    yield ts;
+                }
+                case BIG_DECIMAL -> new BigDecimal(readString(in, StandardCharsets.US_ASCII));
+                case BIG_INTEGER -> new BigInteger(copyBytes(in));
+                case LOCAL_DATE -> LocalDate.ofEpochDay(unZigZag(readVarLong(in)));
+                case LOCAL_DATE_TIME -> {
+                    long seconds = unZigZag(readVarLong(in));
+                    yield LocalDateTime.ofEpochSecond(seconds, (int) readVarLong(in), ZoneOffset.UTC);
+                }
+                case SERIALIZED -> {
+                    if (!serializable) {
+                        throw new FormatException(ErrorCode.ROW_STORE_CORRUPTED,
+                                new IllegalStateException("Serialized values are not accepted"));
+                    }
+                    yield deserialize(copyBytes(in));
+                }
+                default -> throw new FormatException(ErrorCode.ROW_STORE_CORRUPTED,
+                        new IllegalStateException("Unknown value tag " + tag));
+            };
+        }
+
+        private String readString(ByteBuffer in, java.nio.charset.Charset charset) {
+            int length = (int) readVarLong(in);
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            in.get(scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long zigZag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unZigZag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static byte[] copyBytes(ByteBuffer in) {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] serialize(Object value) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_UNSUPPORTED_TYPE, e);
+        }
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_CORRUPTED, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.unified.store;
+
+import org.unified.utils.IndexedDataSource;
+
+/**
+ * A rewindable data source that streams rows out of a {@link SpillableRowStore}.
+ * <p>
+ * Rows are decoded one at a time into a reused value array, so filling a report never
+ * materializes the dataset on the heap. Fields are resolved to column indexes once (see
+ * {@link IndexedDataSource}), and fields that do not match a stored column resolve to {@code null}.
+ */
+public class RowStoreDataSource extends IndexedDataSource {
+
+    /**
+     * Creates a data source positioned before the first row of the store.
+     *
+     * @param store the row store to read from
+     */
+    public RowStoreDataSource(SpillableRowStore store) {
+        super(store.getColumnOrder(), store::openCursor);
+    }
+}
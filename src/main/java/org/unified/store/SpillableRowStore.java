@@ -0,0 +1,442 @@
+package org.unified.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.RowCursor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A row store that keeps parsed rows in a compact binary layout outside the Java heap.
+ * <p>
+ * Rows are encoded column by column (see {@link RowCodec}) into direct {@link ByteBuffer} segments.
+ * Once the configured off-heap limit is reached, further rows are appended to a temporary spill file
+ * which is memory-mapped for reading. Heap usage is therefore independent of the number of rows,
+ * which allows datasets far larger than the JVM heap to be fed into a report.
+ * <p>
+ * The store implements {@link List} so that it can be returned from
+ * {@link org.unified.formats.UnifiedFormat#getDataRows()} without changes to callers; rows are decoded
+ * into fresh maps on access. Sequential consumers should prefer {@link #openCursor()} or
+ * {@link #asDataSource()}, which decode into a reused value array instead.
+ * <p>
+ * Random access via {@link #get(int)} uses a sparse index (one entry every {@value #INDEX_STRIDE} rows),
+ * so it costs at most {@value #INDEX_STRIDE} record skips. The store is not thread-safe for writes.
+ */
+@Slf4j
+public class SpillableRowStore extends AbstractList<Map<String, Object>> implements Closeable {
+
+    /**
+     * Default amount of direct memory used before rows spill to disk (256 MB).
+     */
+    public static final long DEFAULT_OFF_HEAP_LIMIT = 256L * 1024 * 1024;
+
+    static final int INDEX_STRIDE = 1024;
+    private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+    private static final long MAX_FILE_SEGMENT = 1L << 30;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final List<String> columns;
+    private final long offHeapLimit;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final RowCodec.Encoder encoder = new RowCodec.Encoder();
+
+    private long offHeapBytes;
+    private long[] sparseIndex = new long[16];
+    private int size;
+
+    private FileChannel spillChannel;
+    private ByteBuffer writeBuffer;
+    private long spillBytes;
+    private Cleaner.Cleanable spillCleanup;
+
+    /**
+     * Creates a row store using the {@link #DEFAULT_OFF_HEAP_LIMIT}.
+     *
+     * @param columns the column order rows are encoded in; must be complete before the first row is added
+     */
+    public SpillableRowStore(List<String> columns) {
+        this(columns, DEFAULT_OFF_HEAP_LIMIT);
+    }
+
+    /**
+     * Creates a row store that spills to disk after {@code offHeapLimitBytes} of direct memory.
+     *
+     * @param columns           the column order rows are encoded in; must be complete before the first row is added
+     * @param offHeapLimitBytes maximum direct memory to use; {@code 0} writes every row straight to the spill file
+     */
+    public SpillableRowStore(List<String> columns, long offHeapLimitBytes) {
+        this(columns, offHeapLimitBytes, DEFAULT_SEGMENT_SIZE);
+    }
+
+    SpillableRowStore(List<String> columns, long offHeapLimitBytes, int segmentSize) {
+        this.columns = Objects.requireNonNull(columns, "columns");
+        this.offHeapLimit = Math.max(0, offHeapLimitBytes);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Encodes and appends a row. Values are looked up by the store's column order; missing keys are stored as null.
+     *
+     * @param row the row to append
+     * @return always {@code true}
+     * @throws FormatException if a value cannot be encoded or the spill file cannot be written
+     */
+    @Override
+    public boolean add(Map<String, Object> row) {
+        encoder.reset();
+        for (String column : columns) {
+            encoder.write(row.get(column));
+        }
+        appendEncoded();
+        return true;
+    }
+
+    /**
+     * Encodes and appends a row given as values in column order.
+     *
+     * @param values the row values; must have one entry per column
+     * @throws FormatException if a value cannot be encoded or the spill file cannot be written
+     */
+    public void append(Object[] values) {
+        encoder.reset();
+        for (int i = 0; i < columns.size(); i++) {
+            encoder.write(values[i]);
+        }
+        appendEncoded();
+    }
+
+    /**
+     * Returns the row at the given index, decoded into a new map in column order.
+     *
+     * @param index the row index
+     * @return the decoded row
+     */
+    @Override
+    public Map<String, Object> get(int index) {
+        Objects.checkIndex(index, size);
+        long position = sparseIndex[index / INDEX_STRIDE];
+        int segmentIndex = (int) (position >>> 32);
+        ByteBuffer buffer = segment(segmentIndex);
+        buffer.position((int) position);
+
+        for (int skip = index % INDEX_STRIDE; ; skip--) {
+            while (!buffer.hasRemaining()) {
+                buffer = segment(++segmentIndex);
+            }
+            int length = buffer.getInt();
+            if (skip == 0) {
+                break;
+            }
+            buffer.position(buffer.position() + length);
+        }
+
+        RowCodec.Decoder decoder = new RowCodec.Decoder();
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : columns) {
+            row.put(column, decoder.read(buffer));
+        }
+        return row;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a sequential iterator that decodes each row into a new map.
+     *
+     * @return an iterator over all rows
+     */
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        RowCursor cursor = openCursor();
+        return new Iterator<>() {
+            private boolean fetched;
+            private boolean available;
+
+            @Override
+            public boolean hasNext() {
+                if (!fetched) {
+                    available = cursor.next();
+                    fetched = true;
+                }
+                return available;
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                fetched = false;
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), cursor.getValue(i));
+                }
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Opens a cursor over the rows currently in the store. Each call returns an independent cursor.
+     *
+     * @return a new cursor positioned before the first row
+     */
+    public RowCursor openCursor() {
+        return new StoreCursor(size);
+    }
+
+    /**
+     * Returns a Jasper data source that streams rows from this store.
+     *
+     * @return a rewindable data source over the stored rows
+     */
+    public RowStoreDataSource asDataSource() {
+        return new RowStoreDataSource(this);
+    }
+
+    /**
+     * Returns the column order rows are encoded in.
+     *
+     * @return the column names
+     */
+    public List<String> getColumnOrder() {
+        return columns;
+    }
+
+    /**
+     * Returns the direct memory currently allocated for row segments.
+     *
+     * @return off-heap bytes in use
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    /**
+     * Returns the number of bytes written to the spill file.
+     *
+     * @return spilled bytes, or {@code 0} if the store has not spilled
+     */
+    public long getSpilledBytes() {
+        return spillBytes;
+    }
+
+    /**
+     * Releases direct memory and deletes the spill file. The store is empty afterwards.
+     */
+    @Override
+    public void close() {
+        segments.clear();
+        offHeapBytes = 0;
+        size = 0;
+        if (spillCleanup != null) {
+            spillCleanup.clean();
+            spillCleanup = null;
+            spillChannel = null;
+        }
+    }
+
+    // Utility Functions
+
+    private void appendEncoded() {
+        int recordLength = Integer.BYTES + encoder.length();
+        Segment target = writableSegment(recordLength);
+
+        if (size % INDEX_STRIDE == 0) {
+            int slot = size / INDEX_STRIDE;
+            if (slot == sparseIndex.length) {
+                sparseIndex = Arrays.copyOf(sparseIndex, slot * 2);
+            }
+            sparseIndex[slot] = ((long) (segments.size() - 1) << 32) | target.length;
+        }
+
+        if (target.memory != null) {
+            target.memory.putInt(encoder.length()).put(encoder.encoded());
+        } else {
+            writeToSpill(recordLength);
+        }
+        target.length += recordLength;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the segment the next record of the given length should be written to,
+     * allocating direct memory or opening the spill file as required.
+     */
+    private Segment writableSegment(int recordLength) {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+
+        if (spillChannel == null) {
+            if (last != null && last.memory.remaining() >= recordLength) {
+                return last;
+            }
+            int capacity = Math.max(recordLength, segmentSize);
+            if (offHeapBytes + capacity <= offHeapLimit) {
+                Segment segment = new Segment(ByteBuffer.allocateDirect(capacity), 0);
+                offHeapBytes += capacity;
+                segments.add(segment);
+                return segment;
+            }
+            openSpillFile();
+            last = null;
+        }
+
+        if (last == null || last.memory != null || last.length + recordLength > MAX_FILE_SEGMENT) {
+            last = new Segment(null, spillBytes);
+            segments.add(last);
+        }
+        return last;
+    }
+
+    private void openSpillFile() {
+        try {
+            Path path = Files.createTempFile("unified-rows-", ".spill");
+            spillChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            spillCleanup = CLEANER.register(this, new SpillFileCleanup(spillChannel));
+            log.info("Row store exceeded off-heap limit of {} bytes after {} rows, spilling to {}",
+                    offHeapLimit, size, path);
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_IO_ERROR, e);
+        }
+    }
+
+    private void writeToSpill(int recordLength) {
+        try {
+            if (writeBuffer.remaining() < recordLength) {
+                flushSpill();
+            }
+            if (recordLength > writeBuffer.capacity()) {
+                ByteBuffer record = ByteBuffer.allocate(recordLength);
+                record.putInt(encoder.length()).put(encoder.encoded()).flip();
+                while (record.hasRemaining()) {
+                    spillChannel.write(record);
+                }
+            } else {
+                writeBuffer.putInt(encoder.length()).put(encoder.encoded());
+            }
+            spillBytes += recordLength;
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_IO_ERROR, e);
+        }
+    }
+
+    private void flushSpill() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            spillChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Returns a read-only view of a segment positioned at its first record.
+     * File segments are flushed and memory-mapped on demand; the mapping is refreshed if the segment grew.
+     */
+    private ByteBuffer segment(int index) {
+        Segment segment = segments.get(index);
+        if (segment.memory != null) {
+            return segment.memory.duplicate().flip();
+        }
+        try {
+            if (segment.mapped == null || segment.mappedLength != segment.length) {
+                if (writeBuffer.position() > 0) {
+                    flushSpill();
+                }
+                segment.mapped = spillChannel.map(FileChannel.MapMode.READ_ONLY, segment.fileOffset, segment.length);
+                segment.mappedLength = segment.length;
+            }
+            return segment.mapped.duplicate();
+        } catch (IOException e) {
+            throw new FormatException(ErrorCode.ROW_STORE_IO_ERROR, e);
+        }
+    }
+
+    /**
+     * A contiguous run of whole records, held either in direct memory or in a region of the spill file.
+     */
+    private static final class Segment {
+        private final ByteBuffer memory;
+        private final long fileOffset;
+        private int length;
+        private ByteBuffer mapped;
+        private int mappedLength;
+
+        private Segment(ByteBuffer memory, long fileOffset) {
+            this.memory = memory;
+            this.fileOffset = fileOffset;
+        }
+    }
+
+    /**
+     * Closes (and thereby deletes) the spill file once the store is closed or becomes unreachable.
+     */
+    private record SpillFileCleanup(FileChannel channel) implements Runnable {
+        @Override
+        public void run() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Failed to delete row store spill file", e);
+            }
+        }
+    }
+
+    /**
+     * Sequential cursor decoding rows into a reused value array.
+     */
+    private final class StoreCursor implements RowCursor {
+        private final Object[] values = new Object[columns.size()];
+        private final RowCodec.Decoder decoder = new RowCodec.Decoder();
+        private int remaining;
+        private int segmentIndex = -1;
+        private ByteBuffer current;
+
+        private StoreCursor(int rowCount) {
+            this.remaining = rowCount;
+        }
+
+        @Override
+        public boolean next() {
+            if (remaining <= 0) {
+                return false;
+            }
+            while (current == null || !current.hasRemaining()) {
+                current = segment(++segmentIndex);
+            }
+            current.getInt();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = decoder.read(current);
+            }
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public Object getValue(int columnIndex) {
+            return values[columnIndex];
+        }
+
+        @Override
+        public void close() {
+            remaining = 0;
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.unified.templates;
+
+import net.sf.jasperreports.engine.JasperReport;
+
+import java.nio.file.Path;
+
+/**
+ * One compiled version of a registered template.
+ * <p>
+ * A new instance replaces the old one whenever the template file changes, so a report that obtained a
+ * version keeps filling with it even if the file is recompiled in the meantime.
+ *
+ * @param name    the name the template is registered under (the file base name)
+ * @param report  the compiled template
+ * @param version starts at 1 and increases with every successful recompilation
+ * @param source  the template file, or {@code null} for templates registered in memory
+ */
+public record CompiledTemplate(String name, JasperReport report, long version, Path source) {
+}
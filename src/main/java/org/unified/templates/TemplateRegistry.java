@@ -0,0 +1,311 @@
+package org.unified.templates;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperReport;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.utils.ReportValidators;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Named, precompiled Jasper templates loaded from a directory.
+ * <p>
+ * Every {@code .jrxml} and {@code .jasper} file in the directory is registered under its base name
+ * ({@code sales.jrxml} becomes {@code sales}). Compilation never happens on the request path:
+ * <ul>
+ *     <li><b>Startup</b> - all templates are compiled in parallel, one task per file on a pool sized to the
+ *     available processors. A template that fails to compile fails the load.</li>
+ *     <li><b>Hot reload</b> - {@link #watch(Path)} also watches the directory with a {@link WatchService}.
+ *     Changed files are recompiled on a background thread once their writes have settled, and the new
+ *     {@link CompiledTemplate} replaces the old one in a single map update. Reports that already obtained a
+ *     template keep using the version they got. If a recompilation fails, the previous version stays registered.
+ *     Deleted files are unregistered.</li>
+ * </ul>
+ * If a directory holds both {@code name.jrxml} and {@code name.jasper}, the most recently compiled one wins.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * TemplateRegistry templates = TemplateRegistry.watch(Path.of("/opt/reports/templates"));
+ *
+ * JasperReport sales = templates.get("sales");
+ * JasperPrint print = ReportExporter.fill(file, sales, params, token);
+ * }</pre>
+ */
+@Slf4j
+public class TemplateRegistry implements AutoCloseable {
+
+    private static final String TEMPLATE_GLOB = "*.{jrxml,jasper}";
+    private static final long SETTLE_MILLIS = 200;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    @Getter
+    private final Path directory;
+    private volatile WatchService watchService;
+    private Thread watcher;
+
+    private TemplateRegistry(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Compiles every template in a directory, in parallel, without watching for changes.
+     *
+     * @param directory the template directory
+     * @return the loaded registry
+     * @throws ReportException if the directory cannot be listed ({@link ErrorCode#IO_EXCEPTION}) or a template
+     *                         fails to compile or load
+     */
+    public static TemplateRegistry load(Path directory) {
+        TemplateRegistry registry = new TemplateRegistry(directory);
+        registry.compileAll();
+        return registry;
+    }
+
+    /**
+     * Compiles every template in a directory, in parallel, and recompiles templates when their files change.
+     * The registry must be closed to stop watching.
+     *
+     * @param directory the template directory
+     * @return the loaded registry
+     * @throws ReportException if the directory cannot be listed or watched ({@link ErrorCode#IO_EXCEPTION}),
+     *                         or a template fails to compile or load
+     */
+    public static TemplateRegistry watch(Path directory) {
+        TemplateRegistry registry = new TemplateRegistry(directory);
+        try {
+            // Register before compiling so that changes made during the initial load are not missed
+            registry.watchService = directory.getFileSystem().newWatchService();
+            directory.register(registry.watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            registry.close();
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        }
+        try {
+            registry.compileAll();
+        } catch (RuntimeException e) {
+            registry.close();
+            throw e;
+        }
+        registry.watcher = new Thread(registry::watchLoop, "unified-template-watch-" + THREAD_COUNTER.incrementAndGet());
+        registry.watcher.setDaemon(true);
+        registry.watcher.start();
+        return registry;
+    }
+
+    /**
+     * Creates a registry of already compiled templates, without a backing directory.
+     *
+     * @param templates the compiled templates by name
+     * @return the registry
+     */
+    public static TemplateRegistry of(Map<String, JasperReport> templates) {
+        TemplateRegistry registry = new TemplateRegistry(null);
+        templates.forEach((name, report) -> registry.templates.put(name, new CompiledTemplate(name, report, 1, null)));
+        return registry;
+    }
+
+    /**
+     * Returns the current compiled version of a template.
+     *
+     * @param name the template name
+     * @return the compiled template
+     * @throws ReportException with {@link ErrorCode#REPORT_TEMPLATE_NOT_FOUND} if no such template is registered
+     */
+    public JasperReport get(String name) {
+        return getCompiled(name).report();
+    }
+
+    /**
+     * Returns the current version of a template together with its version number and source file.
+     *
+     * @param name the template name
+     * @return the current version
+     * @throws ReportException with {@link ErrorCode#REPORT_TEMPLATE_NOT_FOUND} if no such template is registered
+     */
+    public CompiledTemplate getCompiled(String name) {
+        CompiledTemplate template = templates.get(name);
+        if (template == null) {
+            throw new ReportException(ErrorCode.REPORT_TEMPLATE_NOT_FOUND,
+                    new IllegalArgumentException("Unknown template: " + name));
+        }
+        return template;
+    }
+
+    /**
+     * @param name the template name
+     * @return {@code true} if a template is registered under the name
+     */
+    public boolean contains(String name) {
+        return templates.containsKey(name);
+    }
+
+    /**
+     * @return the registered template names, sorted
+     */
+    public SortedSet<String> names() {
+        return new TreeSet<>(templates.keySet());
+    }
+
+    /**
+     * @return the number of registered templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Stops watching the directory. The registered templates remain available.
+     */
+    @Override
+    public void close() {
+        WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Failed to close template watcher", e);
+            }
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    // Utility Functions
+
+    private void compileAll() {
+        long startTime = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, TEMPLATE_GLOB)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        }
+
+        int parallelism = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "unified-template-compile-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<CompiledTemplate>> compiled = new ArrayList<>();
+            for (Path file : files) {
+                compiled.add(pool.submit(() -> compile(file, 1)));
+            }
+            for (Future<CompiledTemplate> future : compiled) {
+                CompiledTemplate template = future.get();
+                templates.put(template.name(), template);
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof ReportException reportException
+                    ? reportException
+                    : new ReportException(ErrorCode.REPORT_TEMPLATE_COMPILE_FAILED,
+                    e.getCause() instanceof Exception cause ? cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("✅ Compiled {} template(s) from {} on {} thread(s) in {} ms", templates.size(), directory,
+                parallelism, (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    private static CompiledTemplate compile(Path file, long version) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new CompiledTemplate(templateName(file), ReportValidators.validateJasperReport(in), version, file);
+        } catch (IOException e) {
+            throw new ReportException(ErrorCode.IO_EXCEPTION, e);
+        } catch (ReportException e) {
+            log.error("❌ Template {} failed to compile: {}", file.getFileName(), e.getErrorCode().getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Collects changed files until no event arrives for {@link #SETTLE_MILLIS}, then reloads them, so a file that
+     * is written in several steps is compiled once, after the last write.
+     */
+    private void watchLoop() {
+        WatchService service = watchService;
+        Set<Path> pending = new LinkedHashSet<>();
+        try {
+            while (service != null) {
+                WatchKey key = pending.isEmpty()
+                        ? service.take()
+                        : service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    pending.forEach(this::reload);
+                    pending.clear();
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        log.warn("⚠️ Template watcher overflowed; rescanning {}", directory);
+                        rescan(pending);
+                    } else if (event.context() instanceof Path changed && isTemplate(changed)) {
+                        pending.add(directory.resolve(changed));
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("⚠️ Template directory {} is no longer accessible; hot reload stopped", directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed by close()
+        }
+    }
+
+    private void reload(Path file) {
+        String name = templateName(file);
+        if (!Files.exists(file)) {
+            CompiledTemplate removed = templates.get(name);
+            if (removed != null && file.equals(removed.source()) && templates.remove(name, removed)) {
+                log.info("Template '{}' removed", name);
+            }
+            return;
+        }
+        CompiledTemplate current = templates.get(name);
+        long version = current != null ? current.version() + 1 : 1;
+        try {
+            CompiledTemplate compiled = compile(file, version);
+            templates.put(name, compiled);
+            log.info("✅ Template '{}' reloaded as version {}", name, version);
+        } catch (ReportException e) {
+            log.warn("⚠️ Keeping version {} of template '{}' after a failed reload",
+                    current != null ? current.version() : 0, name);
+        }
+    }
+
+    private void rescan(Set<Path> pending) {
+        templates.values().forEach(template -> pending.add(template.source()));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, TEMPLATE_GLOB)) {
+            stream.forEach(pending::add);
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to rescan template directory {}", directory, e);
+        }
+    }
+
+    private static boolean isTemplate(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith(".jrxml") || fileName.endsWith(".jasper");
+    }
+
+    private static String templateName(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+}
@@ -0,0 +1,221 @@
+package org.unified.utils;
+
+import org.unified.common.enums.ContentEncoding;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the bytes written to it into a sink as they are written, in a {@link ContentEncoding}.
+ * <p>
+ * The framing is done by the JDK's {@link GZIPOutputStream} and {@link DeflaterOutputStream}, created in sync-flush
+ * mode: {@link #flush()} emits everything written so far as decodable output, so a streamed response reaches the
+ * client page by page instead of at the end. Small writes are gathered into an input buffer before they are handed to
+ * the {@link Deflater}. {@link #finish()} writes the remaining output and releases the deflater without closing the
+ * sink, so the same sink can be used further (for example, by a servlet container). {@link #close()} also closes it.
+ */
+public final class CompressingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream sink;
+    private final ContentEncoding encoding;
+    private final CountingOutputStream counter;
+    private final int level;
+    private final byte[] input;
+    private Deflater deflater;
+    private DeflaterOutputStream compressor;
+    private int buffered;
+    private long contentBytes;
+    private boolean finished;
+
+    CompressingOutputStream(OutputStream sink, ContentEncoding encoding, int level) {
+        this.sink = sink;
+        this.encoding = encoding;
+        this.counter = new CountingOutputStream(sink);
+        this.level = level;
+        this.input = encoding != ContentEncoding.IDENTITY ? new byte[BUFFER_SIZE] : null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Compressed stream already finished");
+        }
+        contentBytes += len;
+        if (input == null) {
+            counter.write(b, off, len);
+            return;
+        }
+        if (len >= input.length) {
+            drainInput();
+            compressor().write(b, off, len);
+            return;
+        }
+        if (buffered + len > input.length) {
+            drainInput();
+        }
+        System.arraycopy(b, off, input, buffered, len);
+        buffered += len;
+    }
+
+    /**
+     * Compresses buffered bytes with a sync flush and flushes the sink, so everything written so far can be
+     * decoded by the client.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished && (buffered > 0 || compressor != null)) {
+            drainInput();
+            compressor.flush();
+        } else {
+            sink.flush();
+        }
+    }
+
+    /**
+     * Writes the remaining compressed output and the format trailer, and releases the deflater.
+     * The sink is flushed but not closed. Calling it again has no effect.
+     *
+     * @throws IOException if writing to the sink fails
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (input == null) {
+            sink.flush();
+            return;
+        }
+        try {
+            drainInput();
+            compressor().finish();
+        } finally {
+            deflater.end();
+        }
+        sink.flush();
+    }
+
+    /**
+     * Releases the deflater without writing further output, after a failed export.
+     */
+    void discard() {
+        if (!finished) {
+            finished = true;
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            sink.close();
+        }
+    }
+
+    /**
+     * @return the encoding the sink receives
+     */
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @return the number of uncompressed bytes written so far
+     */
+    public long getContentBytes() {
+        return contentBytes;
+    }
+
+    /**
+     * @return the number of encoded bytes written to the sink so far
+     */
+    public long getEncodedBytes() {
+        return counter.count;
+    }
+
+    // Utility Functions
+
+    private void drainInput() throws IOException {
+        if (buffered > 0) {
+            compressor().write(input, 0, buffered);
+            buffered = 0;
+        }
+    }
+
+    /**
+     * Creates the compressor on first use, so nothing (not even the GZIP header) reaches the sink before the
+     * export writes its first bytes.
+     */
+    private DeflaterOutputStream compressor() throws IOException {
+        if (compressor == null) {
+            if (encoding == ContentEncoding.GZIP) {
+                LeveledGzipOutputStream gzip = new LeveledGzipOutputStream(counter, level);
+                deflater = gzip.deflater();
+                compressor = gzip;
+            } else {
+                // HTTP's "deflate" is the zlib format
+                deflater = new Deflater(level);
+                compressor = new DeflaterOutputStream(counter, deflater, BUFFER_SIZE, true);
+            }
+        }
+        return compressor;
+    }
+
+    /**
+     * A sync-flushing {@link GZIPOutputStream} at a chosen compression level.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE, true);
+            def.setLevel(level);
+        }
+
+        private Deflater deflater() {
+            return def;
+        }
+    }
+
+    /**
+     * Counts the encoded bytes passed to the sink.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // The sink's lifetime belongs to the caller of finish()
+        }
+    }
+}
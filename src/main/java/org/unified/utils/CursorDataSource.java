@@ -0,0 +1,62 @@
+package org.unified.utils;
+
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRField;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+
+import java.util.List;
+
+/**
+ * A forward-only {@link JRDataSource} over a {@link RowCursor}.
+ * <p>
+ * Used to fill reports from streaming formats without collecting their rows first. The first row is
+ * read on construction so that an empty source fails with {@link ErrorCode#REPORT_DATA_EMPTY} before
+ * the fill starts, like the list-based export path. The cursor is closed once it is exhausted.
+ * Fields are resolved to column indexes once, like in {@link IndexedDataSource}, and fields that do not match
+ * a column resolve to {@code null}.
+ */
+public class CursorDataSource implements JRDataSource {
+
+    private final RowCursor cursor;
+    private final FieldIndex fieldIndex;
+    private boolean firstRowPending;
+
+    /**
+     * Creates a data source positioned before the first row of the cursor.
+     *
+     * @param cursor  the cursor to read from
+     * @param columns the column order the cursor's value indexes refer to
+     * @throws ReportException with {@link ErrorCode#REPORT_DATA_EMPTY} if the cursor has no rows
+     */
+    public CursorDataSource(RowCursor cursor, List<String> columns) {
+        this.cursor = cursor;
+        this.fieldIndex = new FieldIndex(columns);
+        this.firstRowPending = cursor.next();
+        if (!firstRowPending) {
+            cursor.close();
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+    }
+
+    @Override
+    public boolean next() {
+        fieldIndex.nextRecord();
+        if (firstRowPending) {
+            firstRowPending = false;
+            return true;
+        }
+        if (cursor.next()) {
+            return true;
+        }
+        cursor.close();
+        return false;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) {
+        int index = fieldIndex.indexOf(field);
+        return index < 0 ? null : cursor.getValue(index);
+    }
+}
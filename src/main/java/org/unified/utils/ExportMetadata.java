@@ -0,0 +1,16 @@
+package org.unified.utils;
+
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.FileExportFormat;
+
+/**
+ * Describes a report written by {@link ReportExporter#exportTo(net.sf.jasperreports.engine.JasperPrint,
+ * FileExportFormat, java.io.OutputStream, OutputCompression)}.
+ *
+ * @param format          the export format
+ * @param contentEncoding the encoding of the written bytes, for the HTTP {@code Content-Encoding} header
+ * @param contentBytes    the size of the report before encoding
+ * @param encodedBytes    the number of bytes written to the sink
+ */
+public record ExportMetadata(FileExportFormat format, ContentEncoding contentEncoding, long contentBytes, long encodedBytes) {
+}
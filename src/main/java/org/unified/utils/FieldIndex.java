@@ -0,0 +1,83 @@
+package org.unified.utils;
+
+import net.sf.jasperreports.engine.JRField;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the {@link JRField}s requested by a fill to column indexes, by name only once per field.
+ * <p>
+ * Jasper requests the fields of a record in the same order, with the same {@link JRField} instances, for every
+ * record. The first record records each field in a slot together with its column index. For the following records
+ * the field at the current slot is compared by reference, so resolving a field costs one comparison and one array
+ * read instead of a hash lookup of its name. Fields requested in a different order are found by a scan of the
+ * slots and do not break the fast path for the fields that follow.
+ */
+final class FieldIndex {
+
+    /**
+     * Slots recorded before further fields are resolved by name on every access, bounding the memory kept for
+     * callers that create a new {@link JRField} per request.
+     */
+    private static final int MAX_SLOTS = 1024;
+
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private JRField[] fields = new JRField[16];
+    private int[] indexes = new int[16];
+    private int slots;
+    private int position;
+
+    /**
+     * @param columns the column order the resolved indexes refer to
+     */
+    FieldIndex(List<String> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndex.putIfAbsent(columns.get(i), i);
+        }
+    }
+
+    /**
+     * Restarts the slot sequence; called whenever the data source advances to a new record.
+     */
+    void nextRecord() {
+        position = 0;
+    }
+
+    /**
+     * @param field the requested field
+     * @return the column index of the field, or {@code -1} if no column has the field's name
+     */
+    int indexOf(JRField field) {
+        int slot = position;
+        if (slot < slots && fields[slot] == field) {
+            position = slot + 1;
+            return indexes[slot];
+        }
+        return resolve(field);
+    }
+
+    // Utility Functions
+
+    private int resolve(JRField field) {
+        for (int slot = 0; slot < slots; slot++) {
+            if (fields[slot] == field) {
+                position = slot + 1;
+                return indexes[slot];
+            }
+        }
+        int index = columnIndex.getOrDefault(field.getName(), -1);
+        if (slots < MAX_SLOTS) {
+            if (slots == fields.length) {
+                fields = Arrays.copyOf(fields, slots * 2);
+                indexes = Arrays.copyOf(indexes, slots * 2);
+            }
+            fields[slots] = field;
+            indexes[slots] = index;
+            position = ++slots;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,103 @@
+package org.unified.utils;
+
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JRRewindableDataSource;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+import org.unified.store.SpillableRowStore;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A rewindable {@link net.sf.jasperreports.engine.JRDataSource} that reads field values by column index.
+ * <p>
+ * {@link net.sf.jasperreports.engine.data.JRMapCollectionDataSource} looks every field of every record up by name.
+ * This data source resolves each {@link JRField} to a column index once, on the first record, and from then on
+ * reads the value from the {@link RowCursor} position directly. It works over any cursor: the positional buffers of
+ * a {@link SpillableRowStore}, the column blocks of a columnar cache file, or rows held as maps
+ * (see {@link #of(Collection, List)}). Forward-only cursors, which cannot be
+ * reopened, are read by {@link CursorDataSource} with the same field resolution.
+ * <p>
+ * Fields that do not match a column resolve to {@code null}, except for map rows, where they are looked up by name
+ * like the map data source does.
+ * <p>
+ * Parsed heap rows are {@link org.unified.formats.ArrayRow}s and are read by position too; only maps built
+ * elsewhere cost one lookup per field.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * JRDataSource dataSource = IndexedDataSource.of(file.getDataRows(), file.getColumnOrder());
+ * JasperPrint print = ReportExporter.fill(dataSource, template, params);
+ * }</pre>
+ */
+public class IndexedDataSource implements JRRewindableDataSource {
+
+    private final Supplier<RowCursor> cursors;
+    private final FieldIndex fieldIndex;
+    private RowCursor cursor;
+
+    /**
+     * Creates a data source positioned before the first row.
+     *
+     * @param columns the column order the cursors' value indexes refer to
+     * @param cursors opens a new cursor positioned before the first row; called now and on every rewind
+     */
+    public IndexedDataSource(List<String> columns, Supplier<RowCursor> cursors) {
+        this.cursors = cursors;
+        this.fieldIndex = new FieldIndex(columns);
+        this.cursor = cursors.get();
+    }
+
+    /**
+     * Creates a data source over rows held as maps.
+     *
+     * @param rows    the rows; for a {@link SpillableRowStore} its own cursor is used
+     * @param columns the expected keys, in the order the rows were built; {@code null} to use the first row's keys
+     * @return the data source
+     * @throws ReportException with {@link ErrorCode#REPORT_DATA_EMPTY} if there are no rows
+     */
+    public static IndexedDataSource of(Collection<? extends Map<String, ?>> rows, List<String> columns) {
+        if (rows == null || rows.isEmpty()) {
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+        if (rows instanceof SpillableRowStore store) {
+            return store.asDataSource();
+        }
+        List<String> order = columns != null ? columns : firstRowKeys(rows);
+        String[] keys = order.toArray(new String[0]);
+        return new IndexedDataSource(order, () -> new MapRowCursor(rows, keys));
+    }
+
+    @Override
+    public boolean next() {
+        fieldIndex.nextRecord();
+        return cursor.next();
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) {
+        int index = fieldIndex.indexOf(field);
+        if (index >= 0) {
+            return cursor.getValue(index);
+        }
+        return cursor instanceof MapRowCursor maps ? maps.getValue(field.getName()) : null;
+    }
+
+    @Override
+    public void moveFirst() {
+        cursor.close();
+        cursor = cursors.get();
+        fieldIndex.nextRecord();
+    }
+
+    // Utility Functions
+
+    private static List<String> firstRowKeys(Collection<? extends Map<String, ?>> rows) {
+        Map<String, ?> first = rows.iterator().next();
+        return first != null ? List.copyOf(first.keySet()) : List.of();
+    }
+}
@@ -0,0 +1,79 @@
+package org.unified.utils;
+
+import org.unified.formats.ArrayRow;
+import org.unified.formats.RowCursor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A {@link RowCursor} over rows held as maps.
+ * <p>
+ * Values are read from the current row only when they are read, so fields the report does not use cost nothing.
+ * Parsed rows are {@link ArrayRow}s; when their layout matches the cursor's columns, a value is read from the row's
+ * array by position. Other maps are looked up by column key, as in
+ * {@link net.sf.jasperreports.engine.data.JRMapCollectionDataSource}.
+ */
+final class MapRowCursor implements RowCursor {
+
+    private final Iterator<? extends Map<String, ?>> rows;
+    private final String[] columns;
+    private Map<String, ?> current;
+    private boolean closed;
+    private ArrayRow.Layout checkedLayout;
+    private boolean positional;
+
+    MapRowCursor(Iterable<? extends Map<String, ?>> rows, String[] columns) {
+        this.rows = rows.iterator();
+        this.columns = columns;
+    }
+
+    @Override
+    public boolean next() {
+        if (closed || !rows.hasNext()) {
+            current = null;
+            return false;
+        }
+        current = rows.next();
+        return true;
+    }
+
+    @Override
+    public Object getValue(int columnIndex) {
+        if (current instanceof ArrayRow row && matches(row.getLayout())) {
+            return row.valueAt(columnIndex);
+        }
+        return current != null ? current.get(columns[columnIndex]) : null;
+    }
+
+    /**
+     * Looks up a field that is not one of the cursor's columns, for rows whose keys differ from the first row's.
+     *
+     * @param name the field name
+     * @return the value of the current row, or {@code null} if the row has no such key
+     */
+    Object getValue(String name) {
+        return current != null ? current.get(name) : null;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        current = null;
+    }
+
+    // Utility Functions
+
+    /**
+     * Checks whether a layout has the cursor's columns in the same order; the rows of one parse share a layout,
+     * so it is compared once.
+     */
+    private boolean matches(ArrayRow.Layout layout) {
+        if (layout != checkedLayout) {
+            checkedLayout = layout;
+            positional = layout.getColumns().equals(Arrays.asList(columns));
+        }
+        return positional;
+    }
+}
@@ -0,0 +1,146 @@
+package org.unified.utils;
+
+import lombok.Getter;
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.FileExportFormat;
+
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * How an exported report is compressed while it is written.
+ * <p>
+ * Text formats shrink by an order of magnitude. PDF and XLSX are already compressed containers, so they are
+ * written as produced and reported as {@link ContentEncoding#IDENTITY}.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * OutputCompression compression = OutputCompression.gzip(Deflater.BEST_SPEED);
+ * response.setHeader("Content-Encoding", compression.encodingFor(FileExportFormat.HTML).getToken());
+ *
+ * ReportExporter.exportTo(jasperPrint, FileExportFormat.HTML, response.getOutputStream(), compression);
+ * }</pre>
+ */
+@Getter
+public final class OutputCompression {
+
+    /**
+     * Writes reports uncompressed.
+     */
+    public static final OutputCompression NONE = new OutputCompression(ContentEncoding.IDENTITY, Deflater.NO_COMPRESSION);
+
+    private static final Set<FileExportFormat> PRECOMPRESSED_FORMATS = EnumSet.of(FileExportFormat.PDF, FileExportFormat.XLSX);
+
+    private final ContentEncoding encoding;
+    private final int level;
+
+    private OutputCompression(ContentEncoding encoding, int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Compression level must be -1 or in [0, 9]: " + level);
+        }
+        this.encoding = encoding;
+        this.level = level;
+    }
+
+    /**
+     * @return GZIP compression at the default level
+     */
+    public static OutputCompression gzip() {
+        return gzip(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param level the deflate level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION},
+     *              or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return GZIP compression at the given level
+     */
+    public static OutputCompression gzip(int level) {
+        return new OutputCompression(ContentEncoding.GZIP, level);
+    }
+
+    /**
+     * @param level the deflate level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION},
+     *              or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return zlib ({@code deflate}) compression at the given level
+     */
+    public static OutputCompression deflate(int level) {
+        return new OutputCompression(ContentEncoding.DEFLATE, level);
+    }
+
+    /**
+     * Picks the compression for a request from its HTTP {@code Accept-Encoding} header, preferring GZIP over
+     * deflate. An explicit entry for an encoding takes precedence over the {@code *} wildcard; {@code q=0} rejects.
+     *
+     * @param acceptEncoding the header value, or {@code null} if absent
+     * @return GZIP or deflate at the default level, or {@link #NONE}
+     */
+    public static OutputCompression negotiate(String acceptEncoding) {
+        if (accepts(acceptEncoding, ContentEncoding.GZIP)) {
+            return gzip();
+        }
+        if (accepts(acceptEncoding, ContentEncoding.DEFLATE)) {
+            return deflate(Deflater.DEFAULT_COMPRESSION);
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the encoding a report of the given format is written with. This is known before the export starts,
+     * so it can be sent as the {@code Content-Encoding} header ahead of the body.
+     *
+     * @param format the export format
+     * @return the encoding applied to the format
+     */
+    public ContentEncoding encodingFor(FileExportFormat format) {
+        return PRECOMPRESSED_FORMATS.contains(format) ? ContentEncoding.IDENTITY : encoding;
+    }
+
+    /**
+     * Wraps a sink so that bytes written to the result reach it compressed.
+     *
+     * @param format the export format, see {@link #encodingFor(FileExportFormat)}
+     * @param sink   the stream receiving the encoded bytes; it is not closed
+     * @return the stream to export into; {@link CompressingOutputStream#finish()} must be called when done
+     */
+    public CompressingOutputStream wrap(FileExportFormat format, OutputStream sink) {
+        return new CompressingOutputStream(sink, encodingFor(format), level);
+    }
+
+    // Utility Functions
+
+    private static boolean accepts(String acceptEncoding, ContentEncoding encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double explicit = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(encoding.getToken())) {
+                explicit = quality(tokens);
+            } else if (name.equals("*")) {
+                wildcard = quality(tokens);
+            }
+        }
+        Double quality = explicit != null ? explicit : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
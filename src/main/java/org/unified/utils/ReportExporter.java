@@ -2,19 +2,31 @@ package org.unified.utils;
 
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
-import net.sf.jasperreports.engine.data.JRMapCollectionDataSource;
+import net.sf.jasperreports.engine.fill.AsynchronousFillHandle;
+import net.sf.jasperreports.engine.fill.AsynchronousFilllListener;
+import net.sf.jasperreports.engine.fill.FillListener;
+import net.sf.jasperreports.engine.fill.JRFiller;
+import net.sf.jasperreports.engine.fill.ReportFiller;
 import net.sf.jasperreports.engine.export.HtmlExporter;
 import net.sf.jasperreports.engine.export.JRXmlExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
 import net.sf.jasperreports.export.*;
 import org.unified.common.enums.ErrorCode;
 import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.FormatException;
 import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.RowCursor;
+import org.unified.formats.ColumnStatistics;
+import org.unified.formats.UnifiedFormat;
+import org.unified.store.RowStoreDataSource;
+import org.unified.store.SpillableRowStore;
 
 import java.io.ByteArrayOutputStream;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Utility class responsible for exporting reports using JasperReports into multiple formats.
@@ -24,8 +36,17 @@ import java.util.Map;
 @Slf4j
 public class ReportExporter {
 
+    /**
+     * Formats that {@link #exportTo(JasperPrint, FileExportFormat, OutputStream)} can produce.
+     */
+    public static final Set<FileExportFormat> SUPPORTED_FORMATS =
+            Collections.unmodifiableSet(EnumSet.of(FileExportFormat.PDF, FileExportFormat.HTML, FileExportFormat.XML, FileExportFormat.XLSX));
+
     /**
      * Exports the provided data and compiled JasperReport template to the specified format.
+     * <p>
+     * Rows held in a {@link SpillableRowStore} are streamed through a {@link RowStoreDataSource}
+     * instead of being decoded into maps.
      *
      * @param dataRows       the collection of data maps used as the data source for the report
      * @param reportTemplate the compiled JasperReport (.jasper)
@@ -35,34 +56,64 @@ public class ReportExporter {
      * @throws ReportException if any step of the export process fails
      */
     public static byte[] export(Collection<Map<String, Object>> dataRows, JasperReport reportTemplate, Map<String, Object> parameters, FileExportFormat format) {
-        if (dataRows == null || dataRows.isEmpty()) {
-            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
-        }
-        try {
-            // Defensive copy of parameters
-            Map<String, Object> mutableParams = new HashMap<>(parameters);
+        JRDataSource dataSource = toDataSource(dataRows);
+        return exportFromDataSource(dataSource, reportTemplate, parameters, format);
+    }
 
-            JasperPrint jasperPrint;
-            try {
-                @SuppressWarnings("unchecked")
-                JRMapCollectionDataSource dataSource = new JRMapCollectionDataSource(
-                        (Collection<Map<String, ?>>) (Collection<?>) dataRows
-                );
+    /**
+     * Exports the provided data to the specified format, aborting as soon as the token is cancelled.
+     *
+     * @param dataRows       the collection of data maps used as the data source for the report
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param format         the output format (PDF, HTML, XML, XLSX)
+     * @param token          the cancellation token of the request
+     * @return a byte array representing the exported report content
+     * @throws ReportException if any step of the export process fails, or with the token's reason once it is cancelled
+     */
+    public static byte[] export(Collection<Map<String, Object>> dataRows, JasperReport reportTemplate, Map<String, Object> parameters,
+                                FileExportFormat format, CancellationToken token) {
+        JRDataSource dataSource = toDataSource(dataRows);
+        return exportFromDataSource(dataSource, reportTemplate, parameters, format, token);
+    }
 
-                jasperPrint = JasperFillManager.fillReport(reportTemplate, mutableParams, dataSource);
-            } catch (JRException e) {
-                log.error("❌ Failed to fill report with data", e);
-                throw new ReportException(ErrorCode.REPORT_FILL_FAILED, e);
-            }
+    /**
+     * Exports a report filled from an arbitrary Jasper data source to the specified format.
+     * <p>
+     * This allows rows to be streamed into the fill (e.g., from a {@link SpillableRowStore})
+     * without first collecting them into an on-heap list.
+     *
+     * @param dataSource     the data source the report is filled from
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param format         the output format (PDF, HTML, XML, XLSX)
+     * @return a byte array representing the exported report content
+     * @throws ReportException if any step of the export process fails
+     */
+    public static byte[] exportFromDataSource(JRDataSource dataSource, JasperReport reportTemplate, Map<String, Object> parameters, FileExportFormat format) {
+        return exportFromDataSource(dataSource, reportTemplate, parameters, format, CancellationToken.NONE);
+    }
 
+    /**
+     * Exports a report filled from an arbitrary Jasper data source, aborting the fill and export
+     * as soon as the token is cancelled.
+     *
+     * @param dataSource     the data source the report is filled from
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param format         the output format (PDF, HTML, XML, XLSX)
+     * @param token          the cancellation token of the request
+     * @return a byte array representing the exported report content
+     * @throws ReportException if any step of the export process fails, or with the token's reason once it is cancelled
+     */
+    public static byte[] exportFromDataSource(JRDataSource dataSource, JasperReport reportTemplate, Map<String, Object> parameters,
+                                              FileExportFormat format, CancellationToken token) {
+        try {
+            JasperPrint jasperPrint = fill(dataSource, reportTemplate, parameters, token);
 
-            return switch (format) {
-                case PDF -> exportToPdf(jasperPrint);
-                case HTML -> exportToHtml(jasperPrint);
-                case XML -> exportToXml(jasperPrint);
-                case XLSX -> exportToXlsx(jasperPrint);
-                default -> throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
-            };
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            exportTo(jasperPrint, format, outputStream, token);
+            return outputStream.toByteArray();
 
         } catch (ReportException e) {
             throw e;
@@ -73,17 +124,284 @@ public class ReportExporter {
     }
 
     /**
-     * Exports the report to PDF format.
+     * Fills the compiled template from the given rows without exporting it.
+     * <p>
+     * The resulting {@link JasperPrint} can be exported to several formats with
+     * {@link #exportAll(JasperPrint, Set, Executor)} or {@link #exportTo(JasperPrint, FileExportFormat, OutputStream)}.
      *
-     * @param jasperPrint the filled JasperPrint object
-     * @return the exported PDF as a byte array
+     * @param dataRows       the collection of data maps used as the data source for the report
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @return the filled report
+     * @throws ReportException if the data is empty or the fill fails
      */
-    static byte[] exportToPdf(JasperPrint jasperPrint) {
+    public static JasperPrint fill(Collection<Map<String, Object>> dataRows, JasperReport reportTemplate, Map<String, Object> parameters) {
+        return fill(toDataSource(dataRows), reportTemplate, parameters);
+    }
+
+    /**
+     * Fills the compiled template from a parsed input, aborting the fill once the token is cancelled.
+     * <p>
+     * Inputs that provide a {@link UnifiedFormat#openCursor() cursor} are streamed into the fill through a
+     * {@link CursorDataSource}; others are filled from their rows. Column statistics collected while parsing are
+     * passed as the {@value ColumnStatistics#REPORT_PARAMETER} parameter, see {@link #withColumnStatistics}.
+     *
+     * @param inputFile      the parsed input
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param token          the cancellation token of the request
+     * @return the filled report
+     * @throws ReportException if the data is empty or the fill fails, or with the token's reason once it is cancelled
+     */
+    public static JasperPrint fill(UnifiedFormat inputFile, JasperReport reportTemplate, Map<String, Object> parameters,
+                                   CancellationToken token) {
+        return fill(toDataSource(inputFile), reportTemplate, withColumnStatistics(inputFile, parameters), token, null);
+    }
+
+    /**
+     * Fills the compiled template from a parsed input like {@link #fill(UnifiedFormat, JasperReport, Map, CancellationToken)},
+     * but stops reading records once {@code maxPages} pages are complete. The result may hold one page more than
+     * that, since Jasper only reports a page once the next one has started.
+     *
+     * @param inputFile      the parsed input
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param token          the cancellation token of the request
+     * @param maxPages       the number of complete pages after which no more records are read; at least one
+     * @return the filled report
+     * @throws ReportException if the data is empty or the fill fails, or with the token's reason once it is cancelled
+     */
+    public static JasperPrint fill(UnifiedFormat inputFile, JasperReport reportTemplate, Map<String, Object> parameters,
+                                   CancellationToken token, int maxPages) {
+        PageLimit pageLimit = new PageLimit(toDataSource(inputFile), maxPages);
+        return fill(pageLimit, reportTemplate, withColumnStatistics(inputFile, parameters), token, pageLimit);
+    }
+
+    /**
+     * Adds the column statistics of a parsed input to the report parameters.
+     * <p>
+     * The statistics are passed as the {@value ColumnStatistics#REPORT_PARAMETER} parameter, a map from column
+     * name to {@link ColumnStatistics}, unless the parameters already define it or none were collected.
+     *
+     * @param inputFile  the parsed input
+     * @param parameters the caller's report parameters; not modified
+     * @return the parameters including the statistics, or {@code parameters} itself if there is nothing to add
+     */
+    public static Map<String, Object> withColumnStatistics(UnifiedFormat inputFile, Map<String, Object> parameters) {
+        Map<String, ColumnStatistics> statistics = inputFile.getColumnStatistics();
+        if (statistics.isEmpty() || parameters.containsKey(ColumnStatistics.REPORT_PARAMETER)) {
+            return parameters;
+        }
+        Map<String, Object> withStatistics = new HashMap<>(parameters);
+        withStatistics.put(ColumnStatistics.REPORT_PARAMETER, statistics);
+        return withStatistics;
+    }
+
+    /**
+     * Fills the compiled template from the given data source without exporting it.
+     *
+     * @param dataSource     the data source the report is filled from
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @return the filled report
+     * @throws ReportException if the data source is missing or the fill fails
+     */
+    public static JasperPrint fill(JRDataSource dataSource, JasperReport reportTemplate, Map<String, Object> parameters) {
+        if (dataSource == null) {
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+        // Defensive copy of parameters
+        Map<String, Object> mutableParams = new HashMap<>(parameters);
         try {
-            return JasperExportManager.exportReportToPdf(jasperPrint);
+            return JasperFillManager.fillReport(reportTemplate, mutableParams, dataSource);
         } catch (JRException e) {
+            log.error("❌ Failed to fill report with data", e);
+            throw new ReportException(ErrorCode.REPORT_FILL_FAILED, e);
+        }
+    }
+
+    /**
+     * Fills the compiled template from the given data source, aborting the fill once the token is cancelled.
+     * <p>
+     * A cancellable token runs the fill on a Jasper {@link AsynchronousFillHandle}; cancellation stops the
+     * filler through the handle and, since the handle alone may miss an early cancel, at the next record
+     * read from the data source. The calling thread waits for the result.
+     *
+     * @param dataSource     the data source the report is filled from
+     * @param reportTemplate the compiled JasperReport (.jasper)
+     * @param parameters     the map of report parameters
+     * @param token          the cancellation token of the request
+     * @return the filled report
+     * @throws ReportException if the data source is missing or the fill fails, or with the token's reason once it is cancelled
+     */
+    public static JasperPrint fill(JRDataSource dataSource, JasperReport reportTemplate, Map<String, Object> parameters,
+                                   CancellationToken token) {
+        return fill(dataSource, reportTemplate, parameters, token, null);
+    }
+
+    /**
+     * Exports one filled report to several formats concurrently.
+     * <p>
+     * Each format runs its own exporter on the shared, read-only {@link JasperPrint}, so the
+     * expensive fill happens once regardless of the number of formats.
+     *
+     * @param jasperPrint the filled report
+     * @param formats     the formats to produce
+     * @param executor    the executor the exports run on
+     * @return the exported bytes per format, in format declaration order
+     * @throws ReportException if a format is unsupported or any export fails
+     */
+    public static Map<FileExportFormat, byte[]> exportAll(JasperPrint jasperPrint, Set<FileExportFormat> formats, Executor executor) {
+        requireSupported(formats);
+
+        Map<FileExportFormat, CompletableFuture<byte[]>> exports = new EnumMap<>(FileExportFormat.class);
+        for (FileExportFormat format : formats) {
+            exports.put(format, CompletableFuture.supplyAsync(() -> {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                exportTo(jasperPrint, format, outputStream);
+                return outputStream.toByteArray();
+            }, executor));
+        }
+
+        Map<FileExportFormat, byte[]> results = new EnumMap<>(FileExportFormat.class);
+        exports.forEach((format, export) -> results.put(format, await(export)));
+        return results;
+    }
+
+    /**
+     * Exports one filled report to several formats concurrently, streaming each format into its own sink.
+     * <p>
+     * The sinks are not closed by this method.
+     *
+     * @param jasperPrint the filled report
+     * @param sinks       the output stream each format is written to
+     * @param executor    the executor the exports run on
+     * @throws ReportException if a format is unsupported or any export fails
+     */
+    public static void exportAll(JasperPrint jasperPrint, Map<FileExportFormat, ? extends OutputStream> sinks, Executor executor) {
+        requireSupported(sinks.keySet());
+
+        List<CompletableFuture<Void>> exports = new ArrayList<>();
+        sinks.forEach((format, sink) ->
+                exports.add(CompletableFuture.runAsync(() -> exportTo(jasperPrint, format, sink), executor)));
+        exports.forEach(ReportExporter::await);
+    }
+
+    /**
+     * Streams a filled report into the given output stream in the requested format.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param jasperPrint  the filled report
+     * @param format       the output format (PDF, HTML, XML, XLSX)
+     * @param outputStream the stream the report is written to
+     * @throws ReportException if the format is unsupported or the export fails
+     */
+    public static void exportTo(JasperPrint jasperPrint, FileExportFormat format, OutputStream outputStream) {
+        switch (format) {
+            case PDF -> exportToPdf(jasperPrint, outputStream);
+            case HTML -> exportToHtml(jasperPrint, outputStream);
+            case XML -> exportToXml(jasperPrint, outputStream);
+            case XLSX -> exportToXlsx(jasperPrint, outputStream);
+            default -> throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+        }
+    }
+
+    /**
+     * Streams a filled report into the given output stream, aborting the export once the token is cancelled.
+     * <p>
+     * Jasper exporters check the thread's interrupt flag between pages, so a cancellable token interrupts
+     * the exporting thread on cancellation; the flag is cleared again before this method returns.
+     *
+     * @param jasperPrint  the filled report
+     * @param format       the output format (PDF, HTML, XML, XLSX)
+     * @param outputStream the stream the report is written to
+     * @param token        the cancellation token of the request
+     * @throws ReportException if the format is unsupported or the export fails, or with the token's reason once it is cancelled
+     */
+    public static void exportTo(JasperPrint jasperPrint, FileExportFormat format, OutputStream outputStream, CancellationToken token) {
+        if (!token.isCancellable()) {
+            exportTo(jasperPrint, format, outputStream);
+            return;
+        }
+        token.throwIfCancelled();
+
+        Thread exporter = Thread.currentThread();
+        try (CancellationToken.Registration ignored = token.onCancel(exporter::interrupt)) {
+            exportTo(jasperPrint, format, outputStream);
+        } catch (ReportException e) {
+            token.throwIfCancelled();
+            throw e;
+        } finally {
+            if (token.isCancelled()) {
+                // The interrupt was ours; do not leak it to the caller
+                Thread.interrupted();
+            }
+        }
+        token.throwIfCancelled();
+    }
+
+    /**
+     * Streams a filled report into the given output stream, compressing it while it is produced.
+     * <p>
+     * The stream is not closed by this method. The encoding in the returned metadata is known before the export
+     * starts through {@link OutputCompression#encodingFor(FileExportFormat)}.
+     *
+     * @param jasperPrint  the filled report
+     * @param format       the output format (PDF, HTML, XML, XLSX)
+     * @param outputStream the stream the encoded report is written to
+     * @param compression  how the report is compressed
+     * @return the encoding and sizes of the written report
+     * @throws ReportException if the format is unsupported or the export fails
+     */
+    public static ExportMetadata exportTo(JasperPrint jasperPrint, FileExportFormat format, OutputStream outputStream,
+                                          OutputCompression compression) {
+        return exportTo(jasperPrint, format, outputStream, compression, CancellationToken.NONE);
+    }
+
+    /**
+     * Streams a filled report into the given output stream, compressing it while it is produced and aborting
+     * the export once the token is cancelled.
+     *
+     * @param jasperPrint  the filled report
+     * @param format       the output format (PDF, HTML, XML, XLSX)
+     * @param outputStream the stream the encoded report is written to
+     * @param compression  how the report is compressed
+     * @param token        the cancellation token of the request
+     * @return the encoding and sizes of the written report
+     * @throws ReportException if the format is unsupported or the export fails, or with the token's reason once it is cancelled
+     */
+    public static ExportMetadata exportTo(JasperPrint jasperPrint, FileExportFormat format, OutputStream outputStream,
+                                          OutputCompression compression, CancellationToken token) {
+        CompressingOutputStream encoded = compression.wrap(format, outputStream);
+        try {
+            exportTo(jasperPrint, format, encoded, token);
+        } catch (RuntimeException e) {
+            encoded.discard();
+            throw e;
+        }
+        try {
+            encoded.finish();
+        } catch (IOException e) {
+            log.error("❌ Failed to finish {} output for {} export", encoded.getEncoding().getToken(), format, e);
             throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
         }
+
+        log.info("✅ {} export written as {}: {} -> {} bytes", format, encoded.getEncoding().getToken(),
+                encoded.getContentBytes(), encoded.getEncodedBytes());
+        return new ExportMetadata(format, encoded.getEncoding(), encoded.getContentBytes(), encoded.getEncodedBytes());
+    }
+
+    /**
+     * Exports the report to PDF format.
+     *
+     * @param jasperPrint the filled JasperPrint object
+     * @return the exported PDF as a byte array
+     */
+    static byte[] exportToPdf(JasperPrint jasperPrint) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToPdf(jasperPrint, outputStream);
+        return outputStream.toByteArray();
     }
 
     /**
@@ -93,43 +411,91 @@ public class ReportExporter {
      * @return the exported HTML as a byte array
      */
     static byte[] exportToHtml(JasperPrint jasperPrint) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToHtml(jasperPrint, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Exports the report to XML format.
+     *
+     * @param jasperPrint the filled JasperPrint object
+     * @return the exported XML as a byte array
+     */
+    static byte[] exportToXml(JasperPrint jasperPrint) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToXml(jasperPrint, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Exports the report to XLSX (Excel) format.
+     *
+     * @param jasperPrint the filled JasperPrint object
+     * @return the exported XLSX file as a byte array
+     */
+    static byte[] exportToXlsx(JasperPrint jasperPrint) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToXlsx(jasperPrint, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Streams the report in PDF format.
+     *
+     * @param jasperPrint  the filled JasperPrint object
+     * @param outputStream the stream the PDF is written to
+     */
+    static void exportToPdf(JasperPrint jasperPrint, OutputStream outputStream) {
+        try {
+            JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
+        } catch (Exception e) {
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
+        }
+    }
+
+    /**
+     * Streams the report in HTML format.
+     *
+     * @param jasperPrint  the filled JasperPrint object
+     * @param outputStream the stream the HTML is written to
+     */
+    static void exportToHtml(JasperPrint jasperPrint, OutputStream outputStream) {
+        try {
             HtmlExporter exporter = new HtmlExporter();
             exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
             exporter.setExporterOutput(new SimpleHtmlExporterOutput(outputStream));
             exporter.exportReport();
-            return outputStream.toByteArray();
         } catch (Exception e) {
             throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
         }
     }
 
     /**
-     * Exports the report to XML format.
+     * Streams the report in XML format.
      *
-     * @param jasperPrint the filled JasperPrint object
-     * @return the exported XML as a byte array
+     * @param jasperPrint  the filled JasperPrint object
+     * @param outputStream the stream the XML is written to
      */
-    static byte[] exportToXml(JasperPrint jasperPrint) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    static void exportToXml(JasperPrint jasperPrint, OutputStream outputStream) {
+        try {
             JRXmlExporter exporter = new JRXmlExporter();
             exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
             exporter.setExporterOutput(new SimpleXmlExporterOutput(outputStream));
             exporter.exportReport();
-            return outputStream.toByteArray();
         } catch (Exception e) {
             throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
         }
     }
 
     /**
-     * Exports the report to XLSX (Excel) format.
+     * Streams the report in XLSX (Excel) format.
      *
-     * @param jasperPrint the filled JasperPrint object
-     * @return the exported XLSX file as a byte array
+     * @param jasperPrint  the filled JasperPrint object
+     * @param outputStream the stream the workbook is written to
      */
-    static byte[] exportToXlsx(JasperPrint jasperPrint) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    static void exportToXlsx(JasperPrint jasperPrint, OutputStream outputStream) {
+        try {
             JRXlsxExporter exporter = new JRXlsxExporter();
 
             exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
@@ -143,9 +509,187 @@ public class ReportExporter {
             exporter.setConfiguration(config);
 
             exporter.exportReport();
-            return outputStream.toByteArray();
         } catch (Exception e) {
             throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED, e);
         }
     }
-}
\ No newline at end of file
+
+    // Utility Functions
+
+    /**
+     * Data source wrapper that checks the cancellation token before every record.
+     */
+    private record CancellableDataSource(JRDataSource delegate, CancellationToken token) implements JRDataSource {
+
+        @Override
+        public boolean next() throws JRException {
+            token.throwIfCancelled();
+            return delegate.next();
+        }
+
+        @Override
+        public Object getFieldValue(JRField jrField) throws JRException {
+            return delegate.getFieldValue(jrField);
+        }
+    }
+
+    /**
+     * Fills the template, notifying the listener, if any, of the generated pages.
+     */
+    private static JasperPrint fill(JRDataSource dataSource, JasperReport reportTemplate, Map<String, Object> parameters,
+                                    CancellationToken token, FillListener listener) {
+        if (dataSource == null) {
+            throw new ReportException(ErrorCode.REPORT_DATA_EMPTY);
+        }
+        if (!token.isCancellable()) {
+            if (listener == null) {
+                return fill(dataSource, reportTemplate, parameters);
+            }
+            try {
+                ReportFiller filler = JRFiller.createReportFiller(DefaultJasperReportsContext.getInstance(), reportTemplate);
+                filler.addFillListener(listener);
+                return filler.fill(new HashMap<>(parameters), dataSource);
+            } catch (JRException e) {
+                log.error("❌ Failed to fill report with data", e);
+                throw new ReportException(ErrorCode.REPORT_FILL_FAILED, e);
+            }
+        }
+        token.throwIfCancelled();
+
+        AsynchronousFillHandle handle;
+        try {
+            handle = AsynchronousFillHandle.createHandle(reportTemplate, new HashMap<>(parameters), new CancellableDataSource(dataSource, token));
+        } catch (JRException e) {
+            log.error("❌ Failed to fill report with data", e);
+            throw new ReportException(ErrorCode.REPORT_FILL_FAILED, e);
+        }
+        handle.setThreadName("unified-fill");
+        if (listener != null) {
+            handle.addFillListener(listener);
+        }
+
+        CompletableFuture<JasperPrint> result = new CompletableFuture<>();
+        handle.addListener(new AsynchronousFilllListener() {
+            @Override
+            public void reportFinished(JasperPrint jasperPrint) {
+                result.complete(jasperPrint);
+            }
+
+            @Override
+            public void reportCancelled() {
+                result.cancel(false);
+            }
+
+            @Override
+            public void reportFillError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        try (CancellationToken.Registration ignored = token.onCancel(() -> cancelFill(handle))) {
+            // The token may have been cancelled before the callback was registered
+            token.throwIfCancelled();
+            handle.startFill();
+            return result.get();
+        } catch (InterruptedException e) {
+            cancelFill(handle);
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } catch (CancellationException e) {
+            token.throwIfCancelled();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } catch (ExecutionException e) {
+            token.throwIfCancelled();
+            Throwable cause = e.getCause();
+            if (cause instanceof ReportException rex) {
+                throw rex;
+            }
+            if (cause instanceof FormatException fex) {
+                throw fex;
+            }
+            log.error("❌ Failed to fill report with data", cause);
+            throw new ReportException(ErrorCode.REPORT_FILL_FAILED, cause instanceof Exception ex ? ex : new JRRuntimeException(cause));
+        }
+    }
+
+    /**
+     * Data source that runs out of records once the filler has completed the last page within the limit.
+     */
+    private static final class PageLimit implements JRDataSource, FillListener {
+        private final JRDataSource delegate;
+        private final int maxPages;
+        private volatile boolean reached;
+
+        private PageLimit(JRDataSource delegate, int maxPages) {
+            this.delegate = delegate;
+            this.maxPages = maxPages;
+        }
+
+        @Override
+        public boolean next() throws JRException {
+            return !reached && delegate.next();
+        }
+
+        @Override
+        public Object getFieldValue(JRField jrField) throws JRException {
+            return delegate.getFieldValue(jrField);
+        }
+
+        @Override
+        public void pageGenerated(JasperPrint jasperPrint, int pageIndex) {
+            if (pageIndex + 1 >= maxPages) {
+                reached = true;
+            }
+        }
+
+        @Override
+        public void pageUpdated(JasperPrint jasperPrint, int pageIndex) {
+            // Only completed pages count towards the limit
+        }
+    }
+
+    private static void cancelFill(AsynchronousFillHandle handle) {
+        try {
+            handle.cancellFill();
+        } catch (JRException e) {
+            log.warn("⚠️ Failed to cancel report fill: {}", e.getMessage());
+        }
+    }
+
+    private static JRDataSource toDataSource(Collection<Map<String, Object>> dataRows) {
+        return IndexedDataSource.of(dataRows, null);
+    }
+
+    /**
+     * Streams inputs that provide a cursor (e.g., a JDBC result set) instead of materializing their rows.
+     */
+    private static JRDataSource toDataSource(UnifiedFormat inputFile) {
+        RowCursor cursor = inputFile.openCursor();
+        return cursor != null
+                ? new CursorDataSource(cursor, inputFile.getColumnOrder())
+                : IndexedDataSource.of(inputFile.getDataRows(), inputFile.getColumnOrder());
+    }
+
+    private static void requireSupported(Set<FileExportFormat> formats) {
+        for (FileExportFormat format : formats) {
+            if (!SUPPORTED_FORMATS.contains(format)) {
+                throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+            }
+        }
+    }
+
+    /**
+     * Waits for an asynchronous export and unwraps its failure.
+     */
+    private static <T> T await(CompletableFuture<T> export) {
+        try {
+            return export.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ReportException rex) {
+                throw rex;
+            }
+            throw new ReportException(ErrorCode.REPORT_EXPORT_FAILED,
+                    e.getCause() instanceof Exception cause ? cause : e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.unified.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+import org.unified.store.SpillableRowStore;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ValidationSchema} compiled against the column order of an input.
+ * <p>
+ * Compiling resolves every rule to its column index and turns it into a single check: the type conversion,
+ * range, compiled {@link Pattern} and allowed-value set are prepared once, so checking a value only runs the
+ * constraints its column declares. Rows are checked either while they are parsed, through a
+ * {@link #newValidator() validator}, or after parsing by {@link #validate(List, int)}, which splits in-memory rows
+ * into chunks checked in parallel.
+ */
+@Slf4j
+public final class CompiledSchema {
+
+    private static final int CHUNK_SIZE = 16_384;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final List<String> columns;
+    private final ValueCheck[] checks;
+    private final int[] checkedColumns;
+    private final int maxViolations;
+
+    CompiledSchema(ValidationSchema schema, List<String> columnOrder) {
+        this.columns = List.copyOf(columnOrder);
+        this.checks = new ValueCheck[columns.size()];
+        this.maxViolations = Math.max(0, schema.getMaxViolations());
+        for (FieldRule rule : schema.getFields()) {
+            int index = columns.indexOf(rule.getColumn());
+            if (index < 0) {
+                log.error("❌ Validation schema column '{}' is not one of {}", rule.getColumn(), columns);
+                throw new FormatException(ErrorCode.VALIDATION_COLUMN_MISSING);
+            }
+            ValueCheck check = compile(rule);
+            ValueCheck previous = checks[index];
+            checks[index] = previous == null ? check : value -> {
+                ErrorCode error = previous.check(value);
+                return error != null ? error : check.check(value);
+            };
+        }
+        this.checkedColumns = IntStream.range(0, checks.length).filter(i -> checks[i] != null).toArray();
+    }
+
+    /**
+     * @return the column order value indexes refer to
+     */
+    public List<String> getColumnOrder() {
+        return columns;
+    }
+
+    /**
+     * Creates a validator for checking the values of one input as they are read.
+     *
+     * @return a new validator with no violations
+     */
+    public RowValidator newValidator() {
+        return new RowValidator(columns, checks, maxViolations);
+    }
+
+    /**
+     * Validates parsed rows using one worker per available processor.
+     *
+     * @param rows the rows, keyed by column name
+     * @return the collected violations
+     */
+    public ValidationResult validate(List<Map<String, Object>> rows) {
+        return validate(rows, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Validates parsed rows.
+     * <p>
+     * In-memory rows with random access are split into chunks checked on {@code parallelism} threads, and the
+     * violations of the chunks are merged in row order. A {@link SpillableRowStore} is read once through its cursor.
+     *
+     * @param rows        the rows, keyed by column name
+     * @param parallelism the number of worker threads
+     * @return the collected violations
+     */
+    public ValidationResult validate(List<Map<String, Object>> rows, int parallelism) {
+        long startTime = System.nanoTime();
+        RowValidator validator;
+        if (rows instanceof SpillableRowStore store && store.getColumnOrder().equals(columns)) {
+            validator = validateCursor(store.openCursor());
+        } else if (rows instanceof RandomAccess && parallelism > 1 && rows.size() > CHUNK_SIZE) {
+            validator = validateChunks(rows, parallelism);
+        } else {
+            validator = newValidator();
+            validateRange(rows.iterator(), 0, rows.size(), validator);
+        }
+        ValidationResult result = validator.finish(rows.size());
+        log.info("✅ Validated {} rows in {} ms: {} violations", rows.size(),
+                (System.nanoTime() - startTime) / 1_000_000, result.getViolationCount());
+        return result;
+    }
+
+    // Utility Functions
+
+    private RowValidator validateCursor(RowCursor cursor) {
+        RowValidator validator = newValidator();
+        try (cursor) {
+            long row = 0;
+            while (cursor.next()) {
+                row++;
+                for (int column : checkedColumns) {
+                    validator.check(row, column, cursor.getValue(column));
+                }
+            }
+        }
+        return validator;
+    }
+
+    private RowValidator validateChunks(List<Map<String, Object>> rows, int parallelism) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "unified-validate-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<RowValidator>> chunks = new ArrayList<>();
+            for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+                int from = start;
+                int to = Math.min(rows.size(), start + CHUNK_SIZE);
+                chunks.add(workers.submit(() -> {
+                    RowValidator validator = newValidator();
+                    validateRange(rows.subList(from, to).iterator(), from, to, validator);
+                    return validator;
+                }));
+            }
+            RowValidator merged = chunks.get(0).get();
+            for (int i = 1; i < chunks.size(); i++) {
+                merged.mergeFrom(chunks.get(i).get());
+            }
+            return merged;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new ReportException(ErrorCode.UNKNOWN_ERROR, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportException(ErrorCode.REPORT_CANCELLED, e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void validateRange(Iterator<Map<String, Object>> rows, int from, int to, RowValidator validator) {
+        for (long row = from + 1; row <= to && rows.hasNext(); row++) {
+            Map<String, Object> values = rows.next();
+            for (int column : checkedColumns) {
+                validator.check(row, column, values.get(columns.get(column)));
+            }
+        }
+    }
+
+    /**
+     * Compiles the constraints of one rule into a check that runs only the declared ones.
+     */
+    private static ValueCheck compile(FieldRule rule) {
+        boolean required = rule.isRequired();
+        FieldType type = rule.getType() != null ? rule.getType() : FieldType.TEXT;
+        double min = rule.getMin() != null ? rule.getMin() : Double.NEGATIVE_INFINITY;
+        double max = rule.getMax() != null ? rule.getMax() : Double.POSITIVE_INFINITY;
+        boolean ranged = rule.getMin() != null || rule.getMax() != null;
+        Pattern pattern = rule.getPattern() != null ? Pattern.compile(rule.getPattern()) : null;
+        Set<String> allowed = rule.getAllowedValues() != null ? Set.copyOf(rule.getAllowedValues()) : null;
+
+        return value -> {
+            if (value == null || value instanceof String text && text.isBlank()) {
+                return required ? ErrorCode.VALIDATION_REQUIRED : null;
+            }
+            Object typed = type.coerce(value);
+            if (typed == null) {
+                return ErrorCode.VALIDATION_TYPE_MISMATCH;
+            }
+            if (ranged && typed instanceof Number number) {
+                double d = number.doubleValue();
+                if (d < min || d > max) {
+                    return ErrorCode.VALIDATION_OUT_OF_RANGE;
+                }
+            }
+            if (pattern != null && !pattern.matcher(value.toString()).matches()) {
+                return ErrorCode.VALIDATION_PATTERN_MISMATCH;
+            }
+            if (allowed != null && !allowed.contains(value.toString())) {
+                return ErrorCode.VALIDATION_VALUE_NOT_ALLOWED;
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package org.unified.validation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * The declared constraints of one column of a {@link ValidationSchema}.
+ * <p>
+ * Null and blank values only violate required columns; every other constraint applies to
+ * the values that are present:
+ * <pre>{@code
+ * FieldRule amount = FieldRule.builder()
+ *         .column("Amount")
+ *         .type(FieldType.DECIMAL)
+ *         .required(true)
+ *         .min(0.0)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class FieldRule {
+
+    /**
+     * Name of the column the rule applies to.
+     */
+    private final String column;
+
+    /**
+     * Type the values must have; defaults to {@link FieldType#TEXT}, which accepts any value.
+     */
+    @Builder.Default
+    private final FieldType type = FieldType.TEXT;
+
+    /**
+     * Whether null and blank values are violations.
+     */
+    @Builder.Default
+    private final boolean required = false;
+
+    /**
+     * Smallest allowed number, inclusive; {@code null} for no lower bound. Only applies to numeric values.
+     */
+    @Builder.Default
+    private final Double min = null;
+
+    /**
+     * Largest allowed number, inclusive; {@code null} for no upper bound. Only applies to numeric values.
+     */
+    @Builder.Default
+    private final Double max = null;
+
+    /**
+     * Regular expression the whole text of each value must match; {@code null} for any text.
+     */
+    @Builder.Default
+    private final String pattern = null;
+
+    /**
+     * The only values allowed, compared by their text; {@code null} for any value.
+     */
+    @Builder.Default
+    private final Set<String> allowedValues = null;
+}
@@ -0,0 +1,139 @@
+package org.unified.validation;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.Date;
+
+/**
+ * The type a column's values must have.
+ * <p>
+ * Parsed inputs hold typed values (e.g., {@link Double}s and {@link Date}s from Excel) as well as text (e.g., every
+ * CSV value), so each type accepts both its Java values and text that parses as such a value.
+ */
+public enum FieldType {
+
+    /**
+     * Any value.
+     */
+    TEXT {
+        @Override
+        Object coerce(Object value) {
+            return value;
+        }
+    },
+
+    /**
+     * Whole numbers: integral {@link Number}s or text such as {@code "-42"}.
+     */
+    INTEGER {
+        @Override
+        Object coerce(Object value) {
+            if (value instanceof Number number) {
+                double d = number.doubleValue();
+                return d == Math.rint(d) && !Double.isInfinite(d) ? number : null;
+            }
+            try {
+                return Long.parseLong(value.toString().strip());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+
+    /**
+     * Decimal numbers: any {@link Number} or text such as {@code "12.50"}.
+     */
+    DECIMAL {
+        @Override
+        Object coerce(Object value) {
+            if (value instanceof Number) {
+                return value;
+            }
+            String text = value.toString().strip();
+            // parseDouble also accepts type suffixes and words such as "1f" or "NaN"
+            char last = text.charAt(text.length() - 1);
+            if (!Character.isDigit(last) && last != '.') {
+                return null;
+            }
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    },
+
+    /**
+     * {@link Boolean}s or the text {@code true} or {@code false} in any case.
+     */
+    BOOLEAN {
+        @Override
+        Object coerce(Object value) {
+            if (value instanceof Boolean) {
+                return value;
+            }
+            String text = value.toString().strip();
+            if (text.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            return text.equalsIgnoreCase("false") ? Boolean.FALSE : null;
+        }
+    },
+
+    /**
+     * {@link Date}s and {@code java.time} values, or ISO-8601 text such as {@code 2024-01-31} or
+     * {@code 2024-01-31T12:00:00}.
+     */
+    DATE {
+        @Override
+        Object coerce(Object value) {
+            if (value instanceof Date || value instanceof Temporal) {
+                return value;
+            }
+            String text = value.toString().strip();
+            try {
+                return text.length() == 10 ? isoDate(text) : LocalDateTime.parse(text);
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+    };
+
+    /**
+     * Reads a value as this type.
+     *
+     * @param value a non-null, non-blank value
+     * @return the value as this type, or {@code null} if it is not of this type
+     */
+    abstract Object coerce(Object value);
+
+    // Utility Functions
+
+    /**
+     * Reads {@code yyyy-MM-dd} by hand; {@link LocalDate#parse(CharSequence)} costs several times more, which
+     * dominates validating a date column.
+     */
+    private static LocalDate isoDate(String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        return year < 0 || month < 0 || day < 0 ? null : LocalDate.of(year, month, day);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package org.unified.validation;
+
+import org.unified.common.enums.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks values one at a time against a {@link CompiledSchema} and collects the violations.
+ * <p>
+ * Formats create one per parse and pass each value as it is read, so rows are validated in the parsing pass.
+ * Columns without a rule cost one array read per value. Instances are not thread-safe.
+ */
+public final class RowValidator {
+
+    private final List<String> columns;
+    private final ValueCheck[] checks;
+    private final int maxViolations;
+    private final List<Violation> violations = new ArrayList<>();
+    private long violationCount;
+
+    RowValidator(List<String> columns, ValueCheck[] checks, int maxViolations) {
+        this.columns = columns;
+        this.checks = checks;
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Checks one value.
+     *
+     * @param row    the row number reported with violations; see {@link Violation#row()}
+     * @param column the column index in the compiled column order
+     * @param value  the parsed value
+     */
+    public void check(long row, int column, Object value) {
+        ValueCheck check = checks[column];
+        if (check == null) {
+            return;
+        }
+        ErrorCode error = check.check(value);
+        if (error != null) {
+            violationCount++;
+            if (violations.size() < maxViolations) {
+                violations.add(new Violation(row, columns.get(column), value, error));
+            }
+        }
+    }
+
+    /**
+     * @param rowCount the number of rows checked
+     * @return the violations collected so far
+     */
+    public ValidationResult finish(long rowCount) {
+        return new ValidationResult(rowCount, violationCount, violations);
+    }
+
+    /**
+     * Appends the violations of a validator that checked later rows.
+     */
+    void mergeFrom(RowValidator later) {
+        violationCount += later.violationCount;
+        for (Violation violation : later.violations) {
+            if (violations.size() == maxViolations) {
+                break;
+            }
+            violations.add(violation);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.unified.validation;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The outcome of validating rows against a {@link CompiledSchema}.
+ * <p>
+ * Validation does not stop at the first violation. It keeps the first {@code maxViolations} of them, by row, and
+ * counts the rest, so a single run reports every kind of problem in a file.
+ */
+@Slf4j
+@Getter
+public class ValidationResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The result of an input that was not validated.
+     */
+    public static final ValidationResult NOT_VALIDATED = new ValidationResult(0, 0, List.of());
+
+    /**
+     * Number of rows checked.
+     */
+    private final long rowCount;
+
+    /**
+     * Number of violations found, including those not kept.
+     */
+    private final long violationCount;
+
+    /**
+     * The kept violations, ordered by row.
+     */
+    private final List<Violation> violations;
+
+    /**
+     * Creates a result, e.g. when it is restored from a cache file.
+     *
+     * @param rowCount       number of rows checked
+     * @param violationCount number of violations found, including those not kept
+     * @param violations     the kept violations, ordered by row
+     */
+    public ValidationResult(long rowCount, long violationCount, List<Violation> violations) {
+        this.rowCount = rowCount;
+        this.violationCount = violationCount;
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return {@code true} if no violation was found
+     */
+    public boolean isValid() {
+        return violationCount == 0;
+    }
+
+    /**
+     * Logs the kept violations and throws if there are any.
+     *
+     * @throws FormatException with {@link ErrorCode#VALIDATION_FAILED} if a violation was found
+     */
+    public void throwIfInvalid() {
+        if (isValid()) {
+            return;
+        }
+        log.error("❌ {} violations of the validation schema in {} rows", violationCount, rowCount);
+        violations.forEach(violation -> log.error("❌ {}", violation));
+        String first = violations.isEmpty() ? "" : ", first: " + violations.get(0);
+        throw new FormatException(ErrorCode.VALIDATION_FAILED, new Exception(violationCount + " violations" + first));
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult[rows=" + rowCount + ", violations=" + violationCount + "]";
+    }
+}
@@ -0,0 +1,65 @@
+package org.unified.validation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A declarative validation schema: one {@link FieldRule} per constrained column.
+ * <p>
+ * The schema is compiled against the column order of an input into a {@link CompiledSchema}, which holds one
+ * check per column. Pass it in {@code ParseOptions} to validate rows while they are parsed, or validate parsed
+ * rows afterwards:
+ * <pre>{@code
+ * ValidationSchema schema = ValidationSchema.of(
+ *         FieldRule.builder().column("Id").type(FieldType.INTEGER).required(true).build(),
+ *         FieldRule.builder().column("Status").allowedValues(Set.of("OPEN", "CLOSED")).build());
+ *
+ * ValidationResult result = schema.compile(format.getColumnOrder()).validate(format.getDataRows());
+ * result.throwIfInvalid();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class ValidationSchema {
+
+    /**
+     * Default number of violations kept before further ones are only counted.
+     */
+    public static final int DEFAULT_MAX_VIOLATIONS = 100;
+
+    /**
+     * The rules, at most one per column.
+     */
+    private final List<FieldRule> fields;
+
+    /**
+     * Violations kept in a {@link ValidationResult}; further violations are counted but not kept.
+     */
+    @Builder.Default
+    private final int maxViolations = DEFAULT_MAX_VIOLATIONS;
+
+    /**
+     * Creates a schema that keeps up to {@value #DEFAULT_MAX_VIOLATIONS} violations.
+     *
+     * @param fields the rules, at most one per column
+     * @return the schema
+     */
+    public static ValidationSchema of(FieldRule... fields) {
+        return builder().fields(List.of(fields)).build();
+    }
+
+    /**
+     * Compiles the rules into per-column checks for inputs with the given columns.
+     *
+     * @param columnOrder the columns of the input, in the order their values are passed to the checks
+     * @return the compiled schema
+     * @throws org.unified.common.exceptions.FormatException with
+     *                                                       {@link org.unified.common.enums.ErrorCode#VALIDATION_COLUMN_MISSING}
+     *                                                       if a rule names a column the input does not have
+     */
+    public CompiledSchema compile(List<String> columnOrder) {
+        return new CompiledSchema(this, columnOrder);
+    }
+}
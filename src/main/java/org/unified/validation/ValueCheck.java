@@ -0,0 +1,16 @@
+package org.unified.validation;
+
+import org.unified.common.enums.ErrorCode;
+
+/**
+ * The compiled constraints of one column.
+ */
+@FunctionalInterface
+interface ValueCheck {
+
+    /**
+     * @param value the value to check; may be {@code null}
+     * @return the violated constraint, or {@code null} if the value is valid
+     */
+    ErrorCode check(Object value);
+}
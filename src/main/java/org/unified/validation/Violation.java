@@ -0,0 +1,23 @@
+package org.unified.validation;
+
+import org.unified.common.enums.ErrorCode;
+
+import java.io.Serializable;
+
+/**
+ * A value that violates its column's {@link FieldRule}.
+ *
+ * @param row    where the value was read: for CSV input the 1-based line of the file the record starts on, so rows
+ *               skipped by a lenient parse and quoted line breaks do not shift it; otherwise the 1-based number of
+ *               the data row, not counting the header
+ * @param column the column name
+ * @param value  the offending value
+ * @param error  the violated constraint, one of the {@code VALIDATION_*} error codes
+ */
+public record Violation(long row, String column, Object value, ErrorCode error) implements Serializable {
+
+    @Override
+    public String toString() {
+        return "row " + row + ", " + column + "=" + value + ": " + error.getMessage();
+    }
+}
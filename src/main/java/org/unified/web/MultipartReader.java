@@ -0,0 +1,239 @@
+package org.unified.web;
+
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the parts of a {@code multipart/form-data} body (RFC 7578) one after another, directly from the request
+ * stream.
+ * <p>
+ * Each part body is an {@link InputStream} that ends at the next boundary. Bytes are read from the request only
+ * as the part is consumed, through a single fixed buffer, so a slow consumer slows the upload down instead of
+ * buffering it.
+ */
+final class MultipartReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+    private static final Pattern DISPOSITION_PARAMETER =
+            Pattern.compile(";\\s*(name|filename)\\s*=\\s*(?:\"((?:[^\"\\\\]|\\\\.)*)\"|([^;\\s]*))", Pattern.CASE_INSENSITIVE);
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int start;
+    private int end;
+    private boolean endOfInput;
+    private boolean lastPartRead;
+    private PartInputStream current;
+
+    /**
+     * One part of the body.
+     *
+     * @param name        the form field name
+     * @param fileName    the submitted file name, or {@code null} for a plain field
+     * @param contentType the part's content type, or {@code null} if not given
+     * @param body        the part content; it ends at the next boundary
+     */
+    record Part(String name, String fileName, String contentType, InputStream body) {
+    }
+
+    MultipartReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        // The first boundary is not preceded by a line break; pretend it is, so every delimiter looks the same
+        buffer[end++] = '\r';
+        buffer[end++] = '\n';
+    }
+
+    /**
+     * Skips the rest of the current part and returns the next one.
+     *
+     * @return the next part, or {@code null} after the closing boundary
+     * @throws IOException     if reading the request fails
+     * @throws FormatException with {@link ErrorCode#UPLOAD_MALFORMED} if the body is not valid multipart
+     */
+    Part nextPart() throws IOException {
+        if (current == null) {
+            // Reading up to the first boundary discards the preamble
+            current = new PartInputStream();
+        }
+        current.skipToEnd();
+        if (lastPartRead) {
+            return null;
+        }
+
+        while (end - start < 2 && fill()) {
+            // Wait for the two bytes that tell the closing boundary apart
+        }
+        if (end - start >= 2 && buffer[start] == '-' && buffer[start + 1] == '-') {
+            // The epilogue after the closing boundary is not read
+            lastPartRead = true;
+            return null;
+        }
+        String boundaryLine = readLine();
+        if (!boundaryLine.isBlank()) {
+            throw malformed("Unexpected text after boundary: " + boundaryLine);
+        }
+
+        String name = null;
+        String fileName = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw malformed("Part headers exceed " + MAX_HEADER_BYTES + " bytes");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                throw malformed("Invalid part header: " + line);
+            }
+            String header = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (header.equals("content-disposition")) {
+                Matcher matcher = DISPOSITION_PARAMETER.matcher(value);
+                while (matcher.find()) {
+                    String parameter = matcher.group(2) != null ? matcher.group(2).replaceAll("\\\\(.)", "$1") : matcher.group(3);
+                    if (matcher.group(1).equalsIgnoreCase("name")) {
+                        name = parameter;
+                    } else {
+                        fileName = parameter;
+                    }
+                }
+            } else if (header.equals("content-type")) {
+                contentType = value;
+            }
+        }
+
+        current = new PartInputStream();
+        return new Part(name, fileName, contentType, current);
+    }
+
+    // Utility Functions
+
+    private String readLine() throws IOException {
+        int scanned = 0;
+        while (true) {
+            for (int i = start + scanned; i + 1 < end; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, start, i - start, StandardCharsets.UTF_8);
+                    start = i + 2;
+                    return line;
+                }
+            }
+            scanned = Math.max(0, end - start - 1);
+            if (end - start >= MAX_HEADER_BYTES) {
+                throw malformed("Part header line exceeds " + MAX_HEADER_BYTES + " bytes");
+            }
+            if (!fill()) {
+                throw malformed("Multipart body ended inside part headers");
+            }
+        }
+    }
+
+    /**
+     * Reads more of the request into the buffer.
+     *
+     * @return {@code false} at the end of the request
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        int count = in.read(buffer, end, buffer.length - end);
+        if (count < 0) {
+            endOfInput = true;
+            return false;
+        }
+        end += count;
+        return true;
+    }
+
+    private int indexOfDelimiter() {
+        int last = end - delimiter.length;
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static FormatException malformed(String message) {
+        return new FormatException(ErrorCode.UPLOAD_MALFORMED, new IllegalArgumentException(message));
+    }
+
+    /**
+     * The body of the current part: the buffered bytes up to the next delimiter.
+     */
+    private final class PartInputStream extends InputStream {
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int match = indexOfDelimiter();
+                if (match == start) {
+                    start += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                // Bytes that could be the start of a delimiter split across reads are held back
+                int safe = match >= 0 ? match - start : end - start - (delimiter.length - 1);
+                if (safe > 0) {
+                    int count = Math.min(len, safe);
+                    System.arraycopy(buffer, start, b, off, count);
+                    start += count;
+                    return count;
+                }
+                if (!fill()) {
+                    throw malformed("Multipart body ended before the closing boundary");
+                }
+            }
+        }
+
+        /**
+         * Leaves the request open; the next part is read from the same stream.
+         */
+        @Override
+        public void close() {
+        }
+
+        private void skipToEnd() throws IOException {
+            byte[] skip = new byte[8192];
+            while (read(skip, 0, skip.length) >= 0) {
+                // Discard the rest of the part
+            }
+        }
+    }
+}
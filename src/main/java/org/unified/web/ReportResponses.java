@@ -0,0 +1,156 @@
+package org.unified.web;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.FormatException;
+import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.UnifiedFormat;
+import org.unified.utils.OutputCompression;
+import org.unified.utils.ReportExporter;
+import org.unified.utils.ReportValidators;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Builds Spring MVC responses that stream a report into the servlet response instead of buffering it.
+ * <p>
+ * The report is validated and filled before the response is returned, so input, template and fill errors are
+ * answered with the HTTP status of their {@link ErrorCode}. Only the export runs in the
+ * {@link StreamingResponseBody}, writing each page to the client as it is produced; a failure at that point
+ * can no longer change the status and aborts the response.
+ * <p>
+ * Requires {@code spring-webmvc}, which is an optional dependency of this library.
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * @PostMapping("/report")
+ * public ResponseEntity<StreamingResponseBody> report(@RequestParam MultipartFile file,
+ *                                                     @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding)
+ *         throws IOException {
+ *     UnifiedFormat input = new XLSXFormat(file.getInputStream(), "Sheet1");
+ *     return ReportResponses.stream(input, template(), Map.of(), FileExportFormat.HTML, "report",
+ *             ReportResponses.negotiate(acceptEncoding));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class ReportResponses {
+
+    private ReportResponses() {
+    }
+
+    /**
+     * Fills a report and returns a response streaming its export, uncompressed.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format (PDF, XLSX, HTML, XML)
+     * @param fileName                   the download file name, without extension
+     * @return the streaming response, or an error response with the status of the failure's {@link ErrorCode}
+     */
+    public static ResponseEntity<StreamingResponseBody> stream(Object file, InputStream jasperReportTemplateStream,
+                                                               Map<String, Object> additionalReportParameters,
+                                                               FileExportFormat exportFormat, String fileName) {
+        return stream(file, jasperReportTemplateStream, additionalReportParameters, exportFormat, fileName, OutputCompression.NONE);
+    }
+
+    /**
+     * Fills a report and returns a response streaming its export, compressed as it is written.
+     * The {@code Content-Encoding} header is set when the format is compressed.
+     *
+     * @param file                       A valid {@link UnifiedFormat} instance
+     * @param jasperReportTemplateStream Input stream of the Jasper template (.jasper or .jrxml)
+     * @param additionalReportParameters Additional parameters for the Jasper report
+     * @param exportFormat               Desired file export format (PDF, XLSX, HTML, XML)
+     * @param fileName                   the download file name, without extension
+     * @param compression                how the export is compressed, see {@link #negotiate(String)}
+     * @return the streaming response, or an error response with the status of the failure's {@link ErrorCode}
+     */
+    public static ResponseEntity<StreamingResponseBody> stream(Object file, InputStream jasperReportTemplateStream,
+                                                               Map<String, Object> additionalReportParameters,
+                                                               FileExportFormat exportFormat, String fileName,
+                                                               OutputCompression compression) {
+        JasperPrint jasperPrint;
+        try {
+            if (!ReportExporter.SUPPORTED_FORMATS.contains(exportFormat)) {
+                throw new ReportException(ErrorCode.REPORT_FORMAT_UNSUPPORTED);
+            }
+            jasperPrint = fill(file, jasperReportTemplateStream, additionalReportParameters);
+        } catch (ReportException e) {
+            return error(e.getErrorCode());
+        } catch (FormatException e) {
+            return error(e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("❌ Unexpected error before streaming the report", e);
+            return error(ErrorCode.UNKNOWN_ERROR);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(exportFormat.getMediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName + "." + exportFormat.getExtension(), StandardCharsets.UTF_8)
+                .build());
+        ContentEncoding encoding = compression.encodingFor(exportFormat);
+        if (encoding != ContentEncoding.IDENTITY) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        StreamingResponseBody body = outputStream -> ReportExporter.exportTo(jasperPrint, exportFormat, outputStream, compression);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Returns the error response for an {@link ErrorCode}: its HTTP status and a small JSON body with the
+     * code and message. Statuses that forbid a body (such as 204) are sent without one.
+     *
+     * @param errorCode the error
+     * @return the error response
+     */
+    public static ResponseEntity<StreamingResponseBody> error(ErrorCode errorCode) {
+        HttpStatus status = errorCode.getHttpStatus();
+        if (status == HttpStatus.NO_CONTENT || status == HttpStatus.NOT_MODIFIED) {
+            return ResponseEntity.status(status).build();
+        }
+        byte[] json = String.format("{\"code\":\"%s\",\"message\":\"%s\"}",
+                errorCode.getCode(), errorCode.getMessage().replace("\"", "\\\"")).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(json.length)
+                .body(outputStream -> outputStream.write(json));
+    }
+
+    /**
+     * Picks the compression for a request from its {@code Accept-Encoding} header, preferring GZIP over deflate.
+     *
+     * @param acceptEncoding the header value, or {@code null} if absent
+     * @return the compression to stream the report with
+     * @see OutputCompression#negotiate(String)
+     */
+    public static OutputCompression negotiate(String acceptEncoding) {
+        return OutputCompression.negotiate(acceptEncoding);
+    }
+
+    // Utility Functions
+
+    private static JasperPrint fill(Object file, InputStream jasperReportTemplateStream, Map<String, Object> additionalReportParameters) {
+        UnifiedFormat inputFile = ReportValidators.validateInputFile(file);
+        JasperReport reportTemplate = ReportValidators.validateJasperReport(jasperReportTemplateStream);
+
+        return ReportExporter.fill(inputFile, reportTemplate, additionalReportParameters, CancellationToken.NONE);
+    }
+}
@@ -0,0 +1,171 @@
+package org.unified.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.UnifiedFormat;
+import org.unified.formats.XLSXFormat;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses a file from a {@code multipart/form-data} request body while the upload is still arriving.
+ * <p>
+ * The body is read straight from the request stream instead of being stored as a {@code MultipartFile} first:
+ * <ul>
+ *     <li>CSV parts (also {@code .csv.gz} and {@code .zip}) are fed into {@link CSVFormat} as bytes arrive. The
+ *     parser pulls from the connection only as fast as it consumes rows, so TCP flow control throttles the client
+ *     and no upload buffer grows. Header errors such as {@link ErrorCode#CSV_HEADER_DUPLICATE} fail right after
+ *     the first line, before the rest of the body is received.</li>
+ *     <li>XLSX parts are spooled to a temp file as they arrive, since a zip's directory comes last, and parsed
+ *     from the file.</li>
+ *     <li>The body size is capped: a declared {@code Content-Length} over the limit fails before reading, and the
+ *     read fails with {@link ErrorCode#UPLOAD_TOO_LARGE} as soon as the limit is crossed.</li>
+ * </ul>
+ * Parts after the file are not read. On failure the rest of the body is left unread, so the connection should
+ * be closed rather than reused.
+ *
+ * <h2>Usage Example</h2>
+ * With Spring's multipart resolution disabled ({@code spring.servlet.multipart.enabled=false}):
+ * <pre>{@code
+ * @PostMapping(value = "/reports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+ * public ResponseEntity<StreamingResponseBody> report(HttpServletRequest request) throws IOException {
+ *     UnifiedFormat input = StreamingUpload.parse(request.getInputStream(), request.getContentType(),
+ *             request.getContentLengthLong(), UploadOptions.defaults());
+ *     return ReportResponses.stream(input, template(), Map.of(), FileExportFormat.PDF, "report");
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class StreamingUpload {
+
+    private static final Pattern BOUNDARY = Pattern.compile(";\\s*boundary\\s*=\\s*(?:\"([^\"]+)\"|([^;\\s]+))", Pattern.CASE_INSENSITIVE);
+
+    private StreamingUpload() {
+    }
+
+    /**
+     * Parses the file part of a multipart request body.
+     *
+     * @param body          the request body
+     * @param contentType   the request's {@code Content-Type}, carrying the multipart boundary
+     * @param contentLength the declared body length, or a negative value if unknown
+     * @param options       the size limit, file field and parse options
+     * @return the parsed file
+     * @throws FormatException with an upload {@link ErrorCode} if the body is too large, malformed or has no file,
+     *                         or with the parser's code if the file is invalid
+     */
+    public static UnifiedFormat parse(InputStream body, String contentType, long contentLength, UploadOptions options) {
+        if (contentLength > options.getMaxBytes()) {
+            log.error("❌ Upload of {} bytes exceeds the limit of {} bytes", contentLength, options.getMaxBytes());
+            throw new FormatException(ErrorCode.UPLOAD_TOO_LARGE);
+        }
+        MultipartReader reader = new MultipartReader(new CappedInputStream(body, options.getMaxBytes()), boundary(contentType));
+
+        try {
+            MultipartReader.Part part;
+            while ((part = reader.nextPart()) != null) {
+                if (isFilePart(part, options)) {
+                    return parsePart(part, options);
+                }
+            }
+        } catch (IOException e) {
+            log.error("❌ Failed to read upload", e);
+            throw new FormatException(ErrorCode.UPLOAD_MALFORMED, e);
+        }
+        log.error("❌ No file part{} in upload", options.getFieldName() != null ? " named '" + options.getFieldName() + "'" : "");
+        throw new FormatException(ErrorCode.UPLOAD_FILE_MISSING);
+    }
+
+    // Utility Functions
+
+    private static String boundary(String contentType) {
+        Matcher matcher = contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")
+                ? BOUNDARY.matcher(contentType)
+                : null;
+        if (matcher == null || !matcher.find()) {
+            throw new FormatException(ErrorCode.UPLOAD_MALFORMED,
+                    new IllegalArgumentException("Not a multipart content type with a boundary: " + contentType));
+        }
+        return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+    }
+
+    private static boolean isFilePart(MultipartReader.Part part, UploadOptions options) {
+        return options.getFieldName() != null
+                ? options.getFieldName().equals(part.name())
+                : part.fileName() != null && !part.fileName().isEmpty();
+    }
+
+    private static UnifiedFormat parsePart(MultipartReader.Part part, UploadOptions options) throws IOException {
+        String fileName = part.fileName() != null ? part.fileName() : part.name();
+        String baseName = fileName.toLowerCase(Locale.ROOT).replaceFirst("\\.gz$", "");
+        String extension = baseName.substring(baseName.lastIndexOf('.') + 1);
+        log.info("Parsing uploaded file '{}' while it arrives", fileName);
+
+        return switch (extension) {
+            case "csv", "zip" -> new CSVFormat(part.body(), fileName, options.getParseOptions());
+            case "xlsx" -> {
+                Path spool = Files.createTempFile("unified-upload-", ".xlsx");
+                try {
+                    Files.copy(part.body(), spool, StandardCopyOption.REPLACE_EXISTING);
+                    yield new XLSXFormat(spool, fileName, options.getParseOptions());
+                } finally {
+                    Files.deleteIfExists(spool);
+                }
+            }
+            default -> {
+                log.error("❌ Unsupported upload: {}", fileName);
+                throw new FormatException(ErrorCode.BYTE_UNSUPPORTED_FORMAT,
+                        new IllegalArgumentException("Unsupported file extension: " + fileName));
+            }
+        };
+    }
+
+    /**
+     * Fails the read as soon as more than the allowed number of bytes has been received.
+     */
+    private static final class CappedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        private CappedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, (int) Math.min(len, maxBytes - count + 1));
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) {
+            count += read;
+            if (count > maxBytes) {
+                log.error("❌ Upload exceeds the limit of {} bytes", maxBytes);
+                throw new FormatException(ErrorCode.UPLOAD_TOO_LARGE);
+            }
+        }
+    }
+}
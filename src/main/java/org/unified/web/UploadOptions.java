@@ -0,0 +1,48 @@
+package org.unified.web;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.unified.formats.ParseOptions;
+
+/**
+ * Limits and settings applied by {@link StreamingUpload}.
+ * <p>
+ * Instances are immutable and created through the builder:
+ * <pre>{@code
+ * UploadOptions options = UploadOptions.builder()
+ *         .maxBytes(2L * 1024 * 1024 * 1024)
+ *         .fieldName("file")
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class UploadOptions {
+
+    /**
+     * Maximum size of the request body in bytes; defaults to 512 MiB.
+     */
+    @Builder.Default
+    private final long maxBytes = 512L * 1024 * 1024;
+
+    /**
+     * Form field holding the file; {@code null} (the default) takes the first part with a file name.
+     */
+    @Builder.Default
+    private final String fieldName = null;
+
+    /**
+     * Options the uploaded file is parsed with.
+     */
+    @Builder.Default
+    private final ParseOptions parseOptions = ParseOptions.defaults();
+
+    /**
+     * Returns the default options: a 512 MiB limit and the first file part.
+     *
+     * @return default upload options
+     */
+    public static UploadOptions defaults() {
+        return builder().build();
+    }
+}
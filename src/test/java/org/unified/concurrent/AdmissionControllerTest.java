@@ -0,0 +1,115 @@
+package org.unified.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.CSVFormat;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void estimateGrowsWithDataAndFormat() {
+        long small = JobFootprint.estimate(0, 1_000, 5, FileExportFormat.PDF);
+        long large = JobFootprint.estimate(0, 100_000, 5, FileExportFormat.PDF);
+
+        assertTrue(small >= JobFootprint.BASE_BYTES);
+        assertTrue(large > small);
+        assertTrue(JobFootprint.estimate(0, 100_000, 5, FileExportFormat.XLSX) > large);
+        assertTrue(JobFootprint.estimate(10 * MB, 100_000, 5, FileExportFormat.PDF) > large);
+        assertEquals(Long.MAX_VALUE, JobFootprint.estimate(0, Long.MAX_VALUE, 100, FileExportFormat.XML));
+
+        InputStream inputStream = getClass().getResourceAsStream("/CSV/valid.csv");
+        CSVFormat csv = new CSVFormat(inputStream, "Valid");
+        long fromFile = JobFootprint.of(csv, 0, FileExportFormat.PDF);
+        assertEquals(JobFootprint.estimate(0, csv.getDataRows().size(), csv.getColumnOrder().size(), FileExportFormat.PDF), fromFile);
+    }
+
+    @Test
+    void inputIsAdmittedBeforeItIsParsed() {
+        assertTrue(JobFootprint.estimate(10 * MB, FileExportFormat.PDF) > JobFootprint.estimate(MB, FileExportFormat.PDF));
+        AdmissionController admission = new AdmissionController(100 * MB, Duration.ZERO);
+        AtomicBoolean parsed = new AtomicBoolean();
+
+        ReportException ex = assertThrows(ReportException.class, () -> {
+            try (AdmissionController.Permit ignored = admission.acquire(100 * MB)) {
+                admission.generateReport(MB, () -> {
+                    parsed.set(true);
+                    return new CSVFormat(getClass().getResourceAsStream("/CSV/valid.csv"), "Valid");
+                }, null, null, FileExportFormat.PDF);
+            }
+        });
+
+        assertEquals(ErrorCode.REPORT_ADMISSION_REJECTED, ex.getErrorCode());
+        assertFalse(parsed.get());
+        assertEquals(0, admission.getReservedBytes());
+    }
+
+    @Test
+    void jobsBeyondTheBudgetAreRejectedAndTracked() {
+        AdmissionController admission = new AdmissionController(100 * MB, Duration.ZERO);
+
+        AdmissionController.Permit first = admission.acquire(60 * MB);
+        assertEquals(60 * MB, admission.getReservedBytes());
+        assertEquals(40 * MB, admission.getAvailableBytes());
+        assertEquals(1, admission.getActiveJobs());
+
+        ReportException ex = assertThrows(ReportException.class, () -> admission.acquire(50 * MB));
+        assertEquals(ErrorCode.REPORT_ADMISSION_REJECTED, ex.getErrorCode());
+        assertEquals(1, admission.getRejectedCount());
+
+        assertEquals("fits", admission.execute(40 * MB, () -> "fits"));
+        assertEquals(100 * MB, admission.getPeakReservedBytes());
+
+        first.close();
+        first.close();
+        assertEquals(0, admission.getReservedBytes());
+        assertEquals(0, admission.getActiveJobs());
+        assertEquals(2, admission.getAdmittedCount());
+    }
+
+    @Test
+    void queuedJobRunsOnceMemoryIsReleased() throws Exception {
+        AdmissionController admission = new AdmissionController(100 * MB, Duration.ofSeconds(10));
+        AdmissionController.Permit running = admission.acquire(80 * MB);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> queued = executor.submit(() -> admission.execute(50 * MB, () -> "done"));
+            while (admission.getQueuedJobs() == 0) {
+                Thread.sleep(5);
+            }
+            assertFalse(queued.isDone());
+
+            running.close();
+            assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+            assertEquals(0, admission.getReservedBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void oversizedJobRunsAloneAndFailedJobsRelease() {
+        AdmissionController admission = new AdmissionController(100 * MB, Duration.ZERO);
+
+        try (AdmissionController.Permit permit = admission.acquire(500 * MB)) {
+            assertEquals(100 * MB, permit.getReservedBytes());
+            assertThrows(ReportException.class, () -> admission.acquire(1));
+        }
+
+        assertThrows(IllegalStateException.class, () -> admission.execute(10 * MB, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, admission.getReservedBytes());
+    }
+}
@@ -0,0 +1,138 @@
+package org.unified.concurrent;
+
+import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.xml.JRXmlLoader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+import org.unified.utils.ReportExporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    private static JasperReport report;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        try (InputStream is = CancellationTokenTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            report = JasperCompileManager.compileReport(JRXmlLoader.load(is));
+        }
+    }
+
+    @Test
+    void cancelledTokenStopsParsing() {
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+        InputStream inputStream = getClass().getResourceAsStream("/CSV/valid.csv");
+        ParseOptions options = ParseOptions.builder().cancellationToken(token).build();
+
+        ReportException ex = assertThrows(ReportException.class, () -> new CSVFormat(inputStream, "Valid", options));
+        assertEquals(ErrorCode.REPORT_CANCELLED, ex.getErrorCode());
+    }
+
+    @Test
+    void cancelAbortsRunningFill() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CancellationToken token = CancellationToken.create();
+        ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor();
+        try {
+            canceller.execute(() -> {
+                try {
+                    started.await();
+                    token.cancel();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            ReportException ex = assertThrows(ReportException.class, () ->
+                    ReportExporter.fill(endlessRows(started), report, Map.of("ReportTitle", "Endless"), token));
+            assertEquals(ErrorCode.REPORT_CANCELLED, ex.getErrorCode());
+        } finally {
+            canceller.shutdownNow();
+        }
+    }
+
+    @Test
+    void deadlineAbortsRunningFill() {
+        try (CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(200))) {
+            long start = System.nanoTime();
+            ReportException ex = assertThrows(ReportException.class, () ->
+                    ReportExporter.fill(endlessRows(new CountDownLatch(1)), report, Map.of("ReportTitle", "Endless"), token));
+
+            assertEquals(ErrorCode.REPORT_DEADLINE_EXCEEDED, ex.getErrorCode());
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
+        }
+    }
+
+    @Test
+    void cancelledTokenStopsExportWithoutLeakingInterrupt() throws Exception {
+        CancellationToken token = CancellationToken.create();
+        JasperPrint print = ReportExporter.fill(
+                List.of(Map.of("Name", "Alice", "Age", "30", "Score", "90")), report, Map.of("ReportTitle", "T"));
+
+        ByteArrayOutputStream live = new ByteArrayOutputStream();
+        ReportExporter.exportTo(print, FileExportFormat.PDF, live, token);
+        assertTrue(live.size() > 0);
+
+        token.cancel();
+        ByteArrayOutputStream cancelled = new ByteArrayOutputStream();
+        ReportException ex = assertThrows(ReportException.class, () ->
+                ReportExporter.exportTo(print, FileExportFormat.PDF, cancelled, token));
+        assertEquals(ErrorCode.REPORT_CANCELLED, ex.getErrorCode());
+        assertEquals(0, cancelled.size());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void callbacksRunOnceAndCanBeUnregistered() {
+        CancellationToken token = CancellationToken.create();
+        AtomicInteger calls = new AtomicInteger();
+
+        token.onCancel(calls::incrementAndGet);
+        token.onCancel(() -> fail("Unregistered callback must not run")).close();
+        token.cancel();
+        token.cancel();
+        assertEquals(1, calls.get());
+
+        token.onCancel(calls::incrementAndGet);
+        assertEquals(2, calls.get());
+
+        CancellationToken.NONE.cancel();
+        assertFalse(CancellationToken.NONE.isCancelled());
+    }
+
+    private static JRDataSource endlessRows(CountDownLatch started) {
+        return new JRDataSource() {
+            private long row;
+
+            @Override
+            public boolean next() {
+                row++;
+                started.countDown();
+                return true;
+            }
+
+            @Override
+            public Object getFieldValue(JRField field) {
+                return field.getName() + " " + row;
+            }
+        };
+    }
+}
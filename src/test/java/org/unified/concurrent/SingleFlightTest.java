@@ -0,0 +1,116 @@
+package org.unified.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, byte[]> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(flights.submit("report", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return new byte[]{42};
+            }));
+        }
+        release.countDown();
+
+        byte[] first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<byte[]> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void failureIsPropagatedToEveryWaiter() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = flights.submit("key", () -> {
+            await(release);
+            throw new ReportException(ErrorCode.REPORT_FILL_FAILED);
+        });
+        CompletableFuture<String> second = flights.submit("key", () -> fail("Must join the running computation"));
+        release.countDown();
+
+        for (CompletableFuture<String> waiter : List.of(first, second)) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(ErrorCode.REPORT_FILL_FAILED, ((ReportException) ex.getCause()).getErrorCode());
+        }
+    }
+
+    @Test
+    void computationIsCancelledOnlyWhenAllWaitersLeave() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> first = flights.submit("key", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+        CompletableFuture<String> second = flights.submit("key", () -> "unused");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        first.cancel(true);
+        assertFalse(interrupted.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, flights.inFlightCount());
+
+        second.cancel(true);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, flights.inFlightCount());
+
+        assertEquals("fresh", flights.execute("key", () -> "fresh"));
+    }
+
+    @Test
+    void fingerprintCoversParametersAndFormat() {
+        byte[] template = {1, 2, 3};
+        UnifiedFormat file = csv();
+        String base = ReportFingerprint.of(file, template, Map.of("Title", "A"), FileExportFormat.PDF);
+
+        assertEquals(base, ReportFingerprint.of(csv(), template.clone(), Map.of("Title", "A"), FileExportFormat.PDF));
+        assertNotEquals(base, ReportFingerprint.of(file, template, Map.of("Title", "B"), FileExportFormat.PDF));
+        assertNotEquals(base, ReportFingerprint.of(file, template, Map.of("Title", "A"), FileExportFormat.HTML));
+        assertNotEquals(base, ReportFingerprint.of(file, new byte[]{1, 2}, Map.of("Title", "A"), FileExportFormat.PDF));
+    }
+
+    private static UnifiedFormat csv() {
+        InputStream inputStream = SingleFlightTest.class.getResourceAsStream("/CSV/valid.csv");
+        return new CSVFormat(inputStream, "Valid");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.unified.formats;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayRowTest {
+
+    private static final ArrayRow.Layout LAYOUT = new ArrayRow.Layout(List.of("Name", "Age", "City"));
+
+    @Test
+    void behavesLikeAnOrderedMap() {
+        ArrayRow row = new ArrayRow(LAYOUT, new Object[]{"Ada", 36, null});
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("Name", "Ada");
+        expected.put("Age", 36);
+        expected.put("City", null);
+
+        assertEquals(expected, row);
+        assertEquals(row, expected);
+        assertEquals(expected.hashCode(), row.hashCode());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(row.keySet()));
+        assertTrue(row.containsKey("City"));
+        assertNull(row.get("Missing"));
+
+        assertEquals(36, row.put("Age", 37));
+        assertNull(row.put("Note", "added"));
+        assertEquals("Ada", row.remove("Name"));
+        assertFalse(row.containsKey("Name"));
+        assertNull(row.valueAt(0));
+        row.entrySet().iterator().next().setValue(38);
+
+        Map<String, Object> edited = new LinkedHashMap<>();
+        edited.put("Age", 38);
+        edited.put("City", null);
+        edited.put("Note", "added");
+        assertEquals(edited, row);
+        assertEquals(3, row.size());
+
+        row.put("Name", "Ada");
+        assertEquals("Ada", row.valueAt(0));
+        assertEquals(4, row.size());
+    }
+
+    @Test
+    void rejectsMismatchedValuesAndDuplicateColumns() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayRow(LAYOUT, new Object[]{"Ada"}));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayRow.Layout(List.of("A", "A")));
+    }
+
+    @Test
+    void parsedRowsShareOneLayout() {
+        byte[] csv = "Name,Age\nAda,36\nAlan,41\n".getBytes(StandardCharsets.UTF_8);
+        List<Map<String, Object>> rows = new CSVFormat(new ByteArrayInputStream(csv), "People", ParseOptions.defaults())
+                .getDataRows();
+
+        ArrayRow first = assertInstanceOf(ArrayRow.class, rows.get(0));
+        ArrayRow second = assertInstanceOf(ArrayRow.class, rows.get(1));
+        assertSame(first.getLayout(), second.getLayout());
+        assertEquals(List.of("Name", "Age"), first.getLayout().getColumns());
+        assertEquals("Alan", second.valueAt(0));
+    }
+}
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.unified.common.enums.ErrorCode;
 import org.unified.common.exceptions.FormatException;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +57,29 @@ class CSVFormatTest {
         assertEquals(ErrorCode.CSV_ROW_COLUMN_MISMATCH, exception.getErrorCode());
     }
 
+    @Test
+    void testLenientParseQuarantinesMismatchedRows() {
+        String csv = "Name,Age,Score\nRehber,25,85\nAlice,30\n\"Multi\nLine\",40,70\nBob,1,2,3\nCarol,35,60\n";
+        ParseOptions options = ParseOptions.builder().maxRowErrors(10).build();
+        CSVFormat parser = new CSVFormat(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "Lenient", options);
+
+        assertEquals(List.of("Rehber", "Multi\nLine", "Carol"),
+                parser.getDataRows().stream().map(row -> row.get("Name")).toList());
+        assertEquals(List.of(
+                new RowError(3, ErrorCode.CSV_ROW_COLUMN_MISMATCH, List.of("Alice", "30")),
+                new RowError(6, ErrorCode.CSV_ROW_COLUMN_MISMATCH, List.of("Bob", "1", "2", "3"))), parser.getRowErrors());
+    }
+
+    @Test
+    void testLenientParseFailsOnceTheErrorBudgetIsExhausted() {
+        String csv = "Name,Age\nA\nB\nC\n";
+        ParseOptions options = ParseOptions.builder().maxRowErrors(2).build();
+
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new CSVFormat(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "Budget", options));
+        assertEquals(ErrorCode.CSV_ERROR_BUDGET_EXCEEDED, exception.getErrorCode());
+    }
+
     @Test
     void testMalformedQuotedCsvThrowsException() {
         InputStream inputStream = getClass().getResourceAsStream("/CSV/malformed.csv");
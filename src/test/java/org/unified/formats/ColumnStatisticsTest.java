@@ -0,0 +1,129 @@
+package org.unified.formats;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.unified.utils.ReportExporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnStatisticsTest {
+
+    private static final ParseOptions PROFILED = ParseOptions.builder().collectStatistics(true).build();
+
+    @Test
+    void csvColumnsAreProfiledWhileParsing() {
+        String csv = """
+                Name,Amount,City
+                Ada,12.5,London
+                Alan,,Manchester
+                Grace,-3,London
+                Edsger,100,
+                """;
+        CSVFormat format = new CSVFormat(stream(csv), "People", PROFILED);
+
+        Map<String, ColumnStatistics> statistics = format.getColumnStatistics();
+        assertEquals(List.of("Name", "Amount", "City"), List.copyOf(statistics.keySet()));
+
+        ColumnStatistics amount = statistics.get("Amount");
+        assertEquals(4, amount.getRowCount());
+        assertEquals(3, amount.getCount());
+        assertEquals(1, amount.getNullCount());
+        assertEquals(3, amount.getDistinctEstimate());
+        assertEquals(-3.0, amount.getMin());
+        assertEquals(100.0, amount.getMax());
+
+        ColumnStatistics name = statistics.get("Name");
+        assertEquals("Ada", name.getMin());
+        assertEquals("Grace", name.getMax());
+
+        ColumnStatistics city = statistics.get("City");
+        assertEquals(1, city.getNullCount());
+        assertEquals(2, city.getDistinctEstimate());
+    }
+
+    @Test
+    void statisticsAreOffByDefault() {
+        CSVFormat format = new CSVFormat(stream("A,B\n1,2\n"), "Plain", null);
+
+        assertTrue(format.getColumnStatistics().isEmpty());
+    }
+
+    @Test
+    void xlsxNumbersAndDatesKeepTheirType() throws IOException {
+        Date first = new Date(1_600_000_000_000L);
+        Date last = new Date(1_700_000_000_000L);
+        byte[] xlsx;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Sheet sheet = workbook.createSheet("Data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Score");
+            header.createCell(1).setCellValue("When");
+            Date[] dates = {last, first, last};
+            double[] scores = {7, 2.5, 9};
+            for (int i = 0; i < 3; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(scores[i]);
+                row.createCell(1).setCellValue(dates[i]);
+                row.getCell(1).setCellStyle(dateStyle);
+            }
+            workbook.write(out);
+            xlsx = out.toByteArray();
+        }
+
+        for (ParseOptions options : List.of(PROFILED, ParseOptions.builder().collectStatistics(true).maxRows(10).build())) {
+            Map<String, ColumnStatistics> statistics = new XLSXFormat(new ByteArrayInputStream(xlsx), "Scores", options)
+                    .getColumnStatistics();
+
+            assertEquals(2.5, statistics.get("Score").getMin());
+            assertEquals(9.0, statistics.get("Score").getMax());
+            assertEquals(first, statistics.get("When").getMin());
+            assertEquals(last, statistics.get("When").getMax());
+            assertEquals(2, statistics.get("When").getDistinctEstimate());
+        }
+    }
+
+    @Test
+    void distinctEstimateStaysWithinTheSketchError() {
+        ColumnProfiler profiler = new ColumnProfiler(List.of("Id"));
+        int distinct = 200_000;
+        for (int i = 0; i < distinct * 2; i++) {
+            profiler.accept(0, "id-" + (i % distinct));
+        }
+
+        ColumnStatistics id = profiler.finish().get("Id");
+        assertEquals(distinct * 2L, id.getCount());
+        assertEquals(distinct, id.getDistinctEstimate(), distinct * 0.05);
+        assertEquals("id-0", id.getMin());
+    }
+
+    @Test
+    void statisticsArePassedAsReportParameter() {
+        CSVFormat format = new CSVFormat(stream("A\n1\n2\n"), "Numbers", PROFILED);
+
+        Map<String, Object> parameters = ReportExporter.withColumnStatistics(format, Map.of("ReportTitle", "Stats"));
+        assertEquals("Stats", parameters.get("ReportTitle"));
+        assertSame(format.getColumnStatistics(), parameters.get(ColumnStatistics.REPORT_PARAMETER));
+
+        Map<String, Object> own = Map.of(ColumnStatistics.REPORT_PARAMETER, "caller's");
+        assertSame(own, ReportExporter.withColumnStatistics(format, own));
+    }
+
+    // Utility Functions
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package org.unified.formats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedCsvTest {
+
+    private static final int ROWS = 50_000;
+
+    @Test
+    void gzipInputIsDecompressedWhileParsing() throws Exception {
+        CSVFormat parsed = new CSVFormat(new ByteArrayInputStream(gzip(csv(ROWS))), "Gzip");
+
+        assertEquals(List.of("Name", "Age", "Score"), parsed.getColumnOrder());
+        assertEquals(ROWS, parsed.getDataRows().size());
+        assertEquals("Name " + (ROWS - 1), parsed.getDataRows().get(ROWS - 1).get("Name"));
+    }
+
+    @Test
+    void zipEntryIsSelectedByName(@TempDir Path dir) throws Exception {
+        byte[] archive = zip("readme.txt", "not a csv".getBytes(StandardCharsets.UTF_8),
+                "exports/first.csv", csv(3),
+                "exports/second.csv", csv(7));
+
+        assertEquals(3, new CSVFormat(new ByteArrayInputStream(archive), "Zip").getDataRows().size());
+
+        ParseOptions second = ParseOptions.builder().archiveEntry("second.csv").build();
+        assertEquals(7, new CSVFormat(new ByteArrayInputStream(archive), "Zip", second).getDataRows().size());
+
+        Path file = Files.write(dir.resolve("exports.zip"), archive);
+        assertEquals(7, UnifiedFormats.fromPath(file, null, second).getDataRows().size());
+
+        ParseOptions missing = ParseOptions.builder().archiveEntry("third.csv").build();
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new CSVFormat(new ByteArrayInputStream(archive), "Zip", missing));
+        assertEquals(ErrorCode.CSV_ARCHIVE_ENTRY_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void compressedFilesParseLikePlainFiles(@TempDir Path dir) throws Exception {
+        byte[] plain = csv(ROWS);
+        Path gz = Files.write(dir.resolve("large.csv.gz"), gzip(plain));
+
+        UnifiedFormat expected = new CSVFormat(new ByteArrayInputStream(plain), "Plain");
+        UnifiedFormat actual = UnifiedFormats.fromPath(gz, null);
+
+        assertInstanceOf(CSVFormat.class, actual);
+        assertEquals(expected.getDataRows(), actual.getDataRows());
+    }
+
+    @Test
+    void truncatedGzipFailsWithTheReadError() throws Exception {
+        byte[] compressed = gzip(csv(ROWS));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new CSVFormat(new ByteArrayInputStream(truncated), "Truncated"));
+        assertEquals(ErrorCode.CSV_PARSE_ERROR, exception.getErrorCode());
+
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof EOFException)) {
+            cause = cause.getCause();
+        }
+        assertNotNull(cause, "the decompression failure is kept as the cause");
+    }
+
+    @Test
+    void readAheadStreamDeliversEveryByteInOrder() throws Exception {
+        byte[] data = new byte[3 * ReadAheadInputStream.BUFFER_SIZE + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        // A source that returns short reads exercises partially filled buffers
+        InputStream trickle = new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1000));
+            }
+        };
+
+        try (ReadAheadInputStream in = new ReadAheadInputStream(trickle)) {
+            assertEquals(data[0] & 0xFF, in.read());
+            assertArrayEquals(Arrays.copyOfRange(data, 1, data.length), in.readAllBytes());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    private static byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder("Name,Age,Score\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Name ").append(i).append(',').append(20 + i % 50).append(',').append(i % 100).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] zip(Object... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry((String) entries[i]));
+                zip.write((byte[]) entries[i + 1]);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
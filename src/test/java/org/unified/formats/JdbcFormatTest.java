@@ -0,0 +1,106 @@
+package org.unified.formats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.unified.ReportGenerator;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcFormatTest {
+
+    private static final int ROWS = 5_000;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jdbcformat;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE customers (id INT PRIMARY KEY, name VARCHAR(50), age INT, score DECIMAL(8,2), joined DATE)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customers VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "Customer " + i);
+                insert.setInt(3, 20 + i % 50);
+                insert.setBigDecimal(4, i % 10 == 0 ? null : BigDecimal.valueOf(i, 2));
+                insert.setDate(5, Date.valueOf("2024-01-01"));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void cursorStreamsNativeTypesInSelectOrder() {
+        try (JdbcFormat format = JdbcFormat.query(connection,
+                "SELECT id AS \"Id\", name AS \"Name\", score AS \"Score\", joined AS \"Joined\" FROM customers WHERE id <= ? ORDER BY id",
+                "Customers", 100, 20)) {
+
+            assertEquals(List.of("Id", "Name", "Score", "Joined"), format.getColumnOrder());
+
+            RowCursor cursor = format.openCursor();
+            int rows = 0;
+            while (cursor.next()) {
+                rows++;
+                assertEquals(rows, cursor.getValue(0));
+                assertEquals("Customer " + rows, cursor.getValue(1));
+                assertEquals(rows % 10 == 0 ? null : BigDecimal.valueOf(rows, 2), cursor.getValue(2));
+                assertEquals(Date.valueOf("2024-01-01"), cursor.getValue(3));
+            }
+            assertEquals(20, rows);
+
+            FormatException ex = assertThrows(FormatException.class, format::getDataRows);
+            assertEquals(ErrorCode.JDBC_ALREADY_CONSUMED, ex.getErrorCode());
+        }
+    }
+
+    @Test
+    void dataRowsAreBufferedOffHeap() throws SQLException {
+        ResultSet resultSet = connection.createStatement().executeQuery("SELECT id, name FROM customers ORDER BY id");
+        try (JdbcFormat format = new JdbcFormat(resultSet, "Customers", 500)) {
+            List<Map<String, Object>> rows = format.getDataRows();
+
+            assertEquals(ROWS, rows.size());
+            assertEquals(Map.of("ID", 4321, "NAME", "Customer 4321"), rows.get(4320));
+            assertSame(rows, format.getDataRows());
+        }
+        assertTrue(resultSet.isClosed());
+    }
+
+    @Test
+    void duplicateColumnLabelsAreRejected() {
+        FormatException ex = assertThrows(FormatException.class, () ->
+                JdbcFormat.query(connection, "SELECT id AS x, name AS x FROM customers", "Dup", 10));
+        assertEquals(ErrorCode.JDBC_DUPLICATE_COLUMN, ex.getErrorCode());
+    }
+
+    @Test
+    void reportIsFilledFromTheStream() throws Exception {
+        String sql = "SELECT name AS \"Name\", CAST(age AS VARCHAR) AS \"Age\", CAST(score AS VARCHAR) AS \"Score\" FROM customers WHERE id <= 500";
+        try (JdbcFormat format = JdbcFormat.query(connection, sql, "Customers", 1_000);
+             InputStream template = getClass().getResourceAsStream("/templates/simple_report.jrxml")) {
+
+            byte[] pdf = ReportGenerator.generateReport(format, template, Map.of("ReportTitle", "Customers"), FileExportFormat.PDF);
+            assertTrue(pdf.length > 0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.unified.formats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathInputTest {
+
+    @Test
+    void csvFilesParseLikeStreams() throws Exception {
+        for (String fixture : List.of("valid", "quoted_commas", "international_headers", "skip_blank_rows", "empty_row")) {
+            String path = "/CSV/" + fixture + ".csv";
+            CSVFormat streamed = new CSVFormat(resource(path), fixture);
+            CSVFormat fromFile = new CSVFormat(file(path), fixture);
+            assertEquals(streamed.getColumnOrder(), fromFile.getColumnOrder(), fixture);
+            assertEquals(streamed.getDataRows(), fromFile.getDataRows(), fixture);
+        }
+        for (String fixture : List.of("duplicate_headers", "empty_header", "no_headers", "mismatched_row", "malformed")) {
+            String path = "/CSV/" + fixture + ".csv";
+            FormatException expected = assertThrows(FormatException.class, () -> new CSVFormat(resource(path), fixture));
+            FormatException actual = assertThrows(FormatException.class, () -> new CSVFormat(file(path), fixture));
+            assertEquals(expected.getErrorCode(), actual.getErrorCode(), fixture);
+        }
+    }
+
+    @Test
+    void csvFileSpanningManyBuffersKeepsMultiByteCharacters(@TempDir Path dir) throws Exception {
+        StringBuilder csv = new StringBuilder("\uFEFFName,City\n");
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("Zoë ").append(i).append(",Kraków\n");
+        }
+        Path large = Files.writeString(dir.resolve("large.csv"), csv, StandardCharsets.UTF_8);
+        assertTrue(Files.size(large) > 4L * ChannelReader.BUFFER_SIZE);
+
+        CSVFormat parsed = new CSVFormat(large, null);
+
+        assertEquals(List.of("Name", "City"), parsed.getColumnOrder());
+        assertEquals(20_000, parsed.getDataRows().size());
+        assertEquals("Zoë 19999", parsed.getDataRows().get(19_999).get("Name"));
+        assertTrue(parsed.getDataRows().stream().allMatch(row -> "Kraków".equals(row.get("City"))));
+        assertEquals("CSV", parsed.getSourceName());
+    }
+
+    @Test
+    void xlsxFilesParseLikeStreams() throws Exception {
+        for (String fixture : List.of("valid", "international_headers")) {
+            String path = "/XLSX/" + fixture + ".xlsx";
+            XLSXFormat streamed = new XLSXFormat(resource(path), fixture);
+            XLSXFormat fromFile = new XLSXFormat(file(path), fixture);
+            XLSXFormat firstRows = new XLSXFormat(file(path), fixture, ParseOptions.builder().maxRows(1).build());
+            assertEquals(streamed.getColumnOrder(), fromFile.getColumnOrder(), fixture);
+            assertEquals(streamed.getDataRows(), fromFile.getDataRows(), fixture);
+            assertEquals(streamed.getDataRows().subList(0, 1), firstRows.getDataRows(), fixture);
+        }
+        for (String fixture : List.of("duplicate_headers", "empty_header", "empty_file", "no_headers", "numeric_header", "malformed")) {
+            String path = "/XLSX/" + fixture + ".xlsx";
+            FormatException expected = assertThrows(FormatException.class, () -> new XLSXFormat(resource(path), fixture));
+            FormatException actual = assertThrows(FormatException.class, () -> new XLSXFormat(file(path), fixture));
+            assertEquals(expected.getErrorCode(), actual.getErrorCode(), fixture);
+        }
+    }
+
+    @Test
+    void factoryDispatchesOnExtension(@TempDir Path dir) throws Exception {
+        Path upperCase = Files.copy(file("/XLSX/valid.xlsx"), dir.resolve("UPLOAD.XLSX"));
+
+        assertInstanceOf(CSVFormat.class, UnifiedFormats.fromPath(file("/CSV/valid.csv"), null));
+        UnifiedFormat xlsx = UnifiedFormats.fromPath(upperCase, null);
+        assertInstanceOf(XLSXFormat.class, xlsx);
+        assertEquals("UPLOAD.XLSX", xlsx.getSourceName());
+
+        Path text = Files.writeString(dir.resolve("notes.txt"), "a,b\n1,2\n");
+        FormatException exception = assertThrows(FormatException.class, () -> UnifiedFormats.fromPath(text, "Notes"));
+        assertEquals(ErrorCode.BYTE_UNSUPPORTED_FORMAT, exception.getErrorCode());
+    }
+
+    @Test
+    void missingFileIsAnIoError(@TempDir Path dir) {
+        FormatException csv = assertThrows(FormatException.class, () -> new CSVFormat(dir.resolve("missing.csv"), "Missing"));
+        assertEquals(ErrorCode.CSV_IO_ERROR, csv.getErrorCode());
+
+        FormatException xlsx = assertThrows(FormatException.class, () -> new XLSXFormat(dir.resolve("missing.xlsx"), "Missing"));
+        assertEquals(ErrorCode.XLSX_PARSE_ERROR, xlsx.getErrorCode());
+    }
+
+    private static InputStream resource(String path) {
+        return PathInputTest.class.getResourceAsStream(path);
+    }
+
+    private static Path file(String path) throws URISyntaxException {
+        return Path.of(PathInputTest.class.getResource(path).toURI());
+    }
+}
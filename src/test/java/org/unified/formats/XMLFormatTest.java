@@ -0,0 +1,110 @@
+package org.unified.formats;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.store.SpillableRowStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XMLFormatTest {
+
+    @Test
+    void testValidXmlParsing() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/valid.xml");
+        XMLFormat parser = new XMLFormat(inputStream, "Orders", "order");
+
+        assertEquals(List.of("id", "status", "customer", "amount@currency", "amount", "address.city", "address.zip"),
+                parser.getColumnOrder());
+
+        List<Map<String, Object>> rows = parser.getDataRows();
+        assertInstanceOf(SpillableRowStore.class, rows);
+        assertEquals(2, rows.size());
+        assertEquals("Rehber", rows.get(0).get("customer"));
+        assertEquals("EUR", rows.get(0).get("amount@currency"));
+        assertEquals("10115", rows.get(0).get("address.zip"));
+        assertEquals("Alice & Co", rows.get(1).get("customer"));
+        assertNull(rows.get(1).get("address.zip"));
+    }
+
+    @Test
+    void testExplicitColumnsSelectAndOrderFields() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/unknown_field.xml");
+        XMLFormat parser = new XMLFormat(inputStream, "Orders", "order",
+                List.of("customer", "note", "id"), ParseOptions.defaults());
+
+        List<Map<String, Object>> rows = parser.getDataRows();
+        assertEquals(List.of("customer", "note", "id"), List.copyOf(rows.get(1).keySet()));
+        assertNull(rows.get(0).get("note"));
+        assertEquals("late", rows.get(1).get("note"));
+    }
+
+    @Test
+    void testExplicitColumnsIgnoreOtherFields() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/unknown_field.xml");
+        XMLFormat parser = new XMLFormat(inputStream, "Orders", "order", List.of("id"), ParseOptions.defaults());
+
+        assertEquals(List.of(Map.of("id", "1"), Map.of("id", "2")), parser.getDataRows());
+    }
+
+    @Test
+    void testOptionalFieldsOfLeadingRecordsBecomeColumns() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/unknown_field.xml");
+        XMLFormat parser = new XMLFormat(inputStream, "Orders", "order");
+
+        assertEquals(List.of("id", "customer", "note"), parser.getColumnOrder());
+        assertNull(parser.getDataRows().get(0).get("note"));
+        assertEquals("late", parser.getDataRows().get(1).get("note"));
+    }
+
+    @Test
+    void testUnknownFieldAfterColumnSampleThrowsException() {
+        StringBuilder xml = new StringBuilder("<orders>");
+        for (int i = 0; i < XMLFormat.COLUMN_SAMPLE_RECORDS; i++) {
+            xml.append("<order id=\"").append(i).append("\"/>");
+        }
+        xml.append("<order id=\"late\"><note>new</note></order></orders>");
+
+        FormatException exception = assertThrows(FormatException.class, () ->
+                new XMLFormat(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)), "Orders", "order"));
+        assertEquals(ErrorCode.XML_UNKNOWN_FIELD, exception.getErrorCode());
+    }
+
+    @Test
+    void testRepeatedFieldThrowsException() {
+        String xml = "<orders><order><phone>1</phone><phone>2</phone></order></orders>";
+        FormatException exception = assertThrows(FormatException.class, () ->
+                new XMLFormat(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "Orders", "order"));
+        assertEquals(ErrorCode.XML_REPEATED_FIELD, exception.getErrorCode());
+    }
+
+    @Test
+    void testMissingRecordsThrowsException() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/valid.xml");
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new XMLFormat(inputStream, "Orders", "invoice"));
+        assertEquals(ErrorCode.XML_RECORD_MISSING, exception.getErrorCode());
+    }
+
+    @Test
+    void testMalformedXmlThrowsException() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/malformed.xml");
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new XMLFormat(inputStream, "Orders", "order"));
+        assertEquals(ErrorCode.XML_PARSE_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    void testExternalEntitiesAreNotResolved() {
+        InputStream inputStream = getClass().getResourceAsStream("/XML/external_entity.xml");
+        FormatException exception = assertThrows(FormatException.class,
+                () -> new XMLFormat(inputStream, "Orders", "order"));
+        assertEquals(ErrorCode.XML_PARSE_ERROR, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,81 @@
+package org.unified.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.InputStream;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregatorTest {
+
+    private static UnifiedFormat salesOf(int rows) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("Region", i % 3 == 0 ? "North" : "South");
+            row.put("Amount", String.valueOf(i % 10));
+            data.add(row);
+        }
+        return new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return data;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return List.of("Region", "Amount");
+            }
+        };
+    }
+
+    @Test
+    void aggregatesAcrossParallelPartitions() {
+        Aggregator aggregator = new Aggregator(List.of("Region"),
+                List.of(Aggregate.count(), Aggregate.sum("Amount"), Aggregate.avg("Amount"),
+                        Aggregate.min("Amount"), Aggregate.max("Amount").as("Top")), 4);
+
+        DerivedFormat summary = aggregator.aggregate(salesOf(30_000));
+
+        assertEquals(List.of("Region", "COUNT", "SUM_Amount", "AVG_Amount", "MIN_Amount", "Top"), summary.getColumnOrder());
+        List<Map<String, Object>> rows = summary.getDataRows();
+        assertEquals(2, rows.size());
+
+        Map<String, Object> north = rows.get(0);
+        assertEquals("North", north.get("Region"));
+        assertEquals(10_000L, north.get("COUNT"));
+        assertEquals(45_000.0, north.get("SUM_Amount"));
+        assertEquals(4.5, north.get("AVG_Amount"));
+        assertEquals(0.0, north.get("MIN_Amount"));
+        assertEquals(9.0, north.get("Top"));
+
+        assertEquals("South", rows.get(1).get("Region"));
+        assertEquals(20_000L, rows.get(1).get("COUNT"));
+    }
+
+    @Test
+    void nonNumericValuesAreIgnored() {
+        InputStream inputStream = getClass().getResourceAsStream("/CSV/valid.csv");
+        CSVFormat csv = new CSVFormat(inputStream, "Valid");
+
+        DerivedFormat summary = new Aggregator(List.of(),
+                List.of(Aggregate.sum("Score"), Aggregate.count("Name"), Aggregate.max("Name"))).aggregate(csv);
+
+        Map<String, Object> total = summary.getDataRows().get(0);
+        assertEquals(175.0, total.get("SUM_Score"));
+        assertEquals(2L, total.get("COUNT_Name"));
+        assertNull(total.get("MAX_Name"));
+    }
+
+    @Test
+    void unknownMeasureColumnThrows() {
+        Aggregator aggregator = new Aggregator(List.of("Region"), List.of(Aggregate.sum("Missing")));
+        ReportException ex = assertThrows(ReportException.class, () -> aggregator.aggregate(salesOf(1)));
+        assertEquals(ErrorCode.PIPELINE_COLUMN_MISSING, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,106 @@
+package org.unified.pipeline;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.InputStream;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTest {
+
+    private static UnifiedFormat formatOf(List<Map<String, Object>> rows) {
+        return new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return rows;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return List.of("Region", "Name", "Amount");
+            }
+        };
+    }
+
+    private static Map<String, Object> row(String region, String name, Object amount) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("Region", region);
+        row.put("Name", name);
+        row.put("Amount", amount);
+        return row;
+    }
+
+    @Test
+    void numericStringsSortNumerically() {
+        UnifiedFormat format = formatOf(List.of(row("A", "x", "10"), row("A", "y", "9"), row("A", "z", "100")));
+
+        try (DerivedFormat sorted = new ExternalSorter(List.of(SortKey.ascending("Amount"))).sort(format)) {
+            List<Object> amounts = sorted.getDataRows().stream().map(r -> r.get("Amount")).toList();
+            assertEquals(List.of("9", "10", "100"), amounts);
+        }
+    }
+
+    @Test
+    void numericallyEqualValuesStayInContiguousGroups() {
+        long big = (1L << 53) + 1;
+        UnifiedFormat format = formatOf(List.of(
+                row("A", "a", "7"), row("A", "b", "007"), row("A", "c", "1e3"), row("A", "d", "7"),
+                row("A", "e", "1000"), row("A", "f", "007"), row("A", "g", big), row("A", "h", big - 1),
+                row("A", "i", big)));
+
+        try (DerivedFormat sorted = new ExternalSorter(List.of(SortKey.ascending("Amount"))).sort(format)) {
+            List<Object> amounts = sorted.getDataRows().stream().map(r -> r.get("Amount")).toList();
+            assertEquals(List.of("007", "007", "7", "7", "1000", "1e3", big - 1, big, big), amounts);
+        }
+    }
+
+    @Test
+    void multiKeySortAcrossSpilledRunsIsStable() {
+        Random random = new Random(42);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(row("R" + random.nextInt(5), "N" + i, random.nextInt(50)));
+        }
+
+        List<SortKey> keys = List.of(SortKey.ascending("Region"), SortKey.descending("Amount"));
+        ExternalSorter sorter = new ExternalSorter(keys, 25, 3, 0);
+
+        List<Map<String, Object>> expected = new ArrayList<>(rows);
+        expected.sort(Comparator.<Map<String, Object>, String>comparing(r -> (String) r.get("Region"))
+                .thenComparing(r -> (Integer) r.get("Amount"), Comparator.reverseOrder()));
+
+        try (DerivedFormat sorted = sorter.sort(formatOf(rows))) {
+            assertEquals(expected, new ArrayList<>(sorted.getDataRows()));
+        }
+    }
+
+    @Test
+    void keysAreDerivedFromTemplateGroups() throws Exception {
+        try (InputStream is = getClass().getResourceAsStream("/templates/grouped_report.jrxml")) {
+            JasperReport report = JasperCompileManager.compileReport(is);
+
+            List<SortKey> keys = SortKey.fromTemplate(report);
+            assertEquals(List.of(new SortKey("Region", false, SortKey.KeyType.STRING)), keys);
+
+            UnifiedFormat format = formatOf(List.of(row("B", "b", 1), row("A", "a", 2), row("B", "c", 3)));
+            try (DerivedFormat sorted = ExternalSorter.forTemplate(report).sort(format)) {
+                List<Object> names = sorted.getDataRows().stream().map(r -> r.get("Name")).toList();
+                assertEquals(List.of("a", "b", "c"), names);
+            }
+        }
+    }
+
+    @Test
+    void unknownKeyColumnThrows() {
+        ExternalSorter sorter = new ExternalSorter(List.of(SortKey.ascending("Missing")));
+        ReportException ex = assertThrows(ReportException.class,
+                () -> sorter.sort(formatOf(List.of(row("A", "a", 1)))));
+        assertEquals(ErrorCode.PIPELINE_COLUMN_MISSING, ex.getErrorCode());
+    }
+}
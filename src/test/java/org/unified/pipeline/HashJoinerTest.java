@@ -0,0 +1,301 @@
+package org.unified.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.RowCursor;
+import org.unified.formats.UnifiedFormat;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashJoinerTest {
+
+    private static UnifiedFormat formatOf(String sourceName, List<String> columns, List<Object[]> values) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] row : values) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                map.put(columns.get(i), row[i]);
+            }
+            rows.add(map);
+        }
+        return new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return rows;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return columns;
+            }
+
+            @Override
+            public String getSourceName() {
+                return sourceName;
+            }
+        };
+    }
+
+    private static UnifiedFormat sales(Object[]... rows) {
+        return formatOf("Sales", List.of("Region", "ProductId", "Amount"), List.of(rows));
+    }
+
+    private static UnifiedFormat products(Object[]... rows) {
+        return formatOf("Products", List.of("Region", "ProductId", "Name"), List.of(rows));
+    }
+
+    /**
+     * Wraps a format so its rows can only be read once, through a cursor, like a JDBC result set.
+     */
+    private static UnifiedFormat streamed(UnifiedFormat format) {
+        List<String> columns = format.getColumnOrder();
+        List<Map<String, Object>> rows = format.getDataRows();
+        return new UnifiedFormat() {
+            private boolean opened;
+
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                throw new AssertionError("a streamed input must not be materialized");
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return columns;
+            }
+
+            @Override
+            public String getSourceName() {
+                return format.getSourceName();
+            }
+
+            @Override
+            public RowCursor openCursor() {
+                assertFalse(opened, "a streamed input can only be read once");
+                opened = true;
+                Iterator<Map<String, Object>> iterator = rows.iterator();
+                return new RowCursor() {
+                    private Map<String, Object> current;
+
+                    @Override
+                    public boolean next() {
+                        current = iterator.hasNext() ? iterator.next() : null;
+                        return current != null;
+                    }
+
+                    @Override
+                    public Object getValue(int columnIndex) {
+                        return current.get(columns.get(columnIndex));
+                    }
+
+                    @Override
+                    public void close() {
+                        current = null;
+                    }
+                };
+            }
+        };
+    }
+
+    private static List<List<Object>> joined(UnifiedFormat left, UnifiedFormat right, int maxBuildRows) {
+        List<String> keys = List.of("Region", "ProductId");
+        try (DerivedFormat joined = new HashJoiner(keys, keys, HashJoiner.JoinType.LEFT, maxBuildRows, 0).join(left, right)) {
+            return rowsOf(joined);
+        }
+    }
+
+    private static void assertSameRows(List<List<Object>> expected, List<List<Object>> actual) {
+        Comparator<List<Object>> byAmountAndName = Comparator.<List<Object>, Integer>comparing(row -> (Integer) row.get(2))
+                .thenComparing(row -> String.valueOf(row.get(3)));
+        List<List<Object>> sortedExpected = new ArrayList<>(expected);
+        List<List<Object>> sortedActual = new ArrayList<>(actual);
+        sortedExpected.sort(byAmountAndName);
+        sortedActual.sort(byAmountAndName);
+        assertEquals(sortedExpected, sortedActual);
+    }
+
+    private static List<List<Object>> rowsOf(DerivedFormat format) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (Map<String, Object> row : format.getDataRows()) {
+            rows.add(format.getColumnOrder().stream().map(row::get).toList());
+        }
+        return rows;
+    }
+
+    @Test
+    void innerJoinMatchesMultiColumnKeysAcrossValueTypes() {
+        UnifiedFormat sales = sales(
+                new Object[]{"EU", "1001", 10},
+                new Object[]{"US", "1001", 20},
+                new Object[]{"EU", " 1002 ", 30},
+                new Object[]{"EU", "9999", 40});
+        UnifiedFormat products = products(
+                new Object[]{"EU", 1001.0, "Widget"},
+                new Object[]{"US", 1001.0, "Widget US"},
+                new Object[]{"EU", 1002L, "Gadget"},
+                new Object[]{"EU", 1002L, "Gadget v2"},
+                new Object[]{"APAC", 1001.0, "Unsold"});
+        HashJoiner joiner = new HashJoiner(List.of("Region", "ProductId"), HashJoiner.JoinType.INNER);
+
+        try (DerivedFormat joined = joiner.join(sales, products)) {
+            assertEquals(List.of("Region", "ProductId", "Amount", "Name"), joined.getColumnOrder());
+            assertEquals(List.of(
+                    Arrays.asList("EU", "1001", 10, "Widget"),
+                    Arrays.asList("US", "1001", 20, "Widget US"),
+                    Arrays.asList("EU", " 1002 ", 30, "Gadget"),
+                    Arrays.asList("EU", " 1002 ", 30, "Gadget v2")), rowsOf(joined));
+        }
+    }
+
+    @Test
+    void zeroPaddedCodesOnlyMatchTheSameText() {
+        UnifiedFormat sales = sales(
+                new Object[]{"EU", "007", 10},
+                new Object[]{"EU", "02134", 20},
+                new Object[]{"EU", "0.50", 30},
+                new Object[]{"EU", "7", 40});
+        UnifiedFormat products = products(
+                new Object[]{"EU", "007", "Padded"},
+                new Object[]{"EU", 7.0, "Seven"},
+                new Object[]{"EU", "2134", "Unpadded"},
+                new Object[]{"EU", " 02134", "Zip"},
+                new Object[]{"EU", 0.5, "Half"});
+        HashJoiner joiner = new HashJoiner(List.of("Region", "ProductId"), HashJoiner.JoinType.INNER);
+
+        try (DerivedFormat joined = joiner.join(sales, products)) {
+            assertSameRows(List.of(
+                    Arrays.asList("EU", "007", 10, "Padded"),
+                    Arrays.asList("EU", "02134", 20, "Zip"),
+                    Arrays.asList("EU", "0.50", 30, "Half"),
+                    Arrays.asList("EU", "7", 40, "Seven")), rowsOf(joined));
+        }
+    }
+
+    @Test
+    void leftJoinKeepsUnmatchedAndNullKeyRows() {
+        UnifiedFormat sales = sales(
+                new Object[]{"EU", "1", 10},
+                new Object[]{"EU", null, 20},
+                new Object[]{"EU", "2", 30},
+                new Object[]{"EU", "", 40},
+                new Object[]{"EU", "1", 50});
+        UnifiedFormat products = products(
+                new Object[]{"EU", "1", "One"},
+                new Object[]{"EU", null, "Nothing"});
+        HashJoiner joiner = new HashJoiner(List.of("ProductId"), HashJoiner.JoinType.LEFT);
+
+        try (DerivedFormat joined = joiner.join(sales, products)) {
+            assertEquals(List.of("Region", "ProductId", "Amount", "Products.Region", "Name"), joined.getColumnOrder());
+            assertEquals(List.of(
+                    Arrays.asList("EU", "1", 10, "EU", "One"),
+                    Arrays.asList("EU", null, 20, null, null),
+                    Arrays.asList("EU", "2", 30, null, null),
+                    Arrays.asList("EU", "", 40, null, null),
+                    Arrays.asList("EU", "1", 50, "EU", "One")), rowsOf(joined));
+        }
+    }
+
+    @Test
+    void leftJoinBuildingOnTheSmallerLeftInputKeepsEveryLeftRow() {
+        UnifiedFormat products = products(
+                new Object[]{"EU", 1, "One"},
+                new Object[]{"EU", 2, "Two"});
+        UnifiedFormat sales = sales(
+                new Object[]{"EU", "1", 10},
+                new Object[]{"EU", "3", 20},
+                new Object[]{"EU", "1.00", 30});
+        HashJoiner joiner = new HashJoiner(List.of("ProductId"), HashJoiner.JoinType.LEFT);
+
+        try (DerivedFormat joined = joiner.join(products, sales)) {
+            assertEquals(List.of("Region", "ProductId", "Name", "Sales.Region", "Amount"), joined.getColumnOrder());
+            assertEquals(List.of(
+                    Arrays.asList("EU", 1, "One", "EU", 10),
+                    Arrays.asList("EU", 1, "One", "EU", 30),
+                    Arrays.asList("EU", 2, "Two", null, null)), rowsOf(joined));
+        }
+    }
+
+    @Test
+    void partitionedJoinProducesTheSameRowsAsTheInMemoryJoin() {
+        List<Object[]> sales = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            sales.add(new Object[]{i % 2 == 0 ? "EU" : "US", String.valueOf(i % 1_500), i});
+        }
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            products.add(new Object[]{"EU", (double) i, "Product " + i});
+        }
+        UnifiedFormat left = formatOf("Sales", List.of("Region", "ProductId", "Amount"), sales);
+        UnifiedFormat right = formatOf("Products", List.of("Region", "ProductId", "Name"), products);
+        List<String> keys = List.of("Region", "ProductId");
+
+        HashJoiner inMemory = new HashJoiner(keys, keys, HashJoiner.JoinType.LEFT, Integer.MAX_VALUE, 0);
+        HashJoiner partitioned = new HashJoiner(keys, keys, HashJoiner.JoinType.LEFT, 100, 0);
+        try (DerivedFormat expected = inMemory.join(left, right);
+             DerivedFormat actual = partitioned.join(left, right)) {
+            assertEquals(5_000, actual.getDataRows().size());
+            Comparator<List<Object>> byAmount = Comparator.comparing(row -> (Integer) row.get(2));
+            List<List<Object>> actualRows = new ArrayList<>(rowsOf(actual));
+            actualRows.sort(byAmount);
+            assertEquals(rowsOf(expected), actualRows);
+            assertEquals("Product 42", actualRows.get(42).get(3));
+            assertNull(actualRows.get(43).get(3));
+        }
+    }
+
+    @Test
+    void partitionCountIsSizedFromTheBuildRows() {
+        HashJoiner joiner = new HashJoiner(List.of("Id"), List.of("Id"), HashJoiner.JoinType.INNER, 100, 0);
+
+        assertEquals(2, joiner.partitionCount(101));
+        assertEquals(4, joiner.partitionCount(301));
+        assertEquals(16, joiner.partitionCount(1_200));
+        assertEquals(HashJoiner.MAX_PARTITIONS, joiner.partitionCount(1_000_000));
+    }
+
+    @Test
+    void oversizedPartitionsAreSplitAgainAndSkewedKeysStillJoin() {
+        List<Object[]> sales = new ArrayList<>();
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            // A third of the rows share one key, which no partitioning can split
+            String id = i % 3 == 0 ? "7" : String.valueOf(i);
+            sales.add(new Object[]{"EU", id, i});
+            products.add(new Object[]{"EU", id, "Product " + i});
+        }
+        UnifiedFormat left = formatOf("Sales", List.of("Region", "ProductId", "Amount"), sales.subList(0, 600));
+        UnifiedFormat right = formatOf("Products", List.of("Region", "ProductId", "Name"), products);
+
+        assertSameRows(joined(left, right, Integer.MAX_VALUE), joined(left, right, 50));
+    }
+
+    @Test
+    void streamedInputsAreReadOnceThroughTheirCursor() {
+        List<Object[]> sales = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            sales.add(new Object[]{"EU", String.valueOf(i % 700), i});
+        }
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            products.add(new Object[]{"EU", (long) i, "Product " + i});
+        }
+        UnifiedFormat left = formatOf("Sales", List.of("Region", "ProductId", "Amount"), sales);
+        UnifiedFormat right = formatOf("Products", List.of("Region", "ProductId", "Name"), products);
+        List<List<Object>> expected = joined(left, right, Integer.MAX_VALUE);
+
+        assertSameRows(expected, joined(streamed(left), streamed(right), Integer.MAX_VALUE));
+        assertSameRows(expected, joined(streamed(left), streamed(right), 50));
+        assertSameRows(expected, joined(left, streamed(right), 50));
+    }
+
+    @Test
+    void unknownKeyColumnThrows() {
+        HashJoiner joiner = new HashJoiner(List.of("Missing"), HashJoiner.JoinType.INNER);
+
+        ReportException ex = assertThrows(ReportException.class,
+                () -> joiner.join(sales(new Object[]{"EU", "1", 10}), products(new Object[]{"EU", "1", "One"})));
+        assertEquals(ErrorCode.PIPELINE_COLUMN_MISSING, ex.getErrorCode());
+    }
+}
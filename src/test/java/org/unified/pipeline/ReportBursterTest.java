@@ -0,0 +1,96 @@
+package org.unified.pipeline;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.UnifiedFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportBursterTest {
+
+    private static JasperReport report;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        try (InputStream is = ReportBursterTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            report = JasperCompileManager.compileReport(is);
+        }
+    }
+
+    private static UnifiedFormat accounts(int rows) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("Account", i % 4 == 3 ? "ACC/3" : "ACC-" + (i % 4));
+            row.put("Name", "Customer " + i);
+            row.put("Age", String.valueOf(20 + i));
+            row.put("Score", String.valueOf(i));
+            data.add(row);
+        }
+        return new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return data;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return List.of("Account", "Name", "Age", "Score");
+            }
+        };
+    }
+
+    @Test
+    void burstsIntoOneZipEntryPerKey() throws Exception {
+        ReportBurster burster = new ReportBurster("Account", FileExportFormat.HTML, 2, "ReportTitle");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(4, burster.burstToZip(accounts(20), report, Map.of(), out));
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(Set.of("ACC-0.html", "ACC-1.html", "ACC-2.html", "ACC_3.html"), entries.keySet());
+        assertTrue(entries.get("ACC-1.html").contains("Customer 5"));
+        assertFalse(entries.get("ACC-1.html").contains("Customer 6"));
+        assertTrue(entries.get("ACC_3.html").contains("ACC/3"));
+    }
+
+    @Test
+    void perKeySinkReceivesEveryKey() {
+        Map<String, ByteArrayOutputStream> outputs = new ConcurrentHashMap<>();
+        ReportBurster burster = new ReportBurster("Account", FileExportFormat.PDF);
+
+        burster.burst(accounts(8), report, Map.of(), BurstSink.perKey((key, format) ->
+                outputs.computeIfAbsent(key + "." + format.getExtension(), k -> new ByteArrayOutputStream())));
+
+        assertEquals(Set.of("ACC-0.pdf", "ACC-1.pdf", "ACC-2.pdf", "ACC/3.pdf"), outputs.keySet());
+        outputs.values().forEach(pdf -> assertTrue(pdf.size() > 0));
+    }
+
+    @Test
+    void unknownKeyColumnThrows() {
+        ReportBurster burster = new ReportBurster("Missing", FileExportFormat.PDF);
+        ReportException ex = assertThrows(ReportException.class,
+                () -> burster.burst(accounts(1), report, Map.of(), (key, format, bytes) -> { }));
+        assertEquals(ErrorCode.PIPELINE_COLUMN_MISSING, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,139 @@
+package org.unified.preview;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.XLSXFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportPreviewTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Test
+    void parsingStopsAfterMaxRows() {
+        PreviewOptions options = PreviewOptions.builder().maxRows(25).build();
+        CSVFormat csv = new CSVFormat(largeCsv(100_000), "Large", options.toParseOptions());
+
+        assertEquals(25, csv.getDataRows().size());
+        assertEquals("Name 24", csv.getDataRows().get(24).get("Name"));
+    }
+
+    @Test
+    void streamedXlsxRowsMatchWorkbookParsing(@TempDir Path dir) throws Exception {
+        Path large = dir.resolve("large.xlsx");
+        Date date = new Date(1_700_000_000_000L / 1000 * 1000);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(); OutputStream out = Files.newOutputStream(large)) {
+            Sheet sheet = workbook.createSheet();
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Amount");
+            header.createCell(2).setCellValue("When");
+            header.createCell(3).setCellValue("Active");
+            for (int i = 1; i <= 5_000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Name " + i);
+                row.createCell(1).setCellValue(i * 1.5);
+                Cell when = row.createCell(2);
+                when.setCellValue(date);
+                when.setCellStyle(dateStyle);
+                if (i % 2 == 0) {
+                    row.createCell(3).setCellValue(true);
+                }
+            }
+            workbook.write(out);
+        }
+
+        XLSXFormat preview;
+        try (InputStream in = Files.newInputStream(large)) {
+            preview = new XLSXFormat(in, "Large", ParseOptions.builder().maxRows(10).build());
+        }
+        assertEquals(List.of("Name", "Amount", "When", "Active"), preview.getColumnOrder());
+        assertEquals(10, preview.getDataRows().size());
+        assertEquals(Map.of("Name", "Name 2", "Amount", 3.0, "When", date, "Active", true), preview.getDataRows().get(1));
+        assertNull(preview.getDataRows().get(0).get("Active"));
+
+        XLSXFormat streamed = new XLSXFormat(resource("/XLSX/valid.xlsx"), "Valid", ParseOptions.builder().maxRows(1_000).build());
+        XLSXFormat full = new XLSXFormat(resource("/XLSX/valid.xlsx"), "Valid");
+        assertEquals(full.getColumnOrder(), streamed.getColumnOrder());
+        assertEquals(full.getDataRows(), streamed.getDataRows());
+    }
+
+    @Test
+    void streamedXlsxReportsTheSameHeaderErrors() {
+        for (String fixture : List.of("duplicate_headers", "empty_header", "empty_file", "no_headers", "numeric_header", "malformed")) {
+            String path = "/XLSX/" + fixture + ".xlsx";
+            FormatException expected = assertThrows(FormatException.class, () -> new XLSXFormat(resource(path), fixture));
+            FormatException actual = assertThrows(FormatException.class,
+                    () -> new XLSXFormat(resource(path), fixture, ParseOptions.builder().maxRows(5).build()));
+            assertEquals(expected.getErrorCode(), actual.getErrorCode(), fixture);
+        }
+    }
+
+    @Test
+    void htmlPreviewContainsOnlyTheFirstPage() {
+        PreviewOptions options = PreviewOptions.builder().maxRows(5_000).maxPages(1).build();
+        CSVFormat csv = new CSVFormat(largeCsv(50_000), "Large", options.toParseOptions());
+
+        String html = new String(ReportPreview.html(csv, template(), Map.of("ReportTitle", "Preview"), options), StandardCharsets.UTF_8);
+
+        assertTrue(html.contains("Name 0"));
+        assertFalse(html.contains("Name 4999"));
+        assertTrue(ReportPreview.fill(csv, template(), Map.of("ReportTitle", "Preview"), options).getPages().size() <= 2);
+    }
+
+    @Test
+    void pngPreviewRendersOneImagePerPage() {
+        PreviewOptions options = PreviewOptions.builder().maxRows(500).maxPages(2).zoom(0.5f).build();
+        CSVFormat csv = new CSVFormat(largeCsv(1_000), "Large", options.toParseOptions());
+
+        List<byte[]> pages = ReportPreview.png(csv, template(), Map.of("ReportTitle", "Preview"), options);
+
+        assertEquals(2, pages.size());
+        for (byte[] page : pages) {
+            assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(page, PNG_SIGNATURE.length));
+        }
+    }
+
+    @Test
+    void optionsRequireAtLeastOneRowAndPage() {
+        assertThrows(IllegalArgumentException.class, () -> PreviewOptions.builder().maxRows(0).build());
+        assertThrows(IllegalArgumentException.class, () -> PreviewOptions.builder().maxPages(0).build());
+        assertEquals(100, PreviewOptions.defaults().getMaxRows());
+        assertEquals(1, PreviewOptions.defaults().getMaxPages());
+    }
+
+    private static InputStream largeCsv(int rows) {
+        StringBuilder csv = new StringBuilder("Name,Age,Score\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Name ").append(i).append(',').append(20 + i % 50).append(',').append(i % 100).append('\n');
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream template() {
+        return resource("/templates/simple_report.jrxml");
+    }
+
+    private static InputStream resource(String path) {
+        return ReportPreviewTest.class.getResourceAsStream(path);
+    }
+}
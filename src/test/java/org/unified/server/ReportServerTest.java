@@ -0,0 +1,289 @@
+package org.unified.server;
+
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportServerTest {
+
+    private static final String BOUNDARY = "ReportServerTestBoundary";
+
+    private static JasperReport template;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ReportServer server;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        try (InputStream in = ReportServerTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            template = JasperCompileManager.compileReport(in);
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void servesHealthAndTemplateList() throws Exception {
+        start(ServerConfig.builder().port(0).build());
+
+        assertEquals("OK", get("/health").body());
+        assertEquals("[\"simple\"]", get("/templates").body());
+        assertEquals(405, client.send(request("/health").POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void streamsTheReportForAnUploadedCsv() throws Exception {
+        start(ServerConfig.builder().port(0).build());
+
+        HttpResponse<byte[]> response = client.send(request("/reports/simple?format=html&name=monthly&param.ReportTitle=Hello+Server")
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .header("Accept-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(upload(csv(200))))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/html", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(response.headers().firstValue("Content-Disposition").orElseThrow().contains("monthly.html"));
+        String html = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(html.contains("Hello Server"));
+        assertTrue(html.contains("Name 5"));
+
+        HttpResponse<byte[]> pdf = client.send(request("/reports/simple")
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(upload(csv(10))))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals("application/pdf", pdf.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("%PDF", new String(pdf.body(), 0, 4, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void errorsUseTheErrorCodeStatus() throws Exception {
+        start(ServerConfig.builder().port(0).build());
+
+        HttpResponse<String> unknown = post("/reports/missing", upload(csv(1)));
+        assertEquals(404, unknown.statusCode());
+        assertTrue(unknown.body().contains(ErrorCode.REPORT_TEMPLATE_NOT_FOUND.getCode()));
+
+        assertEquals(406, post("/reports/simple?format=docx", upload(csv(1))).statusCode());
+
+        HttpResponse<String> duplicate = post("/reports/simple", upload("Name,Name\na,b\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(ErrorCode.CSV_HEADER_DUPLICATE.getHttpStatus().value(), duplicate.statusCode());
+        assertTrue(duplicate.body().contains(ErrorCode.CSV_HEADER_DUPLICATE.getCode()));
+    }
+
+    @Test
+    void acceptsOnlyDeclaredTextParameters() throws Exception {
+        start(ServerConfig.builder().port(0).build());
+
+        HttpResponse<String> unprefixed = post("/reports/simple?format=html&ReportTitle=Ignored", upload(csv(1)));
+        assertEquals(200, unprefixed.statusCode());
+        assertFalse(unprefixed.body().contains("Ignored"));
+
+        for (String name : List.of(JRParameter.REPORT_MAX_COUNT, JRParameter.REPORT_LOCALE, "Undeclared")) {
+            HttpResponse<String> rejected = post("/reports/simple?format=html&param." + name + "=1", upload(csv(1)));
+            assertEquals(400, rejected.statusCode());
+            assertTrue(rejected.body().contains(ErrorCode.REPORT_PARAMETER_INVALID.getCode()));
+        }
+    }
+
+    @Test
+    void reportsRowsSkippedWithinTheErrorBudget() throws Exception {
+        start(ServerConfig.builder().port(0).maxRowErrors(5).build());
+
+        byte[] csv = "Name,Age,Score\nAda,36,1\nbroken\nAlan,41,2\nAlso,broken\n".getBytes(StandardCharsets.UTF_8);
+        HttpResponse<String> response = post("/reports/simple?format=html", upload(csv));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("2", response.headers().firstValue("X-Row-Errors").orElseThrow());
+        assertEquals("3,5", response.headers().firstValue("X-Row-Error-Lines").orElseThrow());
+        assertTrue(response.body().contains("Alan"));
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheConcurrencyLimit() throws Exception {
+        start(ServerConfig.builder().port(0).maxConcurrentReports(1).queueTimeout(Duration.ofMillis(100)).build());
+        byte[] body = upload(csv(10));
+        int half = body.length / 2;
+
+        // Send the first half of an upload over a raw socket, so the server holds the only slot while it waits
+        try (Socket held = new Socket("localhost", server.getPort())) {
+            OutputStream out = held.getOutputStream();
+            out.write(("POST /reports/simple HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"
+                    + "Content-Type: multipart/form-data; boundary=" + BOUNDARY + "\r\n"
+                    + "Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body, 0, half);
+            out.flush();
+
+            // The held upload may reach its handler after a request sent later; retry until it holds the slot
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            HttpResponse<String> rejected;
+            do {
+                rejected = post("/reports/simple", upload(csv(1)));
+            } while (rejected.statusCode() == 200 && System.nanoTime() < deadline);
+            assertEquals(503, rejected.statusCode());
+            assertTrue(rejected.body().contains(ErrorCode.REPORT_CAPACITY_EXCEEDED.getCode()));
+
+            out.write(body, half, body.length - half);
+            out.flush();
+            String statusLine = new String(held.getInputStream().readNBytes(12), StandardCharsets.US_ASCII);
+            assertEquals("HTTP/1.1 200", statusLine);
+        }
+    }
+
+    @Test
+    void cancelsReportsThatExceedTheRequestTimeout() throws Exception {
+        start(ServerConfig.builder().port(0).requestTimeout(Duration.ofMillis(300)).build());
+
+        HttpResponse<String> response = client.send(request("/reports/simple")
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SlowRows()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(504, response.statusCode());
+        assertTrue(response.body().contains(ErrorCode.REPORT_DEADLINE_EXCEEDED.getCode()));
+    }
+
+    @Test
+    void closesUploadsThatStopSendingAndFreesTheirSlot() throws Exception {
+        start(ServerConfig.builder().port(0).maxConcurrentReports(1).requestTimeout(Duration.ofSeconds(1)).build());
+        byte[] body = upload(csv(10));
+
+        // Send half of an upload over a raw socket and then nothing more
+        try (Socket stalled = new Socket("localhost", server.getPort())) {
+            stalled.setSoTimeout(10_000);
+            OutputStream out = stalled.getOutputStream();
+            out.write(("POST /reports/simple HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"
+                    + "Content-Type: multipart/form-data; boundary=" + BOUNDARY + "\r\n"
+                    + "Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body, 0, body.length / 2);
+            out.flush();
+
+            long start = System.nanoTime();
+            int read;
+            try {
+                read = stalled.getInputStream().read();
+            } catch (IOException e) {
+                read = -1;
+            }
+            assertEquals(-1, read, "the server should close the connection without a response");
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+
+        HttpResponse<String> next = post("/reports/simple?format=html", upload(csv(1)));
+        assertEquals(200, next.statusCode());
+    }
+
+    // Utility Functions
+
+    private void start(ServerConfig config) throws IOException {
+        server = ReportServer.start(config, Map.of("simple", template));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, byte[] body) throws Exception {
+        return client.send(request(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder("Name,Age,Score\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Name ").append(i).append(',').append(20 + i).append(',').append(i).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] upload(byte[] csv) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"data.csv\"\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(csv);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    /**
+     * An upload that sends one CSV row every 50 ms for two seconds.
+     */
+    private static final class SlowRows extends InputStream {
+        private byte[] pending = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"slow.csv\"\r\n\r\n"
+                + "Name,Age,Score\n").getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private int row;
+
+        @Override
+        public int read() throws IOException {
+            if (position == pending.length) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                if (row == 40) {
+                    return -1;
+                }
+                pending = (row == 39 ? "\r\n--" + BOUNDARY + "--\r\n" : "Name " + row + "," + row + ",1\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                row++;
+                position = 0;
+            }
+            return pending[position++];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int first = read();
+            if (first < 0) {
+                return -1;
+            }
+            b[off] = (byte) first;
+            int count = 1;
+            while (count < len && position < pending.length) {
+                b[off + count++] = pending[position++];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.unified.startup;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.utils.ReportExporter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmUpTest {
+
+    @Test
+    void exportsEverySupportedFormat() {
+        Map<FileExportFormat, Long> exported = WarmUp.run(1);
+
+        assertEquals(ReportExporter.SUPPORTED_FORMATS, exported.keySet());
+        exported.values().forEach(bytes -> assertTrue(bytes > 0));
+    }
+
+    @Test
+    void rejectsZeroIterations() {
+        assertThrows(IllegalArgumentException.class, () -> WarmUp.run(0));
+    }
+
+    @Test
+    void medianOfOddAndEvenTrials() {
+        assertEquals(30, StartupBenchmark.median(new long[]{50, 10, 30}));
+        assertEquals(25, StartupBenchmark.median(new long[]{40, 10, 20, 30}));
+    }
+}
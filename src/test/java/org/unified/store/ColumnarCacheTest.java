@@ -0,0 +1,220 @@
+package org.unified.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.RowError;
+import org.unified.formats.UnifiedFormat;
+import org.unified.formats.XLSXFormat;
+import org.unified.validation.FieldRule;
+import org.unified.validation.FieldType;
+import org.unified.validation.ValidationSchema;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCacheTest {
+
+    private static final ParseOptions OPTIONS = ParseOptions.defaults();
+
+    @TempDir
+    Path cacheDir;
+
+    private static Path cacheFile(ColumnarCache cache, byte[] content) {
+        return cache.getDirectory().resolve(ColumnarCache.key(ColumnarCache.hash(content), "csv", OPTIONS) + ColumnarCache.FILE_SUFFIX);
+    }
+
+    private static UnifiedFormat formatOf(List<Map<String, Object>> rows, List<String> columns) {
+        return new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return rows;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return columns;
+            }
+        };
+    }
+
+    @Test
+    void secondLoadIsServedFromCacheFile() throws Exception {
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] xlsx;
+        try (InputStream is = getClass().getResourceAsStream("/XLSX/valid.xlsx")) {
+            xlsx = is.readAllBytes();
+        }
+
+        UnifiedFormat parsed = cache.load(new ByteArrayInputStream(xlsx), "First", "xlsx", OPTIONS, XLSXFormat::new);
+        UnifiedFormat cached = cache.load(new ByteArrayInputStream(xlsx), "Second", "xlsx", OPTIONS, (in, name, options) -> {
+            throw new AssertionError("Cached content must not be parsed again");
+        });
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals("Second", cached.getSourceName());
+        assertEquals(parsed.getColumnOrder(), cached.getColumnOrder());
+        assertEquals(parsed.getDataRows(), new ArrayList<>(cached.getDataRows()));
+    }
+
+    @Test
+    void typedNullableAndDictionaryColumnsRoundTrip() {
+        List<String> columns = List.of("Region", "Name", "Amount", "Count", "Flag", "Mixed");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("Region", i % 7 == 0 ? null : "R" + i % 3);
+            row.put("Name", "Näme " + i);
+            row.put("Amount", i % 5 == 0 ? null : i * 1.5);
+            row.put("Count", i);
+            row.put("Flag", i % 2 == 0);
+            row.put("Mixed", i % 3 == 0 ? new BigDecimal("1." + i) : i % 3 == 1 ? new Date(i * 1000L) : "text");
+            rows.add(row);
+        }
+
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] content = "typed".getBytes(StandardCharsets.UTF_8);
+        cache.load(new ByteArrayInputStream(content), "Typed", "test", OPTIONS, (in, name, options) -> formatOf(rows, columns));
+        UnifiedFormat cached = cache.load(new ByteArrayInputStream(content), "Typed", "test", OPTIONS, (in, name, options) -> fail());
+
+        assertEquals(columns, cached.getColumnOrder());
+        assertEquals(rows, new ArrayList<>(cached.getDataRows()));
+    }
+
+    @Test
+    void offHeapRowsAreWrittenWithoutLeavingSpoolFiles() throws Exception {
+        ParseOptions offHeap = ParseOptions.builder().rowStorage(ParseOptions.RowStorage.OFF_HEAP).build();
+        byte[] content = getClass().getResourceAsStream("/CSV/valid.csv").readAllBytes();
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+
+        UnifiedFormat parsed = cache.load(new ByteArrayInputStream(content), "Valid", "csv", offHeap, CSVFormat::new);
+        UnifiedFormat cached = cache.load(new ByteArrayInputStream(content), "Valid", "csv", offHeap, (in, name, o) -> fail());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(new ArrayList<>(parsed.getDataRows()), new ArrayList<>(cached.getDataRows()));
+        try (var files = Files.list(cache.getDirectory())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedFilesAreEvicted() throws Exception {
+        InputStream csv = getClass().getResourceAsStream("/CSV/valid.csv");
+        byte[] content = csv.readAllBytes();
+        ColumnarCache probe = new ColumnarCache(cacheDir.resolve("probe"), Long.MAX_VALUE);
+        probe.load(new ByteArrayInputStream(content), "Probe", "csv", OPTIONS, CSVFormat::new);
+        long fileSize = probe.getSizeBytes();
+
+        ColumnarCache cache = new ColumnarCache(cacheDir.resolve("bounded"), fileSize * 2 + fileSize / 2);
+        List<byte[]> inputs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // Trailing blank lines change the hash but not the parsed rows
+            inputs.add((new String(content, StandardCharsets.UTF_8) + "\n".repeat(i)).getBytes(StandardCharsets.UTF_8));
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < inputs.size(); i++) {
+            cache.load(new ByteArrayInputStream(inputs.get(i)), "Csv", "csv", OPTIONS, CSVFormat::new);
+            Path written = cacheFile(cache, inputs.get(i));
+            if (Files.exists(written)) {
+                // Pin distinct access times; file time resolution may be coarser than the loop
+                Files.setLastModifiedTime(written, FileTime.fromMillis(now - 10_000 + i * 1000L));
+            }
+        }
+
+        try (var files = Files.list(cache.getDirectory())) {
+            assertEquals(2, files.count());
+        }
+        assertFalse(Files.exists(cacheFile(cache, inputs.get(0))));
+        assertTrue(Files.exists(cacheFile(cache, inputs.get(2))));
+    }
+
+    @Test
+    void corruptedFileIsDiscardedAndReparsed() throws Exception {
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] content = getClass().getResourceAsStream("/CSV/valid.csv").readAllBytes();
+        Files.write(cacheFile(cache, content), new byte[]{1, 2, 3});
+
+        UnifiedFormat format = cache.load(new ByteArrayInputStream(content), "Valid", "csv", OPTIONS, CSVFormat::new);
+
+        assertEquals(0, cache.getHits());
+        assertFalse(format.getDataRows().isEmpty());
+
+        cache.load(new ByteArrayInputStream(content), "Valid", "csv", OPTIONS, CSVFormat::new);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void parseMetadataIsServedFromCacheFile() {
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] content = "Id,Amount\n1,10\n2\nx,30\n".getBytes(StandardCharsets.UTF_8);
+        ParseOptions options = ParseOptions.builder()
+                .collectStatistics(true)
+                .maxRowErrors(5)
+                .validationSchema(ValidationSchema.of(FieldRule.builder().column("Id").type(FieldType.INTEGER).build()))
+                .build();
+
+        UnifiedFormat parsed = cache.load(new ByteArrayInputStream(content), "Ledger", "csv", options, CSVFormat::new);
+        UnifiedFormat cached = cache.load(new ByteArrayInputStream(content), "Ledger", "csv", options, (in, name, o) -> fail());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(List.of(3L), cached.getRowErrors().stream().map(RowError::line).toList());
+        assertEquals(parsed.getRowErrors(), cached.getRowErrors());
+        assertEquals(parsed.getValidationResult().getViolations(), cached.getValidationResult().getViolations());
+        assertFalse(cached.getValidationResult().isValid());
+        assertEquals(parsed.getColumnStatistics().keySet(), cached.getColumnStatistics().keySet());
+        assertEquals(30.0, cached.getColumnStatistics().get("Amount").getMax());
+    }
+
+    @Test
+    void parsesWithDifferentOptionsOrParsersAreCachedSeparately() throws Exception {
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] content = getClass().getResourceAsStream("/CSV/valid.csv").readAllBytes();
+        ParseOptions preview = ParseOptions.builder().maxRows(1).build();
+
+        UnifiedFormat first = cache.load(new ByteArrayInputStream(content), "Preview", "csv", preview, CSVFormat::new);
+        UnifiedFormat full = cache.load(new ByteArrayInputStream(content), "Full", "csv", OPTIONS, CSVFormat::new);
+        cache.load(new ByteArrayInputStream(content), "Other", "other", OPTIONS, CSVFormat::new);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, first.getDataRows().size());
+        assertTrue(full.getDataRows().size() > 1);
+
+        Path upload = cacheDir.resolve("upload.csv");
+        Files.write(upload, content);
+        assertEquals(full.getDataRows(), new ArrayList<>(cache.load(upload, "Full", "csv", OPTIONS, CSVFormat::new).getDataRows()));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void serializedValuesAreNeitherCachedNorRead() {
+        List<String> columns = List.of("Id");
+        List<Map<String, Object>> rows = List.of(new LinkedHashMap<>(Map.of("Id", UUID.randomUUID())));
+        ColumnarCache cache = new ColumnarCache(cacheDir, 10_000_000);
+        byte[] content = "uuid".getBytes(StandardCharsets.UTF_8);
+
+        cache.load(new ByteArrayInputStream(content), "Ids", "test", OPTIONS, (in, name, options) -> formatOf(rows, columns));
+        UnifiedFormat reparsed = cache.load(new ByteArrayInputStream(content), "Ids", "test", OPTIONS,
+                (in, name, options) -> formatOf(rows, columns));
+
+        assertEquals(0, cache.getHits());
+        assertEquals(rows, reparsed.getDataRows());
+
+        RowCodec.Encoder encoder = new RowCodec.Encoder();
+        encoder.write(UUID.randomUUID());
+        FormatException e = assertThrows(FormatException.class, () -> new RowCodec.Decoder(false).read(encoder.encoded()));
+        assertEquals(ErrorCode.ROW_STORE_CORRUPTED, e.getErrorCode());
+    }
+}
@@ -0,0 +1,119 @@
+package org.unified.store;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+import org.unified.formats.RowCursor;
+import org.unified.utils.ReportExporter;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillableRowStoreTest {
+
+    private static final List<String> COLUMNS = List.of("Name", "Age", "Score");
+    private static JasperReport report;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        try (InputStream is = SpillableRowStoreTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            report = JasperCompileManager.compileReport(is);
+        }
+    }
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("Name", "Name-" + i);
+        row.put("Age", String.valueOf(20 + i % 50));
+        row.put("Score", String.valueOf(i));
+        return row;
+    }
+
+    @Test
+    void roundTripsValueTypes() {
+        List<String> columns = List.of("s", "i", "l", "d", "b", "date", "dec", "local", "nil");
+        Date now = new Date();
+        try (SpillableRowStore store = new SpillableRowStore(columns)) {
+            store.append(new Object[]{"héllo", 42, 7L, 3.5, true, now, new BigDecimal("12.50"), LocalDate.of(2024, 2, 29), null});
+
+            Map<String, Object> decoded = store.get(0);
+            assertEquals("héllo", decoded.get("s"));
+            assertEquals(42, decoded.get("i"));
+            assertEquals(7L, decoded.get("l"));
+            assertEquals(3.5, decoded.get("d"));
+            assertEquals(true, decoded.get("b"));
+            assertEquals(now, decoded.get("date"));
+            assertEquals(new BigDecimal("12.50"), decoded.get("dec"));
+            assertEquals(LocalDate.of(2024, 2, 29), decoded.get("local"));
+            assertNull(decoded.get("nil"));
+            assertEquals(columns, new ArrayList<>(decoded.keySet()));
+        }
+    }
+
+    @Test
+    void spillsToDiskPastOffHeapLimit() {
+        try (SpillableRowStore store = new SpillableRowStore(COLUMNS, 4096, 1024)) {
+            for (int i = 0; i < 5000; i++) {
+                store.add(row(i));
+            }
+
+            assertEquals(5000, store.size());
+            assertTrue(store.getOffHeapBytes() <= 4096);
+            assertTrue(store.getSpilledBytes() > 0);
+
+            assertEquals(row(0), store.get(0));
+            assertEquals(row(1500), store.get(1500));
+            assertEquals(row(4999), store.get(4999));
+
+            int count = 0;
+            try (RowCursor cursor = store.openCursor()) {
+                while (cursor.next()) {
+                    assertEquals("Name-" + count, cursor.getValue(0));
+                    count++;
+                }
+            }
+            assertEquals(5000, count);
+        }
+    }
+
+    @Test
+    void appendAfterReadIsVisible() {
+        try (SpillableRowStore store = new SpillableRowStore(COLUMNS, 0)) {
+            store.add(row(1));
+            assertEquals(row(1), store.get(0));
+
+            store.add(row(2));
+            assertEquals(row(2), store.get(1));
+            assertEquals(List.of(row(1), row(2)), new ArrayList<>(store));
+        }
+    }
+
+    @Test
+    void closeEmptiesTheStore() {
+        SpillableRowStore store = new SpillableRowStore(COLUMNS, 0);
+        store.add(row(1));
+        store.close();
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    void csvParsedOffHeapExportsReport() {
+        InputStream inputStream = getClass().getResourceAsStream("/CSV/valid.csv");
+        ParseOptions options = ParseOptions.builder().rowStorage(ParseOptions.RowStorage.OFF_HEAP).build();
+        CSVFormat format = new CSVFormat(inputStream, "OffHeap", options);
+
+        assertInstanceOf(SpillableRowStore.class, format.getDataRows());
+        assertEquals("Rehber", format.getDataRows().get(0).get("Name"));
+
+        byte[] pdf = ReportExporter.export(format.getDataRows(), report, Map.of("ReportTitle", "Store"), FileExportFormat.PDF);
+        assertTrue(pdf.length > 0);
+    }
+}
@@ -0,0 +1,97 @@
+package org.unified.templates;
+
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.ReportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateRegistryTest {
+
+    @Test
+    void compilesEveryTemplateInTheDirectory(@TempDir Path dir) throws Exception {
+        for (int i = 0; i < 6; i++) {
+            Files.writeString(dir.resolve("report" + i + ".jrxml"), jrxml("report_" + i));
+        }
+        copy("/templates/simple_report.jasper", dir.resolve("precompiled.jasper"));
+        Files.writeString(dir.resolve("notes.txt"), "not a template");
+
+        TemplateRegistry registry = TemplateRegistry.load(dir);
+
+        assertEquals(7, registry.size());
+        assertEquals(Set.of("precompiled", "report0", "report1", "report2", "report3", "report4", "report5"), registry.names());
+        assertEquals("report_3", registry.get("report3").getName());
+        assertEquals(1, registry.getCompiled("report3").version());
+        assertEquals(dir.resolve("report3.jrxml"), registry.getCompiled("report3").source());
+        assertNotNull(registry.get("precompiled"));
+
+        ReportException missing = assertThrows(ReportException.class, () -> registry.get("unknown"));
+        assertEquals(ErrorCode.REPORT_TEMPLATE_NOT_FOUND, missing.getErrorCode());
+    }
+
+    @Test
+    void invalidTemplateFailsTheLoad(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("good.jrxml"), jrxml("good"));
+        Files.writeString(dir.resolve("broken.jrxml"), "<jasperReport");
+
+        ReportException e = assertThrows(ReportException.class, () -> TemplateRegistry.load(dir));
+        assertEquals(ErrorCode.REPORT_TEMPLATE_COMPILE_FAILED, e.getErrorCode());
+    }
+
+    @Test
+    void reloadsChangedTemplatesInTheBackground(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("sales.jrxml"), jrxml("sales_v1"));
+
+        try (TemplateRegistry registry = TemplateRegistry.watch(dir)) {
+            JasperReport inFlight = registry.get("sales");
+
+            Files.writeString(dir.resolve("sales.jrxml"), jrxml("sales_v2"));
+            awaitUntil(() -> "sales_v2".equals(registry.get("sales").getName()));
+            assertEquals(2, registry.getCompiled("sales").version());
+            assertEquals("sales_v1", inFlight.getName());
+
+            Files.writeString(dir.resolve("sales.jrxml"), "<jasperReport");
+            Files.writeString(dir.resolve("added.jrxml"), jrxml("added"));
+            awaitUntil(() -> registry.contains("added"));
+            assertEquals("sales_v2", registry.get("sales").getName());
+
+            Files.delete(dir.resolve("added.jrxml"));
+            awaitUntil(() -> !registry.contains("added"));
+            assertEquals(List.of("sales"), List.copyOf(registry.names()));
+        }
+    }
+
+    // Utility Functions
+
+    private static String jrxml(String reportName) throws IOException {
+        try (InputStream in = TemplateRegistryTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("name=\"simple_report\"", "name=\"" + reportName + "\"");
+        }
+    }
+
+    private static void copy(String resource, Path target) throws IOException {
+        try (InputStream in = TemplateRegistryTest.class.getResourceAsStream(resource)) {
+            Files.copy(in, target);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.unified.utils;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRMapCollectionDataSource;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.common.exceptions.ReportException;
+import org.unified.formats.ArrayRow;
+import org.unified.store.SpillableRowStore;
+
+import java.io.InputStream;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedDataSourceTest {
+
+    @Test
+    void readsMapRowsByResolvedIndex() throws JRException {
+        List<Map<String, Object>> rows = List.of(
+                row("Name", "Ada", "Age", 36),
+                row("Age", 41, "Name", "Alan"),
+                row("Name", "Grace", "Age", 85, "Extra", "only here"));
+        JRField name = field("Name");
+        JRField age = field("Age");
+        JRField extra = field("Extra");
+        JRField missing = field("Missing");
+
+        IndexedDataSource dataSource = IndexedDataSource.of(rows, List.of("Name", "Age"));
+        List<List<Object>> read = new ArrayList<>();
+        while (dataSource.next()) {
+            read.add(Arrays.asList(dataSource.getFieldValue(name), dataSource.getFieldValue(age),
+                    dataSource.getFieldValue(extra), dataSource.getFieldValue(missing)));
+        }
+
+        assertEquals(List.of(
+                Arrays.asList("Ada", 36, null, null),
+                Arrays.asList("Alan", 41, null, null),
+                Arrays.asList("Grace", 85, "only here", null)), read);
+    }
+
+    @Test
+    void fieldsRequestedOutOfOrderStillResolve() throws JRException {
+        IndexedDataSource dataSource = IndexedDataSource.of(List.of(row("A", 1, "B", 2, "C", 3), row("A", 4, "B", 5, "C", 6)), null);
+        JRField a = field("A");
+        JRField b = field("B");
+        JRField c = field("C");
+
+        assertTrue(dataSource.next());
+        assertEquals(List.of(1, 2, 3), List.of(dataSource.getFieldValue(a), dataSource.getFieldValue(b), dataSource.getFieldValue(c)));
+        assertTrue(dataSource.next());
+        assertEquals(List.of(6, 4, 5, 6), List.of(dataSource.getFieldValue(c), dataSource.getFieldValue(a),
+                dataSource.getFieldValue(b), dataSource.getFieldValue(c)));
+        assertFalse(dataSource.next());
+
+        dataSource.moveFirst();
+        assertTrue(dataSource.next());
+        assertEquals(2, dataSource.getFieldValue(b));
+    }
+
+    @Test
+    void readsTypedRowsFromTheRowStore() throws JRException {
+        try (SpillableRowStore store = new SpillableRowStore(List.of("Name", "Amount", "When"))) {
+            Date when = new Date(1_700_000_000_000L);
+            store.append(new Object[]{"Ada", 1.5, when});
+            store.append(new Object[]{"Alan", null, when});
+
+            IndexedDataSource dataSource = IndexedDataSource.of(store, null);
+            JRField amount = field("Amount");
+            JRField whenField = field("When");
+
+            assertTrue(dataSource.next());
+            assertEquals(1.5, dataSource.getFieldValue(amount));
+            assertEquals(when, dataSource.getFieldValue(whenField));
+            assertTrue(dataSource.next());
+            assertNull(dataSource.getFieldValue(amount));
+            assertNull(dataSource.getFieldValue(field("Missing")));
+            assertFalse(dataSource.next());
+        }
+    }
+
+    @Test
+    void fillsTheSameReportAsTheMapDataSource() throws Exception {
+        JasperReport template;
+        try (InputStream in = getClass().getResourceAsStream("/templates/simple_report.jrxml")) {
+            template = JasperCompileManager.compileReport(in);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(row("Name", "Name " + i, "Age", String.valueOf(20 + i), "Score", String.valueOf(i % 7)));
+        }
+        @SuppressWarnings("unchecked")
+        Collection<Map<String, ?>> maps = (Collection<Map<String, ?>>) (Collection<?>) rows;
+
+        byte[] expected = ReportExporter.exportFromDataSource(new JRMapCollectionDataSource(maps), template,
+                Map.of("ReportTitle", "Indexed"), FileExportFormat.XML);
+        byte[] actual = ReportExporter.exportFromDataSource(IndexedDataSource.of(rows, List.of("Name", "Age", "Score")), template,
+                Map.of("ReportTitle", "Indexed"), FileExportFormat.XML);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void readsArrayRowsByPositionAndOtherMapsByKey() throws JRException {
+        ArrayRow.Layout layout = new ArrayRow.Layout(List.of("Name", "Age"));
+        ArrayRow edited = new ArrayRow(layout, new Object[]{"Alan", 41});
+        edited.put("Age", 42);
+        List<Map<String, Object>> rows = List.of(
+                new ArrayRow(layout, new Object[]{"Ada", 36}),
+                edited,
+                new ArrayRow(new ArrayRow.Layout(List.of("Age", "Name")), new Object[]{85, "Grace"}),
+                row("Name", "Edsger", "Age", 72));
+        JRField name = field("Name");
+        JRField age = field("Age");
+
+        IndexedDataSource dataSource = IndexedDataSource.of(rows, List.of("Name", "Age"));
+        List<List<Object>> read = new ArrayList<>();
+        while (dataSource.next()) {
+            read.add(List.of(dataSource.getFieldValue(name), dataSource.getFieldValue(age)));
+        }
+
+        assertEquals(List.of(List.of("Ada", 36), List.of("Alan", 42), List.of("Grace", 85), List.of("Edsger", 72)), read);
+    }
+
+    @Test
+    void emptyRowsAreRejected() {
+        ReportException e = assertThrows(ReportException.class, () -> IndexedDataSource.of(List.of(), null));
+        assertEquals(ErrorCode.REPORT_DATA_EMPTY, e.getErrorCode());
+    }
+
+    // Utility Functions
+
+    private static Map<String, Object> row(Object... keysAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    private static JRField field(String name) {
+        JRDesignField field = new JRDesignField();
+        field.setName(name);
+        field.setValueClass(Object.class);
+        return field;
+    }
+}
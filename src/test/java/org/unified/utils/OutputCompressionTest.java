@@ -0,0 +1,134 @@
+package org.unified.utils;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.FileExportFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputCompressionTest {
+
+    private static JasperPrint jasperPrint;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        try (InputStream is = OutputCompressionTest.class.getResourceAsStream("/templates/simple_report.jrxml")) {
+            JasperReport report = JasperCompileManager.compileReport(is);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                rows.add(Map.of("name", "Name " + i, "age", 20 + i % 50));
+            }
+            jasperPrint = ReportExporter.fill(rows, report, Map.of("ReportTitle", "Compressed"));
+        }
+    }
+
+    @Test
+    void gzipExportDecodesToTheUncompressedReport() throws Exception {
+        for (FileExportFormat format : List.of(FileExportFormat.HTML, FileExportFormat.XML)) {
+            byte[] plain = export(format);
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+            ExportMetadata metadata = ReportExporter.exportTo(jasperPrint, format, sink, OutputCompression.gzip());
+
+            assertEquals(ContentEncoding.GZIP, metadata.contentEncoding());
+            assertEquals(plain.length, metadata.contentBytes());
+            assertEquals(sink.size(), metadata.encodedBytes());
+            assertTrue(metadata.encodedBytes() * 5 < metadata.contentBytes(), format + " shrinks");
+            assertArrayEquals(plain, new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray())).readAllBytes());
+        }
+    }
+
+    @Test
+    void deflateExportUsesTheZlibFormatAtTheChosenLevel() throws Exception {
+        byte[] plain = export(FileExportFormat.XML);
+        ByteArrayOutputStream fast = new ByteArrayOutputStream();
+        ByteArrayOutputStream best = new ByteArrayOutputStream();
+
+        ReportExporter.exportTo(jasperPrint, FileExportFormat.XML, fast, OutputCompression.deflate(Deflater.BEST_SPEED));
+        ExportMetadata metadata = ReportExporter.exportTo(jasperPrint, FileExportFormat.XML, best,
+                OutputCompression.deflate(Deflater.BEST_COMPRESSION));
+
+        assertEquals("deflate", metadata.contentEncoding().getToken());
+        assertTrue(best.size() <= fast.size());
+        assertArrayEquals(plain, new InflaterInputStream(new ByteArrayInputStream(fast.toByteArray())).readAllBytes());
+        assertArrayEquals(plain, new InflaterInputStream(new ByteArrayInputStream(best.toByteArray())).readAllBytes());
+    }
+
+    @Test
+    void precompressedFormatsAreWrittenAsProduced() {
+        OutputCompression compression = OutputCompression.gzip();
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+        ExportMetadata metadata = ReportExporter.exportTo(jasperPrint, FileExportFormat.PDF, sink, compression);
+
+        assertEquals(ContentEncoding.IDENTITY, compression.encodingFor(FileExportFormat.PDF));
+        assertEquals(ContentEncoding.IDENTITY, metadata.contentEncoding());
+        assertEquals(metadata.contentBytes(), metadata.encodedBytes());
+        assertEquals("%PDF", new String(Arrays.copyOf(sink.toByteArray(), 4)));
+    }
+
+    @Test
+    void finishKeepsTheSinkOpen() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream sink = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        byte[] data = new byte[200_000];
+        new Random(7).nextBytes(data);
+
+        CompressingOutputStream out = OutputCompression.gzip(Deflater.BEST_SPEED).wrap(FileExportFormat.HTML, sink);
+        out.write(data, 0, 10);
+        out.write(data[10]);
+        out.write(data, 11, data.length - 11);
+        out.finish();
+        out.finish();
+
+        assertFalse(closed[0]);
+        assertArrayEquals(data, new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray())).readAllBytes());
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IllegalArgumentException.class, () -> OutputCompression.gzip(10));
+    }
+
+    @Test
+    void flushMakesEverythingWrittenSoFarDecodable() throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        byte[] page = "<tr><td>first page</td></tr>".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        CompressingOutputStream out = OutputCompression.gzip(Deflater.DEFAULT_COMPRESSION).wrap(FileExportFormat.HTML, sink);
+        assertEquals(0, sink.size());
+        out.write(page);
+        out.flush();
+
+        byte[] flushed = sink.toByteArray();
+        assertEquals(flushed.length, out.getEncodedBytes());
+        assertArrayEquals(page, new GZIPInputStream(new ByteArrayInputStream(flushed)).readNBytes(page.length));
+
+        out.write(page);
+        out.finish();
+        assertEquals(sink.size(), out.getEncodedBytes());
+        assertEquals(2L * page.length, out.getContentBytes());
+    }
+
+    private static byte[] export(FileExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportExporter.exportTo(jasperPrint, format, out);
+        return out.toByteArray();
+    }
+}
@@ -10,12 +10,15 @@ import org.junit.jupiter.api.Test;
 import org.unified.common.enums.ErrorCode;
 import org.unified.common.enums.FileExportFormat;
 import org.unified.common.exceptions.ReportException;
+import org.unified.concurrent.CancellationToken;
+import org.unified.formats.UnifiedFormat;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -107,4 +110,61 @@ class ReportExporterTest {
         assertEquals(ErrorCode.REPORT_FORMAT_UNSUPPORTED, ex.getErrorCode());
     }
 
+    @Test
+    void fillWithPageLimit_stopsReadingRecordsOnceThePagesAreComplete() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            rows.add(Map.of("Name", "Name " + i, "Age", "30", "Score", "1"));
+        }
+        UnifiedFormat input = new UnifiedFormat() {
+            @Override
+            public List<Map<String, Object>> getDataRows() {
+                return rows;
+            }
+
+            @Override
+            public List<String> getColumnOrder() {
+                return List.of("Name", "Age", "Score");
+            }
+        };
+
+        try (CancellationToken token = CancellationToken.create()) {
+            JasperPrint limited = ReportExporter.fill(input, report, sampleParams(), token, 1);
+            assertTrue(limited.getPages().size() <= 2);
+        }
+        assertTrue(ReportExporter.fill(input, report, sampleParams(), CancellationToken.NONE, 1).getPages().size() <= 2);
+    }
+
+    @Test
+    void exportAll_fillsOnceAndProducesEveryFormat() {
+        JasperPrint print = ReportExporter.fill(sampleData(), report, sampleParams());
+        Set<FileExportFormat> formats = EnumSet.of(FileExportFormat.PDF, FileExportFormat.HTML, FileExportFormat.XLSX);
+
+        ExecutorService executor = Executors.newFixedThreadPool(formats.size());
+        try {
+            Map<FileExportFormat, byte[]> outputs = ReportExporter.exportAll(print, formats, executor);
+            assertEquals(formats, outputs.keySet());
+            assertEquals("%PDF", new String(outputs.get(FileExportFormat.PDF), 0, 4, StandardCharsets.US_ASCII));
+            outputs.values().forEach(bytes -> assertTrue(bytes.length > 0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void exportAll_streamsIntoSinks() {
+        JasperPrint print = ReportExporter.fill(sampleData(), report, sampleParams());
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+
+        ReportExporter.exportAll(print, Map.of(FileExportFormat.XML, xml), Runnable::run);
+        assertTrue(xml.toString(StandardCharsets.UTF_8).contains("jasperPrint"));
+    }
+
+    @Test
+    void exportAll_withUnsupportedFormat_throwsException() {
+        JasperPrint print = ReportExporter.fill(sampleData(), report, sampleParams());
+        ReportException ex = assertThrows(ReportException.class, () ->
+                ReportExporter.exportAll(print, EnumSet.of(FileExportFormat.PDF, FileExportFormat.CSV), Runnable::run));
+        assertEquals(ErrorCode.REPORT_FORMAT_UNSUPPORTED, ex.getErrorCode());
+    }
 }
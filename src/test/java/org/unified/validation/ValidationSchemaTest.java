@@ -0,0 +1,143 @@
+package org.unified.validation;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.ParseOptions;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationSchemaTest {
+
+    private static final ValidationSchema ORDERS = ValidationSchema.of(
+            FieldRule.builder().column("Id").type(FieldType.INTEGER).required(true).build(),
+            FieldRule.builder().column("Amount").type(FieldType.DECIMAL).min(0.0).max(1000.0).build(),
+            FieldRule.builder().column("Code").pattern("[A-Z]{3}").build(),
+            FieldRule.builder().column("Status").allowedValues(Set.of("OPEN", "CLOSED")).build(),
+            FieldRule.builder().column("Placed").type(FieldType.DATE).build());
+
+    @Test
+    void violationsAreCollectedWhileParsing() {
+        String csv = """
+                Id,Amount,Code,Status,Placed
+                1,10.5,ABC,OPEN,2024-01-31
+                ,20,ABC,OPEN,2024-02-01
+                3,-1,abc,PENDING,yesterday
+                x4,12,ABCD,CLOSED,
+                """;
+        CSVFormat format = new CSVFormat(stream(csv), "Orders", ParseOptions.builder().validationSchema(ORDERS).build());
+
+        ValidationResult result = format.getValidationResult();
+        assertEquals(4, result.getRowCount());
+        assertEquals(List.of(
+                new Violation(3, "Id", "", ErrorCode.VALIDATION_REQUIRED),
+                new Violation(4, "Amount", "-1", ErrorCode.VALIDATION_OUT_OF_RANGE),
+                new Violation(4, "Code", "abc", ErrorCode.VALIDATION_PATTERN_MISMATCH),
+                new Violation(4, "Status", "PENDING", ErrorCode.VALIDATION_VALUE_NOT_ALLOWED),
+                new Violation(4, "Placed", "yesterday", ErrorCode.VALIDATION_TYPE_MISMATCH),
+                new Violation(5, "Id", "x4", ErrorCode.VALIDATION_TYPE_MISMATCH),
+                new Violation(5, "Code", "ABCD", ErrorCode.VALIDATION_PATTERN_MISMATCH)), result.getViolations());
+        assertEquals(4, format.getDataRows().size());
+
+        FormatException e = assertThrows(FormatException.class, format::validateFields);
+        assertEquals(ErrorCode.VALIDATION_FAILED, e.getErrorCode());
+    }
+
+    @Test
+    void csvViolationsReportTheFileLineAfterSkippedRows() {
+        String csv = "Id,Status\n1,OPEN\nbroken\n3,\"PEND\nING\"\n4,LOST\n";
+        ValidationSchema schema = ValidationSchema.of(
+                FieldRule.builder().column("Status").allowedValues(Set.of("OPEN", "CLOSED")).build());
+        ParseOptions options = ParseOptions.builder().validationSchema(schema).maxRowErrors(1).build();
+
+        CSVFormat format = new CSVFormat(stream(csv), "Orders", options);
+
+        assertEquals(List.of(
+                new Violation(4, "Status", "PEND\nING", ErrorCode.VALIDATION_VALUE_NOT_ALLOWED),
+                new Violation(6, "Status", "LOST", ErrorCode.VALIDATION_VALUE_NOT_ALLOWED)),
+                format.getValidationResult().getViolations());
+    }
+
+    @Test
+    void violationsBeyondTheLimitAreOnlyCounted() {
+        ValidationSchema schema = ValidationSchema.builder()
+                .fields(List.of(FieldRule.builder().column("Id").type(FieldType.INTEGER).build()))
+                .maxViolations(2)
+                .build();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(Map.of("Id", "id-" + i));
+        }
+
+        ValidationResult result = schema.compile(List.of("Id")).validate(rows, 1);
+
+        assertEquals(10, result.getViolationCount());
+        assertEquals(List.of(1L, 2L), result.getViolations().stream().map(Violation::row).toList());
+        assertFalse(result.isValid());
+    }
+
+    @Test
+    void parallelChunksReportViolationsInRowOrder() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("Id", i % 9_973 == 0 ? "bad" : String.valueOf(i));
+            row.put("Amount", (double) (i % 2000));
+            row.put("Code", "ABC");
+            row.put("Status", "OPEN");
+            row.put("Placed", new Date());
+            rows.add(row);
+        }
+        CompiledSchema schema = ORDERS.compile(List.of("Id", "Amount", "Code", "Status", "Placed"));
+
+        ValidationResult sequential = schema.validate(rows, 1);
+        ValidationResult parallel = schema.validate(rows, 4);
+
+        assertEquals(sequential.getViolationCount(), parallel.getViolationCount());
+        assertEquals(sequential.getViolations(), parallel.getViolations());
+        List<Long> violatedRows = parallel.getViolations().stream().map(Violation::row).toList();
+        assertEquals(violatedRows.stream().sorted().toList(), violatedRows);
+        assertEquals(100, parallel.getViolations().size());
+        assertTrue(parallel.getViolationCount() > 100);
+    }
+
+    @Test
+    void offHeapRowsAreValidatedThroughTheirCursor() {
+        String csv = "Id,Status\n1,OPEN\n2,LOST\n3,CLOSED\n";
+        ParseOptions options = ParseOptions.builder().rowStorage(ParseOptions.RowStorage.OFF_HEAP).build();
+        CSVFormat format = new CSVFormat(stream(csv), "Orders", options);
+        ValidationSchema schema = ValidationSchema.of(
+                FieldRule.builder().column("Status").allowedValues(Set.of("OPEN", "CLOSED")).build());
+
+        ValidationResult result = schema.compile(format.getColumnOrder()).validate(format.getDataRows());
+
+        assertEquals(List.of(new Violation(2, "Status", "LOST", ErrorCode.VALIDATION_VALUE_NOT_ALLOWED)), result.getViolations());
+    }
+
+    @Test
+    void unknownSchemaColumnIsRejected() {
+        ParseOptions options = ParseOptions.builder().validationSchema(ORDERS).build();
+
+        FormatException e = assertThrows(FormatException.class, () -> new CSVFormat(stream("Id\n1\n"), "Ids", options));
+        assertEquals(ErrorCode.VALIDATION_COLUMN_MISSING, e.getErrorCode());
+    }
+
+    @Test
+    void inputsWithoutSchemaAreNotValidated() {
+        CSVFormat format = new CSVFormat(stream("Id\nnot a number\n"), "Ids", null);
+
+        assertSame(ValidationResult.NOT_VALIDATED, format.getValidationResult());
+        assertDoesNotThrow(format::validateFields);
+    }
+
+    // Utility Functions
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package org.unified.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.unified.common.enums.ContentEncoding;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.enums.FileExportFormat;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.UnifiedFormat;
+import org.unified.utils.OutputCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResponsesTest {
+
+    @Test
+    void streamsTheExportWithTypeAndDisposition() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = ReportResponses.stream(
+                csv(), template(), Map.of("ReportTitle", "Streamed"), FileExportFormat.PDF, "monthly");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
+        assertEquals("monthly.pdf", response.getHeaders().getContentDisposition().getFilename());
+        assertTrue(response.getHeaders().getContentDisposition().isAttachment());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(new String(body(response), StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+    }
+
+    @Test
+    void compressesTextFormatsAndSetsContentEncoding() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = ReportResponses.stream(
+                csv(), template(), Map.of("ReportTitle", "Streamed"), FileExportFormat.HTML, "monthly",
+                ReportResponses.negotiate("br, gzip;q=0.8, deflate"));
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        String html = new String(new GZIPInputStream(new ByteArrayInputStream(body(response))).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(html.contains("Name 9"));
+    }
+
+    @Test
+    void errorsBeforeTheFirstByteUseTheErrorCodeStatus() throws IOException {
+        ResponseEntity<StreamingResponseBody> badTemplate = ReportResponses.stream(
+                csv(), new ByteArrayInputStream("not a template".getBytes(StandardCharsets.UTF_8)), Map.of(), FileExportFormat.PDF, "report");
+        assertEquals(ErrorCode.REPORT_TEMPLATE_COMPILE_FAILED.getHttpStatus(), badTemplate.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, badTemplate.getHeaders().getContentType());
+        assertTrue(new String(body(badTemplate), StandardCharsets.UTF_8)
+                .startsWith("{\"code\":\"" + ErrorCode.REPORT_TEMPLATE_COMPILE_FAILED.getCode() + "\""));
+
+        ResponseEntity<StreamingResponseBody> unsupported = ReportResponses.stream(
+                csv(), template(), Map.of(), FileExportFormat.DOCX, "report");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, unsupported.getStatusCode());
+
+        ResponseEntity<StreamingResponseBody> rawStream = ReportResponses.stream(
+                new ByteArrayInputStream(new byte[0]), template(), Map.of(), FileExportFormat.PDF, "report");
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, rawStream.getStatusCode());
+
+        UnifiedFormat empty = new CSVFormat(new ByteArrayInputStream("Name,Age,Score\n".getBytes(StandardCharsets.UTF_8)), "Empty");
+        ResponseEntity<StreamingResponseBody> noData = ReportResponses.stream(empty, template(), Map.of(), FileExportFormat.PDF, "report");
+        assertEquals(HttpStatus.NO_CONTENT, noData.getStatusCode());
+        assertNull(noData.getBody());
+    }
+
+    @Test
+    void negotiatesFromAcceptEncoding() {
+        assertEquals(ContentEncoding.IDENTITY, ReportResponses.negotiate(null).getEncoding());
+        assertEquals(ContentEncoding.IDENTITY, ReportResponses.negotiate("identity").getEncoding());
+        assertEquals(ContentEncoding.GZIP, ReportResponses.negotiate("*").getEncoding());
+        assertEquals(ContentEncoding.DEFLATE, ReportResponses.negotiate("gzip;q=0, *").getEncoding());
+        assertEquals(ContentEncoding.DEFLATE, ReportResponses.negotiate("DEFLATE").getEncoding());
+        assertSame(OutputCompression.NONE, ReportResponses.negotiate("gzip;q=0, deflate;q=0"));
+    }
+
+    private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static CSVFormat csv() {
+        StringBuilder csv = new StringBuilder("Name,Age,Score\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("Name ").append(i).append(',').append(20 + i).append(',').append(i).append('\n');
+        }
+        return new CSVFormat(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), "People");
+    }
+
+    private static InputStream template() {
+        return ReportResponsesTest.class.getResourceAsStream("/templates/simple_report.jrxml");
+    }
+}
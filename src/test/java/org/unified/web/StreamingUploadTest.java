@@ -0,0 +1,198 @@
+package org.unified.web;
+
+import org.junit.jupiter.api.Test;
+import org.unified.common.enums.ErrorCode;
+import org.unified.common.exceptions.FormatException;
+import org.unified.formats.CSVFormat;
+import org.unified.formats.UnifiedFormat;
+import org.unified.formats.XLSXFormat;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingUploadTest {
+
+    private static final String BOUNDARY = "----UnifiedBoundary7MA4YWxk";
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=" + BOUNDARY;
+
+    @Test
+    void parsesTheFilePartAfterOtherFields() {
+        byte[] body = multipart(
+                field("title", "Monthly"),
+                file("file", "people.csv", csv("Name,Age,Score", 1_000)));
+
+        UnifiedFormat parsed = StreamingUpload.parse(new ByteArrayInputStream(body), CONTENT_TYPE, body.length, UploadOptions.defaults());
+
+        assertInstanceOf(CSVFormat.class, parsed);
+        assertEquals("people.csv", parsed.getSourceName());
+        assertEquals(List.of("Name", "Age", "Score"), parsed.getColumnOrder());
+        assertEquals(1_000, parsed.getDataRows().size());
+        assertEquals("Name 999", parsed.getDataRows().get(999).get("Name"));
+    }
+
+    @Test
+    void boundariesSplitAcrossReadsAreFound() {
+        byte[] body = multipart(
+                file("ignored", "notes.txt", "a\r\n--not-the-boundary\r\n".getBytes(StandardCharsets.UTF_8)),
+                file("file", "people.csv", csv("Name,Age,Score", 5_000)));
+
+        UnifiedFormat parsed = StreamingUpload.parse(new Trickle(new ByteArrayInputStream(body), 7), CONTENT_TYPE, -1,
+                UploadOptions.builder().fieldName("file").build());
+
+        assertEquals(5_000, parsed.getDataRows().size());
+        assertEquals("Name 4999", parsed.getDataRows().get(4_999).get("Name"));
+    }
+
+    @Test
+    void headerErrorsFailBeforeTheBodyIsReceived() {
+        byte[] body = multipart(file("file", "dup.csv", csv("Name,Age,Name", 300_000)));
+        CountingInputStream request = new CountingInputStream(new ByteArrayInputStream(body));
+
+        FormatException exception = assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(request, CONTENT_TYPE, body.length, UploadOptions.defaults()));
+
+        assertEquals(ErrorCode.CSV_HEADER_DUPLICATE, exception.getErrorCode());
+        assertTrue(body.length > 4_000_000);
+        assertTrue(request.count < 256 * 1024, "read " + request.count + " bytes");
+    }
+
+    @Test
+    void uploadSizeIsCappedEarly() {
+        byte[] body = multipart(file("file", "large.csv", csv("Name,Age,Score", 100_000)));
+        UploadOptions options = UploadOptions.builder().maxBytes(300_000).build();
+
+        CountingInputStream declared = new CountingInputStream(new ByteArrayInputStream(body));
+        FormatException tooLong = assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(declared, CONTENT_TYPE, body.length, options));
+        assertEquals(ErrorCode.UPLOAD_TOO_LARGE, tooLong.getErrorCode());
+        assertEquals(0, declared.count);
+
+        CountingInputStream chunked = new CountingInputStream(new ByteArrayInputStream(body));
+        FormatException tooMuch = assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(chunked, CONTENT_TYPE, -1, options));
+        assertEquals(ErrorCode.UPLOAD_TOO_LARGE, tooMuch.getErrorCode());
+        assertEquals(options.getMaxBytes() + 1, chunked.count);
+
+        byte[] gzipBody = multipart(file("file", "large.csv.gz", gzip(csv("Name,Age,Score", 100_000))));
+        FormatException compressed = assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(new ByteArrayInputStream(gzipBody), CONTENT_TYPE, -1,
+                        UploadOptions.builder().maxBytes(gzipBody.length / 2).build()));
+        assertEquals(ErrorCode.UPLOAD_TOO_LARGE, compressed.getErrorCode());
+    }
+
+    @Test
+    void compressedAndXlsxPartsAreParsed() throws IOException {
+        byte[] gzipBody = multipart(file("file", "people.csv.gz", gzip(csv("Name,Age,Score", 10_000))));
+        assertEquals(10_000, StreamingUpload.parse(new ByteArrayInputStream(gzipBody), CONTENT_TYPE, -1, UploadOptions.defaults())
+                .getDataRows().size());
+
+        byte[] xlsx;
+        try (InputStream in = getClass().getResourceAsStream("/XLSX/valid.xlsx")) {
+            xlsx = in.readAllBytes();
+        }
+        byte[] xlsxBody = multipart(file("sheet", "valid.xlsx", xlsx));
+        UnifiedFormat parsed = StreamingUpload.parse(new ByteArrayInputStream(xlsxBody), CONTENT_TYPE, -1, UploadOptions.defaults());
+        assertInstanceOf(XLSXFormat.class, parsed);
+        assertEquals(new XLSXFormat(new ByteArrayInputStream(xlsx), "valid").getDataRows(), parsed.getDataRows());
+    }
+
+    @Test
+    void malformedUploadsAreRejected() {
+        byte[] body = multipart(field("title", "No file"));
+        assertEquals(ErrorCode.UPLOAD_FILE_MISSING, assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(new ByteArrayInputStream(body), CONTENT_TYPE, -1, UploadOptions.defaults())).getErrorCode());
+
+        assertEquals(ErrorCode.UPLOAD_MALFORMED, assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(new ByteArrayInputStream(body), "text/csv", -1, UploadOptions.defaults())).getErrorCode());
+
+        byte[] truncated = multipart(field("title", "x"), field("comment", "y".repeat(10_000)));
+        byte[] cut = Arrays.copyOf(truncated, truncated.length - 100);
+        assertEquals(ErrorCode.UPLOAD_MALFORMED, assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(new ByteArrayInputStream(cut), CONTENT_TYPE, -1, UploadOptions.defaults())).getErrorCode());
+
+        byte[] unsupported = multipart(file("file", "report.pdf", new byte[]{1, 2, 3}));
+        assertEquals(ErrorCode.BYTE_UNSUPPORTED_FORMAT, assertThrows(FormatException.class,
+                () -> StreamingUpload.parse(new ByteArrayInputStream(unsupported), CONTENT_TYPE, -1, UploadOptions.defaults())).getErrorCode());
+    }
+
+    // Utility Functions
+
+    private static byte[] csv(String header, int rows) {
+        StringBuilder csv = new StringBuilder(header).append("\r\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Name ").append(i).append(',').append(20 + i % 50).append(',').append(i % 100).append("\r\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] field(String name, String value) {
+        return part("Content-Disposition: form-data; name=\"" + name + "\"", value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] file(String name, String fileName, byte[] content) {
+        return part("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/octet-stream", content);
+    }
+
+    private static byte[] part(String headers, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\n" + headers + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static byte[] multipart(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("preamble\r\n".getBytes(StandardCharsets.UTF_8));
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        out.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            count += Math.max(read, 0);
+            return read;
+        }
+    }
+
+    private static final class Trickle extends FilterInputStream {
+        private final int chunk;
+
+        private Trickle(InputStream in, int chunk) {
+            super(in);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunk));
+        }
+    }
+}